@@ -25,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 
 import com.lambdaworks.redis.GeoArgs.Unit;
 import com.lambdaworks.redis.api.StatefulConnection;
+import com.lambdaworks.redis.api.StatefulRedisConnection;
 import com.lambdaworks.redis.api.async.*;
 import com.lambdaworks.redis.cluster.api.async.RedisClusterAsyncCommands;
 import com.lambdaworks.redis.codec.RedisCodec;
@@ -55,6 +56,7 @@ public abstract class AbstractRedisAsyncCommands<K, V> implements RedisHashesAsy
     protected RedisCodec<K, V> codec;
     protected RedisCommandBuilder<K, V> commandBuilder;
     protected MultiOutput<K, V> multi;
+    private final CommandCoalescer<K, V> coalescer = new CommandCoalescer<>(this);
 
     /**
      * Initialize a new instance.
@@ -467,6 +469,15 @@ public abstract class AbstractRedisAsyncCommands<K, V> implements RedisHashesAsy
     }
 
     public <T> AsyncCommand<K, V, T> dispatch(RedisCommand<K, V, T> cmd) {
+
+        if (isCoalesceReads()) {
+            return coalescer.dispatch(cmd);
+        }
+
+        return dispatchCommand(cmd);
+    }
+
+    <T> AsyncCommand<K, V, T> dispatchCommand(RedisCommand<K, V, T> cmd) {
         AsyncCommand<K, V, T> asyncCommand = new AsyncCommand<>(cmd);
         RedisCommand<K, V, T> dispatched = connection.dispatch(asyncCommand);
         if (dispatched instanceof AsyncCommand) {
@@ -475,6 +486,17 @@ public abstract class AbstractRedisAsyncCommands<K, V> implements RedisHashesAsy
         return asyncCommand;
     }
 
+    private boolean isCoalesceReads() {
+
+        ClientOptions options = connection.getOptions();
+
+        if (options == null || !options.isCoalesceReads()) {
+            return false;
+        }
+
+        return !(connection instanceof StatefulRedisConnection) || !((StatefulRedisConnection<?, ?>) connection).isMulti();
+    }
+
     @Override
     public RedisFuture<byte[]> dump(K key) {
         return dispatch(commandBuilder.dump(key));
@@ -694,6 +716,11 @@ public abstract class AbstractRedisAsyncCommands<K, V> implements RedisHashesAsy
         return dispatch(commandBuilder.hgetall(channel, key));
     }
 
+    @Override
+    public RedisFuture<Long> hgetallAsLong(KeyLongStreamingChannel<K> channel, K key) {
+        return dispatch(commandBuilder.hgetallAsLong(channel, key));
+    }
+
     @Override
     public RedisFuture<Long> hincrby(K key, K field, long amount) {
         return dispatch(commandBuilder.hincrby(key, field, amount));
@@ -1621,6 +1648,11 @@ public abstract class AbstractRedisAsyncCommands<K, V> implements RedisHashesAsy
         return dispatch(commandBuilder.zrangeWithScores(channel, key, start, stop));
     }
 
+    @Override
+    public RedisFuture<ScoredValues<V>> zrangeWithScoresAsArrays(K key, long start, long stop) {
+        return dispatch(commandBuilder.zrangeWithScoresAsArrays(key, start, stop));
+    }
+
     @Override
     public RedisFuture<List<V>> zrangebylex(K key, String min, String max) {
         return dispatch(commandBuilder.zrangebylex(key, min, max));
@@ -1827,6 +1859,11 @@ public abstract class AbstractRedisAsyncCommands<K, V> implements RedisHashesAsy
         return dispatch(commandBuilder.zrevrangeWithScores(channel, key, start, stop));
     }
 
+    @Override
+    public RedisFuture<ScoredValues<V>> zrevrangeWithScoresAsArrays(K key, long start, long stop) {
+        return dispatch(commandBuilder.zrevrangeWithScoresAsArrays(key, start, stop));
+    }
+
     @Override
     public RedisFuture<List<V>> zrevrangebylex(K key, Range<? extends V> range) {
         return dispatch(commandBuilder.zrevrangebylex(key, range, Limit.unlimited()));
@@ -721,6 +721,11 @@ public abstract class AbstractRedisReactiveCommands<K, V> implements RedisHashRe
         return createObservable(() -> commandBuilder.hgetall(channel, key));
     }
 
+    @Override
+    public Observable<Long> hgetallAsLong(KeyLongStreamingChannel<K> channel, K key) {
+        return createObservable(() -> commandBuilder.hgetallAsLong(channel, key));
+    }
+
     @Override
     public Observable<Long> hincrby(K key, K field, long amount) {
         return createObservable(() -> commandBuilder.hincrby(key, field, amount));
@@ -1628,6 +1633,11 @@ public abstract class AbstractRedisReactiveCommands<K, V> implements RedisHashRe
         return createObservable(() -> commandBuilder.zrangeWithScores(channel, key, start, stop));
     }
 
+    @Override
+    public Observable<ScoredValues<V>> zrangeWithScoresAsArrays(K key, long start, long stop) {
+        return createObservable(() -> commandBuilder.zrangeWithScoresAsArrays(key, start, stop));
+    }
+
     @Override
     public Observable<V> zrangebylex(K key, String min, String max) {
         return createDissolvingObservable(() -> commandBuilder.zrangebylex(key, min, max));
@@ -1833,6 +1843,11 @@ public abstract class AbstractRedisReactiveCommands<K, V> implements RedisHashRe
         return createObservable(() -> commandBuilder.zrevrangeWithScores(channel, key, start, stop));
     }
 
+    @Override
+    public Observable<ScoredValues<V>> zrevrangeWithScoresAsArrays(K key, long start, long stop) {
+        return createObservable(() -> commandBuilder.zrevrangeWithScoresAsArrays(key, start, stop));
+    }
+
     @Override
     public Observable<V> zrevrangebylex(K key, Range<? extends V> range) {
         return createDissolvingObservable(() -> commandBuilder.zrevrangebylex(key, range, Limit.unlimited()));
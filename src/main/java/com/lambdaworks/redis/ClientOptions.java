@@ -32,18 +32,30 @@ public class ClientOptions implements Serializable {
     public static final boolean DEFAULT_CANCEL_CMD_RECONNECT_FAIL = false;
     public static final boolean DEFAULT_SUSPEND_RECONNECT_PROTO_FAIL = false;
     public static final int DEFAULT_REQUEST_QUEUE_SIZE = Integer.MAX_VALUE;
+    public static final boolean DEFAULT_LOCK_FREE_WRITES = false;
     public static final DisconnectedBehavior DEFAULT_DISCONNECTED_BEHAVIOR = DisconnectedBehavior.DEFAULT;
     public static final SocketOptions DEFAULT_SOCKET_OPTIONS = SocketOptions.create();
     public static final SslOptions DEFAULT_SSL_OPTIONS = SslOptions.create();
+    public static final TimeoutOptions DEFAULT_TIMEOUT_OPTIONS = TimeoutOptions.create();
+    public static final FlushStrategy DEFAULT_FLUSH_STRATEGY = FlushStrategy.immediate();
+    public static final boolean DEFAULT_COALESCE_READS = false;
+    public static final PubSubOptions DEFAULT_PUB_SUB_OPTIONS = PubSubOptions.create();
+    public static final boolean DEFAULT_SUSPEND_READING_WITHOUT_DEMAND = false;
 
     private final boolean pingBeforeActivateConnection;
     private final boolean autoReconnect;
     private final boolean cancelCommandsOnReconnectFailure;
     private final boolean suspendReconnectOnProtocolFailure;
     private final int requestQueueSize;
+    private final boolean lockFreeWrites;
     private final DisconnectedBehavior disconnectedBehavior;
     private final SocketOptions socketOptions;
     private final SslOptions sslOptions;
+    private final TimeoutOptions timeoutOptions;
+    private final FlushStrategy flushStrategy;
+    private final boolean coalesceReads;
+    private final PubSubOptions pubSubOptions;
+    private final boolean suspendReadingWithoutDemand;
 
     protected ClientOptions(Builder builder) {
         pingBeforeActivateConnection = builder.pingBeforeActivateConnection;
@@ -51,9 +63,15 @@ public class ClientOptions implements Serializable {
         autoReconnect = builder.autoReconnect;
         suspendReconnectOnProtocolFailure = builder.suspendReconnectOnProtocolFailure;
         requestQueueSize = builder.requestQueueSize;
+        lockFreeWrites = builder.lockFreeWrites;
         disconnectedBehavior = builder.disconnectedBehavior;
         socketOptions = builder.socketOptions;
         sslOptions = builder.sslOptions;
+        timeoutOptions = builder.timeoutOptions;
+        flushStrategy = builder.flushStrategy;
+        coalesceReads = builder.coalesceReads;
+        pubSubOptions = builder.pubSubOptions;
+        suspendReadingWithoutDemand = builder.suspendReadingWithoutDemand;
     }
 
     protected ClientOptions(ClientOptions original) {
@@ -62,9 +80,15 @@ public class ClientOptions implements Serializable {
         this.cancelCommandsOnReconnectFailure = original.isCancelCommandsOnReconnectFailure();
         this.suspendReconnectOnProtocolFailure = original.isSuspendReconnectOnProtocolFailure();
         this.requestQueueSize = original.getRequestQueueSize();
+        this.lockFreeWrites = original.isLockFreeWrites();
         this.disconnectedBehavior = original.getDisconnectedBehavior();
         this.socketOptions = original.getSocketOptions();
         this.sslOptions = original.getSslOptions();
+        this.timeoutOptions = original.getTimeoutOptions();
+        this.flushStrategy = original.getFlushStrategy();
+        this.coalesceReads = original.isCoalesceReads();
+        this.pubSubOptions = original.getPubSubOptions();
+        this.suspendReadingWithoutDemand = original.isSuspendReadingWithoutDemand();
     }
 
     /**
@@ -105,9 +129,15 @@ public class ClientOptions implements Serializable {
         private boolean cancelCommandsOnReconnectFailure = DEFAULT_CANCEL_CMD_RECONNECT_FAIL;
         private boolean suspendReconnectOnProtocolFailure = DEFAULT_SUSPEND_RECONNECT_PROTO_FAIL;
         private int requestQueueSize = DEFAULT_REQUEST_QUEUE_SIZE;
+        private boolean lockFreeWrites = DEFAULT_LOCK_FREE_WRITES;
         private DisconnectedBehavior disconnectedBehavior = DEFAULT_DISCONNECTED_BEHAVIOR;
         private SocketOptions socketOptions = DEFAULT_SOCKET_OPTIONS;
         private SslOptions sslOptions = DEFAULT_SSL_OPTIONS;
+        private TimeoutOptions timeoutOptions = DEFAULT_TIMEOUT_OPTIONS;
+        private FlushStrategy flushStrategy = DEFAULT_FLUSH_STRATEGY;
+        private boolean coalesceReads = DEFAULT_COALESCE_READS;
+        private PubSubOptions pubSubOptions = DEFAULT_PUB_SUB_OPTIONS;
+        private boolean suspendReadingWithoutDemand = DEFAULT_SUSPEND_READING_WITHOUT_DEMAND;
 
         /**
          * @deprecated Use {@link ClientOptions#builder()}
@@ -179,6 +209,19 @@ public class ClientOptions implements Serializable {
             return this;
         }
 
+        /**
+         * Enables or disables lock-free writes. If enabled, commands written by application threads to a connected channel
+         * are enqueued into a lock-free queue that is drained by the event loop. The event loop writes all queued commands
+         * with a single flush. Defaults to {@literal false}. See {@link #DEFAULT_LOCK_FREE_WRITES}.
+         *
+         * @param lockFreeWrites true/false
+         * @return {@code this}
+         */
+        public Builder lockFreeWrites(boolean lockFreeWrites) {
+            this.lockFreeWrites = lockFreeWrites;
+            return this;
+        }
+
         /**
          * Sets the behavior for command invocation when connections are in a disconnected state. Defaults to {@literal true}.
          * See {@link #DEFAULT_DISCONNECTED_BEHAVIOR}.
@@ -220,6 +263,77 @@ public class ClientOptions implements Serializable {
             return this;
         }
 
+        /**
+         * Sets the {@link TimeoutOptions} to expire asynchronous and reactive commands. See
+         * {@link #DEFAULT_TIMEOUT_OPTIONS}.
+         *
+         * @param timeoutOptions must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder timeoutOptions(TimeoutOptions timeoutOptions) {
+
+            LettuceAssert.notNull(timeoutOptions, "TimeoutOptions must not be null");
+            this.timeoutOptions = timeoutOptions;
+            return this;
+        }
+
+        /**
+         * Sets the {@link FlushStrategy} for commands written with auto-flush enabled. Consolidating strategies send commands
+         * written within the same event loop cycle or micro-window with a single flush. See {@link #DEFAULT_FLUSH_STRATEGY}.
+         *
+         * @param flushStrategy must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder flushStrategy(FlushStrategy flushStrategy) {
+
+            LettuceAssert.notNull(flushStrategy, "FlushStrategy must not be null");
+            this.flushStrategy = flushStrategy;
+            return this;
+        }
+
+        /**
+         * Enables or disables coalescing of identical read commands. If enabled, a read command issued through the
+         * asynchronous or synchronous API while an identical command (same command type and arguments) is in flight on the
+         * same connection is not sent to Redis but completed with the result of the in-flight command. Coalesced commands
+         * share the result object. Defaults to {@literal false}. See {@link #DEFAULT_COALESCE_READS}.
+         *
+         * @param coalesceReads true/false
+         * @return {@code this}
+         */
+        public Builder coalesceReads(boolean coalesceReads) {
+            this.coalesceReads = coalesceReads;
+            return this;
+        }
+
+        /**
+         * Sets the {@link PubSubOptions} to control how Pub/Sub messages are dispatched to listeners. See
+         * {@link #DEFAULT_PUB_SUB_OPTIONS}.
+         *
+         * @param pubSubOptions must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder pubSubOptions(PubSubOptions pubSubOptions) {
+
+            LettuceAssert.notNull(pubSubOptions, "PubSubOptions must not be null");
+            this.pubSubOptions = pubSubOptions;
+            return this;
+        }
+
+        /**
+         * Enables or disables suspending reads from the connection while a reactive subscriber that streams a reply has no
+         * demand. Suspending reads bounds memory to roughly one socket read but stalls the whole connection, including
+         * replies to commands that the subscriber issues on the same connection while consuming the stream. Such commands
+         * never complete until the subscriber requests more elements. If disabled, elements without demand are buffered per
+         * command. Defaults to {@literal false}. See {@link #DEFAULT_SUSPEND_READING_WITHOUT_DEMAND}.
+         *
+         * @param suspendReadingWithoutDemand true/false
+         * @return {@code this}
+         */
+        public Builder suspendReadingWithoutDemand(boolean suspendReadingWithoutDemand) {
+            this.suspendReadingWithoutDemand = suspendReadingWithoutDemand;
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ClientOptions}.
          *
@@ -285,6 +399,17 @@ public class ClientOptions implements Serializable {
         return requestQueueSize;
     }
 
+    /**
+     * Lock-free writes for commands written to a connected channel with auto-flush enabled. If {@literal true} (default is
+     * {@literal false}), commands are enqueued into a lock-free queue and written by the event loop in batches instead of
+     * synchronizing application threads on the connection.
+     *
+     * @return {@literal true} if lock-free writes are enabled.
+     */
+    public boolean isLockFreeWrites() {
+        return lockFreeWrites;
+    }
+
     /**
      * Behavior for command invocation when connections are in a disconnected state. Defaults to
      * {@link DisconnectedBehavior#DEFAULT true}. See {@link #DEFAULT_DISCONNECTED_BEHAVIOR}.
@@ -313,6 +438,54 @@ public class ClientOptions implements Serializable {
         return sslOptions;
     }
 
+    /**
+     * Returns the {@link TimeoutOptions}.
+     *
+     * @return the {@link TimeoutOptions}.
+     */
+    public TimeoutOptions getTimeoutOptions() {
+        return timeoutOptions;
+    }
+
+    /**
+     * Returns the {@link FlushStrategy}.
+     *
+     * @return the {@link FlushStrategy}.
+     */
+    public FlushStrategy getFlushStrategy() {
+        return flushStrategy;
+    }
+
+    /**
+     * Coalescing of identical in-flight read commands. If {@literal true} (default is {@literal false}), read commands that
+     * are identical to a command in flight on the same connection attach to the in-flight command instead of being sent to
+     * Redis.
+     *
+     * @return {@literal true} if read commands are coalesced.
+     */
+    public boolean isCoalesceReads() {
+        return coalesceReads;
+    }
+
+    /**
+     * Returns the {@link PubSubOptions}.
+     *
+     * @return the {@link PubSubOptions}.
+     */
+    public PubSubOptions getPubSubOptions() {
+        return pubSubOptions;
+    }
+
+    /**
+     * Suspending reads while a streaming reactive subscriber has no demand. If {@literal true} (default is {@literal false}),
+     * the connection stops reading until the subscriber requests more elements.
+     *
+     * @return {@literal true} if reading is suspended while a streaming subscriber has no demand.
+     */
+    public boolean isSuspendReadingWithoutDemand() {
+        return suspendReadingWithoutDemand;
+    }
+
     /**
      * Behavior of connections in disconnected state.
      */
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import static com.lambdaworks.redis.protocol.CommandType.*;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.lambdaworks.redis.cluster.ReadOnlyCommands;
+import com.lambdaworks.redis.output.*;
+import com.lambdaworks.redis.protocol.AsyncCommand;
+import com.lambdaworks.redis.protocol.CommandArgs;
+import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.RedisCommand;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+
+/**
+ * Coalesces identical read commands (single-flight). A read command that is identical (command type, output type and
+ * arguments) to a command that is in flight on the same connection is not dispatched but completed with the result of the
+ * in-flight command.
+ * <p>
+ * Every other command acts as barrier: read commands dispatched after a non-coalescable command (e.g. a write) do not attach
+ * to reads that were dispatched before. This retains read-your-writes ordering of a connection.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+class CommandCoalescer<K, V> {
+
+    private static final Set<CommandType> COALESCABLE_COMMANDS;
+
+    /**
+     * Outputs that emit elements to a per-invocation channel. Commands using these outputs are not coalesced.
+     */
+    private static final Set<Class<?>> STREAMING_OUTPUTS = new HashSet<>(Arrays.asList(KeyStreamingOutput.class,
+            ValueStreamingOutput.class, KeyValueStreamingOutput.class, ScoredValueStreamingOutput.class,
+            KeyLongStreamingOutput.class));
+
+    static {
+
+        EnumSet<CommandType> commands = EnumSet.copyOf(ReadOnlyCommands.getReadOnlyCommands());
+
+        // connection state, scripts, random or time-dependent results, cursors and GEORADIUS … STORE
+        commands.removeAll(EnumSet.of(ASKING, CLIENT, COMMAND, EVAL, EVALSHA, MULTI, READWRITE, SCRIPT, RANDOMKEY,
+                SRANDMEMBER, TIME, SCAN, HSCAN, SSCAN, ZSCAN, GEORADIUS, GEORADIUSBYMEMBER, PUBLISH, PUBSUB, PSUBSCRIBE,
+                PUNSUBSCRIBE, SUBSCRIBE, UNSUBSCRIBE));
+
+        COALESCABLE_COMMANDS = Collections.unmodifiableSet(commands);
+    }
+
+    private final AbstractRedisAsyncCommands<K, V> commands;
+    private final ConcurrentMap<Key, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong barrier = new AtomicLong();
+
+    CommandCoalescer(AbstractRedisAsyncCommands<K, V> commands) {
+        this.commands = commands;
+    }
+
+    /**
+     * Dispatch {@code command} or attach it to an identical in-flight command.
+     *
+     * @param command the command.
+     * @return the dispatched command or a future completed with the result of the in-flight command.
+     */
+    <T> AsyncCommand<K, V, T> dispatch(RedisCommand<K, V, T> command) {
+
+        if (!isCoalescable(command)) {
+
+            try {
+                return commands.dispatchCommand(command);
+            } finally {
+                barrier.incrementAndGet();
+            }
+        }
+
+        Key key = new Key(command);
+        long generation = barrier.get();
+
+        for (;;) {
+
+            InFlight existing = inFlight.get(key);
+
+            if (existing != null && existing.generation == generation && !existing.isDone()) {
+                return follow(command, existing);
+            }
+
+            InFlight leader = new InFlight(generation);
+
+            if (existing == null ? inFlight.putIfAbsent(key, leader) != null : !inFlight.replace(key, existing, leader)) {
+                continue;
+            }
+
+            AsyncCommand<K, V, T> dispatched;
+            try {
+                dispatched = commands.dispatchCommand(command);
+            } catch (RuntimeException e) {
+                inFlight.remove(key, leader);
+                leader.completeExceptionally(e);
+                throw e;
+            }
+
+            dispatched.whenComplete((result, throwable) -> {
+
+                inFlight.remove(key, leader);
+
+                if (throwable != null) {
+                    leader.completeExceptionally(throwable);
+                } else {
+                    leader.complete(result);
+                }
+            });
+
+            return dispatched;
+        }
+    }
+
+    /**
+     * @return number of commands that can be joined.
+     */
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> AsyncCommand<K, V, T> follow(RedisCommand<K, V, T> command, InFlight leader) {
+
+        AsyncCommand<K, V, T> follower = new AsyncCommand<>(command);
+
+        leader.whenComplete((result, throwable) -> {
+
+            if (throwable != null) {
+                follower.completeExceptionally(throwable);
+            } else {
+                follower.complete((T) result);
+            }
+        });
+
+        return follower;
+    }
+
+    static boolean isCoalescable(RedisCommand<?, ?, ?> command) {
+
+        if (!(command.getType() instanceof CommandType) || !COALESCABLE_COMMANDS.contains(command.getType())) {
+            return false;
+        }
+
+        return command.getOutput() != null && !STREAMING_OUTPUTS.contains(command.getOutput().getClass());
+    }
+
+    /**
+     * In-flight command. Completed with the result of the dispatched command.
+     */
+    static class InFlight extends CompletableFuture<Object> {
+
+        final long generation;
+
+        InFlight(long generation) {
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Identity of a command: command type, output type and encoded arguments.
+     */
+    static class Key {
+
+        private final Object type;
+        private final Class<?> outputType;
+        private final byte[] args;
+        private final int hashCode;
+
+        Key(RedisCommand<?, ?, ?> command) {
+
+            this.type = command.getType();
+            this.outputType = command.getOutput().getClass();
+            this.args = encode(command.getArgs());
+            this.hashCode = 31 * (31 * type.hashCode() + outputType.hashCode()) + Arrays.hashCode(args);
+        }
+
+        private static byte[] encode(CommandArgs<?, ?> args) {
+
+            if (args == null) {
+                return new byte[0];
+            }
+
+            ByteBuf buffer = ByteBufAllocator.DEFAULT.heapBuffer(args.count() * 16);
+
+            try {
+                args.encode(buffer);
+
+                byte[] bytes = new byte[buffer.readableBytes()];
+                buffer.readBytes(bytes);
+                return bytes;
+            } finally {
+                buffer.release();
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            Key that = (Key) o;
+            return hashCode == that.hashCode && type == that.type && outputType == that.outputType
+                    && Arrays.equals(args, that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -76,6 +76,11 @@ public class ConnectionBuilder {
         connection.setOptions(clientOptions);
 
         handlers.add(new ChannelGroupListener(channelGroup));
+
+        if (clientOptions.getFlushStrategy().isConsolidating()) {
+            handlers.add(new WriteCoalescingHandler(clientOptions.getFlushStrategy()));
+        }
+
         handlers.add(new CommandEncoder());
         handlers.add(commandHandler);
         handlers.add(connection);
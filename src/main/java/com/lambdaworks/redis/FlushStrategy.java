@@ -0,0 +1,112 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import java.util.concurrent.TimeUnit;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+/**
+ * Strategy to flush commands written with auto-flush enabled. {@link #immediate() Immediate} flushing issues one flush (and
+ * typically one system call) per written command. Consolidating strategies defer the flush so that multiple commands written
+ * by application threads are sent with a single flush. Commands are flushed at the latest after the configured window has
+ * elapsed or as soon as the pending bytes exceed the configured threshold.
+ * <p>
+ * Flush consolidation does not change the auto-flush programming model: commands do not require an explicit
+ * {@link StatefulConnection#flushCommands()} call.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class FlushStrategy {
+
+    public static final int DEFAULT_MAX_PENDING_BYTES = 64 * 1024;
+
+    private static final FlushStrategy IMMEDIATE = new FlushStrategy(false, 0, DEFAULT_MAX_PENDING_BYTES);
+
+    private final boolean consolidate;
+    private final long windowNanos;
+    private final int maxPendingBytes;
+
+    private FlushStrategy(boolean consolidate, long windowNanos, int maxPendingBytes) {
+
+        this.consolidate = consolidate;
+        this.windowNanos = windowNanos;
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    /**
+     * Flush each command immediately after it was written. This is the default strategy.
+     *
+     * @return the immediate {@link FlushStrategy}.
+     */
+    public static FlushStrategy immediate() {
+        return IMMEDIATE;
+    }
+
+    /**
+     * Consolidate flushes of commands that are written within the same event loop cycle. The flush is performed once all
+     * currently pending writes were processed by the event loop, or during channel read completion if commands are written
+     * while responses are read.
+     *
+     * @return a consolidating {@link FlushStrategy} without flush delay.
+     */
+    public static FlushStrategy consolidateInEventLoop() {
+        return new FlushStrategy(true, 0, DEFAULT_MAX_PENDING_BYTES);
+    }
+
+    /**
+     * Consolidate flushes of commands that are written within a micro-window. Commands are flushed once the {@code window}
+     * has elapsed or the encoded size of pending commands exceeds {@code maxPendingBytes}, whichever happens first.
+     *
+     * @param window the time to defer flushing, must be greater or equal to {@literal 0}. A window of {@literal 0} defers the
+     *        flush until the event loop has processed pending writes.
+     * @param timeUnit unit for {@code window}, must not be {@literal null}.
+     * @param maxPendingBytes number of pending bytes that triggers an immediate flush, must be greater {@literal 0}.
+     * @return a consolidating {@link FlushStrategy}.
+     */
+    public static FlushStrategy consolidate(long window, TimeUnit timeUnit, int maxPendingBytes) {
+
+        LettuceAssert.isTrue(window >= 0, "Window must be greater or equal 0");
+        LettuceAssert.notNull(timeUnit, "TimeUnit must not be null");
+        LettuceAssert.isTrue(maxPendingBytes > 0, "Max pending bytes must be greater 0");
+
+        return new FlushStrategy(true, timeUnit.toNanos(window), maxPendingBytes);
+    }
+
+    /**
+     * @return {@literal true} if flushes are consolidated.
+     */
+    public boolean isConsolidating() {
+        return consolidate;
+    }
+
+    /**
+     * @return the consolidation window in {@link TimeUnit#NANOSECONDS}. {@literal 0} if flushes are consolidated within the
+     *         same event loop cycle.
+     */
+    public long getWindowNanos() {
+        return windowNanos;
+    }
+
+    /**
+     * @return the number of pending bytes that triggers an immediate flush.
+     */
+    public int getMaxPendingBytes() {
+        return maxPendingBytes;
+    }
+}
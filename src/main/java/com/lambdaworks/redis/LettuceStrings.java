@@ -29,6 +29,9 @@ import com.lambdaworks.codec.Base16;
  */
 public class LettuceStrings {
 
+    private static final double[] POWERS_OF_TEN = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13,
+            1e14, 1e15 };
+
     /**
      * Utility constructor.
      */
@@ -92,6 +95,119 @@ public class LettuceStrings {
         return Double.parseDouble(s);
     }
 
+    /**
+     * Convert the ASCII representation of a number in {@link ByteBuffer} to {@code double} without creating an intermediate
+     * {@link String}. Plain decimals with up to 15 digits are parsed directly, other representations (exponents,
+     * {@literal +inf}/{@literal -inf}, longer mantissas) fall back to {@link #toDouble(String)}. Consumes the remaining bytes.
+     *
+     * @param bytes the ASCII representation of the number, must not be {@literal null}.
+     * @return the {@code double} value.
+     * @since 4.5
+     */
+    public static double toDouble(ByteBuffer bytes) {
+
+        int end = bytes.limit();
+        int index = bytes.position();
+        boolean negative = false;
+
+        if (index < end && (bytes.get(index) == '-' || bytes.get(index) == '+')) {
+            negative = bytes.get(index) == '-';
+            index++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+
+        for (; index < end; index++) {
+
+            byte b = bytes.get(index);
+
+            if (b >= '0' && b <= '9') {
+
+                if (++digits > 15) {
+                    return toDouble(decodeAscii(bytes));
+                }
+
+                mantissa = mantissa * 10 + (b - '0');
+                if (fraction) {
+                    scale++;
+                }
+                continue;
+            }
+
+            if (b == '.' && !fraction) {
+                fraction = true;
+                continue;
+            }
+
+            return toDouble(decodeAscii(bytes));
+        }
+
+        if (digits == 0) {
+            return toDouble(decodeAscii(bytes));
+        }
+
+        bytes.position(end);
+
+        // mantissa and power of ten are exact doubles so the division is correctly rounded.
+        double value = scale == 0 ? mantissa : mantissa / POWERS_OF_TEN[scale];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Convert the ASCII representation of an integer in {@link ByteBuffer} to {@code long} without creating an intermediate
+     * {@link String}. Consumes the remaining bytes.
+     *
+     * @param bytes the ASCII representation of the integer, must not be {@literal null}.
+     * @return the {@code long} value.
+     * @throws NumberFormatException if {@code bytes} does not contain a parsable {@code long}.
+     * @since 4.5
+     */
+    public static long toLong(ByteBuffer bytes) {
+
+        int end = bytes.limit();
+        int index = bytes.position();
+        boolean negative = false;
+
+        if (index < end && (bytes.get(index) == '-' || bytes.get(index) == '+')) {
+            negative = bytes.get(index) == '-';
+            index++;
+        }
+
+        if (index == end) {
+            throw new NumberFormatException("Not an integer: " + decodeAscii(bytes));
+        }
+
+        // accumulate negatively to cover Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long result = 0;
+
+        for (; index < end; index++) {
+
+            int digit = bytes.get(index) - '0';
+
+            if (digit < 0 || digit > 9 || result < limit / 10 || result * 10 < limit + digit) {
+                throw new NumberFormatException("Not an integer: " + decodeAscii(bytes));
+            }
+
+            result = result * 10 - digit;
+        }
+
+        bytes.position(end);
+        return negative ? result : -result;
+    }
+
+    private static String decodeAscii(ByteBuffer bytes) {
+
+        char[] chars = new char[bytes.remaining()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) bytes.get();
+        }
+        return new String(chars);
+    }
+
     /**
      * Create SHA1 digest from Lua script.
      *
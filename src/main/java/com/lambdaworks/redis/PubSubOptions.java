@@ -0,0 +1,217 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+/**
+ * Options to configure how Pub/Sub messages are dispatched to {@link com.lambdaworks.redis.pubsub.RedisPubSubListener
+ * listeners}. By default, listeners are notified on the I/O thread that decoded the message. A slow listener therefore delays
+ * decoding for the connection and all other connections that share the event loop.
+ * <p>
+ * {@link DispatchMode#EXECUTOR} hands messages off to the {@link com.lambdaworks.redis.resource.ClientResources#eventExecutorGroup()
+ * event executor group}. Each listener maintains a number of ordered lanes. Messages for the same channel (or pattern for
+ * pattern messages) are dispatched through the same lane and retain their order. Each lane is bounded by a
+ * {@link #getQueueCapacity() queue capacity}, the {@link OverflowPolicy} determines what happens if a listener falls behind.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class PubSubOptions {
+
+    public static final DispatchMode DEFAULT_DISPATCH_MODE = DispatchMode.IO_THREAD;
+    public static final int DEFAULT_LANES = 8;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy.BACKPRESSURE;
+
+    private final DispatchMode dispatchMode;
+    private final int lanes;
+    private final int queueCapacity;
+    private final OverflowPolicy overflowPolicy;
+
+    protected PubSubOptions(Builder builder) {
+
+        this.dispatchMode = builder.dispatchMode;
+        this.lanes = builder.lanes;
+        this.queueCapacity = builder.queueCapacity;
+        this.overflowPolicy = builder.overflowPolicy;
+    }
+
+    /**
+     * Returns a new {@link PubSubOptions.Builder} to construct {@link PubSubOptions}.
+     *
+     * @return a new {@link PubSubOptions.Builder} to construct {@link PubSubOptions}.
+     */
+    public static PubSubOptions.Builder builder() {
+        return new PubSubOptions.Builder();
+    }
+
+    /**
+     * Create a new instance of {@link PubSubOptions} with default settings (dispatch on the I/O thread).
+     *
+     * @return a new instance of {@link PubSubOptions} with default settings.
+     */
+    public static PubSubOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Builder for {@link PubSubOptions}.
+     */
+    public static class Builder {
+
+        private DispatchMode dispatchMode = DEFAULT_DISPATCH_MODE;
+        private int lanes = DEFAULT_LANES;
+        private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+        private OverflowPolicy overflowPolicy = DEFAULT_OVERFLOW_POLICY;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the {@link DispatchMode}. Defaults to {@link DispatchMode#IO_THREAD}. See {@link #DEFAULT_DISPATCH_MODE}.
+         *
+         * @param dispatchMode must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder dispatchMode(DispatchMode dispatchMode) {
+
+            LettuceAssert.notNull(dispatchMode, "DispatchMode must not be null");
+            this.dispatchMode = dispatchMode;
+            return this;
+        }
+
+        /**
+         * Sets the number of ordered lanes per listener when dispatching with {@link DispatchMode#EXECUTOR}. Messages of
+         * different channels may be processed concurrently if they are assigned to different lanes. Defaults to
+         * {@literal 8}. See {@link #DEFAULT_LANES}.
+         *
+         * @param lanes number of lanes, must be greater {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder lanes(int lanes) {
+
+            LettuceAssert.isTrue(lanes > 0, "Lanes must be greater 0");
+            this.lanes = lanes;
+            return this;
+        }
+
+        /**
+         * Sets the capacity of each lane when dispatching with {@link DispatchMode#EXECUTOR}. Defaults to {@literal 1024}. See
+         * {@link #DEFAULT_QUEUE_CAPACITY}.
+         *
+         * @param queueCapacity the capacity, must be greater {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder queueCapacity(int queueCapacity) {
+
+            LettuceAssert.isTrue(queueCapacity > 0, "Queue capacity must be greater 0");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the {@link OverflowPolicy} applied to lanes that reached their capacity. Defaults to
+         * {@link OverflowPolicy#BACKPRESSURE}. See {@link #DEFAULT_OVERFLOW_POLICY}.
+         *
+         * @param overflowPolicy must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+
+            LettuceAssert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link PubSubOptions}
+         *
+         * @return new instance of {@link PubSubOptions}
+         */
+        public PubSubOptions build() {
+            return new PubSubOptions(this);
+        }
+    }
+
+    /**
+     * @return the {@link DispatchMode}.
+     */
+    public DispatchMode getDispatchMode() {
+        return dispatchMode;
+    }
+
+    /**
+     * @return number of ordered lanes per listener.
+     */
+    public int getLanes() {
+        return lanes;
+    }
+
+    /**
+     * @return capacity of each lane.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return the {@link OverflowPolicy}.
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Thread on which listeners are notified.
+     */
+    public enum DispatchMode {
+
+        /**
+         * Notify listeners on the I/O thread that decoded the message.
+         */
+        IO_THREAD,
+
+        /**
+         * Notify listeners on the {@link com.lambdaworks.redis.resource.ClientResources#eventExecutorGroup() event executor
+         * group}.
+         */
+        EXECUTOR;
+    }
+
+    /**
+     * Behavior of a lane that reached its capacity.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Discard the oldest pending message of the lane to make room for the new message.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Discard the new message.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Retain the message and stop reading from the connection until the lane drained to half of its capacity. Messages
+         * that were already received are still enqueued, so a lane may temporarily exceed its capacity.
+         */
+        BACKPRESSURE;
+    }
+}
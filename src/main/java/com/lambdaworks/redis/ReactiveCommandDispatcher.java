@@ -16,16 +16,24 @@
 package com.lambdaworks.redis;
 
 import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 import rx.Observable;
+import rx.Producer;
 import rx.Subscriber;
+import rx.exceptions.Exceptions;
+import rx.subscriptions.Subscriptions;
 
 import com.lambdaworks.redis.api.StatefulConnection;
 import com.lambdaworks.redis.api.StatefulRedisConnection;
 import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.output.StreamingOutput;
 import com.lambdaworks.redis.protocol.CommandWrapper;
+import com.lambdaworks.redis.protocol.DemandAware;
 import com.lambdaworks.redis.protocol.RedisCommand;
 
 /**
@@ -77,39 +85,43 @@ public class ReactiveCommandDispatcher<K, V, T> implements Observable.OnSubscrib
             command = commandSupplier.get();
         }
 
+        BackpressureEmitter<T> emitter = new BackpressureEmitter<>(subscriber);
+
         if (command.getOutput() instanceof StreamingOutput<?>) {
             StreamingOutput<T> streamingOutput = (StreamingOutput<T>) command.getOutput();
 
             if (connection instanceof StatefulRedisConnection<?, ?> && ((StatefulRedisConnection) connection).isMulti()) {
-                streamingOutput.setSubscriber(new DelegatingWrapper<>(new ObservableSubscriberWrapper<>(subscriber),
-                        streamingOutput.getSubscriber()));
+                streamingOutput.setSubscriber(new DelegatingWrapper<>(emitter, streamingOutput.getSubscriber()));
             } else {
-                streamingOutput.setSubscriber(new ObservableSubscriberWrapper<>(subscriber));
+                streamingOutput.setSubscriber(emitter);
             }
         }
 
-        connection.dispatch(new ObservableCommand<>(command, subscriber, dissolve));
+        subscriber.add(Subscriptions.create(emitter::cancel));
+        subscriber.setProducer(emitter);
+
+        connection.dispatch(new ObservableCommand<>(command, emitter, dissolve));
 
         this.command = null;
 
     }
 
-    private static class ObservableCommand<K, V, T> extends CommandWrapper<K, V, T> {
+    private static class ObservableCommand<K, V, T> extends CommandWrapper<K, V, T> implements DemandAware.Sink {
 
-        private final Subscriber<? super T> subscriber;
+        private final BackpressureEmitter<T> emitter;
         private final boolean dissolve;
         private boolean completed = false;
 
-        public ObservableCommand(RedisCommand<K, V, T> command, Subscriber<? super T> subscriber, boolean dissolve) {
+        public ObservableCommand(RedisCommand<K, V, T> command, BackpressureEmitter<T> emitter, boolean dissolve) {
             super(command);
-            this.subscriber = subscriber;
+            this.emitter = emitter;
             this.dissolve = dissolve;
         }
 
         @Override
         @SuppressWarnings("unchecked")
         public void complete() {
-            if (completed || subscriber.isUnsubscribed()) {
+            if (completed || emitter.isUnsubscribed()) {
                 return;
             }
 
@@ -123,71 +135,270 @@ public class ReactiveCommandDispatcher<K, V, T> implements Observable.OnSubscrib
                         if (dissolve && result instanceof Collection) {
                             Collection<T> collection = (Collection<T>) result;
                             for (T t : collection) {
-                                subscriber.onNext(t);
+                                emitter.onNext(t);
                             }
                         } else {
-                            subscriber.onNext((T) result);
+                            emitter.onNext((T) result);
                         }
                     }
 
                     if (getOutput().hasError()) {
-                        subscriber.onError(ExceptionFactory.createExecutionException(getOutput().getError()));
+                        emitter.onError(ExceptionFactory.createExecutionException(getOutput().getError()));
                         completed = true;
                         return;
                     }
                 }
 
                 try {
-                    subscriber.onCompleted();
+                    emitter.onCompleted();
                 } catch (Exception e) {
                     completeExceptionally(e);
                 }
             } finally {
                 completed = true;
+                emitter.removeSource();
             }
         }
 
         @Override
         public void cancel() {
 
-            if (completed || subscriber.isUnsubscribed()) {
+            if (completed || emitter.isUnsubscribed()) {
                 return;
             }
 
             super.cancel();
-            subscriber.onCompleted();
+            emitter.onCompleted();
+            emitter.removeSource();
             completed = true;
         }
 
         @Override
         public boolean completeExceptionally(Throwable throwable) {
-            if (completed || subscriber.isUnsubscribed()) {
+            if (completed || emitter.isUnsubscribed()) {
                 return false;
             }
 
             boolean b = super.completeExceptionally(throwable);
-            subscriber.onError(throwable);
+            emitter.onError(throwable);
+            emitter.removeSource();
             completed = true;
             return b;
         }
+
+        @Override
+        public boolean hasDemand() {
+            return emitter.hasDemand();
+        }
+
+        @Override
+        public void setSource(DemandAware.Source source) {
+            emitter.setSource(source);
+        }
+
+        @Override
+        public void removeSource() {
+            emitter.removeSource();
+        }
     }
 
-    static class ObservableSubscriberWrapper<T> extends StreamingOutput.Subscriber<T> {
+    /**
+     * Emitter that buffers elements and emits these according to the demand of the {@link Subscriber}. Elements are buffered
+     * while the {@link Subscriber} has no demand. The {@link DemandAware.Source} is notified once the {@link Subscriber}
+     * requests more elements so the transport can resume reading.
+     *
+     * @param <T> element type.
+     */
+    static class BackpressureEmitter<T> extends StreamingOutput.Subscriber<T> implements Producer {
+
+        private static final Object NULL = new Object();
+
+        private final Subscriber<? super T> subscriber;
+        private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
 
-        private Subscriber<? super T> subscriber;
+        private volatile boolean done;
+        private volatile Throwable error;
+        private volatile DemandAware.Source source;
 
-        public ObservableSubscriberWrapper(Subscriber<? super T> subscriber) {
+        BackpressureEmitter(Subscriber<? super T> subscriber) {
             this.subscriber = subscriber;
         }
 
+        @Override
+        public void request(long n) {
+
+            LettuceAssert.isTrue(n >= 0, "Request must be greater or equal 0");
+
+            if (n == 0) {
+                return;
+            }
+
+            long current;
+            long next;
+            do {
+                current = requested.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!requested.compareAndSet(current, next));
+
+            drain();
+
+            if (hasDemand()) {
+                requestMore();
+            }
+        }
+
         @Override
         public void onNext(T t) {
 
-            if (subscriber.isUnsubscribed()) {
+            // fast path: emit directly if there is demand and no element is buffered
+            if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+
+                long r = requested.get();
+
+                if (r != 0 && queue.isEmpty() && !subscriber.isUnsubscribed()) {
+
+                    if (!emit(t)) {
+                        return;
+                    }
+
+                    if (r != Long.MAX_VALUE) {
+                        requested.decrementAndGet();
+                    }
+                } else {
+                    queue.offer(t == null ? NULL : t);
+                }
+
+                int missed = wip.decrementAndGet();
+                if (missed != 0) {
+                    drainLoop(missed);
+                }
+                return;
+            }
+
+            queue.offer(t == null ? NULL : t);
+            drain();
+        }
+
+        void onCompleted() {
+
+            done = true;
+            drain();
+        }
+
+        void onError(Throwable throwable) {
+
+            error = throwable;
+            done = true;
+            drain();
+        }
+
+        /**
+         * Discard buffered elements after the {@link Subscriber} unsubscribed and resume reading to consume the remaining
+         * response.
+         */
+        void cancel() {
+
+            queue.clear();
+            requestMore();
+        }
+
+        boolean isUnsubscribed() {
+            return subscriber.isUnsubscribed();
+        }
+
+        boolean hasDemand() {
+            return requested.get() > 0 || subscriber.isUnsubscribed();
+        }
+
+        void setSource(DemandAware.Source source) {
+            this.source = source;
+        }
+
+        void removeSource() {
+            this.source = null;
+        }
+
+        private void requestMore() {
+
+            DemandAware.Source source = this.source;
+            if (source != null) {
+                source.requestMore();
+            }
+        }
+
+        private void drain() {
+
+            if (wip.getAndIncrement() != 0) {
                 return;
             }
 
-            subscriber.onNext(t);
+            drainLoop(1);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void drainLoop(int missed) {
+
+            for (;;) {
+
+                long r = requested.get();
+                long e = 0;
+
+                for (;;) {
+
+                    if (subscriber.isUnsubscribed()) {
+                        queue.clear();
+                        return;
+                    }
+
+                    Throwable error = this.error;
+                    if (error != null) {
+                        queue.clear();
+                        subscriber.onError(error);
+                        return;
+                    }
+
+                    boolean done = this.done;
+                    Object element = e != r ? queue.poll() : null;
+
+                    if (element == null) {
+
+                        if (done && queue.isEmpty()) {
+                            subscriber.onCompleted();
+                            return;
+                        }
+                        break;
+                    }
+
+                    if (!emit(element == NULL ? null : (T) element)) {
+                        return;
+                    }
+
+                    e++;
+                }
+
+                if (e != 0 && r != Long.MAX_VALUE) {
+                    requested.addAndGet(-e);
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean emit(T value) {
+
+            try {
+                subscriber.onNext(value);
+                return true;
+            } catch (Throwable t) {
+                queue.clear();
+                Exceptions.throwOrReport(t, subscriber, value);
+                return false;
+            }
         }
     }
 
@@ -17,6 +17,8 @@ package com.lambdaworks.redis;
 
 import java.util.List;
 
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.metrics.MovingAverageCommandLatencyCollector;
 import com.lambdaworks.redis.models.role.RedisNodeDescription;
 
 /**
@@ -55,6 +57,28 @@ public abstract class ReadFrom {
      */
     public static final ReadFrom NEAREST = new ReadFromImpl.ReadFromNearest();
 
+    /**
+     * Setting to read from the slave with the lowest moving average of the command latency using power-of-two-choices:
+     * two randomly chosen slaves are compared by their {@link MovingAverageCommandLatencyCollector#getLatency(String, int)
+     * latency} and the faster one is used. Falls back to the master if no slave is available. Nodes without recorded latency
+     * are preferred so new nodes receive traffic.
+     * <p>
+     * The selection adapts to latency changes between topology refreshes and is therefore evaluated for each read command.
+     * {@code latencies} must be the command latency collector of the {@link com.lambdaworks.redis.resource.ClientResources}
+     * used by the client.
+     * </p>
+     *
+     * @param latencies the latency source, must not be {@literal null}.
+     * @return the latency-aware {@link ReadFrom} setting.
+     * @since 4.5
+     */
+    public static ReadFrom lowestLatency(MovingAverageCommandLatencyCollector latencies) {
+
+        LettuceAssert.notNull(latencies, "MovingAverageCommandLatencyCollector must not be null");
+
+        return new ReadFromImpl.ReadFromLowestLatency(latencies);
+    }
+
     /**
      * Chooses the nodes from the matching Redis nodes that match this read selector.
      *
@@ -63,6 +87,18 @@ public abstract class ReadFrom {
      */
     public abstract List<RedisNodeDescription> select(Nodes nodes);
 
+    /**
+     * Returns whether the {@link #select(Nodes) selection} depends on the nodes and their roles only. Connection providers
+     * cache selections of cacheable settings until the topology changes and evaluate non-cacheable settings for each read
+     * command.
+     *
+     * @return {@literal true} if the selection can be cached until the topology changes.
+     * @since 4.5
+     */
+    public boolean isCacheable() {
+        return true;
+    }
+
     /**
      * Retrieve the {@link ReadFrom} preset by name.
      *
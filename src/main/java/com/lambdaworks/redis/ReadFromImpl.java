@@ -18,8 +18,10 @@ package com.lambdaworks.redis;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.lambdaworks.redis.internal.LettuceLists;
+import com.lambdaworks.redis.metrics.MovingAverageCommandLatencyCollector;
 import com.lambdaworks.redis.models.role.RedisInstance;
 import com.lambdaworks.redis.models.role.RedisNodeDescription;
 
@@ -121,6 +123,81 @@ class ReadFromImpl {
         }
     }
 
+    /**
+     * Read from the slave with the lowest moving average latency using power-of-two-choices. Falls back to the master if no
+     * slave is available.
+     */
+    static final class ReadFromLowestLatency extends ReadFrom {
+
+        private final MovingAverageCommandLatencyCollector latencies;
+
+        ReadFromLowestLatency(MovingAverageCommandLatencyCollector latencies) {
+            this.latencies = latencies;
+        }
+
+        @Override
+        public List<RedisNodeDescription> select(Nodes nodes) {
+
+            List<RedisNodeDescription> candidates = new ArrayList<>(nodes.getNodes().size());
+
+            for (RedisNodeDescription node : nodes) {
+                if (node.getRole() == RedisInstance.Role.SLAVE) {
+                    candidates.add(node);
+                }
+            }
+
+            if (candidates.isEmpty()) {
+                for (RedisNodeDescription node : nodes) {
+                    if (node.getRole() == RedisInstance.Role.MASTER) {
+                        candidates.add(node);
+                    }
+                }
+            }
+
+            if (candidates.size() < 2) {
+                return candidates;
+            }
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(candidates.size());
+            int second = random.nextInt(candidates.size() - 1);
+
+            if (second >= first) {
+                second++;
+            }
+
+            if (getLatency(candidates.get(second)) < getLatency(candidates.get(first))) {
+                int tmp = first;
+                first = second;
+                second = tmp;
+            }
+
+            // selected candidate first, the other one as fallback, then the remaining candidates
+            List<RedisNodeDescription> result = new ArrayList<>(candidates.size());
+            result.add(candidates.get(first));
+            result.add(candidates.get(second));
+
+            for (int i = 0; i < candidates.size(); i++) {
+                if (i != first && i != second) {
+                    result.add(candidates.get(i));
+                }
+            }
+
+            return result;
+        }
+
+        private long getLatency(RedisNodeDescription node) {
+
+            RedisURI uri = node.getUri();
+            return uri != null ? latencies.getLatency(uri.getHost(), uri.getPort()) : 0;
+        }
+
+        @Override
+        public boolean isCacheable() {
+            return false;
+        }
+    }
+
     /**
      * Read from nearest node.
      */
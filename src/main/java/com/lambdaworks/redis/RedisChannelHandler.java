@@ -133,6 +133,15 @@ public abstract class RedisChannelHandler<K, V> extends ChannelInboundHandlerAda
         return channelWriter.write(cmd);
     }
 
+    protected Collection<RedisCommand<K, V, ?>> dispatch(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        if (debugEnabled) {
+            logger.debug("dispatching commands {}", commands);
+        }
+
+        return channelWriter.write(commands);
+    }
+
     /**
      * Register Closeable resources. Internal access only.
      *
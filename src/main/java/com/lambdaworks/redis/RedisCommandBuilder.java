@@ -851,6 +851,13 @@ class RedisCommandBuilder<K, V> extends BaseRedisCommandBuilder<K, V> {
         return createCommand(HGETALL, new KeyValueStreamingOutput<>(codec, channel), key);
     }
 
+    Command<K, V, Long> hgetallAsLong(KeyLongStreamingChannel<K> channel, K key) {
+        notNullKey(key);
+        notNullLongChannel(channel);
+
+        return createCommand(HGETALL, new KeyLongStreamingOutput<>(codec, channel), key);
+    }
+
     Command<K, V, Long> hincrby(K key, K field, long amount) {
         notNullKey(key);
         LettuceAssert.notNull(field, "Field " + MUST_NOT_BE_NULL);
@@ -2132,6 +2139,14 @@ class RedisCommandBuilder<K, V> extends BaseRedisCommandBuilder<K, V> {
         return createCommand(ZRANGE, new ScoredValueStreamingOutput<>(codec, channel), args);
     }
 
+    Command<K, V, ScoredValues<V>> zrangeWithScoresAsArrays(K key, long start, long stop) {
+        notNullKey(key);
+
+        CommandArgs<K, V> args = new CommandArgs<>(codec);
+        args.addKey(key).add(start).add(stop).add(WITHSCORES);
+        return createCommand(ZRANGE, new ScoredValuesOutput<>(codec), args);
+    }
+
     RedisCommand<K, V, List<V>> zrangebylex(K key, String min, String max) {
         notNullKey(key);
         notNullMinMax(min, max);
@@ -2407,6 +2422,14 @@ class RedisCommandBuilder<K, V> extends BaseRedisCommandBuilder<K, V> {
         return createCommand(ZREVRANGE, new ScoredValueStreamingOutput<>(codec, channel), args);
     }
 
+    Command<K, V, ScoredValues<V>> zrevrangeWithScoresAsArrays(K key, long start, long stop) {
+        notNullKey(key);
+
+        CommandArgs<K, V> args = new CommandArgs<>(codec);
+        args.addKey(key).add(start).add(stop).add(WITHSCORES);
+        return createCommand(ZREVRANGE, new ScoredValuesOutput<>(codec), args);
+    }
+
     Command<K, V, List<V>> zrevrangebylex(K key, Range<? extends V> range, Limit limit) {
         notNullKey(key);
         notNullRange(range);
@@ -2725,6 +2748,10 @@ class RedisCommandBuilder<K, V> extends BaseRedisCommandBuilder<K, V> {
         LettuceAssert.notNull(channel, "KeyValueStreamingChannel " + MUST_NOT_BE_NULL);
     }
 
+    static void notNullLongChannel(KeyLongStreamingChannel<?> channel) {
+        LettuceAssert.notNull(channel, "KeyLongStreamingChannel " + MUST_NOT_BE_NULL);
+    }
+
     static void notNullMinMax(String min, String max) {
         LettuceAssert.notNull(min, "Min " + MUST_NOT_BE_NULL);
         LettuceAssert.notNull(max, "Max " + MUST_NOT_BE_NULL);
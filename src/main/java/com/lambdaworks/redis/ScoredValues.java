@@ -0,0 +1,149 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+/**
+ * Values and their associated scores from a ZSET held in parallel arrays. The value at index {@code i} has the score at
+ * index {@code i}. Unlike a {@link List} of {@link ScoredValue}s, scores are kept as primitive {@code double}s and no
+ * per-element wrapper objects are created.
+ *
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class ScoredValues<V> {
+
+    private static final ScoredValues<Object> EMPTY = new ScoredValues<>(new Object[0], new double[0]);
+
+    private final Object[] values;
+    private final double[] scores;
+
+    /**
+     * Create a new {@link ScoredValues} backed by the given arrays. The arrays are not copied.
+     *
+     * @param values the values, must not be {@literal null}.
+     * @param scores the scores, must not be {@literal null} and of the same length as {@code values}.
+     */
+    public ScoredValues(Object[] values, double[] scores) {
+
+        LettuceAssert.notNull(values, "Values must not be null");
+        LettuceAssert.notNull(scores, "Scores must not be null");
+        LettuceAssert.isTrue(values.length == scores.length, "Values and scores must be of the same length");
+
+        this.values = values;
+        this.scores = scores;
+    }
+
+    /**
+     * @return an empty {@link ScoredValues} instance.
+     */
+    @SuppressWarnings("unchecked")
+    public static <V> ScoredValues<V> empty() {
+        return (ScoredValues<V>) EMPTY;
+    }
+
+    /**
+     * @return the number of values.
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return {@literal true} if there are no values.
+     */
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    /**
+     * @param index the index.
+     * @return the value at {@code index}.
+     */
+    @SuppressWarnings("unchecked")
+    public V getValue(int index) {
+        return (V) values[index];
+    }
+
+    /**
+     * @param index the index.
+     * @return the score of the value at {@code index}.
+     */
+    public double getScore(int index) {
+        return scores[index];
+    }
+
+    /**
+     * Returns the scores. The array is not copied, changes to the array are reflected in this object.
+     *
+     * @return the scores.
+     */
+    public double[] getScores() {
+        return scores;
+    }
+
+    /**
+     * Returns the values as unmodifiable {@link List} backed by the values of this object.
+     *
+     * @return the values.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> getValues() {
+        return Collections.unmodifiableList((List<V>) Arrays.asList(values));
+    }
+
+    /**
+     * @return a new {@link List} of {@link ScoredValue}s.
+     */
+    public List<ScoredValue<V>> toList() {
+
+        List<ScoredValue<V>> result = new ArrayList<>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            result.add(new ScoredValue<>(scores[i], getValue(i)));
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScoredValues<?> that = (ScoredValues<?>) o;
+        return Arrays.equals(values, that.values) && Arrays.equals(scores, that.scores);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(values) + Arrays.hashCode(scores);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " " + toList();
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.protocol.ProtocolKeyword;
+import com.lambdaworks.redis.protocol.RedisCommand;
+
+/**
+ * Options to configure timeouts for commands dispatched through the synchronous, asynchronous and reactive API. Command
+ * timeouts are scheduled on the {@link com.lambdaworks.redis.resource.ClientResources#timer() timer} as soon as a command is
+ * written. Commands that did not complete within their timeout are completed exceptionally with
+ * {@link RedisCommandTimeoutException}.
+ * <p>
+ * Command timeouts are disabled by default. Timeouts can be configured with a fixed value, per command type or with a custom
+ * {@link TimeoutSource}.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class TimeoutOptions {
+
+    public static final boolean DEFAULT_TIMEOUT_COMMANDS = false;
+    public static final long DEFAULT_TIMEOUT = 60;
+    public static final TimeUnit DEFAULT_TIMEOUT_UNIT = TimeUnit.SECONDS;
+
+    private final boolean timeoutCommands;
+    private final TimeoutSource source;
+
+    private TimeoutOptions(boolean timeoutCommands, TimeoutSource source) {
+
+        this.timeoutCommands = timeoutCommands;
+        this.source = source;
+    }
+
+    /**
+     * Returns a new {@link TimeoutOptions.Builder} to construct {@link TimeoutOptions}.
+     *
+     * @return a new {@link TimeoutOptions.Builder} to construct {@link TimeoutOptions}.
+     */
+    public static TimeoutOptions.Builder builder() {
+        return new TimeoutOptions.Builder();
+    }
+
+    /**
+     * Create a new instance of {@link TimeoutOptions} with default settings (command timeouts disabled).
+     *
+     * @return a new instance of {@link TimeoutOptions} with default settings.
+     */
+    public static TimeoutOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new instance of {@link TimeoutOptions} that enables command timeouts using a fixed {@code timeout}.
+     *
+     * @param timeout the timeout, must be greater {@literal 0}.
+     * @param timeUnit unit for {@code timeout}, must not be {@literal null}.
+     * @return a new instance of {@link TimeoutOptions} with command timeouts enabled.
+     */
+    public static TimeoutOptions enabled(long timeout, TimeUnit timeUnit) {
+        return builder().fixedTimeout(timeout, timeUnit).build();
+    }
+
+    /**
+     * Builder for {@link TimeoutOptions}.
+     */
+    public static class Builder {
+
+        private final Map<ProtocolKeyword, Long> timeouts = new HashMap<>();
+        private boolean timeoutCommands = DEFAULT_TIMEOUT_COMMANDS;
+        private long fixedTimeoutNanos = DEFAULT_TIMEOUT_UNIT.toNanos(DEFAULT_TIMEOUT);
+        private TimeoutSource source;
+
+        private Builder() {
+        }
+
+        /**
+         * Enable or disable command timeouts. Enabling command timeouts without further configuration applies
+         * {@link #DEFAULT_TIMEOUT} {@link #DEFAULT_TIMEOUT_UNIT} to all commands. Defaults to {@literal false}. See
+         * {@link #DEFAULT_TIMEOUT_COMMANDS}.
+         *
+         * @param enabled {@literal true} to enable command timeouts.
+         * @return {@code this}
+         */
+        public Builder timeoutCommands(boolean enabled) {
+
+            this.timeoutCommands = enabled;
+            return this;
+        }
+
+        /**
+         * Enable command timeouts using a fixed {@code timeout} for all commands. Defaults to {@literal 60 SECONDS}. See
+         * {@link #DEFAULT_TIMEOUT} and {@link #DEFAULT_TIMEOUT_UNIT}.
+         *
+         * @param timeout the timeout, must be greater {@literal 0}.
+         * @param timeUnit unit for {@code timeout}, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder fixedTimeout(long timeout, TimeUnit timeUnit) {
+
+            LettuceAssert.isTrue(timeout > 0, "Timeout must be greater 0");
+            LettuceAssert.notNull(timeUnit, "TimeUnit must not be null");
+
+            this.fixedTimeoutNanos = timeUnit.toNanos(timeout);
+            return timeoutCommands(true);
+        }
+
+        /**
+         * Enable command timeouts and override the timeout for a particular command type, for example to allow blocking
+         * commands such as {@literal BLPOP} to run longer than other commands. A timeout of {@literal 0} disables the timeout
+         * for the command type.
+         *
+         * @param commandType the command type, must not be {@literal null}.
+         * @param timeout the timeout, must be greater or equal to {@literal 0}.
+         * @param timeUnit unit for {@code timeout}, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder timeout(ProtocolKeyword commandType, long timeout, TimeUnit timeUnit) {
+
+            LettuceAssert.notNull(commandType, "Command type must not be null");
+            LettuceAssert.isTrue(timeout >= 0, "Timeout must be greater or equal 0");
+            LettuceAssert.notNull(timeUnit, "TimeUnit must not be null");
+
+            this.timeouts.put(commandType, timeUnit.toNanos(timeout));
+            return timeoutCommands(true);
+        }
+
+        /**
+         * Enable command timeouts using a custom {@link TimeoutSource}. A custom {@link TimeoutSource} takes precedence over
+         * {@link #fixedTimeout(long, TimeUnit) fixed} and {@link #timeout(ProtocolKeyword, long, TimeUnit) per-command}
+         * timeouts.
+         *
+         * @param source the timeout source, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder timeoutSource(TimeoutSource source) {
+
+            LettuceAssert.notNull(source, "TimeoutSource must not be null");
+
+            this.source = source;
+            return timeoutCommands(true);
+        }
+
+        /**
+         * Create a new instance of {@link TimeoutOptions}.
+         *
+         * @return new instance of {@link TimeoutOptions}
+         */
+        public TimeoutOptions build() {
+
+            if (!timeoutCommands) {
+                return new TimeoutOptions(false, null);
+            }
+
+            TimeoutSource source = this.source;
+
+            if (source == null) {
+                source = new CommandTypeTimeoutSource(fixedTimeoutNanos, new HashMap<>(timeouts));
+            }
+
+            return new TimeoutOptions(true, source);
+        }
+    }
+
+    /**
+     * Returns whether command timeouts are enabled.
+     *
+     * @return {@literal true} if command timeouts are enabled.
+     */
+    public boolean isTimeoutCommands() {
+        return timeoutCommands;
+    }
+
+    /**
+     * Returns the {@link TimeoutSource}.
+     *
+     * @return the {@link TimeoutSource}, {@literal null} if command timeouts are disabled.
+     */
+    public TimeoutSource getSource() {
+        return source;
+    }
+
+    /**
+     * Source for the actual timeout of a particular command. Implementations are called for each written command and
+     * should therefore compute the timeout without blocking or allocating.
+     */
+    public abstract static class TimeoutSource {
+
+        /**
+         * Obtain the timeout for a {@link RedisCommand}. Values less or equal to {@literal 0} disable the timeout for the
+         * command.
+         *
+         * @param command the command.
+         * @return the timeout value in {@link #getTimeUnit()}.
+         */
+        public abstract long getTimeout(RedisCommand<?, ?, ?> command);
+
+        /**
+         * @return the {@link TimeUnit} for {@link #getTimeout(RedisCommand)}. Defaults to {@link TimeUnit#MILLISECONDS}.
+         */
+        public TimeUnit getTimeUnit() {
+            return TimeUnit.MILLISECONDS;
+        }
+    }
+
+    /**
+     * {@link TimeoutSource} using a fixed timeout with per-command type overrides.
+     */
+    static class CommandTypeTimeoutSource extends TimeoutSource {
+
+        private final long fixedTimeoutNanos;
+        private final Map<ProtocolKeyword, Long> timeouts;
+
+        CommandTypeTimeoutSource(long fixedTimeoutNanos, Map<ProtocolKeyword, Long> timeouts) {
+            this.fixedTimeoutNanos = fixedTimeoutNanos;
+            this.timeouts = timeouts;
+        }
+
+        @Override
+        public long getTimeout(RedisCommand<?, ?, ?> command) {
+
+            if (timeouts.isEmpty()) {
+                return fixedTimeoutNanos;
+            }
+
+            Long timeout = timeouts.get(command.getType());
+            return timeout != null ? timeout : fixedTimeoutNanos;
+        }
+
+        @Override
+        public TimeUnit getTimeUnit() {
+            return TimeUnit.NANOSECONDS;
+        }
+    }
+}
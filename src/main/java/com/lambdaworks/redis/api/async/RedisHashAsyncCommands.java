@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.lambdaworks.redis.*;
+import com.lambdaworks.redis.output.KeyLongStreamingChannel;
 import com.lambdaworks.redis.output.KeyStreamingChannel;
 import com.lambdaworks.redis.output.KeyValueStreamingChannel;
 import com.lambdaworks.redis.output.ValueStreamingChannel;
@@ -105,6 +106,18 @@ public interface RedisHashAsyncCommands<K, V> {
      */
     RedisFuture<Long> hgetall(KeyValueStreamingChannel<K, V> channel, K key);
 
+    /**
+     * Stream over all the fields and values in a hash. Values are parsed as integer and passed as primitive {@code long}
+     * without decoding them through the codec. Values that are not integers fail the command.
+     *
+     * @param channel the channel
+     * @param key the key
+     *
+     * @return Long count of the keys.
+     * @since 4.5
+     */
+    RedisFuture<Long> hgetallAsLong(KeyLongStreamingChannel<K> channel, K key);
+
     /**
      * Get all the fields in a hash.
      *
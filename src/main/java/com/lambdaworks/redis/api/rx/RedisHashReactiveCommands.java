@@ -23,6 +23,7 @@ import com.lambdaworks.redis.MapScanCursor;
 import com.lambdaworks.redis.ScanArgs;
 import com.lambdaworks.redis.ScanCursor;
 import com.lambdaworks.redis.StreamScanCursor;
+import com.lambdaworks.redis.output.KeyLongStreamingChannel;
 import com.lambdaworks.redis.output.KeyStreamingChannel;
 import com.lambdaworks.redis.output.KeyValueStreamingChannel;
 import com.lambdaworks.redis.output.ValueStreamingChannel;
@@ -109,6 +110,18 @@ public interface RedisHashReactiveCommands<K, V> {
      */
     Observable<Long> hgetall(KeyValueStreamingChannel<K, V> channel, K key);
 
+    /**
+     * Stream over all the fields and values in a hash. Values are parsed as integer and passed as primitive {@code long}
+     * without decoding them through the codec. Values that are not integers fail the command.
+     *
+     * @param channel the channel
+     * @param key the key
+     *
+     * @return Long count of the keys.
+     * @since 4.5
+     */
+    Observable<Long> hgetallAsLong(KeyLongStreamingChannel<K> channel, K key);
+
     /**
      * Get all the fields in a hash.
      *
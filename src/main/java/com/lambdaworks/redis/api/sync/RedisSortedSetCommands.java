@@ -272,6 +272,18 @@ public interface RedisSortedSetCommands<K, V> {
      */
     Long zrangeWithScores(ScoredValueStreamingChannel<V> channel, K key, long start, long stop);
 
+    /**
+     * Return a range of members with scores in a sorted set, by index. Values and scores are returned in parallel arrays
+     * without creating a {@link ScoredValue} per element.
+     *
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return ScoredValues&lt;V&gt; array-reply list of elements in the specified range.
+     * @since 4.5
+     */
+    ScoredValues<V> zrangeWithScoresAsArrays(K key, long start, long stop);
+
     /**
      * Return a range of members in a sorted set, by lexicographical range.
      *
@@ -752,6 +764,18 @@ public interface RedisSortedSetCommands<K, V> {
      */
     Long zrevrangeWithScores(ScoredValueStreamingChannel<V> channel, K key, long start, long stop);
 
+    /**
+     * Return a range of members with scores in a sorted set, by index, with scores ordered from high to low. Values and
+     * scores are returned in parallel arrays without creating a {@link ScoredValue} per element.
+     *
+     * @param key the key
+     * @param start the start
+     * @param stop the stop
+     * @return ScoredValues&lt;V&gt; array-reply list of elements in the specified range.
+     * @since 4.5
+     */
+    ScoredValues<V> zrevrangeWithScoresAsArrays(K key, long start, long stop);
+
     /**
      * Return a range of members in a sorted set, by lexicographical range ordered from high to low.
      *
@@ -18,6 +18,7 @@ package com.lambdaworks.redis.cluster;
 import java.io.Closeable;
 import java.util.concurrent.CompletableFuture;
 
+import com.lambdaworks.redis.RedisChannelWriter;
 import com.lambdaworks.redis.RedisException;
 import com.lambdaworks.redis.api.StatefulRedisConnection;
 import com.lambdaworks.redis.cluster.ClusterConnectionProvider.Intent;
@@ -42,6 +43,19 @@ interface AsyncClusterConnectionProvider extends Closeable {
      */
     <K, V> CompletableFuture<StatefulRedisConnection<K, V>> getConnectionAsync(Intent intent, int slot);
 
+    /**
+     * Lookup the {@link RedisChannelWriter} of an already established connection for the intent and cluster slot. This
+     * method does not block, does not connect and does not allocate. Callers are expected to fall back to
+     * {@link #getConnectionAsync(Intent, int)} if no writer is available.
+     *
+     * @param intent {@link ClusterConnectionProvider.Intent#READ} or {@link ClusterConnectionProvider.Intent#WRITE}.
+     * @param slot the slot-hash of the key, see {@link SlotHash}.
+     * @return the {@link RedisChannelWriter} of the connection which handles the slot or {@literal null} if the connection is
+     *         not yet established.
+     * @since 4.5
+     */
+    <K, V> RedisChannelWriter<K, V> getChannelWriter(Intent intent, int slot);
+
     /**
      * Provide a connection for the intent and host/port. The connection can survive cluster topology updates. The connection
      * will be closed if the node identified by {@code host} and {@code port} is no longer part of the cluster.
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.lambdaworks.redis.protocol.CommandWrapper;
+import com.lambdaworks.redis.protocol.RedisCommand;
+
+/**
+ * Circuit breaker for a single cluster node. Tracks in-flight commands and the failure rate of completed commands within a
+ * tumbling window. Success and failure counts restart once the window elapsed.
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ * @see CircuitBreakerOptions
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int maxInFlightCommands;
+    private final double failureRateThreshold;
+    private final int minimumNumberOfCommands;
+    private final long windowNanos;
+    private final long openDurationNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger successes = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicLong windowStart;
+    private volatile long openedAt;
+
+    CircuitBreaker(CircuitBreakerOptions options) {
+
+        this.maxInFlightCommands = options.getMaxInFlightCommands();
+        this.failureRateThreshold = options.getFailureRateThreshold();
+        this.minimumNumberOfCommands = options.getMinimumNumberOfCommands();
+        this.windowNanos = options.getFailureRateWindowUnit().toNanos(options.getFailureRateWindow());
+        this.openDurationNanos = options.getOpenDurationUnit().toNanos(options.getOpenDuration());
+        this.windowStart = new AtomicLong(nanoTime());
+    }
+
+    /**
+     * Wrap {@code command} if it is admitted.
+     *
+     * @param command the command to admit.
+     * @return the wrapped command that reports its outcome to this circuit breaker or {@literal null} if the command was
+     *         rejected.
+     */
+    <K, V, T> RedisCommand<K, V, T> admit(RedisCommand<K, V, T> command) {
+
+        State current = state.get();
+
+        if (current == State.OPEN) {
+
+            if (nanoTime() - openedAt < openDurationNanos || !state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                return null;
+            }
+
+            inFlight.incrementAndGet();
+            return new CircuitBreakerCommand<>(command, this, true);
+        }
+
+        if (current == State.HALF_OPEN) {
+            return null;
+        }
+
+        if (inFlight.incrementAndGet() > maxInFlightCommands) {
+            inFlight.decrementAndGet();
+            return null;
+        }
+
+        return new CircuitBreakerCommand<>(command, this, false);
+    }
+
+    void onSuccess(boolean probe) {
+
+        inFlight.decrementAndGet();
+
+        if (probe) {
+            reset(nanoTime());
+            state.set(State.CLOSED);
+            return;
+        }
+
+        if (state.get() == State.CLOSED) {
+            startWindowIfElapsed(nanoTime());
+            successes.incrementAndGet();
+        }
+    }
+
+    void onFailure(boolean probe) {
+
+        inFlight.decrementAndGet();
+        long now = nanoTime();
+
+        if (probe) {
+            openedAt = now;
+            state.set(State.OPEN);
+            return;
+        }
+
+        if (state.get() != State.CLOSED) {
+            return;
+        }
+
+        startWindowIfElapsed(now);
+
+        int failed = failures.incrementAndGet();
+        int total = failed + successes.get();
+
+        if (total >= minimumNumberOfCommands && failed >= failureRateThreshold * total) {
+
+            openedAt = now;
+            if (state.compareAndSet(State.CLOSED, State.OPEN)) {
+                reset(now);
+            }
+        }
+    }
+
+    void onCancel(boolean probe) {
+
+        inFlight.decrementAndGet();
+
+        // allow the next command to probe the node
+        if (probe) {
+            state.compareAndSet(State.HALF_OPEN, State.OPEN);
+        }
+    }
+
+    private void startWindowIfElapsed(long now) {
+
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            successes.set(0);
+            failures.set(0);
+        }
+    }
+
+    private void reset(long now) {
+
+        windowStart.set(now);
+        successes.set(0);
+        failures.set(0);
+    }
+
+    /**
+     * @return {@literal true} if the circuit is closed and no commands are in flight.
+     */
+    boolean isIdle() {
+        return state.get() == State.CLOSED && inFlight.get() == 0;
+    }
+
+    State getState() {
+        return state.get();
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Command wrapper reporting the command outcome to its {@link CircuitBreaker} once.
+     */
+    static class CircuitBreakerCommand<K, V, T> extends CommandWrapper<K, V, T> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<CircuitBreakerCommand> REPORTED = AtomicIntegerFieldUpdater
+                .newUpdater(CircuitBreakerCommand.class, "reported");
+
+        private final CircuitBreaker circuitBreaker;
+        private final boolean probe;
+
+        // accessed via REPORTED.
+        @SuppressWarnings("unused")
+        private volatile int reported;
+
+        CircuitBreakerCommand(RedisCommand<K, V, T> command, CircuitBreaker circuitBreaker, boolean probe) {
+
+            super(command);
+            this.circuitBreaker = circuitBreaker;
+            this.probe = probe;
+        }
+
+        @Override
+        public void complete() {
+
+            super.complete();
+
+            if (REPORTED.compareAndSet(this, 0, 1)) {
+                circuitBreaker.onSuccess(probe);
+            }
+        }
+
+        @Override
+        public boolean completeExceptionally(Throwable throwable) {
+
+            boolean result = super.completeExceptionally(throwable);
+
+            if (REPORTED.compareAndSet(this, 0, 1)) {
+                circuitBreaker.onFailure(probe);
+            }
+
+            return result;
+        }
+
+        @Override
+        public void cancel() {
+
+            super.cancel();
+
+            if (REPORTED.compareAndSet(this, 0, 1)) {
+                circuitBreaker.onCancel(probe);
+            }
+        }
+    }
+}
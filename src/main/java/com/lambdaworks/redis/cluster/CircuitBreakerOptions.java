@@ -0,0 +1,295 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import java.util.concurrent.TimeUnit;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+/**
+ * Options to control admission of commands to individual cluster nodes. A per-node circuit breaker tracks the number of
+ * in-flight commands and the rate of failed (including timed out) commands. Once the failure rate exceeds
+ * {@link #getFailureRateThreshold() the threshold}, the circuit opens and commands routed to the node fail fast with
+ * {@link RedisCircuitBreakerOpenException} or, for read commands, are routed to a replica of the node. After
+ * {@link #getOpenDuration() the open duration}, a single probe command is admitted. The circuit closes if the probe succeeds
+ * and opens again if it fails.
+ * <p>
+ * Commands exceeding {@link #getMaxInFlightCommands() the in-flight limit} of a node are rejected without opening the
+ * circuit (load shedding).
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class CircuitBreakerOptions {
+
+    public static final boolean DEFAULT_ENABLED = false;
+    public static final int DEFAULT_MAX_IN_FLIGHT_COMMANDS = Integer.MAX_VALUE;
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final int DEFAULT_MINIMUM_NUMBER_OF_COMMANDS = 20;
+    public static final long DEFAULT_FAILURE_RATE_WINDOW = 10;
+    public static final TimeUnit DEFAULT_FAILURE_RATE_WINDOW_UNIT = TimeUnit.SECONDS;
+    public static final long DEFAULT_OPEN_DURATION = 5;
+    public static final TimeUnit DEFAULT_OPEN_DURATION_UNIT = TimeUnit.SECONDS;
+    public static final boolean DEFAULT_ROUTE_READS_TO_REPLICAS = true;
+
+    private final boolean enabled;
+    private final int maxInFlightCommands;
+    private final double failureRateThreshold;
+    private final int minimumNumberOfCommands;
+    private final long failureRateWindow;
+    private final TimeUnit failureRateWindowUnit;
+    private final long openDuration;
+    private final TimeUnit openDurationUnit;
+    private final boolean routeReadsToReplicas;
+
+    protected CircuitBreakerOptions(Builder builder) {
+
+        this.enabled = builder.enabled;
+        this.maxInFlightCommands = builder.maxInFlightCommands;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.minimumNumberOfCommands = builder.minimumNumberOfCommands;
+        this.failureRateWindow = builder.failureRateWindow;
+        this.failureRateWindowUnit = builder.failureRateWindowUnit;
+        this.openDuration = builder.openDuration;
+        this.openDurationUnit = builder.openDurationUnit;
+        this.routeReadsToReplicas = builder.routeReadsToReplicas;
+    }
+
+    /**
+     * Returns a new {@link CircuitBreakerOptions.Builder} to construct {@link CircuitBreakerOptions}.
+     *
+     * @return a new {@link CircuitBreakerOptions.Builder} to construct {@link CircuitBreakerOptions}.
+     */
+    public static CircuitBreakerOptions.Builder builder() {
+        return new CircuitBreakerOptions.Builder();
+    }
+
+    /**
+     * Create a new {@link CircuitBreakerOptions} using default settings. Circuit breakers are disabled by default.
+     *
+     * @return a new instance of default circuit breaker options.
+     */
+    public static CircuitBreakerOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new {@link CircuitBreakerOptions} using default settings with enabled circuit breakers.
+     *
+     * @return a new instance of enabled circuit breaker options.
+     */
+    public static CircuitBreakerOptions enabled() {
+        return builder().enabled(true).build();
+    }
+
+    /**
+     * Builder for {@link CircuitBreakerOptions}.
+     */
+    public static class Builder {
+
+        private boolean enabled = DEFAULT_ENABLED;
+        private int maxInFlightCommands = DEFAULT_MAX_IN_FLIGHT_COMMANDS;
+        private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private int minimumNumberOfCommands = DEFAULT_MINIMUM_NUMBER_OF_COMMANDS;
+        private long failureRateWindow = DEFAULT_FAILURE_RATE_WINDOW;
+        private TimeUnit failureRateWindowUnit = DEFAULT_FAILURE_RATE_WINDOW_UNIT;
+        private long openDuration = DEFAULT_OPEN_DURATION;
+        private TimeUnit openDurationUnit = DEFAULT_OPEN_DURATION_UNIT;
+        private boolean routeReadsToReplicas = DEFAULT_ROUTE_READS_TO_REPLICAS;
+
+        private Builder() {
+        }
+
+        /**
+         * Enable per-node circuit breakers. Defaults to {@literal false}. See {@link #DEFAULT_ENABLED}.
+         *
+         * @param enabled {@literal true} to enable circuit breakers.
+         * @return {@code this}
+         */
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * Set the maximal number of in-flight commands per node. Commands exceeding the limit are rejected. Defaults to
+         * {@link Integer#MAX_VALUE}. See {@link #DEFAULT_MAX_IN_FLIGHT_COMMANDS}.
+         *
+         * @param maxInFlightCommands the maximal number of in-flight commands, must be greater {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder maxInFlightCommands(int maxInFlightCommands) {
+
+            LettuceAssert.isTrue(maxInFlightCommands > 0, "Max in-flight commands must be greater 0");
+
+            this.maxInFlightCommands = maxInFlightCommands;
+            return this;
+        }
+
+        /**
+         * Set the failure rate that opens the circuit. Defaults to {@literal 0.5}. See
+         * {@link #DEFAULT_FAILURE_RATE_THRESHOLD}.
+         *
+         * @param failureRateThreshold the failure rate, must be greater {@literal 0} and less or equal {@literal 1}.
+         * @return {@code this}
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+
+            LettuceAssert.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 1,
+                    "Failure rate threshold must be between 0 (exclusive) and 1 (inclusive)");
+
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Set the minimal number of completed commands within the failure rate window before the failure rate is evaluated.
+         * Defaults to {@literal 20}. See {@link #DEFAULT_MINIMUM_NUMBER_OF_COMMANDS}.
+         *
+         * @param minimumNumberOfCommands the minimal number of commands, must be greater {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder minimumNumberOfCommands(int minimumNumberOfCommands) {
+
+            LettuceAssert.isTrue(minimumNumberOfCommands > 0, "Minimum number of commands must be greater 0");
+
+            this.minimumNumberOfCommands = minimumNumberOfCommands;
+            return this;
+        }
+
+        /**
+         * Set the window in which the failure rate is calculated. The window is a tumbling window: command outcomes are counted
+         * from the start of the window and the counts restart once the window elapsed. Defaults to {@literal 10 SECONDS}. See
+         * {@link #DEFAULT_FAILURE_RATE_WINDOW} and {@link #DEFAULT_FAILURE_RATE_WINDOW_UNIT}.
+         *
+         * @param failureRateWindow the window, must be greater {@literal 0}.
+         * @param failureRateWindowUnit unit for {@code failureRateWindow}, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder failureRateWindow(long failureRateWindow, TimeUnit failureRateWindowUnit) {
+
+            LettuceAssert.isTrue(failureRateWindow > 0, "Failure rate window must be greater 0");
+            LettuceAssert.notNull(failureRateWindowUnit, "TimeUnit must not be null");
+
+            this.failureRateWindow = failureRateWindow;
+            this.failureRateWindowUnit = failureRateWindowUnit;
+            return this;
+        }
+
+        /**
+         * Set the duration the circuit stays open before a probe command is admitted. Defaults to {@literal 5 SECONDS}. See
+         * {@link #DEFAULT_OPEN_DURATION} and {@link #DEFAULT_OPEN_DURATION_UNIT}.
+         *
+         * @param openDuration the open duration, must be greater or equal {@literal 0}.
+         * @param openDurationUnit unit for {@code openDuration}, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder openDuration(long openDuration, TimeUnit openDurationUnit) {
+
+            LettuceAssert.isTrue(openDuration >= 0, "Open duration must be greater or equal 0");
+            LettuceAssert.notNull(openDurationUnit, "TimeUnit must not be null");
+
+            this.openDuration = openDuration;
+            this.openDurationUnit = openDurationUnit;
+            return this;
+        }
+
+        /**
+         * Route read commands that are rejected by the circuit breaker of a master to one of its replicas. Defaults to
+         * {@literal true}. See {@link #DEFAULT_ROUTE_READS_TO_REPLICAS}.
+         *
+         * @param routeReadsToReplicas {@literal true} to route rejected reads to replicas.
+         * @return {@code this}
+         */
+        public Builder routeReadsToReplicas(boolean routeReadsToReplicas) {
+            this.routeReadsToReplicas = routeReadsToReplicas;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link CircuitBreakerOptions}
+         *
+         * @return new instance of {@link CircuitBreakerOptions}
+         */
+        public CircuitBreakerOptions build() {
+            return new CircuitBreakerOptions(this);
+        }
+    }
+
+    /**
+     * @return {@literal true} if per-node circuit breakers are enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the maximal number of in-flight commands per node.
+     */
+    public int getMaxInFlightCommands() {
+        return maxInFlightCommands;
+    }
+
+    /**
+     * @return the failure rate that opens the circuit.
+     */
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * @return the minimal number of completed commands within the failure rate window before the failure rate is evaluated.
+     */
+    public int getMinimumNumberOfCommands() {
+        return minimumNumberOfCommands;
+    }
+
+    /**
+     * @return the tumbling window in which the failure rate is calculated.
+     */
+    public long getFailureRateWindow() {
+        return failureRateWindow;
+    }
+
+    /**
+     * @return unit for {@link #getFailureRateWindow()}.
+     */
+    public TimeUnit getFailureRateWindowUnit() {
+        return failureRateWindowUnit;
+    }
+
+    /**
+     * @return the duration the circuit stays open before a probe command is admitted.
+     */
+    public long getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * @return unit for {@link #getOpenDuration()}.
+     */
+    public TimeUnit getOpenDurationUnit() {
+        return openDurationUnit;
+    }
+
+    /**
+     * @return {@literal true} if read commands rejected by the circuit breaker of a master are routed to a replica.
+     */
+    public boolean isRouteReadsToReplicas() {
+        return routeReadsToReplicas;
+    }
+}
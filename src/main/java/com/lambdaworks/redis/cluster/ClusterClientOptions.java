@@ -18,8 +18,11 @@ package com.lambdaworks.redis.cluster;
 import java.util.concurrent.TimeUnit;
 
 import com.lambdaworks.redis.ClientOptions;
+import com.lambdaworks.redis.FlushStrategy;
+import com.lambdaworks.redis.PubSubOptions;
 import com.lambdaworks.redis.SocketOptions;
 import com.lambdaworks.redis.SslOptions;
+import com.lambdaworks.redis.TimeoutOptions;
 
 /**
  * Client Options to control the behavior of {@link RedisClusterClient}.
@@ -39,6 +42,7 @@ public class ClusterClientOptions extends ClientOptions {
     private final boolean validateClusterNodeMembership;
     private final int maxRedirects;
     private final ClusterTopologyRefreshOptions topologyRefreshOptions;
+    private final CircuitBreakerOptions circuitBreakerOptions;
 
     protected ClusterClientOptions(Builder builder) {
 
@@ -58,6 +62,8 @@ public class ClusterClientOptions extends ClientOptions {
         }
 
         this.topologyRefreshOptions = refreshOptions;
+        this.circuitBreakerOptions = builder.circuitBreakerOptions != null ? builder.circuitBreakerOptions
+                : CircuitBreakerOptions.create();
     }
 
     protected ClusterClientOptions(ClusterClientOptions original) {
@@ -67,6 +73,7 @@ public class ClusterClientOptions extends ClientOptions {
         this.validateClusterNodeMembership = original.validateClusterNodeMembership;
         this.maxRedirects = original.maxRedirects;
         this.topologyRefreshOptions = original.topologyRefreshOptions;
+        this.circuitBreakerOptions = original.circuitBreakerOptions;
     }
 
     /**
@@ -109,6 +116,7 @@ public class ClusterClientOptions extends ClientOptions {
         private boolean validateClusterNodeMembership = DEFAULT_VALIDATE_CLUSTER_MEMBERSHIP;
         private int maxRedirects = DEFAULT_MAX_REDIRECTS;
         private ClusterTopologyRefreshOptions topologyRefreshOptions = null;
+        private CircuitBreakerOptions circuitBreakerOptions = null;
 
         /**
          * @deprecated Use {@link ClusterClientOptions#builder()}
@@ -202,6 +210,19 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        /**
+         * Sets the {@link CircuitBreakerOptions} to control admission of commands to individual cluster nodes. Circuit
+         * breakers are disabled by default.
+         *
+         * @param circuitBreakerOptions the {@link CircuitBreakerOptions}
+         * @return {@code this}
+         * @since 4.5
+         */
+        public Builder circuitBreakerOptions(CircuitBreakerOptions circuitBreakerOptions) {
+            this.circuitBreakerOptions = circuitBreakerOptions;
+            return this;
+        }
+
         @Override
         public Builder pingBeforeActivateConnection(boolean pingBeforeActivateConnection) {
             super.pingBeforeActivateConnection(pingBeforeActivateConnection);
@@ -232,6 +253,12 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        @Override
+        public Builder lockFreeWrites(boolean lockFreeWrites) {
+            super.lockFreeWrites(lockFreeWrites);
+            return this;
+        }
+
         @Override
         public Builder disconnectedBehavior(DisconnectedBehavior disconnectedBehavior) {
             super.disconnectedBehavior(disconnectedBehavior);
@@ -250,6 +277,36 @@ public class ClusterClientOptions extends ClientOptions {
             return this;
         }
 
+        @Override
+        public Builder timeoutOptions(TimeoutOptions timeoutOptions) {
+            super.timeoutOptions(timeoutOptions);
+            return this;
+        }
+
+        @Override
+        public Builder flushStrategy(FlushStrategy flushStrategy) {
+            super.flushStrategy(flushStrategy);
+            return this;
+        }
+
+        @Override
+        public Builder coalesceReads(boolean coalesceReads) {
+            super.coalesceReads(coalesceReads);
+            return this;
+        }
+
+        @Override
+        public Builder pubSubOptions(PubSubOptions pubSubOptions) {
+            super.pubSubOptions(pubSubOptions);
+            return this;
+        }
+
+        @Override
+        public Builder suspendReadingWithoutDemand(boolean suspendReadingWithoutDemand) {
+            super.suspendReadingWithoutDemand(suspendReadingWithoutDemand);
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ClusterClientOptions}
          *
@@ -330,4 +387,14 @@ public class ClusterClientOptions extends ClientOptions {
         return topologyRefreshOptions;
     }
 
+    /**
+     * The {@link CircuitBreakerOptions} to control admission of commands to individual cluster nodes.
+     *
+     * @return the {@link CircuitBreakerOptions}.
+     * @since 4.5
+     */
+    public CircuitBreakerOptions getCircuitBreakerOptions() {
+        return circuitBreakerOptions;
+    }
+
 }
@@ -19,15 +19,20 @@ import static com.lambdaworks.redis.cluster.SlotHash.getSlot;
 import static com.lambdaworks.redis.protocol.CommandType.CLIENT;
 
 import java.nio.ByteBuffer;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 import com.lambdaworks.redis.*;
 import com.lambdaworks.redis.api.StatefulRedisConnection;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
+import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.internal.HostAndPort;
 import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.protocol.CommandArgs;
 import com.lambdaworks.redis.protocol.CommandKeyword;
+import com.lambdaworks.redis.protocol.CommandWrapper;
 import com.lambdaworks.redis.protocol.ProtocolKeyword;
 import com.lambdaworks.redis.protocol.RedisCommand;
 
@@ -44,6 +49,8 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
     private final RedisChannelWriter<K, V> defaultWriter;
     private final ClusterEventListener clusterEventListener;
     private final int executionLimit;
+    private final CircuitBreakerOptions circuitBreakerOptions;
+    private final Map<RedisChannelWriter<K, V>, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
 
     private ClusterConnectionProvider clusterConnectionProvider;
     private AsyncClusterConnectionProvider asyncClusterConnectionProvider;
@@ -54,9 +61,15 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
             ClusterEventListener clusterEventListener) {
 
         if (clientOptions instanceof ClusterClientOptions) {
-            this.executionLimit = ((ClusterClientOptions) clientOptions).getMaxRedirects();
+
+            ClusterClientOptions clusterClientOptions = (ClusterClientOptions) clientOptions;
+            CircuitBreakerOptions circuitBreakerOptions = clusterClientOptions.getCircuitBreakerOptions();
+
+            this.executionLimit = clusterClientOptions.getMaxRedirects();
+            this.circuitBreakerOptions = circuitBreakerOptions.isEnabled() ? circuitBreakerOptions : null;
         } else {
             this.executionLimit = 5;
+            this.circuitBreakerOptions = null;
         }
 
         this.defaultWriter = defaultWriter;
@@ -117,7 +130,13 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
                 int hash = getSlot(encodedKey);
                 ClusterConnectionProvider.Intent intent = getIntent(command.getType());
 
-                CompletableFuture<StatefulRedisConnection<K, V>> connectFuture = ((AsyncClusterConnectionProvider) clusterConnectionProvider)
+                RedisChannelWriter<K, V> writer = asyncClusterConnectionProvider.getChannelWriter(intent, hash);
+                if (writer != null) {
+                    writeCommand(commandToSend, writer);
+                    return (C) commandToSend;
+                }
+
+                CompletableFuture<StatefulRedisConnection<K, V>> connectFuture = asyncClusterConnectionProvider
                         .getConnectionAsync(intent, hash);
 
                 if (isSuccessfullyCompleted(connectFuture)) {
@@ -136,6 +155,115 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
         return (C) commandToSend;
     }
 
+    /**
+     * Write a batch of commands. Commands are grouped by their target node connection and each group is written with a single
+     * flush. Commands whose connection is not yet available and redirected commands are written individually. Redirects
+     * ({@literal MOVED}, {@literal ASK}) of batched commands are re-dispatched per command through
+     * {@link #write(RedisCommand)}.
+     *
+     * @param commands the redis commands
+     * @return the written commands in the order of {@code commands}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Collection<RedisCommand<K, V, ?>> write(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        LettuceAssert.notNull(commands, "Commands must not be null");
+
+        if (closed) {
+            throw new RedisException("Connection is closed");
+        }
+
+        List<RedisCommand<K, V, ?>> written = new ArrayList<>(commands.size());
+        Map<RedisChannelWriter<K, V>, List<RedisCommand<K, V, ?>>> batches = new LinkedHashMap<>();
+        Map<Integer, CompletableFuture<StatefulRedisConnection<K, V>>> connections = new HashMap<>();
+
+        for (RedisCommand<K, V, ?> command : commands) {
+
+            if (command instanceof ClusterCommand && !command.isDone()) {
+
+                ClusterCommand<K, V, ?> clusterCommand = (ClusterCommand<K, V, ?>) command;
+                if (clusterCommand.isMoved() || clusterCommand.isAsk()) {
+                    written.add(write(command));
+                    continue;
+                }
+            }
+
+            ClusterCommand<K, V, ?> commandToSend = getCommandToSend(command);
+            CommandArgs<K, V> args = command.getArgs();
+            written.add(commandToSend);
+
+            // exclude CLIENT commands from cluster routing
+            if (args != null && !CLIENT.equals(commandToSend.getType())) {
+
+                ByteBuffer encodedKey = args.getFirstEncodedKey();
+                if (encodedKey != null) {
+
+                    int hash = getSlot(encodedKey);
+                    ClusterConnectionProvider.Intent intent = getIntent(command.getType());
+
+                    RedisChannelWriter<K, V> writer = asyncClusterConnectionProvider.getChannelWriter(intent, hash);
+                    if (writer != null) {
+                        batches.computeIfAbsent(getWriterToUse(writer), key -> new ArrayList<>()).add(commandToSend);
+                        continue;
+                    }
+
+                    CompletableFuture<StatefulRedisConnection<K, V>> connectFuture = connections.computeIfAbsent(
+                            hash * 2 + intent.ordinal(), key -> asyncClusterConnectionProvider.getConnectionAsync(intent, hash));
+
+                    if (isSuccessfullyCompleted(connectFuture)) {
+                        RedisChannelWriter<K, V> connectionWriter = ((RedisChannelHandler<K, V>) connectFuture.join())
+                                .getChannelWriter();
+                        batches.computeIfAbsent(getWriterToUse(connectionWriter), key -> new ArrayList<>()).add(
+                                commandToSend);
+                    } else {
+                        connectFuture.whenComplete((connection, throwable) -> writeCommand(commandToSend, false, connection,
+                                throwable));
+                    }
+
+                    continue;
+                }
+            }
+
+            batches.computeIfAbsent(defaultWriter, key -> new ArrayList<>()).add(commandToSend);
+        }
+
+        for (Map.Entry<RedisChannelWriter<K, V>, List<RedisCommand<K, V, ?>>> entry : batches.entrySet()) {
+            writeCommands(entry.getValue(), entry.getKey());
+        }
+
+        return written;
+    }
+
+    private void writeCommands(List<RedisCommand<K, V, ?>> commands, RedisChannelWriter<K, V> writer) {
+
+        List<RedisCommand<K, V, ?>> commandsToWrite = commands;
+
+        if (circuitBreakerOptions != null && writer != defaultWriter) {
+
+            commandsToWrite = new ArrayList<>(commands.size());
+            for (RedisCommand<K, V, ?> command : commands) {
+
+                RedisCommand<K, V, ?> admitted = admit(command, writer, true);
+                if (admitted != null) {
+                    commandsToWrite.add(admitted);
+                }
+            }
+
+            if (commandsToWrite.isEmpty()) {
+                return;
+            }
+        }
+
+        try {
+            writer.write(commandsToWrite);
+        } catch (Exception e) {
+            for (RedisCommand<K, V, ?> command : commandsToWrite) {
+                command.completeExceptionally(e);
+            }
+        }
+    }
+
     private static boolean isSuccessfullyCompleted(CompletableFuture<?> connectFuture) {
         return connectFuture.isDone() && !connectFuture.isCompletedExceptionally();
     }
@@ -151,8 +279,8 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
     }
 
     @SuppressWarnings("unchecked")
-    private static <K, V> void writeCommand(RedisCommand<K, V, ?> command, boolean asking,
-            StatefulRedisConnection<K, V> connection, Throwable throwable) {
+    private void writeCommand(RedisCommand<K, V, ?> command, boolean asking, StatefulRedisConnection<K, V> connection,
+            Throwable throwable) {
 
         if (throwable != null) {
             command.completeExceptionally(throwable);
@@ -170,13 +298,134 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
         }
     }
 
-    private static <K, V> void writeCommand(RedisCommand<K, V, ?> command, RedisChannelWriter<K, V> writer) {
+    private void writeCommand(RedisCommand<K, V, ?> command, RedisChannelWriter<K, V> writer) {
+        writeCommand(command, writer, true);
+    }
+
+    private void writeCommand(RedisCommand<K, V, ?> command, RedisChannelWriter<K, V> writer, boolean reroute) {
+
+        RedisChannelWriter<K, V> writerToUse = getWriterToUse(writer);
+        RedisCommand<K, V, ?> commandToWrite = admit(command, writerToUse, reroute);
+
+        if (commandToWrite == null) {
+            return;
+        }
 
         try {
-            getWriterToUse(writer).write(command);
+            writerToUse.write(commandToWrite);
         } catch (Exception e) {
-            command.completeExceptionally(e);
+            commandToWrite.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Admit {@code command} through the {@link CircuitBreaker} of the node {@code writer} belongs to. Rejected read commands
+     * are routed to a replica if {@code reroute} is enabled, other rejected commands are completed exceptionally.
+     *
+     * @return the command to write or {@literal null} if the command was rejected.
+     */
+    private <T> RedisCommand<K, V, T> admit(RedisCommand<K, V, T> command, RedisChannelWriter<K, V> writer, boolean reroute) {
+
+        if (circuitBreakerOptions == null || writer == defaultWriter || command.isDone()) {
+            return command;
+        }
+
+        CircuitBreaker circuitBreaker = circuitBreakers.get(writer);
+        if (circuitBreaker == null) {
+            circuitBreaker = circuitBreakers.computeIfAbsent(writer, key -> new CircuitBreaker(circuitBreakerOptions));
+        }
+
+        RedisCommand<K, V, T> admitted = circuitBreaker.admit(command);
+
+        if (admitted != null) {
+
+            // commands cancelled before they are written are discarded by the writer and must release their admission.
+            RedisCommand<K, V, T> actual = CommandWrapper.unwrap(command);
+            if (actual instanceof CompletableFuture) {
+                ((CompletableFuture<?>) actual).whenComplete((result, throwable) -> {
+                    if (actual.isCancelled()) {
+                        admitted.cancel();
+                    }
+                });
+            }
+
+            return admitted;
         }
+
+        if (reroute && circuitBreakerOptions.isRouteReadsToReplicas() && rerouteToReplica(command, writer)) {
+            return null;
+        }
+
+        command.completeExceptionally(new RedisCircuitBreakerOpenException(String.format(
+                "Cluster node rejected command %s, circuit breaker state: %s, in-flight commands: %d", command.getType(),
+                circuitBreaker.getState(), circuitBreaker.getInFlight())));
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean rerouteToReplica(RedisCommand<K, V, ?> command, RedisChannelWriter<K, V> rejectingWriter) {
+
+        CommandArgs<K, V> args = command.getArgs();
+        Partitions partitions = this.partitions;
+
+        if (args == null || partitions == null || getIntent(command.getType()) != ClusterConnectionProvider.Intent.READ) {
+            return false;
+        }
+
+        ByteBuffer encodedKey = args.getFirstEncodedKey();
+        if (encodedKey == null) {
+            return false;
+        }
+
+        RedisClusterNode replica = getReplica(partitions, getSlot(encodedKey));
+        if (replica == null) {
+            return false;
+        }
+
+        CompletableFuture<StatefulRedisConnection<K, V>> connectFuture = asyncClusterConnectionProvider.getConnectionAsync(
+                ClusterConnectionProvider.Intent.READ, replica.getUri().getHost(), replica.getUri().getPort());
+
+        connectFuture.whenComplete((connection, throwable) -> {
+
+            if (throwable != null) {
+                command.completeExceptionally(throwable);
+                return;
+            }
+
+            RedisChannelWriter<K, V> writer = ((RedisChannelHandler<K, V>) connection).getChannelWriter();
+
+            if (getWriterToUse(writer) == rejectingWriter) {
+                command.completeExceptionally(new RedisCircuitBreakerOpenException("Cluster node " + replica.getUri()
+                        + " rejected command " + command.getType()));
+                return;
+            }
+
+            writeCommand(command, writer, false);
+        });
+
+        return true;
+    }
+
+    private static RedisClusterNode getReplica(Partitions partitions, int slot) {
+
+        RedisClusterNode master = partitions.getPartitionBySlot(slot);
+        if (master == null) {
+            return null;
+        }
+
+        List<RedisClusterNode> replicas = new ArrayList<>();
+        for (RedisClusterNode node : partitions) {
+            if (master.getNodeId().equals(node.getSlaveOf()) && node.getUri() != null
+                    && !node.is(RedisClusterNode.NodeFlag.FAIL)) {
+                replicas.add(node);
+            }
+        }
+
+        if (replicas.isEmpty()) {
+            return null;
+        }
+
+        return replicas.get(ThreadLocalRandom.current().nextInt(replicas.size()));
     }
 
     private static <K, V> RedisChannelWriter<K, V> getWriterToUse(RedisChannelWriter<K, V> writer) {
@@ -277,6 +526,9 @@ class ClusterDistributionChannelWriter<K, V> implements RedisChannelWriter<K, V>
         if (clusterConnectionProvider != null) {
             clusterConnectionProvider.setPartitions(partitions);
         }
+
+        // release circuit breakers of connections that were closed due to topology changes
+        circuitBreakers.values().removeIf(CircuitBreaker::isIdle);
     }
 
     public Partitions getPartitions() {
@@ -15,9 +15,7 @@
  */
 package com.lambdaworks.redis.cluster;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import java.util.*;
 import java.util.function.Function;
 
 import rx.Observable;
@@ -26,6 +24,7 @@ import rx.functions.Func1;
 import com.lambdaworks.redis.*;
 import com.lambdaworks.redis.cluster.api.StatefulRedisClusterConnection;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.models.role.RedisNodeDescription;
 
 /**
@@ -67,6 +66,36 @@ class ClusterScanSupport {
         }
     };
 
+    /**
+     * Merge the {@link KeyScanCursor}s of a parallel scan iteration into a {@link ParallelClusterKeyScanCursor}.
+     */
+    static final ParallelScanCursorMerger<KeyScanCursor<Object>> parallelKeyScanCursorMerger = (nodeCursors, results) -> {
+
+        ParallelClusterKeyScanCursor<Object> cursor = new ParallelClusterKeyScanCursor<>(advance(nodeCursors, results));
+
+        for (KeyScanCursor<Object> result : results.values()) {
+            cursor.getKeys().addAll(result.getKeys());
+        }
+
+        return cursor;
+    };
+
+    /**
+     * Merge the {@link StreamScanCursor}s of a parallel scan iteration into a {@link ParallelClusterStreamScanCursor}.
+     */
+    static final ParallelScanCursorMerger<StreamScanCursor> parallelStreamScanCursorMerger = (nodeCursors, results) -> {
+
+        ParallelClusterStreamScanCursor cursor = new ParallelClusterStreamScanCursor(advance(nodeCursors, results));
+
+        long count = 0;
+        for (StreamScanCursor result : results.values()) {
+            count += result.getCount();
+        }
+        cursor.setCount(count);
+
+        return cursor;
+    };
+
     /**
      * Map a {@link Observable} of {@link KeyScanCursor} to a {@link Observable} of {@link ClusterKeyScanCursor}.
      */
@@ -209,6 +238,137 @@ class ClusterScanSupport {
         }
     }
 
+    /**
+     * Retrieve the SCAN cursors of all nodes that are not yet finished for a parallel SCAN. The resulting map is ordered by
+     * the node order of the initial scan.
+     *
+     * @param connection the cluster connection.
+     * @param cursor {@link ScanCursor#INITIAL}, a cursor returned by a previous parallel scan invocation or a
+     *        {@link ScanCursor} holding the {@link ScanCursor#getCursor() cursor string} of a previous parallel scan.
+     * @return mapping of node Id to node cursor.
+     */
+    static Map<String, String> getNodeCursors(StatefulRedisClusterConnection<?, ?> connection, ScanCursor cursor) {
+
+        LettuceAssert.notNull(cursor, "ScanCursor must not be null");
+
+        if (ScanCursor.INITIAL.equals(cursor)) {
+
+            List<String> nodeIds = getNodeIds(connection);
+            assertHasNodes(nodeIds);
+
+            Map<String, String> nodeCursors = new LinkedHashMap<>();
+            for (String nodeId : nodeIds) {
+                nodeCursors.put(nodeId, ScanCursor.INITIAL.getCursor());
+            }
+            return nodeCursors;
+        }
+
+        if (cursor.isFinished()) {
+            throw new IllegalStateException("Cluster scan is finished");
+        }
+
+        if (cursor instanceof ParallelClusterScanCursor) {
+            return ((ParallelClusterScanCursor) cursor).getNodeCursors();
+        }
+
+        return decodeNodeCursors(cursor.getCursor());
+    }
+
+    /**
+     * Select the nodes to scan within the next parallel scan iteration.
+     *
+     * @param nodeCursors mapping of node Id to node cursor.
+     * @param parallelism maximal number of nodes.
+     * @return the first {@code parallelism} node Ids.
+     */
+    static List<String> selectNodes(Map<String, String> nodeCursors, int parallelism) {
+
+        List<String> nodeIds = new ArrayList<>(Math.min(parallelism, nodeCursors.size()));
+
+        for (String nodeId : nodeCursors.keySet()) {
+
+            if (nodeIds.size() == parallelism) {
+                break;
+            }
+            nodeIds.add(nodeId);
+        }
+
+        return nodeIds;
+    }
+
+    /**
+     * Apply the results of a parallel scan iteration to {@code nodeCursors}. Nodes that are finished are removed.
+     *
+     * @param nodeCursors mapping of node Id to node cursor.
+     * @param results mapping of node Id to the cursor that was returned by the node.
+     * @return the new mapping of node Id to node cursor.
+     */
+    static Map<String, String> advance(Map<String, String> nodeCursors, Map<String, ? extends ScanCursor> results) {
+
+        Map<String, String> result = new LinkedHashMap<>(nodeCursors);
+
+        for (Map.Entry<String, ? extends ScanCursor> entry : results.entrySet()) {
+
+            if (entry.getValue().isFinished()) {
+                result.remove(entry.getKey());
+            } else {
+                result.put(entry.getKey(), entry.getValue().getCursor());
+            }
+        }
+
+        return result;
+    }
+
+    static String encodeNodeCursors(Map<String, String> nodeCursors) {
+
+        if (nodeCursors.isEmpty()) {
+            return ScanCursor.FINISHED.getCursor();
+        }
+
+        StringBuilder builder = new StringBuilder(nodeCursors.size() * 48);
+
+        for (Map.Entry<String, String> entry : nodeCursors.entrySet()) {
+
+            if (builder.length() != 0) {
+                builder.append(',');
+            }
+            builder.append(entry.getKey()).append(':').append(entry.getValue());
+        }
+
+        return builder.toString();
+    }
+
+    static Map<String, String> decodeNodeCursors(String cursor) {
+
+        if (cursor == null || cursor.indexOf(':') == -1) {
+            throw new IllegalArgumentException(
+                    "A parallel scan in Redis Cluster mode requires to reuse the resulting cursor from the previous scan invocation");
+        }
+
+        Map<String, String> nodeCursors = new LinkedHashMap<>();
+
+        for (String nodeCursor : cursor.split(",")) {
+
+            int separator = nodeCursor.indexOf(':');
+            if (separator < 1 || separator == nodeCursor.length() - 1) {
+                throw new IllegalArgumentException("Malformed parallel scan cursor: " + cursor);
+            }
+
+            nodeCursors.put(nodeCursor.substring(0, separator), nodeCursor.substring(separator + 1));
+        }
+
+        return nodeCursors;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K> ParallelScanCursorMerger<KeyScanCursor<K>> parallelKeyScanCursorMerger() {
+        return (ParallelScanCursorMerger) parallelKeyScanCursorMerger;
+    }
+
+    static ParallelScanCursorMerger<StreamScanCursor> parallelStreamScanCursorMerger() {
+        return parallelStreamScanCursorMerger;
+    }
+
     static <K> ScanCursorMapper<RedisFuture<KeyScanCursor<K>>> asyncClusterKeyScanCursorMapper() {
         return (ScanCursorMapper) futureKeyScanCursorMapper;
     }
@@ -234,6 +394,22 @@ class ClusterScanSupport {
         T map(List<String> nodeIds, String currentNodeId, T cursor);
     }
 
+    /**
+     * Merges the node cursors of a parallel scan iteration into a composite cursor.
+     *
+     * @param <T>
+     */
+    interface ParallelScanCursorMerger<T extends ScanCursor> {
+        T merge(Map<String, String> nodeCursors, Map<String, T> results);
+    }
+
+    /**
+     * Marker for a composite cluster scan cursor holding the cursors of all nodes that are not yet finished.
+     */
+    interface ParallelClusterScanCursor {
+        Map<String, String> getNodeCursors();
+    }
+
     /**
      * Marker for a cluster scan cursor.
      */
@@ -326,4 +502,47 @@ class ClusterScanSupport {
             return cursor.isFinished();
         }
     }
+
+    /**
+     * Composite cursor for a parallel cluster-wide SCAN using Key results. The {@link #getCursor() cursor string} encodes the
+     * cursors of all nodes that are not yet finished so a scan can be resumed using {@link ScanCursor#of(String)}.
+     *
+     * @param <K>
+     */
+    private static class ParallelClusterKeyScanCursor<K> extends KeyScanCursor<K> implements ParallelClusterScanCursor {
+
+        final Map<String, String> nodeCursors;
+
+        public ParallelClusterKeyScanCursor(Map<String, String> nodeCursors) {
+
+            this.nodeCursors = nodeCursors;
+            setCursor(encodeNodeCursors(nodeCursors));
+            setFinished(nodeCursors.isEmpty());
+        }
+
+        @Override
+        public Map<String, String> getNodeCursors() {
+            return nodeCursors;
+        }
+    }
+
+    /**
+     * Composite cursor for a parallel cluster-wide SCAN using streaming.
+     */
+    private static class ParallelClusterStreamScanCursor extends StreamScanCursor implements ParallelClusterScanCursor {
+
+        final Map<String, String> nodeCursors;
+
+        public ParallelClusterStreamScanCursor(Map<String, String> nodeCursors) {
+
+            this.nodeCursors = nodeCursors;
+            setCursor(encodeNodeCursors(nodeCursors));
+            setFinished(nodeCursors.isEmpty());
+        }
+
+        @Override
+        public Map<String, String> getNodeCursors() {
+            return nodeCursors;
+        }
+    }
 }
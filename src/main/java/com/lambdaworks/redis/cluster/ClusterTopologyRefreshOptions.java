@@ -37,6 +37,7 @@ public class ClusterTopologyRefreshOptions {
     public static final TimeUnit DEFAULT_ADAPTIVE_REFRESH_TIMEOUT_UNIT = TimeUnit.SECONDS;
     public static final int DEFAULT_REFRESH_TRIGGERS_RECONNECT_ATTEMPTS = 5;
     public static final boolean DEFAULT_CLOSE_STALE_CONNECTIONS = true;
+    public static final int DEFAULT_REFRESH_SAMPLE_SIZE = 0;
 
     private final boolean periodicRefreshEnabled;
     private final long refreshPeriod;
@@ -47,6 +48,7 @@ public class ClusterTopologyRefreshOptions {
     private final long adaptiveRefreshTimeout;
     private final TimeUnit adaptiveRefreshTimeoutUnit;
     private final int refreshTriggersReconnectAttempts;
+    private final int refreshSampleSize;
 
     protected ClusterTopologyRefreshOptions(Builder builder) {
 
@@ -59,6 +61,7 @@ public class ClusterTopologyRefreshOptions {
         this.adaptiveRefreshTimeout = builder.adaptiveRefreshTimeout;
         this.adaptiveRefreshTimeoutUnit = builder.adaptiveRefreshTimeoutUnit;
         this.refreshTriggersReconnectAttempts = builder.refreshTriggersReconnectAttempts;
+        this.refreshSampleSize = builder.refreshSampleSize;
     }
 
     protected ClusterTopologyRefreshOptions(ClusterTopologyRefreshOptions original) {
@@ -72,6 +75,7 @@ public class ClusterTopologyRefreshOptions {
         this.adaptiveRefreshTimeout = original.adaptiveRefreshTimeout;
         this.adaptiveRefreshTimeoutUnit = original.adaptiveRefreshTimeoutUnit;
         this.refreshTriggersReconnectAttempts = original.refreshTriggersReconnectAttempts;
+        this.refreshSampleSize = original.refreshSampleSize;
     }
 
     /**
@@ -125,6 +129,7 @@ public class ClusterTopologyRefreshOptions {
         private long adaptiveRefreshTimeout = DEFAULT_ADAPTIVE_REFRESH_TIMEOUT;
         private TimeUnit adaptiveRefreshTimeoutUnit = DEFAULT_ADAPTIVE_REFRESH_TIMEOUT_UNIT;
         private int refreshTriggersReconnectAttempts = DEFAULT_REFRESH_TRIGGERS_RECONNECT_ATTEMPTS;
+        private int refreshSampleSize = DEFAULT_REFRESH_SAMPLE_SIZE;
 
         /**
          * @deprecated Use {@link ClusterTopologyRefreshOptions#builder()}
@@ -275,6 +280,24 @@ public class ClusterTopologyRefreshOptions {
             return this;
         }
 
+        /**
+         * Limit topology refreshes to a sample of {@code refreshSampleSize} cluster nodes. Sampled refreshes query a rotating
+         * subset of the known nodes over dedicated refresh connections, skip
+         * {@code CLIENT LIST} and apply only topology changes. The initial topology is always retrieved from all seed nodes.
+         * Defaults to {@literal 0} (query all nodes). See {@link #DEFAULT_REFRESH_SAMPLE_SIZE}.
+         *
+         * @param refreshSampleSize number of nodes to query per topology refresh, {@literal 0} to query all nodes.
+         * @return {@code this}
+         * @since 4.5
+         */
+        public Builder refreshSampleSize(int refreshSampleSize) {
+
+            LettuceAssert.isTrue(refreshSampleSize >= 0, "Refresh sample size must be greater or equal 0");
+
+            this.refreshSampleSize = refreshSampleSize;
+            return this;
+        }
+
         /**
          * Create a new instance of {@link ClusterTopologyRefreshOptions}
          *
@@ -376,6 +399,25 @@ public class ClusterTopologyRefreshOptions {
         return refreshTriggersReconnectAttempts;
     }
 
+    /**
+     * Number of cluster nodes to query per topology refresh. Defaults to {@literal 0} (query all nodes). See
+     * {@link #DEFAULT_REFRESH_SAMPLE_SIZE}.
+     *
+     * @return number of nodes to query per topology refresh, {@literal 0} if all nodes are queried.
+     * @since 4.5
+     */
+    public int getRefreshSampleSize() {
+        return refreshSampleSize;
+    }
+
+    /**
+     * @return {@literal true} if topology refreshes query a {@link #getRefreshSampleSize() sample} of cluster nodes.
+     * @since 4.5
+     */
+    public boolean isSampledRefresh() {
+        return refreshSampleSize > 0;
+    }
+
     /**
      * Available refresh triggers to signal early topology refreshing.
      */
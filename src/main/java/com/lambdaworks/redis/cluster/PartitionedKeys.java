@@ -0,0 +1,164 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.internal.LettuceLists;
+
+/**
+ * Keys partitioned by their slot-hash. Partitions are numbered in the order of the first key that maps to the slot. Each key
+ * is associated with its partition and its position inside the partition so results of per-partition commands can be
+ * reassembled in key order in linear time.
+ * <p>
+ * Slots are mapped to partitions using an open-addressing table of primitive {@code int}s to avoid boxing.
+ * </p>
+ *
+ * @param <K> Key type.
+ * @author Mark Paluch
+ * @since 4.5
+ */
+class PartitionedKeys<K> {
+
+    private final int[] slots;
+    private final List<List<K>> keys;
+    private final int[] keyPartitions;
+    private final int[] keyPositions;
+
+    private PartitionedKeys(int[] slots, List<List<K>> keys, int[] keyPartitions, int[] keyPositions) {
+
+        this.slots = slots;
+        this.keys = keys;
+        this.keyPartitions = keyPartitions;
+        this.keyPositions = keyPositions;
+    }
+
+    /**
+     * Partition {@code keys} by slot-hash.
+     *
+     * @param codec codec to encode the key
+     * @param keys iterable of keys
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the partitioned keys.
+     */
+    static <K, V> PartitionedKeys<K> of(RedisCodec<K, V> codec, Iterable<K> keys) {
+
+        List<K> keyList = keys instanceof List && keys instanceof RandomAccess ? (List<K>) keys : LettuceLists.newList(keys);
+        int size = keyList.size();
+
+        int[] keyPartitions = new int[size];
+        int[] keyPositions = new int[size];
+
+        int maxPartitions = Math.min(size, SlotHash.SLOT_COUNT);
+        int mask = tableSizeFor(maxPartitions * 2) - 1;
+
+        // slot to (partition + 1), 0 marks a free entry
+        int[] table = new int[mask + 1];
+        int[] slots = new int[maxPartitions];
+        List<List<K>> partitions = new ArrayList<>();
+
+        for (int i = 0; i < size; i++) {
+
+            K key = keyList.get(i);
+            int slot = SlotHash.getSlot(codec.encodeKey(key));
+            int index = slot & mask;
+
+            while (table[index] != 0 && slots[table[index] - 1] != slot) {
+                index = (index + 1) & mask;
+            }
+
+            int partition;
+            if (table[index] == 0) {
+
+                partition = partitions.size();
+                table[index] = partition + 1;
+                slots[partition] = slot;
+                partitions.add(new ArrayList<>());
+            } else {
+                partition = table[index] - 1;
+            }
+
+            List<K> partitionKeys = partitions.get(partition);
+
+            keyPartitions[i] = partition;
+            keyPositions[i] = partitionKeys.size();
+            partitionKeys.add(key);
+        }
+
+        return new PartitionedKeys<>(Arrays.copyOf(slots, partitions.size()), partitions, keyPartitions, keyPositions);
+    }
+
+    private static int tableSizeFor(int capacity) {
+
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+
+        return size;
+    }
+
+    /**
+     * @return number of keys.
+     */
+    int size() {
+        return keyPartitions.length;
+    }
+
+    /**
+     * @return number of partitions (distinct slots).
+     */
+    int partitions() {
+        return slots.length;
+    }
+
+    /**
+     * @param partition the partition index.
+     * @return the slot of the partition.
+     */
+    int getSlot(int partition) {
+        return slots[partition];
+    }
+
+    /**
+     * @param partition the partition index.
+     * @return keys of the partition in key order.
+     */
+    List<K> getKeys(int partition) {
+        return keys.get(partition);
+    }
+
+    /**
+     * @param keyIndex index of the key in the original key order.
+     * @return the partition index of the key.
+     */
+    int getPartition(int keyIndex) {
+        return keyPartitions[keyIndex];
+    }
+
+    /**
+     * @param keyIndex index of the key in the original key order.
+     * @return the position of the key inside its partition.
+     */
+    int getPosition(int keyIndex) {
+        return keyPositions[keyIndex];
+    }
+}
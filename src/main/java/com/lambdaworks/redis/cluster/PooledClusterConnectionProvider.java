@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -58,6 +59,13 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
     private final boolean debugEnabled = logger.isDebugEnabled();
     private final CompletableFuture<StatefulRedisConnection<K, V>> writers[] = new CompletableFuture[SlotHash.SLOT_COUNT];
     private final CompletableFuture<StatefulRedisConnection<K, V>> readers[][] = new CompletableFuture[SlotHash.SLOT_COUNT][];
+
+    // Slot routing tables for established connections. Replaced (not cleared) on topology and ReadFrom changes.
+    private volatile AtomicReferenceArray<RedisChannelWriter<K, V>> writerRoutes = new AtomicReferenceArray<>(
+            SlotHash.SLOT_COUNT);
+    private volatile AtomicReferenceArray<StatefulRedisConnection<K, V>> readerRoutes = new AtomicReferenceArray<>(
+            SlotHash.SLOT_COUNT);
+
     private final RedisClusterClient redisClusterClient;
     private final ClusterNodeConnectionFactory<K, V> connectionFactory;
     private final RedisChannelWriter<K, V> clusterWriter;
@@ -108,6 +116,23 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         return getWriteConnection(slot);
     }
 
+    @Override
+    public RedisChannelWriter<K, V> getChannelWriter(Intent intent, int slot) {
+
+        if (intent == Intent.READ && readFrom != null) {
+
+            StatefulRedisConnection<K, V> connection = readerRoutes.get(slot);
+
+            if (connection != null && connection.isOpen()) {
+                return ((RedisChannelHandler<K, V>) connection).getChannelWriter();
+            }
+
+            return null;
+        }
+
+        return writerRoutes.get(slot);
+    }
+
     private CompletableFuture<StatefulRedisConnection<K, V>> getWriteConnection(int slot) {
 
         CompletableFuture<StatefulRedisConnection<K, V>> writer;// avoid races when reconfiguring partitions.
@@ -130,6 +155,10 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
                 synchronized (stateLock) {
                     if (writers[slot] == null) {
                         writers[slot] = CompletableFuture.completedFuture(connection);
+
+                        if (connection instanceof RedisChannelHandler) {
+                            writerRoutes.set(slot, ((RedisChannelHandler<K, V>) connection).getChannelWriter());
+                        }
                     }
                 }
 
@@ -144,10 +173,14 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
 
         CompletableFuture<StatefulRedisConnection<K, V>> readerCandidates[];// avoid races when reconfiguring partitions.
 
+        AtomicReferenceArray<StatefulRedisConnection<K, V>> routes;
         boolean cached = true;
+        boolean cacheable;
 
         synchronized (stateLock) {
-            readerCandidates = readers[slot];
+            cacheable = readFrom.isCacheable();
+            readerCandidates = cacheable ? readers[slot] : null;
+            routes = readerRoutes;
         }
 
         if (readerCandidates == null) {
@@ -186,9 +219,14 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
 
             return CompletableFuture.allOf(readerCandidates).thenCompose(v -> {
 
-                for (CompletableFuture<StatefulRedisConnection<K, V>> candidate : selectedReaderCandidates) {
+                for (int i = 0; i < selectedReaderCandidates.length; i++) {
 
+                    CompletableFuture<StatefulRedisConnection<K, V>> candidate = selectedReaderCandidates[i];
                     if (candidate.join().isOpen()) {
+
+                        if (i == 0) {
+                            publishReadRoute(routes, slot, candidate.join());
+                        }
                         return candidate;
                     }
                 }
@@ -220,17 +258,26 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         return filteredReaderCandidates
                 .thenApply(statefulRedisConnections -> {
 
-                    CompletableFuture<StatefulRedisConnection<K, V>> toCache[] = new CompletableFuture[statefulRedisConnections.length];
+                    if (cacheable) {
 
-                    for (int i = 0; i < toCache.length; i++) {
-                        toCache[i] = CompletableFuture.completedFuture(statefulRedisConnections[i]);
-                    }
-                    synchronized (stateLock) {
-                        readers[slot] = toCache;
+                        CompletableFuture<StatefulRedisConnection<K, V>> toCache[] = new CompletableFuture[statefulRedisConnections.length];
+
+                        for (int i = 0; i < toCache.length; i++) {
+                            toCache[i] = CompletableFuture.completedFuture(statefulRedisConnections[i]);
+                        }
+                        synchronized (stateLock) {
+                            readers[slot] = toCache;
+                        }
                     }
 
-                    for (StatefulRedisConnection<K, V> candidate : statefulRedisConnections) {
+                    for (int i = 0; i < statefulRedisConnections.length; i++) {
+
+                        StatefulRedisConnection<K, V> candidate = statefulRedisConnections[i];
                         if (candidate.isOpen()) {
+
+                            if (cacheable && i == 0 && statefulRedisConnections.length == selectedReaderCandidates.length) {
+                                publishReadRoute(routes, slot, candidate);
+                            }
                             return candidate;
                         }
                     }
@@ -239,6 +286,19 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
                 });
     }
 
+    /**
+     * Publish the preferred read candidate as route for {@code slot}. Only the first (preferred) candidate is published so the
+     * routing table yields the same selection as {@link #getReadConnection(int)}: the route is skipped as soon as the preferred
+     * connection is no longer open.
+     */
+    private static <K, V> void publishReadRoute(AtomicReferenceArray<StatefulRedisConnection<K, V>> routes, int slot,
+            StatefulRedisConnection<K, V> connection) {
+
+        if (connection instanceof RedisChannelHandler) {
+            routes.set(slot, connection);
+        }
+    }
+
     private StatefulRedisConnection<K, V>[] getConnections(
             CompletableFuture<StatefulRedisConnection<K, V>>[] selectedReaderCandidates) {
 
@@ -504,6 +564,7 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         synchronized (stateLock) {
             this.readFrom = readFrom;
             Arrays.fill(readers, null);
+            readerRoutes = new AtomicReferenceArray<>(SlotHash.SLOT_COUNT);
         }
     }
 
@@ -531,6 +592,8 @@ class PooledClusterConnectionProvider<K, V> implements ClusterConnectionProvider
         synchronized (stateLock) {
             Arrays.fill(writers, null);
             Arrays.fill(readers, null);
+            writerRoutes = new AtomicReferenceArray<>(SlotHash.SLOT_COUNT);
+            readerRoutes = new AtomicReferenceArray<>(SlotHash.SLOT_COUNT);
         }
     }
 
@@ -23,11 +23,12 @@ import com.lambdaworks.redis.protocol.CommandType;
 import com.lambdaworks.redis.protocol.ProtocolKeyword;
 
 /**
- * Contains all command names that are read-only commands.
+ * Contains all command names that are read-only commands. This class is part of the internal API and may change without
+ * further notice.
  *
  * @author Mark Paluch
  */
-class ReadOnlyCommands {
+public class ReadOnlyCommands {
 
     private static final Set<CommandType> READ_ONLY_COMMANDS = EnumSet.noneOf(CommandType.class);
 
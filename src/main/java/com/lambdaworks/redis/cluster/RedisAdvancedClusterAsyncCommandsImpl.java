@@ -45,12 +45,14 @@ import com.lambdaworks.redis.cluster.api.async.RedisClusterAsyncCommands;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.output.IntegerOutput;
 import com.lambdaworks.redis.output.KeyStreamingChannel;
 import com.lambdaworks.redis.output.ValueStreamingChannel;
 import com.lambdaworks.redis.protocol.AsyncCommand;
 import com.lambdaworks.redis.protocol.Command;
 import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.RedisCommand;
 
 /**
  * An advanced asynchronous and thread-safe API for a Redis Cluster connection.
@@ -266,33 +268,36 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
     @Override
     public RedisFuture<List<V>> mget(Iterable<K> keys) {
 
-        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, keys);
+        PartitionedKeys<K> partitioned = PartitionedKeys.of(codec, keys);
 
-        if (partitioned.size() < 2) {
+        if (partitioned.partitions() < 2) {
             return super.mget(keys);
         }
 
-        Map<K, Integer> slots = SlotHash.getSlots(partitioned);
-        Map<Integer, RedisFuture<List<V>>> executions = new HashMap<>();
+        List<RedisFuture<List<V>>> executions = new ArrayList<>(partitioned.partitions());
 
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
-            RedisFuture<List<V>> mget = super.mget(entry.getValue());
-            executions.put(entry.getKey(), mget);
+        for (int i = 0; i < partitioned.partitions(); i++) {
+            executions.add(super.mget(partitioned.getKeys(i)));
         }
 
-        // restore order of key
-        return new PipelinedRedisFuture<>(executions, objectPipelinedRedisFuture -> {
-            List<V> result = new ArrayList<>();
-            for (K opKey : keys) {
-                int slot = slots.get(opKey);
+        CompletableFuture<List<V>> future = CompletableFuture.allOf(
+                executions.toArray(new CompletableFuture<?>[executions.size()])).thenApply(v -> {
 
-                int position = partitioned.get(slot).indexOf(opKey);
-                RedisFuture<List<V>> listRedisFuture = executions.get(slot);
-                result.add(MultiNodeExecution.execute(() -> listRedisFuture.get().get(position)));
+            List<List<V>> results = new ArrayList<>(executions.size());
+            for (RedisFuture<List<V>> execution : executions) {
+                results.add(MultiNodeExecution.execute(execution::get));
+            }
+
+            // restore order of key
+            List<V> result = new ArrayList<>(partitioned.size());
+            for (int i = 0; i < partitioned.size(); i++) {
+                result.add(results.get(partitioned.getPartition(i)).get(partitioned.getPosition(i)));
             }
 
             return result;
         });
+
+        return new PipelinedRedisFuture<>(future);
     }
 
     @Override
@@ -303,17 +308,16 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
     @Override
     public RedisFuture<Long> mget(ValueStreamingChannel<V> channel, Iterable<K> keys) {
 
-        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, keys);
+        PartitionedKeys<K> partitioned = PartitionedKeys.of(codec, keys);
 
-        if (partitioned.size() < 2) {
+        if (partitioned.partitions() < 2) {
             return super.mget(channel, keys);
         }
 
         Map<Integer, RedisFuture<Long>> executions = new HashMap<>();
 
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
-            RedisFuture<Long> del = super.mget(channel, entry.getValue());
-            executions.put(entry.getKey(), del);
+        for (int i = 0; i < partitioned.partitions(); i++) {
+            executions.put(partitioned.getSlot(i), super.mget(channel, partitioned.getKeys(i)));
         }
 
         return MultiNodeExecution.aggregateAsync(executions);
@@ -375,6 +379,32 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
         });
     }
 
+    @Override
+    public RedisFuture<List<Object>> dispatch(List<? extends RedisCommand<K, V, ?>> commands) {
+
+        LettuceAssert.notNull(commands, "Commands must not be null");
+
+        List<AsyncCommand<K, V, ?>> asyncCommands = new ArrayList<>(commands.size());
+
+        for (RedisCommand<K, V, ?> command : commands) {
+            asyncCommands.add(command instanceof AsyncCommand ? (AsyncCommand<K, V, ?>) command : new AsyncCommand<>(command));
+        }
+
+        getStatefulConnection().dispatch(asyncCommands);
+
+        CompletableFuture<List<Object>> future = CompletableFuture.allOf(
+                asyncCommands.toArray(new CompletableFuture<?>[asyncCommands.size()])).thenApply(v -> {
+
+            List<Object> result = new ArrayList<>(asyncCommands.size());
+            for (AsyncCommand<K, V, ?> asyncCommand : asyncCommands) {
+                result.add(asyncCommand.join());
+            }
+            return result;
+        });
+
+        return new PipelinedRedisFuture<>(future);
+    }
+
     @Override
     public RedisFuture<V> randomkey() {
 
@@ -631,6 +661,30 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
                 asyncClusterStreamScanCursorMapper());
     }
 
+    @Override
+    public RedisFuture<KeyScanCursor<K>> parallelScan(ScanCursor scanCursor, ScanArgs scanArgs, int parallelism) {
+        return parallelClusterScan(getStatefulConnection(), scanCursor, parallelism,
+                (connection, cursor) -> connection.scan(cursor, scanArgs), ClusterScanSupport.parallelKeyScanCursorMerger());
+    }
+
+    @Override
+    public RedisFuture<StreamScanCursor> parallelScan(KeyStreamingChannel<K> channel, ScanCursor scanCursor, ScanArgs scanArgs,
+            int parallelism) {
+
+        LettuceAssert.notNull(channel, "KeyStreamingChannel must not be null");
+
+        // nodes may respond on different threads.
+        KeyStreamingChannel<K> serialized = key -> {
+            synchronized (channel) {
+                channel.onKey(key);
+            }
+        };
+
+        return parallelClusterScan(getStatefulConnection(), scanCursor, parallelism,
+                (connection, cursor) -> connection.scan(serialized, cursor, scanArgs),
+                ClusterScanSupport.parallelStreamScanCursorMerger());
+    }
+
     private <T extends ScanCursor> RedisFuture<T> clusterScan(ScanCursor cursor,
             BiFunction<RedisKeyAsyncCommands<K, V>, ScanCursor, RedisFuture<T>> scanFunction,
             ScanCursorMapper<RedisFuture<T>> resultMapper) {
@@ -653,4 +707,39 @@ public class RedisAdvancedClusterAsyncCommandsImpl<K, V> extends AbstractRedisAs
         RedisFuture<T> scanCursor = scanFunction.apply(connection.getConnection(currentNodeId).async(), continuationCursor);
         return mapper.map(nodeIds, currentNodeId, scanCursor);
     }
+
+    /**
+     * Perform one iteration of a parallel SCAN in the cluster.
+     *
+     */
+    static <T extends ScanCursor, K, V> RedisFuture<T> parallelClusterScan(StatefulRedisClusterConnectionImpl<K, V> connection,
+            ScanCursor cursor, int parallelism, BiFunction<RedisKeyAsyncCommands<K, V>, ScanCursor, RedisFuture<T>> scanFunction,
+            ClusterScanSupport.ParallelScanCursorMerger<T> merger) {
+
+        LettuceAssert.isTrue(parallelism > 0, "Parallelism must be greater 0");
+
+        Map<String, String> nodeCursors = ClusterScanSupport.getNodeCursors(connection, cursor);
+        AsyncClusterConnectionProvider connectionProvider = (AsyncClusterConnectionProvider) connection
+                .getClusterDistributionChannelWriter().getClusterConnectionProvider();
+
+        Map<String, CompletableFuture<T>> executions = new LinkedHashMap<>();
+
+        for (String nodeId : ClusterScanSupport.selectNodes(nodeCursors, parallelism)) {
+
+            ScanCursor nodeCursor = ScanCursor.of(nodeCursors.get(nodeId));
+
+            executions.put(nodeId, connectionProvider.<K, V> getConnectionAsync(ClusterConnectionProvider.Intent.WRITE, nodeId)
+                    .thenCompose(c -> scanFunction.apply(c.async(), nodeCursor)));
+        }
+
+        return new PipelinedRedisFuture<>(executions, future -> {
+
+            Map<String, T> results = new LinkedHashMap<>();
+            for (Map.Entry<String, CompletableFuture<T>> entry : executions.entrySet()) {
+                results.put(entry.getKey(), MultiNodeExecution.execute(() -> entry.getValue().get()));
+            }
+
+            return merger.merge(nodeCursors, results);
+        });
+    }
 }
@@ -22,6 +22,7 @@ import static com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode.N
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -41,6 +42,7 @@ import com.lambdaworks.redis.cluster.api.rx.RedisClusterReactiveCommands;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.internal.LettuceLists;
 import com.lambdaworks.redis.output.KeyStreamingChannel;
 import com.lambdaworks.redis.output.ValueStreamingChannel;
@@ -241,36 +243,32 @@ public class RedisAdvancedClusterReactiveCommandsImpl<K, V> extends AbstractRedi
     public Observable<V> mget(Iterable<K> keys) {
 
         List<K> keyList = LettuceLists.newList(keys);
-        Map<Integer, List<K>> partitioned = SlotHash.partition(codec, keyList);
+        PartitionedKeys<K> partitioned = PartitionedKeys.of(codec, keyList);
 
-        if (partitioned.size() < 2) {
+        if (partitioned.partitions() < 2) {
             return super.mget(keyList);
         }
 
         List<Observable<V>> observables = new ArrayList<>();
+        int[] offsets = new int[partitioned.partitions()];
+        int offset = 0;
 
-        for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
-            observables.add(super.mget(entry.getValue()));
-        }
-        Observable<V> observable = Observable.concat(Observable.from(observables));
-
-        Observable<List<V>> map = observable.toList().map(vs -> {
+        for (int i = 0; i < partitioned.partitions(); i++) {
 
-            Object[] values = new Object[vs.size()];
-            int offset = 0;
-            for (Map.Entry<Integer, List<K>> entry : partitioned.entrySet()) {
+            List<K> partitionKeys = partitioned.getKeys(i);
+            observables.add(super.mget(partitionKeys));
 
-                for (int i = 0; i < keyList.size(); i++) {
+            offsets[i] = offset;
+            offset += partitionKeys.size();
+        }
 
-                    int index = entry.getValue().indexOf(keyList.get(i));
-                    if (index == -1) {
-                        continue;
-                    }
+        Observable<V> observable = Observable.concat(Observable.from(observables));
 
-                    values[i] = vs.get(offset + index);
-                }
+        Observable<List<V>> map = observable.toList().map(vs -> {
 
-                offset += entry.getValue().size();
+            Object[] values = new Object[partitioned.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = vs.get(offsets[partitioned.getPartition(i)] + partitioned.getPosition(i));
             }
 
             return (List<V>) new ArrayList<>(Arrays.asList(values));
@@ -522,6 +520,42 @@ public class RedisAdvancedClusterReactiveCommandsImpl<K, V> extends AbstractRedi
                 reactiveClusterStreamScanCursorMapper());
     }
 
+    @Override
+    public Observable<K> parallelScan(ScanCursor scanCursor, ScanArgs scanArgs, int parallelism) {
+
+        LettuceAssert.isTrue(parallelism > 0, "Parallelism must be greater 0");
+
+        return Observable.defer(() -> {
+
+            Map<String, String> nodeCursors = ClusterScanSupport.getNodeCursors(getStatefulConnection(), scanCursor);
+
+            return Observable.from(nodeCursors.entrySet()).flatMap(
+                    entry -> scanNode(entry.getKey(), ScanCursor.of(entry.getValue()), scanArgs), parallelism);
+        });
+    }
+
+    /**
+     * Scan a single node until its cursor is finished. Each {@literal SCAN} is issued once the keys of the previous
+     * {@literal SCAN} are requested.
+     */
+    private Observable<K> scanNode(String nodeId, ScanCursor initial, ScanArgs scanArgs) {
+
+        AsyncClusterConnectionProvider connectionProvider = (AsyncClusterConnectionProvider) getStatefulConnection()
+                .getClusterDistributionChannelWriter().getClusterConnectionProvider();
+
+        return Observable.defer(() -> {
+
+            AtomicReference<ScanCursor> cursor = new AtomicReference<>(initial);
+
+            Observable<KeyScanCursor<K>> scan = Observable
+                    .defer(() -> getSingle(connectionProvider.<K, V> getConnectionAsync(Intent.WRITE, nodeId))
+                            .flatMapObservable(c -> c.reactive().scan(cursor.get(), scanArgs)))
+                    .doOnNext(cursor::set);
+
+            return scan.repeat().takeUntil(ScanCursor::isFinished).flatMapIterable(KeyScanCursor::getKeys, 1);
+        });
+    }
+
     @SuppressWarnings("unchecked")
     private <T extends ScanCursor> Observable<T> clusterScan(ScanCursor cursor,
             BiFunction<RedisKeyReactiveCommands<K, V>, ScanCursor, Observable<T>> scanFunction,
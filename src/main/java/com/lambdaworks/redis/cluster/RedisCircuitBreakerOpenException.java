@@ -0,0 +1,39 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import com.lambdaworks.redis.RedisException;
+
+/**
+ * Exception thrown when a command is rejected by the circuit breaker of a cluster node because the circuit is open or the
+ * node has too many in-flight commands.
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ * @see CircuitBreakerOptions
+ */
+@SuppressWarnings("serial")
+public class RedisCircuitBreakerOpenException extends RedisException {
+
+    /**
+     * Create a {@code RedisCircuitBreakerOpenException} with the specified detail message.
+     *
+     * @param msg the detail message.
+     */
+    public RedisCircuitBreakerOpenException(String msg) {
+        super(msg);
+    }
+}
@@ -21,6 +21,7 @@ import java.net.URI;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -138,6 +139,7 @@ public class RedisClusterClient extends AbstractRedisClient {
     private final ClusterTopologyRefreshScheduler clusterTopologyRefreshScheduler = new ClusterTopologyRefreshScheduler(this,
             getResources());
     private final Iterable<RedisURI> initialUris;
+    private final AtomicInteger refreshSampleOffset = new AtomicInteger();
 
     private Partitions partitions;
 
@@ -792,6 +794,7 @@ public class RedisClusterClient extends AbstractRedisClient {
             partitions.updateCache();
         } else {
 
+            boolean sampledRefresh = isSampledRefresh();
             Partitions loadedPartitions = loadPartitions();
             if (TopologyComparators.isChanged(getPartitions(), loadedPartitions)) {
 
@@ -803,12 +806,68 @@ public class RedisClusterClient extends AbstractRedisClient {
                 getResources().eventBus().publish(new ClusterTopologyChangedEvent(before, after));
             }
 
-            this.partitions.reload(loadedPartitions.getPartitions());
+            if (sampledRefresh) {
+
+                List<RedisClusterNode> changed = getChangedPartitions(this.partitions, loadedPartitions);
+                if (changed == null) {
+                    return;
+                }
+
+                this.partitions.reload(changed);
+            } else {
+                this.partitions.reload(loadedPartitions.getPartitions());
+            }
         }
 
         updatePartitionsInConnections();
     }
 
+    /**
+     * Apply {@code loaded} to {@code current} retaining {@link RedisClusterNode} instances of {@code current} that did not
+     * change.
+     *
+     * @return the nodes to use or {@literal null} if the topology did not change.
+     */
+    private static List<RedisClusterNode> getChangedPartitions(Partitions current, Partitions loaded) {
+
+        Map<String, RedisClusterNode> currentNodes = new HashMap<>(current.size());
+        for (RedisClusterNode node : current) {
+            currentNodes.put(node.getNodeId(), node);
+        }
+
+        boolean changed = current.size() != loaded.size();
+        List<RedisClusterNode> result = new ArrayList<>(loaded.size());
+
+        for (RedisClusterNode node : loaded) {
+
+            RedisClusterNode existing = currentNodes.get(node.getNodeId());
+
+            if (existing != null && isUnchanged(existing, node)) {
+                result.add(existing);
+            } else {
+                result.add(node);
+                changed = true;
+            }
+        }
+
+        return changed ? result : null;
+    }
+
+    private static boolean isUnchanged(RedisClusterNode existing, RedisClusterNode node) {
+
+        if (!TopologyComparators.essentiallyEqualsTo(existing, node)) {
+            return false;
+        }
+
+        if (existing.is(RedisClusterNode.NodeFlag.FAIL) != node.is(RedisClusterNode.NodeFlag.FAIL)
+                || !Objects.equals(existing.getSlaveOf(), node.getSlaveOf())) {
+            return false;
+        }
+
+        return existing.getUri().getPort() == node.getUri().getPort()
+                && existing.getUri().getHost().equals(node.getUri().getHost());
+    }
+
     protected void updatePartitionsInConnections() {
 
         forEachClusterConnection(input -> {
@@ -847,7 +906,13 @@ public class RedisClusterClient extends AbstractRedisClient {
 
         String message = "Cannot retrieve initial cluster partitions from initial URIs " + topologyRefreshSource;
         try {
-            Map<RedisURI, Partitions> partitions = refresh.loadViews(topologyRefreshSource, useDynamicRefreshSources());
+            Map<RedisURI, Partitions> partitions;
+
+            if (isSampledRefresh()) {
+                partitions = refresh.loadSampledViews(getTopologyRefreshSample());
+            } else {
+                partitions = refresh.loadViews(topologyRefreshSource, useDynamicRefreshSources());
+            }
 
             if (partitions.isEmpty()) {
                 throw new RedisException(message);
@@ -872,6 +937,37 @@ public class RedisClusterClient extends AbstractRedisClient {
         }
     }
 
+    /**
+     * @return {@literal true} if the next topology refresh queries a sample of the known cluster nodes.
+     */
+    private boolean isSampledRefresh() {
+
+        ClusterClientOptions options = getClusterClientOptions();
+
+        return options != null && options.getTopologyRefreshOptions().isSampledRefresh() && partitions != null
+                && !partitions.isEmpty();
+    }
+
+    /**
+     * Select the next sample of cluster nodes to query. Samples rotate over the known nodes so subsequent refreshes query
+     * different nodes.
+     *
+     * @return {@link RedisURI}s of the nodes to query.
+     */
+    private List<RedisURI> getTopologyRefreshSample() {
+
+        List<RedisClusterNode> nodes = TopologyComparators.sortByUri(partitions);
+        int sampleSize = Math.min(getClusterClientOptions().getTopologyRefreshOptions().getRefreshSampleSize(), nodes.size());
+        int offset = Math.floorMod(refreshSampleOffset.getAndAdd(sampleSize), nodes.size());
+
+        List<RedisURI> sample = new ArrayList<>(sampleSize);
+        for (int i = 0; i < sampleSize; i++) {
+            sample.add(nodes.get((offset + i) % nodes.size()).getUri());
+        }
+
+        return sample;
+    }
+
     /**
      * Determines a {@link Partitions topology view} based on the current and the obtain topology views.
      *
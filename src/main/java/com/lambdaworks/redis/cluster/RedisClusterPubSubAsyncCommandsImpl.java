@@ -98,6 +98,46 @@ class RedisClusterPubSubAsyncCommandsImpl<K, V> extends RedisPubSubAsyncCommands
         return super.georadiusbymember(key, member, distance, unit, geoArgs);
     }
 
+    @Override
+    public RedisFuture<Void> psubscribe(K... patterns) {
+
+        if (getStatefulConnection().isShardedSubscriptions()) {
+            return new PipelinedRedisFuture<>(getStatefulConnection().getShardedSubscriptions().psubscribe(patterns));
+        }
+
+        return super.psubscribe(patterns);
+    }
+
+    @Override
+    public RedisFuture<Void> punsubscribe(K... patterns) {
+
+        if (getStatefulConnection().isShardedSubscriptions()) {
+            return new PipelinedRedisFuture<>(getStatefulConnection().getShardedSubscriptions().punsubscribe(patterns));
+        }
+
+        return super.punsubscribe(patterns);
+    }
+
+    @Override
+    public RedisFuture<Void> subscribe(K... channels) {
+
+        if (getStatefulConnection().isShardedSubscriptions()) {
+            return new PipelinedRedisFuture<>(getStatefulConnection().getShardedSubscriptions().subscribe(channels));
+        }
+
+        return super.subscribe(channels);
+    }
+
+    @Override
+    public RedisFuture<Void> unsubscribe(K... channels) {
+
+        if (getStatefulConnection().isShardedSubscriptions()) {
+            return new PipelinedRedisFuture<>(getStatefulConnection().getShardedSubscriptions().unsubscribe(channels));
+        }
+
+        return super.unsubscribe(channels);
+    }
+
     @Override
     public StatefulRedisClusterPubSubConnectionImpl<K, V> getStatefulConnection() {
         return (StatefulRedisClusterPubSubConnectionImpl<K, V>) super.getStatefulConnection();
@@ -21,13 +21,16 @@ import java.lang.reflect.Proxy;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import rx.Observable;
+import rx.Single;
 
 import com.lambdaworks.redis.GeoArgs;
 import com.lambdaworks.redis.GeoWithin;
 import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.api.rx.Success;
 import com.lambdaworks.redis.cluster.api.NodeSelectionSupport;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.cluster.pubsub.StatefulRedisClusterPubSubConnection;
@@ -97,6 +100,50 @@ class RedisClusterPubSubReactiveCommandsImpl<K, V> extends RedisPubSubReactiveCo
         return super.georadiusbymember(key, member, distance, unit, geoArgs);
     }
 
+    @Override
+    public Observable<Success> psubscribe(K... patterns) {
+
+        if (getStatefulConnection().isShardedSubscriptions()) {
+            return getSuccessObservable(toObservable(() -> getStatefulConnection().getShardedSubscriptions().psubscribe(
+                    patterns)));
+        }
+
+        return super.psubscribe(patterns);
+    }
+
+    @Override
+    public Observable<Success> punsubscribe(K... patterns) {
+
+        if (getStatefulConnection().isShardedSubscriptions()) {
+            return getSuccessObservable(toObservable(() -> getStatefulConnection().getShardedSubscriptions().punsubscribe(
+                    patterns)));
+        }
+
+        return super.punsubscribe(patterns);
+    }
+
+    @Override
+    public Observable<Success> subscribe(K... channels) {
+
+        if (getStatefulConnection().isShardedSubscriptions()) {
+            return getSuccessObservable(toObservable(() -> getStatefulConnection().getShardedSubscriptions().subscribe(
+                    channels)));
+        }
+
+        return super.subscribe(channels);
+    }
+
+    @Override
+    public Observable<Success> unsubscribe(K... channels) {
+
+        if (getStatefulConnection().isShardedSubscriptions()) {
+            return getSuccessObservable(toObservable(() -> getStatefulConnection().getShardedSubscriptions().unsubscribe(
+                    channels)));
+        }
+
+        return super.unsubscribe(channels);
+    }
+
     @Override
     public StatefulRedisClusterPubSubConnectionImpl<K, V> getStatefulConnection() {
         return (StatefulRedisClusterPubSubConnectionImpl<K, V>) super.getStatefulConnection();
@@ -115,6 +162,21 @@ class RedisClusterPubSubReactiveCommandsImpl<K, V> extends RedisPubSubReactiveCo
                 new Class<?>[] { NodeSelectionPubSubReactiveCommands.class, PubSubReactiveNodeSelection.class }, h);
     }
 
+    private static <T> Observable<T> toObservable(Supplier<CompletableFuture<T>> supplier) {
+
+        return Observable.defer(() -> Single.<T> create(singleSubscriber -> {
+
+            supplier.get().whenComplete((result, throwable) -> {
+
+                if (throwable != null) {
+                    singleSubscriber.onError(throwable);
+                } else {
+                    singleSubscriber.onSuccess(result);
+                }
+            });
+        }).toObservable());
+    }
+
     private static class StaticPubSubReactiveNodeSelection<K, V> extends
             AbstractNodeSelection<RedisPubSubReactiveCommands<K, V>, NodeSelectionPubSubReactiveCommands<K, V>, K, V> implements
             PubSubReactiveNodeSelection<K, V> {
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.RedisFuture;
+import com.lambdaworks.redis.cluster.ClusterConnectionProvider.Intent;
+import com.lambdaworks.redis.cluster.models.partitions.Partitions;
+import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.pubsub.StatefulRedisPubSubConnection;
+import com.lambdaworks.redis.pubsub.api.async.RedisPubSubAsyncCommands;
+
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Subscriptions of a {@link StatefulRedisClusterPubSubConnectionImpl} that are distributed across node connections. Each
+ * channel (pattern) is assigned to the master that serves the slot of the channel (pattern) name, so subscriptions spread
+ * across the cluster and channels using the same hash tag share a node. Redis Cluster broadcasts messages to all nodes,
+ * therefore each node connection receives the messages for the channels it is subscribed to.
+ * <p>
+ * Subscriptions follow the topology: {@link #setPartitions(Partitions)} moves subscriptions whose slot is served by a
+ * different node to that node and unsubscribes from the previous node. Node connections re-subscribe on reconnect by
+ * themselves.
+ * </p>
+ * <p>
+ * Subscriptions are tracked by their encoded key so keys without value semantics (such as {@code byte[]}) are matched by
+ * their content. A subscription is recorded once the node confirmed the subscription.
+ * </p>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.5
+ */
+class ShardedSubscriptions<K, V> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(ShardedSubscriptions.class);
+
+    private final Map<ByteBuffer, Assignment> channels = new ConcurrentHashMap<>();
+    private final Map<ByteBuffer, Assignment> patterns = new ConcurrentHashMap<>();
+    private final Set<ByteBuffer> pending = ConcurrentHashMap.newKeySet();
+
+    private final RedisCodec<K, V> codec;
+    private final StatefulRedisClusterPubSubConnectionImpl<K, V> connection;
+
+    ShardedSubscriptions(RedisCodec<K, V> codec, StatefulRedisClusterPubSubConnectionImpl<K, V> connection) {
+        this.codec = codec;
+        this.connection = connection;
+    }
+
+    CompletableFuture<Void> subscribe(K[] channels) {
+        return subscribe(Arrays.asList(channels), getComponentType(channels), this.channels,
+                RedisPubSubAsyncCommands::subscribe, RedisPubSubAsyncCommands::unsubscribe);
+    }
+
+    CompletableFuture<Void> psubscribe(K[] patterns) {
+        return subscribe(Arrays.asList(patterns), getComponentType(patterns), this.patterns,
+                RedisPubSubAsyncCommands::psubscribe, RedisPubSubAsyncCommands::punsubscribe);
+    }
+
+    /**
+     * Unsubscribe from {@code channels}. Unsubscribes from all channels if {@code channels} is empty.
+     *
+     * @param channels the channels.
+     * @return future that completes once all nodes confirmed the unsubscription.
+     */
+    CompletableFuture<Void> unsubscribe(K[] channels) {
+        return unsubscribe(Arrays.asList(channels), getComponentType(channels), this.channels,
+                RedisPubSubAsyncCommands::unsubscribe);
+    }
+
+    /**
+     * Unsubscribe from {@code patterns}. Unsubscribes from all patterns if {@code patterns} is empty.
+     *
+     * @param patterns the patterns.
+     * @return future that completes once all nodes confirmed the unsubscription.
+     */
+    CompletableFuture<Void> punsubscribe(K[] patterns) {
+        return unsubscribe(Arrays.asList(patterns), getComponentType(patterns), this.patterns,
+                RedisPubSubAsyncCommands::punsubscribe);
+    }
+
+    /**
+     * @param channel the channel.
+     * @return {@literal true} if {@code channel} is subscribed or its subscription is in progress.
+     */
+    boolean hasChannel(K channel) {
+        return channel != null && !isEmpty(channels) && contains(channels, codec.encodeKey(channel));
+    }
+
+    /**
+     * @param pattern the pattern.
+     * @return {@literal true} if {@code pattern} is subscribed or its subscription is in progress.
+     */
+    boolean hasPattern(K pattern) {
+        return pattern != null && !isEmpty(patterns) && contains(patterns, codec.encodeKey(pattern));
+    }
+
+    /**
+     * Check whether there are no subscriptions so node messages are not encoded if sharded subscriptions are not used.
+     */
+    private boolean isEmpty(Map<ByteBuffer, Assignment> subscriptions) {
+        return subscriptions.isEmpty() && pending.isEmpty();
+    }
+
+    private boolean contains(Map<ByteBuffer, Assignment> subscriptions, ByteBuffer key) {
+        return subscriptions.containsKey(key) || pending.contains(key);
+    }
+
+    /**
+     * Move subscriptions to the nodes that serve their slots according to {@code partitions}.
+     *
+     * @param partitions the new topology.
+     */
+    void setPartitions(Partitions partitions) {
+
+        resubscribe(partitions, channels, RedisPubSubAsyncCommands::subscribe, RedisPubSubAsyncCommands::unsubscribe);
+        resubscribe(partitions, patterns, RedisPubSubAsyncCommands::psubscribe, RedisPubSubAsyncCommands::punsubscribe);
+    }
+
+    private void resubscribe(Partitions partitions, Map<ByteBuffer, Assignment> subscriptions, Command<K, V> subscribe,
+            Command<K, V> unsubscribe) {
+
+        List<K> moved = new ArrayList<>();
+        Class<?> componentType = null;
+
+        for (Map.Entry<ByteBuffer, Assignment> entry : subscriptions.entrySet()) {
+
+            RedisClusterNode node = partitions.getPartitionBySlot(SlotHash.getSlot(entry.getKey().duplicate()));
+            Subscription subscription = entry.getValue().subscription;
+
+            // retain the subscription if the slot is not covered
+            if (node != null && !node.getNodeId().equals(subscription.nodeId)) {
+                moved.add(entry.getValue().key);
+                componentType = subscription.componentType;
+            }
+        }
+
+        if (moved.isEmpty()) {
+            return;
+        }
+
+        logger.debug("Moving subscriptions {} after topology change", moved);
+
+        subscribe(moved, componentType, subscriptions, subscribe, unsubscribe).whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                logger.warn("Cannot move subscriptions " + moved, throwable);
+            }
+        });
+    }
+
+    private synchronized CompletableFuture<Void> subscribe(List<K> keys, Class<?> componentType,
+            Map<ByteBuffer, Assignment> subscriptions, Command<K, V> subscribe, Command<K, V> unsubscribe) {
+
+        Partitions partitions = connection.getPartitions();
+        Map<String, Subscription> targets = new LinkedHashMap<>();
+
+        for (K key : keys) {
+
+            ByteBuffer encoded = encode(key);
+            int slot = SlotHash.getSlot(encoded.duplicate());
+            RedisClusterNode node = partitions.getPartitionBySlot(slot);
+
+            if (node == null) {
+                throw new RedisException("Cannot determine a partition for slot " + slot + " (Partitions: " + partitions
+                        + ")");
+            }
+
+            Subscription target = targets.computeIfAbsent(node.getNodeId(),
+                    nodeId -> new Subscription(nodeId, componentType, getConnection(slot)));
+            target.keys.put(encoded, key);
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(targets.size());
+
+        for (Subscription target : targets.values()) {
+
+            pending.addAll(target.keys.keySet());
+
+            CompletableFuture<Void> future = target.connection
+                    .thenCompose(c -> subscribe.apply(c.async(), toArray(target.keys.values(), componentType)))
+                    .thenRun(() -> onSubscribed(target, subscriptions, unsubscribe));
+
+            future.whenComplete((v, throwable) -> pending.removeAll(target.keys.keySet()));
+            futures.add(future);
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
+    }
+
+    /**
+     * Record the confirmed subscriptions of {@code target} and leave nodes that previously served the subscriptions without
+     * waiting for the old node to respond.
+     */
+    private synchronized void onSubscribed(Subscription target, Map<ByteBuffer, Assignment> subscriptions,
+            Command<K, V> unsubscribe) {
+
+        Map<Subscription, List<K>> previous = new LinkedHashMap<>();
+
+        target.keys.forEach((encoded, key) -> {
+
+            Assignment existing = subscriptions.put(encoded, new Assignment(key, target));
+            if (existing != null && !existing.subscription.nodeId.equals(target.nodeId)) {
+                previous.computeIfAbsent(existing.subscription, s -> new ArrayList<>()).add(key);
+            }
+        });
+
+        previous.forEach((subscription, moved) -> subscription.connection.thenAccept(c -> {
+            if (c.isOpen()) {
+                unsubscribe.apply(c.async(), toArray(moved, subscription.componentType));
+            }
+        }));
+    }
+
+    private synchronized CompletableFuture<Void> unsubscribe(List<K> keys, Class<?> componentType,
+            Map<ByteBuffer, Assignment> subscriptions, Command<K, V> unsubscribe) {
+
+        Map<Subscription, List<K>> bySubscription = new LinkedHashMap<>();
+
+        if (keys.isEmpty()) {
+
+            for (ByteBuffer encoded : new ArrayList<>(subscriptions.keySet())) {
+                remove(subscriptions, encoded, null, bySubscription);
+            }
+        } else {
+
+            for (K key : keys) {
+                remove(subscriptions, encode(key), key, bySubscription);
+            }
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(bySubscription.size());
+
+        bySubscription.forEach((subscription, unsubscribed) -> futures.add(subscription.connection
+                .thenCompose(c -> unsubscribe.apply(c.async(), toArray(unsubscribed, componentType)))));
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
+    }
+
+    private void remove(Map<ByteBuffer, Assignment> subscriptions, ByteBuffer encoded, K key,
+            Map<Subscription, List<K>> bySubscription) {
+
+        Assignment assignment = subscriptions.remove(encoded);
+        if (assignment != null) {
+            bySubscription.computeIfAbsent(assignment.subscription, s -> new ArrayList<>())
+                    .add(key != null ? key : assignment.key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<StatefulRedisPubSubConnection<K, V>> getConnection(int slot) {
+
+        AsyncClusterConnectionProvider provider = (AsyncClusterConnectionProvider) connection
+                .getClusterDistributionChannelWriter().getClusterConnectionProvider();
+
+        return provider.<K, V> getConnectionAsync(Intent.WRITE, slot).thenApply(
+                c -> (StatefulRedisPubSubConnection<K, V>) c);
+    }
+
+    /**
+     * Encode {@code key} into a buffer owned by this class. The encoded form is used as map key and must not change if the
+     * codec returns a view of a mutable key.
+     */
+    private ByteBuffer encode(K key) {
+
+        ByteBuffer encoded = codec.encodeKey(key);
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.duplicate().get(bytes);
+
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private static Class<?> getComponentType(Object[] array) {
+        return array.getClass().getComponentType();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] toArray(Collection<T> keys, Class<?> componentType) {
+
+        T[] array = (T[]) Array.newInstance(componentType, keys.size());
+        return keys.toArray(array);
+    }
+
+    /**
+     * Subscription command ({@literal SUBSCRIBE}, {@literal UNSUBSCRIBE}, …) issued on a node connection.
+     */
+    @FunctionalInterface
+    interface Command<K, V> extends BiFunction<RedisPubSubAsyncCommands<K, V>, K[], RedisFuture<Void>> {
+    }
+
+    /**
+     * Channels or patterns subscribed on the connection of a node.
+     */
+    class Subscription {
+
+        final String nodeId;
+        final Class<?> componentType;
+        final CompletableFuture<StatefulRedisPubSubConnection<K, V>> connection;
+        final Map<ByteBuffer, K> keys = new LinkedHashMap<>();
+
+        Subscription(String nodeId, Class<?> componentType,
+                CompletableFuture<StatefulRedisPubSubConnection<K, V>> connection) {
+            this.nodeId = nodeId;
+            this.componentType = componentType;
+            this.connection = connection;
+        }
+    }
+
+    /**
+     * A channel or pattern assigned to a {@link Subscription}.
+     */
+    class Assignment {
+
+        final K key;
+        final Subscription subscription;
+
+        Assignment(K key, Subscription subscription) {
+            this.key = key;
+            this.subscription = subscription;
+        }
+    }
+}
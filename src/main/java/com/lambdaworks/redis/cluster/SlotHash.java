@@ -121,35 +121,15 @@ public class SlotHash {
      * @param <K> Key type.
      * @param <V> Value type.
      * @result map between slot-hash and an ordered list of keys.
-     *
+     * @see PartitionedKeys
      */
     static <K, V> Map<Integer, List<K>> partition(RedisCodec<K, V> codec, Iterable<K> keys) {
 
-        Map<Integer, List<K>> partitioned = new HashMap<>();
-        for (K key : keys) {
-            int slot = getSlot(codec.encodeKey(key));
-            if (!partitioned.containsKey(slot)) {
-                partitioned.put(slot, new ArrayList<>());
-            }
-            Collection<K> list = partitioned.get(slot);
-            list.add(key);
-        }
-        return partitioned;
-    }
+        PartitionedKeys<K> partitioned = PartitionedKeys.of(codec, keys);
+        Map<Integer, List<K>> result = new LinkedHashMap<>(partitioned.partitions() * 2);
 
-    /**
-     * Create mapping between the Key and hash slot.
-     *
-     * @param partitioned map partitioned by slothash and keys
-     * @param <K>
-     */
-    static <K> Map<K, Integer> getSlots(Map<Integer, ? extends Iterable<K>> partitioned) {
-
-        Map<K, Integer> result = new HashMap<>();
-        for (Map.Entry<Integer, ? extends Iterable<K>> entry : partitioned.entrySet()) {
-            for (K key : entry.getValue()) {
-                result.put(key, entry.getKey());
-            }
+        for (int i = 0; i < partitioned.partitions(); i++) {
+            result.put(partitioned.getSlot(i), partitioned.getKeys(i));
         }
 
         return result;
@@ -21,7 +21,10 @@ import static com.lambdaworks.redis.protocol.CommandType.READWRITE;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -193,6 +196,24 @@ public class StatefulRedisClusterConnectionImpl<K, V> extends RedisChannelHandle
 
     @Override
     public <T, C extends RedisCommand<K, V, T>> C dispatch(C command) {
+        return super.dispatch(preProcessCommand(command));
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Collection<RedisCommand<K, V, ?>> dispatch(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        List<RedisCommand<K, V, ?>> commandsToSend = new ArrayList<>(commands.size());
+
+        for (RedisCommand<K, V, ?> command : commands) {
+            commandsToSend.add(preProcessCommand((RedisCommand) command));
+        }
+
+        return super.dispatch(commandsToSend);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T, C extends RedisCommand<K, V, T>> C preProcessCommand(C command) {
 
         RedisCommand<K, V, T> local = command;
 
@@ -230,7 +251,7 @@ public class StatefulRedisClusterConnectionImpl<K, V> extends RedisChannelHandle
             });
         }
 
-        return super.dispatch((C) local);
+        return (C) local;
     }
 
     private <T> RedisCommand<K, V, T> attachOnComplete(RedisCommand<K, V, T> command, Consumer<T> consumer) {
@@ -51,9 +51,11 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
     private final List<RedisClusterPubSubListener<K, V>> clusterListeners = new CopyOnWriteArrayList<>();
     private final NotifyingMessageListener multicast = new NotifyingMessageListener();
     private final UpstreamMessageListener upstream = new UpstreamMessageListener();
+    private final ShardedSubscriptions<K, V> shardedSubscriptions;
 
     private volatile Partitions partitions;
     private volatile boolean nodeMessagePropagation = false;
+    private volatile boolean sharded = false;
     private volatile String nodeId;
     private RedisState state;
 
@@ -69,6 +71,7 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
             TimeUnit unit) {
 
         super(writer, codec, timeout, unit);
+        this.shardedSubscriptions = new ShardedSubscriptions<>(codec, this);
     }
 
     @Override
@@ -150,6 +153,7 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
     public void setPartitions(Partitions partitions) {
         this.partitions = partitions;
         getClusterDistributionChannelWriter().setPartitions(partitions);
+        shardedSubscriptions.setPartitions(partitions);
     }
 
     public Partitions getPartitions() {
@@ -161,6 +165,19 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
         this.nodeMessagePropagation = enabled;
     }
 
+    @Override
+    public void setShardedSubscriptions(boolean enabled) {
+        this.sharded = enabled;
+    }
+
+    boolean isShardedSubscriptions() {
+        return sharded;
+    }
+
+    ShardedSubscriptions<K, V> getShardedSubscriptions() {
+        return shardedSubscriptions;
+    }
+
     /**
      * Add a new listener.
      *
@@ -240,7 +257,7 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
         @Override
         public void message(RedisClusterNode node, K channel, V message) {
 
-            if (nodeMessagePropagation) {
+            if (nodeMessagePropagation || shardedSubscriptions.hasChannel(channel)) {
                 super.message(node, channel, message);
             }
         }
@@ -248,7 +265,7 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
         @Override
         public void message(RedisClusterNode node, K pattern, K channel, V message) {
 
-            if (nodeMessagePropagation) {
+            if (nodeMessagePropagation || shardedSubscriptions.hasPattern(pattern)) {
                 super.message(node, pattern, channel, message);
             }
         }
@@ -256,7 +273,7 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
         @Override
         public void subscribed(RedisClusterNode node, K channel, long count) {
 
-            if (nodeMessagePropagation) {
+            if (nodeMessagePropagation || shardedSubscriptions.hasChannel(channel)) {
                 super.subscribed(node, channel, count);
             }
         }
@@ -264,7 +281,7 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
         @Override
         public void psubscribed(RedisClusterNode node, K pattern, long count) {
 
-            if (nodeMessagePropagation) {
+            if (nodeMessagePropagation || shardedSubscriptions.hasPattern(pattern)) {
                 super.psubscribed(node, pattern, count);
             }
         }
@@ -272,7 +289,7 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
         @Override
         public void unsubscribed(RedisClusterNode node, K channel, long count) {
 
-            if (nodeMessagePropagation) {
+            if (nodeMessagePropagation || sharded) {
                 super.unsubscribed(node, channel, count);
             }
         }
@@ -280,7 +297,7 @@ class StatefulRedisClusterPubSubConnectionImpl<K, V> extends StatefulRedisPubSub
         @Override
         public void punsubscribed(RedisClusterNode node, K pattern, long count) {
 
-            if (nodeMessagePropagation) {
+            if (nodeMessagePropagation || sharded) {
                 super.punsubscribed(node, pattern, count);
             }
         }
@@ -15,6 +15,8 @@
  */
 package com.lambdaworks.redis.cluster.api;
 
+import java.util.Collection;
+
 import com.lambdaworks.redis.ReadFrom;
 import com.lambdaworks.redis.RedisException;
 import com.lambdaworks.redis.api.StatefulConnection;
@@ -24,6 +26,7 @@ import com.lambdaworks.redis.cluster.api.async.RedisAdvancedClusterAsyncCommands
 import com.lambdaworks.redis.cluster.api.rx.RedisAdvancedClusterReactiveCommands;
 import com.lambdaworks.redis.cluster.api.sync.RedisAdvancedClusterCommands;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
+import com.lambdaworks.redis.protocol.RedisCommand;
 
 /**
  * A stateful cluster connection. Advanced cluster connections provide transparent command routing based on the first command
@@ -113,4 +116,15 @@ public interface StatefulRedisClusterConnection<K, V> extends StatefulConnection
      * @return Known partitions for this connection.
      */
     Partitions getPartitions();
+
+    /**
+     * Dispatch multiple commands. Commands are routed by their first key and written to each cluster node with a single flush.
+     * The commands may be changed/wrapped during write and the written instances are returned in the order of
+     * {@code commands}. This method does not wait until the commands complete.
+     *
+     * @param commands the Redis commands
+     * @return the written redis commands
+     * @since 4.5
+     */
+    Collection<RedisCommand<K, V, ?>> dispatch(Collection<? extends RedisCommand<K, V, ?>> commands);
 }
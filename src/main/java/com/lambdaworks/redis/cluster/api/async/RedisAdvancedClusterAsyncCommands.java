@@ -30,6 +30,8 @@ import com.lambdaworks.redis.cluster.api.NodeSelectionSupport;
 import com.lambdaworks.redis.cluster.api.StatefulRedisClusterConnection;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.output.KeyStreamingChannel;
+import com.lambdaworks.redis.output.ValueStreamingChannel;
+import com.lambdaworks.redis.protocol.RedisCommand;
 
 /**
  * Advanced asynchronous and thread-safe Redis Cluster API.
@@ -170,6 +172,18 @@ public interface RedisAdvancedClusterAsyncCommands<K, V>
      */
     RedisFuture<List<V>> mget(K... keys);
 
+    /**
+     * Stream over the values of all the given keys with pipelining. Cross-slot keys will result in multiple calls to the
+     * particular cluster nodes. Values are emitted to the {@code channel} as soon as each node answers and are therefore not
+     * ordered by key across slots. Values of different nodes may be emitted concurrently.
+     *
+     * @param channel the channel
+     * @param keys the keys
+     * @return Long array-reply list of values at the specified keys.
+     * @see RedisStringAsyncCommands#mget(ValueStreamingChannel, Object[])
+     */
+    RedisFuture<Long> mget(ValueStreamingChannel<V> channel, K... keys);
+
     /**
      * Set multiple keys to multiple values with pipelining. Cross-slot keys will result in multiple calls to the particular
      * cluster nodes.
@@ -364,6 +378,44 @@ public interface RedisAdvancedClusterAsyncCommands<K, V>
      */
     RedisFuture<StreamScanCursor> scan(KeyStreamingChannel<K> channel, ScanCursor scanCursor);
 
+    /**
+     * Incrementally iterate the keys space over the whole Cluster by scanning up to {@code parallelism} nodes concurrently.
+     * Each invocation issues one {@literal SCAN} on each of the first {@code parallelism} nodes that are not yet finished
+     * and returns the merged keys. Nodes are scanned in the order of the initial invocation; a finished node is replaced by
+     * the next node within the following invocation.
+     * <p>
+     * The resulting cursor is a composite cursor that holds the cursors of all unfinished nodes. Its
+     * {@link ScanCursor#getCursor() cursor string} can be persisted to resume the scan using {@link ScanCursor#of(String)}
+     * as long as the cluster topology does not change.
+     * </p>
+     *
+     * @param scanCursor {@link ScanCursor#INITIAL} to start a scan or the cursor from the previous invocation to resume the
+     *        scan.
+     * @param scanArgs scan arguments, may be {@literal null}.
+     * @param parallelism maximal number of nodes to scan concurrently, must be greater {@literal 0}.
+     * @return KeyScanCursor&lt;K&gt; composite scan cursor.
+     * @see RedisKeyAsyncCommands#scan(ScanCursor, ScanArgs)
+     * @since 4.5
+     */
+    RedisFuture<KeyScanCursor<K>> parallelScan(ScanCursor scanCursor, ScanArgs scanArgs, int parallelism);
+
+    /**
+     * Incrementally iterate the keys space over the whole Cluster by scanning up to {@code parallelism} nodes concurrently
+     * and emit the keys of all nodes to {@code channel}. {@code channel} is not invoked concurrently. See
+     * {@link #parallelScan(ScanCursor, ScanArgs, int)} for details on the scan iteration and the composite cursor.
+     *
+     * @param channel streaming channel that receives a call for every key.
+     * @param scanCursor {@link ScanCursor#INITIAL} to start a scan or the cursor from the previous invocation to resume the
+     *        scan.
+     * @param scanArgs scan arguments, may be {@literal null}.
+     * @param parallelism maximal number of nodes to scan concurrently, must be greater {@literal 0}.
+     * @return StreamScanCursor composite scan cursor.
+     * @see RedisKeyAsyncCommands#scan(KeyStreamingChannel, ScanCursor, ScanArgs)
+     * @since 4.5
+     */
+    RedisFuture<StreamScanCursor> parallelScan(KeyStreamingChannel<K> channel, ScanCursor scanCursor, ScanArgs scanArgs,
+            int parallelism);
+
     /**
      * Touch one or more keys with pipelining. Touch sets the last accessed time for a key. Non-exsitent keys wont get created.
      * Cross-slot keys will result in multiple calls to the particular cluster nodes.
@@ -372,4 +424,16 @@ public interface RedisAdvancedClusterAsyncCommands<K, V>
      * @return Long integer-reply the number of found keys.
      */
     RedisFuture<Long> touch(K... keys);
+
+    /**
+     * Dispatch a batch of commands. Commands are routed by the slot of their first key and grouped by the target cluster node.
+     * Each group is written to its node connection with a single flush. Redirected commands ({@literal MOVED},
+     * {@literal ASK}) are re-dispatched to the redirect target.
+     *
+     * @param commands the commands to dispatch, must not be {@literal null}.
+     * @return future that completes with the command results in the order of {@code commands}. The future completes
+     *         exceptionally if any command completes exceptionally.
+     * @since 4.5
+     */
+    RedisFuture<List<Object>> dispatch(List<? extends RedisCommand<K, V, ?>> commands);
 }
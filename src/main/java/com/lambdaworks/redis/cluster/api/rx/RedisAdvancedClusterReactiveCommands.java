@@ -294,6 +294,23 @@ public interface RedisAdvancedClusterReactiveCommands<K, V> extends RedisCluster
      */
     Observable<StreamScanCursor> scan(KeyStreamingChannel<K> channel, ScanCursor scanCursor);
 
+    /**
+     * Iterate the keys space over the whole Cluster by scanning up to {@code parallelism} nodes concurrently. Keys of all
+     * nodes are merged into the resulting {@link Observable} that completes once all nodes are scanned. The next
+     * {@literal SCAN} on a node is issued only after the keys of its previous {@literal SCAN} were requested so the scan
+     * progresses with the demand of the subscriber.
+     *
+     * @param scanCursor {@link ScanCursor#INITIAL} to scan all nodes or a composite cursor of
+     *        {@link com.lambdaworks.redis.cluster.api.async.RedisAdvancedClusterAsyncCommands#parallelScan(ScanCursor, ScanArgs, int)}
+     *        to resume a scan.
+     * @param scanArgs scan arguments, may be {@literal null}.
+     * @param parallelism maximal number of nodes to scan concurrently, must be greater {@literal 0}.
+     * @return K keys.
+     * @see RedisKeyReactiveCommands#scan(ScanCursor, ScanArgs)
+     * @since 4.5
+     */
+    Observable<K> parallelScan(ScanCursor scanCursor, ScanArgs scanArgs, int parallelism);
+
     /**
      * Touch one or more keys with pipelining. Touch sets the last accessed time for a key. Non-exsitent keys wont get created.
      * Cross-slot keys will result in multiple calls to the particular cluster nodes.
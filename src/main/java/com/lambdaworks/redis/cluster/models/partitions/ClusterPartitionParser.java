@@ -15,18 +15,17 @@
  */
 package com.lambdaworks.redis.cluster.models.partitions;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
-import com.lambdaworks.redis.LettuceStrings;
 import com.lambdaworks.redis.RedisException;
 import com.lambdaworks.redis.RedisURI;
-import com.lambdaworks.redis.internal.HostAndPort;
-import com.lambdaworks.redis.internal.LettuceLists;
+import com.lambdaworks.redis.cluster.SlotHash;
 
 /**
- * Parser for node information output of {@code CLUSTER NODES} and {@code CLUSTER SLAVES}.
+ * Parser for node information output of {@code CLUSTER NODES} and {@code CLUSTER SLAVES}. The parser reads the output byte by
+ * byte and creates only the {@link String}s that are retained by {@link RedisClusterNode}.
  *
  * @author Mark Paluch
  * @since 3.0
@@ -35,15 +34,18 @@ public class ClusterPartitionParser {
 
     public static final String CONNECTED = "connected";
 
-    private static final String TOKEN_SLOT_IN_TRANSITION = "[";
-    private static final char TOKEN_NODE_SEPARATOR = '\n';
-    private static final Pattern TOKEN_PATTERN = Pattern.compile(Character.toString(TOKEN_NODE_SEPARATOR));
-    private static final Pattern SPACE_PATTERN = Pattern.compile(" ");
-    private static final Pattern DASH_PATTERN = Pattern.compile("\\-");
-    private static final Map<String, RedisClusterNode.NodeFlag> FLAG_MAPPING;
+    private static final byte TOKEN_SLOT_IN_TRANSITION = '[';
+    private static final byte TOKEN_NODE_SEPARATOR = '\n';
+    private static final byte TOKEN_SEPARATOR = ' ';
+    private static final byte TOKEN_FLAG_SEPARATOR = ',';
+    private static final byte TOKEN_BUS_PORT = '@';
+    private static final byte TOKEN_RANGE = '-';
+    private static final byte[] CONNECTED_BYTES = CONNECTED.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] FLAG_NAMES;
+    private static final RedisClusterNode.NodeFlag[] FLAGS;
 
     static {
-        Map<String, RedisClusterNode.NodeFlag> map = new HashMap<>();
+        Map<String, RedisClusterNode.NodeFlag> map = new LinkedHashMap<>();
 
         map.put("noflags", RedisClusterNode.NodeFlag.NOFLAGS);
         map.put("myself", RedisClusterNode.NodeFlag.MYSELF);
@@ -53,7 +55,16 @@ public class ClusterPartitionParser {
         map.put("fail", RedisClusterNode.NodeFlag.FAIL);
         map.put("handshake", RedisClusterNode.NodeFlag.HANDSHAKE);
         map.put("noaddr", RedisClusterNode.NodeFlag.NOADDR);
-        FLAG_MAPPING = Collections.unmodifiableMap(map);
+
+        FLAG_NAMES = new byte[map.size()][];
+        FLAGS = new RedisClusterNode.NodeFlag[map.size()];
+
+        int i = 0;
+        for (Map.Entry<String, RedisClusterNode.NodeFlag> entry : map.entrySet()) {
+            FLAG_NAMES[i] = entry.getKey().getBytes(StandardCharsets.US_ASCII);
+            FLAGS[i] = entry.getValue();
+            i++;
+        }
     }
 
     /**
@@ -70,116 +81,369 @@ public class ClusterPartitionParser {
      * @return the partitions object.
      */
     public static Partitions parse(String nodes) {
+
+        try {
+            return parse(ByteBuffer.wrap(nodes.getBytes(StandardCharsets.UTF_8)));
+        } catch (RedisException e) {
+            throw new RedisException("Cannot parse " + nodes, e.getCause());
+        }
+    }
+
+    /**
+     * Parse partition lines into Partitions object. The buffer is read from its current position to its limit without
+     * changing the position.
+     *
+     * @param nodes output of CLUSTER NODES
+     * @return the partitions object.
+     * @since 4.5
+     */
+    public static Partitions parse(ByteBuffer nodes) {
+
         Partitions result = new Partitions();
+        List<RedisClusterNode> mappedNodes = new ArrayList<>();
 
         try {
-            List<RedisClusterNode> mappedNodes = TOKEN_PATTERN.splitAsStream(nodes).filter(s -> !s.isEmpty())
-                    .map(ClusterPartitionParser::parseNode)
-                    .collect(Collectors.toList());
-            result.addAll(mappedNodes);
+
+            Tokenizer tokenizer = new Tokenizer(nodes);
+            while (tokenizer.nextLine()) {
+                mappedNodes.add(parseNode(tokenizer));
+            }
         } catch (Exception e) {
-            throw new RedisException("Cannot parse " + nodes, e);
+            throw new RedisException("Cannot parse " + StandardCharsets.UTF_8.decode(nodes.duplicate()), e);
         }
 
+        result.addAll(mappedNodes);
         return result;
     }
 
-    private static RedisClusterNode parseNode(String nodeInformation) {
+    private static RedisClusterNode parseNode(Tokenizer tokenizer) {
+
+        String nodeId = tokenizer.nextString();
+        RedisURI uri = readUri(tokenizer);
+        Set<RedisClusterNode.NodeFlag> nodeFlags = readFlags(tokenizer);
+
+        tokenizer.requireToken(); // (nodeId or -)
+        String slaveOf = tokenizer.tokenEquals(TOKEN_RANGE) ? null : tokenizer.tokenString();
 
-        Iterator<String> iterator = SPACE_PATTERN.splitAsStream(nodeInformation).iterator();
+        long pingSentTs = tokenizer.nextLong(0);
+        long pongReceivedTs = tokenizer.nextLong(0);
+        long configEpoch = tokenizer.nextLong(0);
 
-        String nodeId = iterator.next();
-        boolean connected = false;
-        RedisURI uri = null;
+        tokenizer.requireToken(); // "connected" : "disconnected"
+        boolean connected = tokenizer.tokenEquals(CONNECTED_BYTES);
 
-        String hostAndPortPart = iterator.next();
-        if(hostAndPortPart.contains("@")) {
-            hostAndPortPart = hostAndPortPart.substring(0, hostAndPortPart.indexOf('@'));
+        BitSet slots = readSlots(tokenizer); // slot, from-to [slot->-nodeID] [slot-<-nodeID]
+
+        RedisClusterNode partition = new RedisClusterNode(uri, nodeId, connected, slaveOf, pingSentTs, pongReceivedTs,
+                configEpoch, Collections.emptyList(), nodeFlags);
+        partition.setSlotBits(slots);
+
+        return partition;
+    }
+
+    private static RedisURI readUri(Tokenizer tokenizer) {
+
+        tokenizer.requireToken();
+
+        int start = tokenizer.tokenStart;
+        int end = tokenizer.indexOf(TOKEN_BUS_PORT);
+        if (end == -1) {
+            end = tokenizer.tokenEnd;
         }
 
-        HostAndPort hostAndPort = HostAndPort.parseCompat(hostAndPortPart);
+        int portSeparator = tokenizer.lastIndexOf((byte) ':', start, end);
+        if (portSeparator == -1) {
+            throw new IllegalArgumentException("Cannot determine port of " + tokenizer.tokenString());
+        }
 
-        if (LettuceStrings.isNotEmpty(hostAndPort.getHostText())) {
-            uri = RedisURI.Builder.redis(hostAndPort.getHostText(), hostAndPort.getPort()).build();
+        int hostStart = start;
+        int hostEnd = portSeparator;
+
+        // bracketed IPv6 address
+        if (tokenizer.byteAt(start) == '[' && tokenizer.byteAt(hostEnd - 1) == ']') {
+            hostStart++;
+            hostEnd--;
         }
 
-        String flags = iterator.next();
-        List<String> flagStrings = LettuceLists.newList(flags.split("\\,"));
+        if (hostStart == hostEnd) {
+            return null;
+        }
 
-        Set<RedisClusterNode.NodeFlag> nodeFlags = readFlags(flagStrings);
+        return RedisURI.Builder.redis(tokenizer.string(hostStart, hostEnd), tokenizer.parseInt(portSeparator + 1, end))
+                .build();
+    }
 
-        String slaveOfString = iterator.next(); // (nodeId or -)
-        String slaveOf = "-".equals(slaveOfString) ? null : slaveOfString;
+    private static Set<RedisClusterNode.NodeFlag> readFlags(Tokenizer tokenizer) {
 
-        long pingSentTs = getLongFromIterator(iterator, 0);
-        long pongReceivedTs = getLongFromIterator(iterator, 0);
-        long configEpoch = getLongFromIterator(iterator, 0);
+        tokenizer.requireToken();
 
-        String connectedFlags = iterator.next(); // "connected" : "disconnected"
+        Set<RedisClusterNode.NodeFlag> flags = EnumSet.noneOf(RedisClusterNode.NodeFlag.class);
+        int flagStart = tokenizer.tokenStart;
 
-        if (CONNECTED.equals(connectedFlags)) {
-            connected = true;
-        }
+        for (int i = tokenizer.tokenStart; i <= tokenizer.tokenEnd; i++) {
 
-        List<String> slotStrings = LettuceLists.newList(iterator); // slot, from-to [slot->-nodeID] [slot-<-nodeID]
-        List<Integer> slots = readSlots(slotStrings);
+            if (i == tokenizer.tokenEnd || tokenizer.byteAt(i) == TOKEN_FLAG_SEPARATOR) {
 
-        RedisClusterNode partition = new RedisClusterNode(uri, nodeId, connected, slaveOf, pingSentTs, pongReceivedTs,
-                configEpoch, slots, nodeFlags);
+                RedisClusterNode.NodeFlag flag = getFlag(tokenizer, flagStart, i);
+                if (flag != null) {
+                    flags.add(flag);
+                }
 
-        return partition;
+                flagStart = i + 1;
+            }
+        }
 
+        return flags;
     }
 
-    private static Set<RedisClusterNode.NodeFlag> readFlags(List<String> flagStrings) {
+    private static RedisClusterNode.NodeFlag getFlag(Tokenizer tokenizer, int start, int end) {
 
-        Set<RedisClusterNode.NodeFlag> flags = new HashSet<>();
-        for (String flagString : flagStrings) {
-            if (FLAG_MAPPING.containsKey(flagString)) {
-                flags.add(FLAG_MAPPING.get(flagString));
+        for (int i = 0; i < FLAG_NAMES.length; i++) {
+            if (tokenizer.regionEquals(start, end, FLAG_NAMES[i])) {
+                return FLAGS[i];
             }
         }
-        return Collections.unmodifiableSet(flags);
+
+        return null;
     }
 
-    private static List<Integer> readSlots(List<String> slotStrings) {
+    private static BitSet readSlots(Tokenizer tokenizer) {
+
+        BitSet slots = new BitSet(SlotHash.SLOT_COUNT);
 
-        List<Integer> slots = new ArrayList<>();
-        for (String slotString : slotStrings) {
+        while (tokenizer.nextToken()) {
 
-            if (slotString.startsWith(TOKEN_SLOT_IN_TRANSITION)) {
+            if (tokenizer.byteAt(tokenizer.tokenStart) == TOKEN_SLOT_IN_TRANSITION) {
                 // not interesting
                 continue;
-
             }
 
-            if (slotString.contains("-")) {
+            int dash = tokenizer.indexOf(TOKEN_RANGE);
+            if (dash != -1) {
                 // slot range
-                Iterator<String> it = DASH_PATTERN.splitAsStream(slotString).iterator();
-                int from = Integer.parseInt(it.next());
-                int to = Integer.parseInt(it.next());
-
-                for (int slot = from; slot <= to; slot++) {
-                    slots.add(slot);
+                int from = tokenizer.parseInt(tokenizer.tokenStart, dash);
+                int to = tokenizer.parseInt(dash + 1, tokenizer.tokenEnd);
 
-                }
+                slots.set(from, to + 1);
                 continue;
             }
 
-            slots.add(Integer.parseInt(slotString));
+            slots.set(tokenizer.parseInt(tokenizer.tokenStart, tokenizer.tokenEnd));
         }
 
-        return Collections.unmodifiableList(slots);
+        return slots;
     }
 
-    private static long getLongFromIterator(Iterator<?> iterator, long defaultValue) {
-        if (iterator.hasNext()) {
-            Object object = iterator.next();
-            if (object instanceof String) {
-                return Long.parseLong((String) object);
+    /**
+     * Line and token reader over a {@link ByteBuffer} using absolute access.
+     */
+    static class Tokenizer {
+
+        private final ByteBuffer buffer;
+        private final int limit;
+
+        private int lineEnd;
+        private int position;
+
+        int tokenStart;
+        int tokenEnd;
+
+        Tokenizer(ByteBuffer buffer) {
+
+            this.buffer = buffer;
+            this.limit = buffer.limit();
+            this.lineEnd = buffer.position() - 1;
+        }
+
+        /**
+         * Advance to the next non-empty line.
+         *
+         * @return {@literal true} if a line is available.
+         */
+        boolean nextLine() {
+
+            while (lineEnd < limit) {
+
+                position = lineEnd + 1;
+                lineEnd = position;
+
+                while (lineEnd < limit && buffer.get(lineEnd) != TOKEN_NODE_SEPARATOR) {
+                    lineEnd++;
+                }
+
+                int end = lineEnd;
+                if (end > position && buffer.get(end - 1) == '\r') {
+                    end--;
+                }
+
+                for (int i = position; i < end; i++) {
+                    if (buffer.get(i) != TOKEN_SEPARATOR) {
+                        return true;
+                    }
+                }
             }
+
+            return false;
         }
-        return defaultValue;
-    }
 
+        /**
+         * Advance to the next token within the current line.
+         *
+         * @return {@literal true} if a token is available.
+         */
+        boolean nextToken() {
+
+            while (position < lineEnd && buffer.get(position) == TOKEN_SEPARATOR) {
+                position++;
+            }
+
+            int end = position;
+            while (end < lineEnd && buffer.get(end) != TOKEN_SEPARATOR) {
+                end++;
+            }
+
+            if (end > position && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+
+            if (end == position) {
+                return false;
+            }
+
+            tokenStart = position;
+            tokenEnd = end;
+            position = end;
+            return true;
+        }
+
+        void requireToken() {
+
+            if (!nextToken()) {
+                throw new NoSuchElementException("Unexpected end of line");
+            }
+        }
+
+        String nextString() {
+
+            requireToken();
+            return tokenString();
+        }
+
+        long nextLong(long defaultValue) {
+
+            if (!nextToken()) {
+                return defaultValue;
+            }
+
+            return parseLong(tokenStart, tokenEnd);
+        }
+
+        String tokenString() {
+            return string(tokenStart, tokenEnd);
+        }
+
+        boolean tokenEquals(byte b) {
+            return tokenEnd - tokenStart == 1 && buffer.get(tokenStart) == b;
+        }
+
+        boolean tokenEquals(byte[] bytes) {
+            return regionEquals(tokenStart, tokenEnd, bytes);
+        }
+
+        boolean regionEquals(int start, int end, byte[] bytes) {
+
+            if (end - start != bytes.length) {
+                return false;
+            }
+
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer.get(start + i) != bytes[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * @return index of {@code b} within the current token or {@literal -1}.
+         */
+        int indexOf(byte b) {
+
+            for (int i = tokenStart; i < tokenEnd; i++) {
+                if (buffer.get(i) == b) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        int lastIndexOf(byte b, int start, int end) {
+
+            for (int i = end - 1; i >= start; i--) {
+                if (buffer.get(i) == b) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        byte byteAt(int index) {
+            return buffer.get(index);
+        }
+
+        String string(int start, int end) {
+
+            if (buffer.hasArray()) {
+                return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.UTF_8);
+            }
+
+            byte[] bytes = new byte[end - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = buffer.get(start + i);
+            }
+
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int parseInt(int start, int end) {
+
+            long value = parseLong(start, end);
+
+            if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+                throw new NumberFormatException("Integer out of range: " + string(start, end));
+            }
+
+            return (int) value;
+        }
+
+        long parseLong(int start, int end) {
+
+            if (start == end) {
+                throw new NumberFormatException("Empty number");
+            }
+
+            boolean negative = buffer.get(start) == '-';
+            int i = negative ? start + 1 : start;
+
+            if (i == end) {
+                throw new NumberFormatException("Not a number: " + string(start, end));
+            }
+
+            long value = 0;
+            for (; i < end; i++) {
+
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new NumberFormatException("Not a number: " + string(start, end));
+                }
+
+                value = value * 10 + digit;
+            }
+
+            return negative ? -value : value;
+        }
+    }
 }
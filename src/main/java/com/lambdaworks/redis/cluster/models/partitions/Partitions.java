@@ -137,8 +137,15 @@ public class Partitions implements Collection<RedisClusterNode> {
             for (RedisClusterNode partition : partitions) {
 
                 readView.add(partition);
-                for (Integer integer : partition.getSlots()) {
-                    slotCache[integer.intValue()] = partition;
+
+                BitSet slots = partition.getSlotBits();
+                if (slots == null) {
+                    continue;
+                }
+
+                for (int slot = slots.nextSetBit(0); slot >= 0 && slot < SlotHash.SLOT_COUNT; slot = slots
+                        .nextSetBit(slot + 1)) {
+                    slotCache[slot] = partition;
                 }
             }
 
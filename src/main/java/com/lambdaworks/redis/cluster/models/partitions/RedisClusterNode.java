@@ -202,19 +202,23 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
         this.configEpoch = configEpoch;
     }
 
+    /**
+     * Returns the slots for which this {@link RedisClusterNode} is the
+     * {@link com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode.NodeFlag#MASTER}. The returned {@link List} is a
+     * copy of the slots of this node in ascending order.
+     *
+     * @return the slots of this node, never {@literal null}.
+     */
     public List<Integer> getSlots() {
 
         if (slots == null || slots.isEmpty()) {
             return Collections.emptyList();
         }
 
-        List<Integer> slots = new ArrayList<>();
-
-        for (int i = 0; i < SlotHash.SLOT_COUNT; i++) {
+        List<Integer> slots = new ArrayList<>(this.slots.cardinality());
 
-            if (this.slots.get(i)) {
-                slots.add(i);
-            }
+        for (int i = this.slots.nextSetBit(0); i != -1; i = this.slots.nextSetBit(i + 1)) {
+            slots.add(i);
         }
 
         return slots;
@@ -236,19 +240,30 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
 
     private void setSlotBits(List<Integer> slots) {
 
-        if (slots.isEmpty() && this.slots == null) {
-            return;
-        }
+        BitSet bits = new BitSet(SlotHash.SLOT_COUNT);
 
-        if (this.slots == null) {
-            this.slots = new BitSet(SlotHash.SLOT_COUNT);
+        for (Integer slot : slots) {
+            bits.set(slot);
         }
 
-        this.slots.clear();
+        setSlotBits(bits);
+    }
 
-        for (Integer slot : slots) {
-            this.slots.set(slot);
-        }
+    /**
+     * Sets the slots from a {@link BitSet}. The {@link BitSet} is not copied and must not be modified afterwards.
+     *
+     * @param slots the slot bits, must not be {@literal null}.
+     */
+    void setSlotBits(BitSet slots) {
+        this.slots = slots.isEmpty() ? null : slots;
+    }
+
+    /**
+     * @return the slot bits of this node or {@literal null} if this node does not hold any slots. The {@link BitSet} is not
+     *         copied and must not be modified.
+     */
+    BitSet getSlotBits() {
+        return slots;
     }
 
     public Set<NodeFlag> getFlags() {
@@ -297,6 +312,25 @@ public class RedisClusterNode implements Serializable, RedisNodeDescription {
         return slot <= SlotHash.SLOT_COUNT && this.slots != null && this.slots.get(slot);
     }
 
+    /**
+     * @param other the other node, must not be {@literal null}.
+     * @return {@literal true} if this node holds the same slots as {@code other}.
+     * @since 4.5
+     */
+    public boolean hasSameSlotsAs(RedisClusterNode other) {
+
+        LettuceAssert.notNull(other, "RedisClusterNode must not be null");
+
+        boolean empty = this.slots == null || this.slots.isEmpty();
+        boolean otherEmpty = other.slots == null || other.slots.isEmpty();
+
+        if (empty || otherEmpty) {
+            return empty == otherEmpty;
+        }
+
+        return this.slots.equals(other.slots);
+    }
+
     /**
      * Returns the {@link com.lambdaworks.redis.models.role.RedisInstance.Role} of the Redis Cluster node based on the
      * {@link #getFlags() flags}.
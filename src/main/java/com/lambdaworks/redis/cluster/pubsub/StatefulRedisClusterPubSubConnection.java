@@ -143,6 +143,24 @@ public interface StatefulRedisClusterPubSubConnection<K, V> extends StatefulRedi
      */
     void setNodeMessagePropagation(boolean enabled);
 
+    /**
+     * Enables/disables sharded subscriptions. If {@code enabled} is {@literal true}, then {@literal SUBSCRIBE} and
+     * {@literal PSUBSCRIBE} issued through this connection are distributed across node connections instead of using a single
+     * connection. Each channel (pattern) is assigned to the master serving the slot of its name, channels sharing a hash tag
+     * are subscribed on the same node. Subscriptions are moved to another node once the slot is served by a different node.
+     * Messages received by sharded subscriptions are propagated to {@link RedisPubSubListener} and
+     * {@link RedisClusterPubSubListener} registered with this connection.
+     * <p>
+     * Sharded subscriptions spread the Pub/Sub load across connections and event loop threads. Changing the mode does not
+     * migrate existing subscriptions, enable sharded subscriptions before subscribing. Sharded subscriptions are disabled by
+     * default.
+     *
+     * @param enabled {@literal true} to distribute subscriptions across nodes; {@literal false} (default) to subscribe using
+     *        this connection.
+     * @since 4.5
+     */
+    void setShardedSubscriptions(boolean enabled);
+
     /**
      * Add a new {@link RedisClusterPubSubListener listener}.
      *
@@ -106,6 +106,37 @@ public class ClusterTopologyRefresh {
         }
     }
 
+    /**
+     * Load partition views from a sample of cluster nodes and return the view per {@link RedisURI}. This method requests only
+     * {@code CLUSTER NODES} and does not discover additional nodes. Nodes that cannot be connected are omitted from the
+     * result.
+     *
+     * @param sample collection of {@link RedisURI}s to query
+     * @return mapping between {@link RedisURI} and {@link Partitions}
+     * @since 4.5
+     */
+    public Map<RedisURI, Partitions> loadSampledViews(Iterable<RedisURI> sample) {
+
+        long commandTimeoutNs = getCommandTimeoutNs(sample);
+
+        Connections connections = null;
+        try {
+            connections = getConnections(sample).optionalGet(commandTimeoutNs, TimeUnit.NANOSECONDS);
+
+            Requests requestedTopology = connections.requestTopology();
+
+            return getNodeSpecificViews(requestedTopology, null, commandTimeoutNs).toMap();
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new RedisCommandInterruptedException(e);
+        } finally {
+            if (connections != null) {
+                connections.close();
+            }
+        }
+    }
+
     private Set<RedisURI> toSet(Iterable<RedisURI> seed) {
         return StreamSupport.stream(seed.spliterator(), false).collect(Collectors.toCollection(HashSet::new));
     }
@@ -119,7 +150,10 @@ public class ClusterTopologyRefresh {
         Map<String, Integer> clientCountByNodeId = new HashMap<>();
 
         long waitTime = requestedTopology.await(commandTimeoutNs, TimeUnit.NANOSECONDS);
-        requestedClients.await(commandTimeoutNs - waitTime, TimeUnit.NANOSECONDS);
+
+        if (requestedClients != null) {
+            requestedClients.await(commandTimeoutNs - waitTime, TimeUnit.NANOSECONDS);
+        }
 
         Set<RedisURI> nodes = requestedTopology.nodes();
 
@@ -20,7 +20,9 @@ import java.util.TreeMap;
 
 import com.lambdaworks.redis.RedisURI;
 import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.codec.StringCodec;
+import com.lambdaworks.redis.output.PartitionsOutput;
 import com.lambdaworks.redis.output.StatusOutput;
 import com.lambdaworks.redis.protocol.Command;
 import com.lambdaworks.redis.protocol.CommandArgs;
@@ -64,7 +66,8 @@ class Connections {
     }
 
     /*
-     * Initiate {@code CLUSTER NODES} on all connections and return the {@link Requests}.
+     * Initiate {@code CLUSTER NODES} on all connections and return the {@link Requests}. The reply is parsed into
+     * {@link Partitions} from the response buffer.
      *
      * @return the {@link Requests}.
      */
@@ -75,9 +78,9 @@ class Connections {
         for (Map.Entry<RedisURI, StatefulRedisConnection<String, String>> entry : connections.entrySet()) {
 
             CommandArgs<String, String> args = new CommandArgs<>(StringCodec.UTF8).add(CommandKeyword.NODES);
-            Command<String, String, String> command = new Command<>(CommandType.CLUSTER, new StatusOutput<>(StringCodec.UTF8),
-                    args);
-            TimedAsyncCommand<String, String, String> timedCommand = new TimedAsyncCommand<>(command);
+            Command<String, String, Partitions> command = new Command<>(CommandType.CLUSTER, new PartitionsOutput<>(
+                    StringCodec.UTF8), args);
+            TimedAsyncCommand<String, String, Partitions> timedCommand = new TimedAsyncCommand<>(command);
 
             entry.getValue().dispatch(timedCommand);
             requests.addRequest(entry.getKey(), timedCommand);
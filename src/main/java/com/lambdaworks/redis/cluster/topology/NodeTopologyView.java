@@ -35,7 +35,6 @@ class NodeTopologyView {
     private final int connectedClients;
 
     private final long latency;
-    private final String clusterNodes;
 
     private final String clientList;
 
@@ -45,19 +44,21 @@ class NodeTopologyView {
         this.redisURI = redisURI;
         this.partitions = new Partitions();
         this.connectedClients = 0;
-        this.clusterNodes = null;
         this.clientList = null;
         this.latency = 0;
     }
 
     NodeTopologyView(RedisURI redisURI, String clusterNodes, String clientList, long latency) {
+        this(redisURI, ClusterPartitionParser.parse(clusterNodes), clientList, latency);
+    }
+
+    NodeTopologyView(RedisURI redisURI, Partitions partitions, String clientList, long latency) {
 
         this.available = true;
         this.redisURI = redisURI;
 
-        this.partitions = ClusterPartitionParser.parse(clusterNodes);
-        this.connectedClients = getClients(clientList);
-        this.clusterNodes = clusterNodes;
+        this.partitions = partitions;
+        this.connectedClients = clientList != null ? getClients(clientList) : 0;
         this.clientList = clientList;
         this.latency = latency;
     }
@@ -65,7 +66,18 @@ class NodeTopologyView {
     static NodeTopologyView from(RedisURI redisURI, Requests clusterNodesRequests, Requests clientListRequests)
             throws ExecutionException, InterruptedException {
 
-        TimedAsyncCommand<String, String, String> nodes = clusterNodesRequests.getRequest(redisURI);
+        TimedAsyncCommand<String, String, Partitions> nodes = clusterNodesRequests.getRequest(redisURI);
+
+        // CLIENT LIST is not requested by sampled refreshes
+        if (clientListRequests == null) {
+
+            if (resultAvailable(nodes)) {
+                return new NodeTopologyView(redisURI, nodes.get(), null, nodes.duration());
+            }
+
+            return new NodeTopologyView(redisURI);
+        }
+
         TimedAsyncCommand<String, String, String> clients = clientListRequests.getRequest(redisURI);
 
         if (resultAvailable(nodes) && resultAvailable(clients)) {
@@ -130,10 +142,6 @@ class NodeTopologyView {
         return clientList;
     }
 
-    String getClusterNodes() {
-        return clusterNodes;
-    }
-
     void setPartitions(Partitions partitions) {
         this.partitions = partitions;
     }
@@ -29,17 +29,17 @@ import com.lambdaworks.redis.RedisURI;
  */
 class Requests {
 
-    private final Map<RedisURI, TimedAsyncCommand<String, String, String>> rawViews;
+    private final Map<RedisURI, TimedAsyncCommand<String, String, ?>> rawViews;
 
     protected Requests() {
         rawViews = new TreeMap<>(TopologyComparators.RedisURIComparator.INSTANCE);
     }
 
-    private Requests(Map<RedisURI, TimedAsyncCommand<String, String, String>> rawViews) {
+    private Requests(Map<RedisURI, TimedAsyncCommand<String, String, ?>> rawViews) {
         this.rawViews = rawViews;
     }
 
-    protected void addRequest(RedisURI redisURI, TimedAsyncCommand<String, String, String> command) {
+    protected void addRequest(RedisURI redisURI, TimedAsyncCommand<String, String, ?> command) {
         rawViews.put(redisURI, command);
     }
 
@@ -51,13 +51,14 @@ class Requests {
         return rawViews.keySet();
     }
 
-    protected TimedAsyncCommand<String, String, String> getRequest(RedisURI redisURI) {
-        return rawViews.get(redisURI);
+    @SuppressWarnings("unchecked")
+    protected <T> TimedAsyncCommand<String, String, T> getRequest(RedisURI redisURI) {
+        return (TimedAsyncCommand<String, String, T>) rawViews.get(redisURI);
     }
 
     protected Requests mergeWith(Requests requests) {
 
-        Map<RedisURI, TimedAsyncCommand<String, String, String>> result = new TreeMap<>(
+        Map<RedisURI, TimedAsyncCommand<String, String, ?>> result = new TreeMap<>(
                 TopologyComparators.RedisURIComparator.INSTANCE);
         result.putAll(this.rawViews);
         result.putAll(requests.rawViews);
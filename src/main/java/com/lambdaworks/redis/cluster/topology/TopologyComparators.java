@@ -25,7 +25,6 @@ import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.internal.LettuceAssert;
 import com.lambdaworks.redis.internal.LettuceLists;
-import com.lambdaworks.redis.internal.LettuceSets;
 
 /**
  * Comparators for {@link RedisClusterNode} and {@link RedisURI}.
@@ -141,7 +140,7 @@ public class TopologyComparators {
      * @param o2 the second object to be compared.
      * @return {@literal true} if {@code MASTER} or {@code SLAVE} flags changed or the responsible slots changed.
      */
-    static boolean essentiallyEqualsTo(RedisClusterNode o1, RedisClusterNode o2) {
+    public static boolean essentiallyEqualsTo(RedisClusterNode o1, RedisClusterNode o2) {
 
         if (o2 == null) {
             return false;
@@ -155,7 +154,7 @@ public class TopologyComparators {
             return false;
         }
 
-        if (!LettuceSets.newHashSet(o1.getSlots()).equals(LettuceSets.newHashSet(o2.getSlots()))) {
+        if (!o1.hasSameSlotsAs(o2)) {
             return false;
         }
 
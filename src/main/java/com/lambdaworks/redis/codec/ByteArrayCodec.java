@@ -17,13 +17,16 @@ package com.lambdaworks.redis.codec;
 
 import java.nio.ByteBuffer;
 
+import io.netty.buffer.ByteBuf;
+
 /**
- * A {@link RedisCodec} that uses plain byte arrays.
+ * A {@link RedisCodec} that uses plain byte arrays. This codec decodes directly from {@link ByteBuf} buffers to avoid
+ * intermediate copies.
  *
  * @author Mark Paluch
  * @since 3.3
  */
-public class ByteArrayCodec implements RedisCodec<byte[], byte[]> {
+public class ByteArrayCodec implements RedisCodec<byte[], byte[]>, FromByteBufDecoder<byte[], byte[]> {
 
     public static final ByteArrayCodec INSTANCE = new ByteArrayCodec();
     private static final byte[] EMPTY = new byte[0];
@@ -38,6 +41,16 @@ public class ByteArrayCodec implements RedisCodec<byte[], byte[]> {
         return getBytes(bytes);
     }
 
+    @Override
+    public byte[] decodeKey(ByteBuf bytes) {
+        return getBytes(bytes);
+    }
+
+    @Override
+    public byte[] decodeValue(ByteBuf bytes) {
+        return getBytes(bytes);
+    }
+
     @Override
     public ByteBuffer encodeKey(byte[] key) {
 
@@ -71,4 +84,16 @@ public class ByteArrayCodec implements RedisCodec<byte[], byte[]> {
         return b;
     }
 
+    private static byte[] getBytes(ByteBuf buffer) {
+
+        int remaining = buffer.readableBytes();
+
+        if (remaining == 0) {
+            return EMPTY;
+        }
+
+        byte[] b = new byte[remaining];
+        buffer.getBytes(buffer.readerIndex(), b);
+        return b;
+    }
 }
@@ -27,14 +27,28 @@ import java.util.zip.InflaterInputStream;
 
 import com.lambdaworks.redis.internal.LettuceAssert;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
 /**
  * A compressing/decompressing {@link RedisCodec} that wraps a typed {@link RedisCodec codec} and compresses values using GZIP
  * or Deflate. See {@link com.lambdaworks.redis.codec.CompressionCodec.CompressionType} for supported compression types.
+ * <p>
+ * {@link #valueCompressor(RedisCodec, Compressor, int)} creates a codec using a block {@link Compressor} that operates on
+ * {@link ByteBuf buffers}. Compressed values carry a header so compressed and uncompressed values can be read transparently.
+ * </p>
  *
  * @author Mark Paluch
  */
 public class CompressionCodec {
 
+    /**
+     * Default size threshold in bytes below which values are stored uncompressed.
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
     /**
      * A {@link RedisCodec} that compresses values from a delegating {@link RedisCodec}.
      *
@@ -51,6 +65,237 @@ public class CompressionCodec {
         return (RedisCodec) new CompressingValueCodecWrapper((RedisCodec) delegate, compressionType);
     }
 
+    /**
+     * A {@link RedisCodec} that compresses values from a delegating {@link RedisCodec} using {@link Compressor} with the
+     * {@link #DEFAULT_THRESHOLD default threshold}.
+     *
+     * @param delegate codec used for key-value encoding/decoding, must not be {@literal null}.
+     * @param compressor the compressor, must not be {@literal null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return Value-compressing codec.
+     * @since 4.5
+     */
+    public static <K, V> RedisCodec<K, V> valueCompressor(RedisCodec<K, V> delegate, Compressor compressor) {
+        return valueCompressor(delegate, compressor, DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * A {@link RedisCodec} that compresses values from a delegating {@link RedisCodec} using {@link Compressor}. Values
+     * smaller than {@code threshold} bytes and values that do not compress are stored as-is. Compressed values start with a
+     * header consisting of the marker byte {@code 0xFF}, the {@link Compressor#getId() compressor id} and the uncompressed
+     * length. Values without the header are passed to the delegate as-is so data written without compression remains
+     * readable. {@code 0xFF} does not occur in UTF-8 encoded text, uncompressed values starting with {@code 0xFF} are
+     * written with an escape header.
+     * <p>
+     * The resulting codec decompresses values written by any built-in {@link Compressor} and by {@code compressor}.
+     * </p>
+     *
+     * @param delegate codec used for key-value encoding/decoding, must not be {@literal null}.
+     * @param compressor the compressor, must not be {@literal null}.
+     * @param threshold size in bytes below which values are stored uncompressed, must be greater or equal {@literal 0}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return Value-compressing codec.
+     * @since 4.5
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public static <K, V> RedisCodec<K, V> valueCompressor(RedisCodec<K, V> delegate, Compressor compressor, int threshold) {
+
+        LettuceAssert.notNull(delegate, "RedisCodec must not be null");
+        LettuceAssert.notNull(compressor, "Compressor must not be null");
+        LettuceAssert.isTrue(compressor.getId() > 0 && compressor.getId() < 256, "Compressor id must be between 1 and 255");
+        LettuceAssert.isTrue(threshold >= 0, "Threshold must be greater or equal 0");
+
+        return (RedisCodec) new CompressorCodecWrapper((RedisCodec) delegate, compressor, threshold);
+    }
+
+    /**
+     * {@link RedisCodec} compressing values using a {@link Compressor}. Values are encoded into and decoded from
+     * {@link ByteBuf buffers}.
+     */
+    static class CompressorCodecWrapper implements RedisCodec<Object, Object>, ToByteBufEncoder<Object, Object>,
+            FromByteBufDecoder<Object, Object> {
+
+        static final int MARKER = 0xFF;
+        static final int STORED = 0;
+        static final int HEADER_LENGTH = 6;
+
+        private final RedisCodec<Object, Object> delegate;
+        private final Compressor compressor;
+        private final int threshold;
+        private final Compressor[] compressors = new Compressor[256];
+
+        CompressorCodecWrapper(RedisCodec<Object, Object> delegate, Compressor compressor, int threshold) {
+
+            this.delegate = delegate;
+            this.compressor = compressor;
+            this.threshold = threshold;
+
+            this.compressors[Compressor.SNAPPY] = Compressor.snappy();
+            this.compressors[Compressor.DEFLATE] = Compressor.deflate();
+            this.compressors[compressor.getId()] = compressor;
+        }
+
+        @Override
+        public Object decodeKey(ByteBuffer bytes) {
+            return delegate.decodeKey(bytes);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object decodeKey(ByteBuf bytes) {
+
+            if (delegate instanceof FromByteBufDecoder) {
+                return ((FromByteBufDecoder<Object, Object>) delegate).decodeKey(bytes);
+            }
+
+            return delegate.decodeKey(bytes.nioBuffer());
+        }
+
+        @Override
+        public Object decodeValue(ByteBuffer bytes) {
+            return decodeValue(Unpooled.wrappedBuffer(bytes));
+        }
+
+        @Override
+        public Object decodeValue(ByteBuf bytes) {
+
+            if (bytes.readableBytes() < 2 || bytes.getUnsignedByte(bytes.readerIndex()) != MARKER) {
+                return decodeDelegateValue(bytes);
+            }
+
+            int id = bytes.getUnsignedByte(bytes.readerIndex() + 1);
+
+            if (id == STORED) {
+                return decodeDelegateValue(bytes.slice(bytes.readerIndex() + 2, bytes.readableBytes() - 2));
+            }
+
+            Compressor compressor = compressors[id];
+            if (compressor == null || bytes.readableBytes() < HEADER_LENGTH) {
+                throw new IllegalStateException("Cannot decompress value using compressor id " + id);
+            }
+
+            int length = bytes.getInt(bytes.readerIndex() + 2);
+
+            // delegates decoding from ByteBuffer may hold on to the buffer, use pooled buffers only for FromByteBufDecoder
+            ByteBuf uncompressed = delegate instanceof FromByteBufDecoder ? ByteBufAllocator.DEFAULT.buffer(length)
+                    : Unpooled.buffer(length);
+
+            try {
+                compressor.decompress(bytes.slice(bytes.readerIndex() + HEADER_LENGTH, bytes.readableBytes() - HEADER_LENGTH),
+                        uncompressed, length);
+
+                if (uncompressed.readableBytes() != length) {
+                    throw new IllegalStateException(
+                            String.format("Expected %d uncompressed bytes, got %d", length, uncompressed.readableBytes()));
+                }
+
+                return decodeDelegateValue(uncompressed);
+            } finally {
+                uncompressed.release();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private Object decodeDelegateValue(ByteBuf bytes) {
+
+            if (delegate instanceof FromByteBufDecoder) {
+                return ((FromByteBufDecoder<Object, Object>) delegate).decodeValue(bytes);
+            }
+
+            return delegate.decodeValue(bytes.nioBuffer());
+        }
+
+        @Override
+        public ByteBuffer encodeKey(Object key) {
+            return delegate.encodeKey(key);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void encodeKey(Object key, ByteBuf target) {
+
+            if (delegate instanceof ToByteBufEncoder) {
+                ((ToByteBufEncoder<Object, Object>) delegate).encodeKey(key, target);
+                return;
+            }
+
+            target.writeBytes(delegate.encodeKey(key));
+        }
+
+        @Override
+        public ByteBuffer encodeValue(Object value) {
+
+            ByteBuf target = Unpooled.buffer(estimateSize(value));
+            encodeValue(value, target);
+
+            // compatibility path, return a buffer that is backed by an array of the exact size
+            return ByteBuffer.wrap(ByteBufUtil.getBytes(target));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void encodeValue(Object value, ByteBuf target) {
+
+            if (!(delegate instanceof ToByteBufEncoder)) {
+                compress(Unpooled.wrappedBuffer(delegate.encodeValue(value)), target);
+                return;
+            }
+
+            ToByteBufEncoder<Object, Object> encoder = (ToByteBufEncoder<Object, Object>) delegate;
+            ByteBuf source = target.alloc().buffer(encoder.estimateSize(value));
+
+            try {
+                encoder.encodeValue(value, source);
+                compress(source, target);
+            } finally {
+                source.release();
+            }
+        }
+
+        private void compress(ByteBuf source, ByteBuf target) {
+
+            int length = source.readableBytes();
+
+            if (length == 0) {
+                return;
+            }
+
+            if (length >= threshold) {
+
+                int start = target.writerIndex();
+                target.writeByte(MARKER).writeByte(compressor.getId()).writeInt(length);
+
+                compressor.compress(source.duplicate(), target);
+
+                if (target.writerIndex() - start < length) {
+                    return;
+                }
+
+                // not compressible
+                target.writerIndex(start);
+            }
+
+            if (source.getUnsignedByte(source.readerIndex()) == MARKER) {
+                target.writeByte(MARKER).writeByte(STORED);
+            }
+
+            target.writeBytes(source, source.readerIndex(), length);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public int estimateSize(Object keyOrValue) {
+
+            if (delegate instanceof ToByteBufEncoder) {
+                return ((ToByteBufEncoder<Object, Object>) delegate).estimateSize(keyOrValue) + HEADER_LENGTH;
+            }
+
+            return HEADER_LENGTH;
+        }
+    }
+
     private static class CompressingValueCodecWrapper implements RedisCodec<Object, Object> {
 
         private RedisCodec<Object, Object> delegate;
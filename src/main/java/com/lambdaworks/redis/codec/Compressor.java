@@ -0,0 +1,97 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Block compressor used by {@link CompressionCodec#valueCompressor(RedisCodec, Compressor, int)} to compress values directly
+ * on {@link ByteBuf buffers}. Implementations must be thread-safe.
+ * <p>
+ * Each compressor is identified by a {@link #getId() id} that is stored in the header of compressed values so values can be
+ * decompressed regardless of the compressor that is used for writing. Ids {@literal 0} to {@literal 15} are reserved for
+ * built-in compressors. Fast block compressors such as LZ4 or Zstandard can be plugged in by implementing this interface
+ * with a custom id.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ * @see CompressionCodec#valueCompressor(RedisCodec, Compressor, int)
+ */
+public interface Compressor {
+
+    /**
+     * Id of the built-in Snappy compressor.
+     */
+    int SNAPPY = 1;
+
+    /**
+     * Id of the built-in Deflate compressor.
+     */
+    int DEFLATE = 2;
+
+    /**
+     * Returns the Snappy compressor. Snappy favors speed over compression ratio and is implemented in Java without
+     * additional dependencies.
+     *
+     * @return the Snappy compressor.
+     */
+    static Compressor snappy() {
+        return SnappyCompressor.INSTANCE;
+    }
+
+    /**
+     * Returns a Deflate compressor using {@link java.util.zip.Deflater#BEST_SPEED}.
+     *
+     * @return the Deflate compressor.
+     */
+    static Compressor deflate() {
+        return deflate(java.util.zip.Deflater.BEST_SPEED);
+    }
+
+    /**
+     * Returns a Deflate compressor using the given compression level. The level affects only compression. Compressors are
+     * shared instances per level.
+     *
+     * @param level the compression level, {@literal 0} to {@literal 9}.
+     * @return the Deflate compressor.
+     */
+    static Compressor deflate(int level) {
+        return DeflateCompressor.getInstance(level);
+    }
+
+    /**
+     * @return the compressor id, between {@literal 16} and {@literal 255} for custom compressors.
+     */
+    int getId();
+
+    /**
+     * Compress all readable bytes of {@code source} into {@code target}.
+     *
+     * @param source the uncompressed data.
+     * @param target the target buffer.
+     */
+    void compress(ByteBuf source, ByteBuf target);
+
+    /**
+     * Decompress all readable bytes of {@code source} into {@code target}.
+     *
+     * @param source the compressed data.
+     * @param target the target buffer.
+     * @param uncompressedLength the number of bytes of the uncompressed data.
+     */
+    void decompress(ByteBuf source, ByteBuf target, int uncompressedLength);
+}
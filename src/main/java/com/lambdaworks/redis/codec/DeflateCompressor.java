@@ -0,0 +1,193 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.FastThreadLocal;
+
+/**
+ * {@link Compressor} using Deflate. {@link Deflater} and {@link Inflater} instances are cached per thread as their creation
+ * is expensive. Compressors are shared per compression level so the thread-local caches are allocated once.
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+class DeflateCompressor implements Compressor {
+
+    private static final FastThreadLocal<Inflater> INFLATER = new FastThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+
+    private static final FastThreadLocal<Deflater[]> DEFLATERS = new FastThreadLocal<Deflater[]>() {
+        @Override
+        protected Deflater[] initialValue() {
+            return new Deflater[Deflater.BEST_COMPRESSION + 1];
+        }
+    };
+
+    private static final DeflateCompressor[] INSTANCES = new DeflateCompressor[Deflater.BEST_COMPRESSION + 1];
+
+    static {
+        for (int level = Deflater.NO_COMPRESSION; level <= Deflater.BEST_COMPRESSION; level++) {
+            INSTANCES[level] = new DeflateCompressor(level);
+        }
+    }
+
+    private final int level;
+
+    private DeflateCompressor(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Returns the shared {@link DeflateCompressor} for {@code level}.
+     *
+     * @param level the compression level, {@literal 0} to {@literal 9}.
+     * @return the {@link DeflateCompressor}.
+     */
+    static DeflateCompressor getInstance(int level) {
+
+        LettuceAssert.isTrue(level >= Deflater.NO_COMPRESSION && level <= Deflater.BEST_COMPRESSION,
+                "Compression level must be between 0 and 9");
+
+        return INSTANCES[level];
+    }
+
+    @Override
+    public int getId() {
+        return DEFLATE;
+    }
+
+    @Override
+    public void compress(ByteBuf source, ByteBuf target) {
+
+        Deflater deflater = getDeflater();
+        deflater.reset();
+
+        try {
+            setInput(deflater, source);
+            deflater.finish();
+
+            byte[] chunk = target.hasArray() ? null : new byte[8192];
+
+            while (!deflater.finished()) {
+
+                if (chunk == null) {
+
+                    target.ensureWritable(Math.max(64, source.readableBytes() / 2));
+                    int written = deflater.deflate(target.array(), target.arrayOffset() + target.writerIndex(),
+                            target.writableBytes());
+                    target.writerIndex(target.writerIndex() + written);
+                } else {
+                    target.writeBytes(chunk, 0, deflater.deflate(chunk));
+                }
+            }
+
+            source.skipBytes(source.readableBytes());
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    @Override
+    public void decompress(ByteBuf source, ByteBuf target, int uncompressedLength) {
+
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+
+        try {
+            setInput(inflater, source);
+            target.ensureWritable(uncompressedLength);
+
+            byte[] array;
+            int offset;
+            boolean direct = !target.hasArray();
+
+            if (direct) {
+                array = new byte[uncompressedLength];
+                offset = 0;
+            } else {
+                array = target.array();
+                offset = target.arrayOffset() + target.writerIndex();
+            }
+
+            int read = 0;
+            while (read < uncompressedLength && !inflater.finished()) {
+
+                int count = inflater.inflate(array, offset + read, uncompressedLength - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated Deflate input");
+                }
+                read += count;
+            }
+
+            if (direct) {
+                target.writeBytes(array, 0, read);
+            } else {
+                target.writerIndex(target.writerIndex() + read);
+            }
+
+            source.skipBytes(source.readableBytes());
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    private Deflater getDeflater() {
+
+        Deflater[] deflaters = DEFLATERS.get();
+        Deflater deflater = deflaters[level];
+
+        if (deflater == null) {
+            deflater = deflaters[level] = new Deflater(level);
+        }
+
+        return deflater;
+    }
+
+    private static void setInput(Deflater deflater, ByteBuf source) {
+
+        if (source.hasArray()) {
+            deflater.setInput(source.array(), source.arrayOffset() + source.readerIndex(), source.readableBytes());
+        } else {
+            byte[] bytes = new byte[source.readableBytes()];
+            source.getBytes(source.readerIndex(), bytes);
+            deflater.setInput(bytes);
+        }
+    }
+
+    private static void setInput(Inflater inflater, ByteBuf source) {
+
+        if (source.hasArray()) {
+            inflater.setInput(source.array(), source.arrayOffset() + source.readerIndex(), source.readableBytes());
+        } else {
+            byte[] bytes = new byte[source.readableBytes()];
+            source.getBytes(source.readerIndex(), bytes);
+            inflater.setInput(bytes);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Optimized decoder that decodes keys and values directly from a {@link ByteBuf}. This decoder is the counterpart of
+ * {@link ToByteBufEncoder} and allows decoding of response elements without copying them into an intermediate buffer.
+ * <p>
+ * The {@link ByteBuf} passed to the decode methods is a slice of the inbound connection buffer. Implementations must not
+ * release the buffer. Implementations that hold on to the buffer beyond the decode call must {@link ByteBuf#retain() retain}
+ * it and release it once they are done. Holding on to the buffer prevents compaction of the inbound connection buffer and
+ * should be used only for short periods.
+ * </p>
+ * <p>
+ * Classes implementing {@link FromByteBufDecoder} are required to implement {@link RedisCodec} as well.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public interface FromByteBufDecoder<K, V> {
+
+    /**
+     * Decode the key output by redis.
+     *
+     * @param bytes raw bytes of the key, must not be {@literal null}.
+     * @return the decoded key, may be {@literal null}.
+     */
+    K decodeKey(ByteBuf bytes);
+
+    /**
+     * Decode the value output by redis.
+     *
+     * @param bytes raw bytes of the value, must not be {@literal null}.
+     * @return the decoded value, may be {@literal null}.
+     */
+    V decodeValue(ByteBuf bytes);
+}
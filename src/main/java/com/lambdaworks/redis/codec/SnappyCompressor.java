@@ -0,0 +1,51 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.compression.Snappy;
+
+/**
+ * {@link Compressor} using the Snappy block format.
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+class SnappyCompressor implements Compressor {
+
+    static final SnappyCompressor INSTANCE = new SnappyCompressor();
+
+    @Override
+    public int getId() {
+        return SNAPPY;
+    }
+
+    @Override
+    public void compress(ByteBuf source, ByteBuf target) {
+        new Snappy().encode(source, target, source.readableBytes());
+    }
+
+    @Override
+    public void decompress(ByteBuf source, ByteBuf target, int uncompressedLength) {
+
+        // Snappy keeps decoding state, instances must not be shared.
+        new Snappy().decode(source, target);
+
+        if (source.isReadable()) {
+            throw new IllegalStateException("Truncated Snappy input");
+        }
+    }
+}
@@ -32,12 +32,14 @@ import io.netty.util.CharsetUtil;
 
 /**
  * Optimized String codec. This {@link RedisCodec} encodes and decodes {@link String} keys and values using a specified
- * {@link Charset}. It accepts provided {@link ByteBuf buffers} so it does not need to allocate buffers during encoding.
+ * {@link Charset}. It accepts provided {@link ByteBuf buffers} so it does not need to allocate buffers during encoding and
+ * decodes directly from {@link ByteBuf buffers}.
  *
  * @author Mark Paluch
  * @since 4.3
  */
-public class StringCodec implements RedisCodec<String, String>, ToByteBufEncoder<String, String> {
+public class StringCodec implements RedisCodec<String, String>, ToByteBufEncoder<String, String>,
+        FromByteBufDecoder<String, String> {
 
     public static final StringCodec UTF8 = new StringCodec(LettuceCharsets.UTF8);
     public static final StringCodec ASCII = new StringCodec(LettuceCharsets.ASCII);
@@ -145,6 +147,16 @@ public class StringCodec implements RedisCodec<String, String>, ToByteBufEncoder
         return Unpooled.wrappedBuffer(bytes).toString(charset);
     }
 
+    @Override
+    public String decodeKey(ByteBuf bytes) {
+        return bytes.toString(charset);
+    }
+
+    @Override
+    public String decodeValue(ByteBuf bytes) {
+        return bytes.toString(charset);
+    }
+
     @Override
     public ByteBuffer encodeKey(String key) {
         return encodeAndAllocateBuffer(key);
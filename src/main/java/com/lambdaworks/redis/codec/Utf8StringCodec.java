@@ -15,36 +15,50 @@
  */
 package com.lambdaworks.redis.codec;
 
-import static java.nio.charset.CoderResult.OVERFLOW;
-
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
 import java.nio.charset.Charset;
-import java.nio.charset.CharsetDecoder;
 
 import com.lambdaworks.redis.protocol.LettuceCharsets;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.concurrent.FastThreadLocal;
+
 /**
- * A {@link RedisCodec} that handles UTF-8 encoded keys and values.
+ * A {@link RedisCodec} that handles UTF-8 encoded keys and values. The codec is thread-safe and does not synchronize:
+ * heap buffers are decoded in place and direct buffers are copied into a thread-local scratch array before decoding. Keys and
+ * values are encoded directly into {@link ByteBuf buffers} when used with {@link ToByteBufEncoder}-aware components.
+ * Subclasses overriding the {@link ByteBuffer}-based methods retain their behavior as {@link ByteBuf} access is routed
+ * through these methods.
  *
  * @author Will Glozer
+ * @author Mark Paluch
  */
-public class Utf8StringCodec implements RedisCodec<String, String> {
+public class Utf8StringCodec implements RedisCodec<String, String>, ToByteBufEncoder<String, String>,
+        FromByteBufDecoder<String, String> {
 
     private static final byte[] EMPTY = new byte[0];
+    private static final int MAX_SCRATCH_SIZE = 8192;
+    private static final float AVERAGE_BYTES_PER_CHAR = LettuceCharsets.UTF8.newEncoder().averageBytesPerChar();
+
+    private static final FastThreadLocal<byte[]> SCRATCH = new FastThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+            return new byte[1024];
+        }
+    };
 
-    private Charset charset;
-    private CharsetDecoder decoder;
-    private CharBuffer chars;
+    private final Charset charset;
 
+    // subclasses may override the ByteBuffer-based methods, route ByteBuf access through these methods.
+    private final boolean optimized;
 
     /**
      * Initialize a new instance that encodes and decodes strings using the UTF-8 charset;
      */
     public Utf8StringCodec() {
         charset = LettuceCharsets.UTF8;
-        decoder = charset.newDecoder();
-        chars = CharBuffer.allocate(1024);
+        optimized = getClass() == Utf8StringCodec.class;
     }
 
     @Override
@@ -57,6 +71,16 @@ public class Utf8StringCodec implements RedisCodec<String, String> {
         return decode(bytes);
     }
 
+    @Override
+    public String decodeKey(ByteBuf bytes) {
+        return optimized ? decode(bytes) : decodeKey(bytes.nioBuffer());
+    }
+
+    @Override
+    public String decodeValue(ByteBuf bytes) {
+        return optimized ? decode(bytes) : decodeValue(bytes.nioBuffer());
+    }
+
     @Override
     public ByteBuffer encodeKey(String key) {
         return encode(key);
@@ -67,17 +91,92 @@ public class Utf8StringCodec implements RedisCodec<String, String> {
         return encode(value);
     }
 
-    private synchronized String decode(ByteBuffer bytes) {
-        chars.clear();
-        bytes.mark();
+    @Override
+    public void encodeKey(String key, ByteBuf target) {
+
+        if (optimized) {
+            encode(key, target);
+        } else {
+            target.writeBytes(encodeKey(key));
+        }
+    }
+
+    @Override
+    public void encodeValue(String value, ByteBuf target) {
+
+        if (optimized) {
+            encode(value, target);
+        } else {
+            target.writeBytes(encodeValue(value));
+        }
+    }
+
+    @Override
+    public int estimateSize(Object keyOrValue) {
+
+        if (keyOrValue instanceof String) {
+            return (int) (AVERAGE_BYTES_PER_CHAR * ((String) keyOrValue).length());
+        }
+        return 0;
+    }
+
+    private String decode(ByteBuffer bytes) {
 
-        decoder.reset();
-        while (decoder.decode(bytes, chars, true) == OVERFLOW || decoder.flush(chars) == OVERFLOW) {
-            chars = CharBuffer.allocate(chars.capacity() * 2);
-            bytes.reset();
+        int length = bytes.remaining();
+
+        if (length == 0) {
+            return "";
+        }
+
+        String result;
+        if (bytes.hasArray()) {
+            result = new String(bytes.array(), bytes.arrayOffset() + bytes.position(), length, charset);
+        } else {
+
+            byte[] scratch = getScratch(length);
+            bytes.duplicate().get(scratch, 0, length);
+            result = new String(scratch, 0, length, charset);
         }
 
-        return chars.flip().toString();
+        // consume the buffer as CharsetDecoder does
+        bytes.position(bytes.limit());
+        return result;
+    }
+
+    private String decode(ByteBuf bytes) {
+
+        int length = bytes.readableBytes();
+
+        if (length == 0) {
+            return "";
+        }
+
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + bytes.readerIndex(), length, charset);
+        }
+
+        byte[] scratch = getScratch(length);
+        bytes.getBytes(bytes.readerIndex(), scratch, 0, length);
+        return new String(scratch, 0, length, charset);
+    }
+
+    /**
+     * Obtain a scratch array to copy at least {@code length} bytes. Large arrays are not retained to keep the per-thread
+     * footprint bounded.
+     */
+    private static byte[] getScratch(int length) {
+
+        if (length > MAX_SCRATCH_SIZE) {
+            return new byte[length];
+        }
+
+        byte[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new byte[MAX_SCRATCH_SIZE];
+            SCRATCH.set(scratch);
+        }
+
+        return scratch;
     }
 
     private ByteBuffer encode(String string) {
@@ -85,6 +184,13 @@ public class Utf8StringCodec implements RedisCodec<String, String> {
             return ByteBuffer.wrap(EMPTY);
         }
 
-        return charset.encode(string);
+        return ByteBuffer.wrap(string.getBytes(charset));
+    }
+
+    private void encode(String string, ByteBuf target) {
+
+        if (string != null) {
+            ByteBufUtil.writeUtf8(target, string);
+        }
     }
 }
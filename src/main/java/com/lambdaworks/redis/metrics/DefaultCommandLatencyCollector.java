@@ -175,28 +175,40 @@ public class DefaultCommandLatencyCollector implements CommandLatencyCollector {
                 continue;
             }
 
-            CommandLatency firstResponseLatency = getMetric(firstResponse);
-            CommandLatency completionLatency = getMetric(completion);
-
-            CommandMetrics metrics = new CommandMetrics(firstResponse.getTotalCount(), options.targetUnit(),
-                    firstResponseLatency, completionLatency);
-
-            result.put(entry.getKey(), metrics);
+            result.put(entry.getKey(), createMetrics(options, firstResponse, completion));
         }
 
         return result;
     }
 
-    private CommandLatency getMetric(Histogram histogram) {
+    /**
+     * Create {@link CommandMetrics} from first response and completion {@link Histogram}s.
+     *
+     * @param options the options providing the target unit and percentiles.
+     * @param firstResponse the first response latencies in {@link TimeUnit#NANOSECONDS}.
+     * @param completion the completion latencies in {@link TimeUnit#NANOSECONDS}.
+     * @return the {@link CommandMetrics}.
+     */
+    static CommandMetrics createMetrics(CommandLatencyCollectorOptions options, Histogram firstResponse,
+            Histogram completion) {
+
+        CommandLatency firstResponseLatency = getMetric(options, firstResponse);
+        CommandLatency completionLatency = getMetric(options, completion);
+
+        return new CommandMetrics(firstResponse.getTotalCount(), options.targetUnit(), firstResponseLatency,
+                completionLatency);
+    }
+
+    private static CommandLatency getMetric(CommandLatencyCollectorOptions options, Histogram histogram) {
 
-        Map<Double, Long> percentiles = getPercentiles(histogram);
+        Map<Double, Long> percentiles = getPercentiles(options, histogram);
 
         TimeUnit timeUnit = options.targetUnit();
         return new CommandLatency(timeUnit.convert(histogram.getMinValue(), TimeUnit.NANOSECONDS), timeUnit.convert(
                 histogram.getMaxValue(), TimeUnit.NANOSECONDS), percentiles);
     }
 
-    private Map<Double, Long> getPercentiles(Histogram histogram) {
+    private static Map<Double, Long> getPercentiles(CommandLatencyCollectorOptions options, Histogram histogram) {
 
         Map<Double, Long> percentiles = new TreeMap<>();
         for (double targetPercentile : options.targetPercentiles()) {
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.lambdaworks.redis.internal.HostAndPort;
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.protocol.ProtocolKeyword;
+
+/**
+ * {@link CommandLatencyCollector} that maintains a time-decaying moving average of the command completion latency per remote
+ * node in addition to delegating to a {@link CommandLatencyCollector}. Samples are weighted by their age so recent latencies
+ * dominate the average. The average of a node that does not receive commands decays towards zero over time so a node that
+ * became fast again is eventually probed.
+ * <p>
+ * Averages are looked up by {@link #getLatency(String, int) host and port} and are used by latency-aware {@link
+ * com.lambdaworks.redis.ReadFrom} settings. Use this collector as {@link com.lambdaworks.redis.resource.ClientResources}
+ * command latency collector to make averages available. Averages are updated without locking.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ * @see com.lambdaworks.redis.ReadFrom#lowestLatency(MovingAverageCommandLatencyCollector)
+ */
+public class MovingAverageCommandLatencyCollector implements CommandLatencyCollector {
+
+    public static final long DEFAULT_DECAY = 1;
+    public static final TimeUnit DEFAULT_DECAY_UNIT = TimeUnit.SECONDS;
+    public static final boolean DEFAULT_ENABLED = true;
+
+    private final CommandLatencyCollector delegate;
+    private final double decayNanos;
+    private final boolean enabled;
+    private final Map<HostAndPort, MovingAverage> averages = new ConcurrentHashMap<>();
+    private final Map<SocketAddress, MovingAverage> averagesByAddress = new ConcurrentHashMap<>();
+
+    private volatile boolean stopped;
+
+    private MovingAverageCommandLatencyCollector(CommandLatencyCollector delegate, long decayNanos, boolean enabled) {
+
+        this.delegate = delegate;
+        this.decayNanos = decayNanos;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Create a new {@link MovingAverageCommandLatencyCollector} using the default decay.
+     *
+     * @param delegate the {@link CommandLatencyCollector} to delegate to, must not be {@literal null}.
+     * @return the {@link MovingAverageCommandLatencyCollector}.
+     */
+    public static MovingAverageCommandLatencyCollector create(CommandLatencyCollector delegate) {
+        return create(delegate, DEFAULT_DECAY, DEFAULT_DECAY_UNIT);
+    }
+
+    /**
+     * Create a new {@link MovingAverageCommandLatencyCollector}. The {@code decay} is the time constant of the moving average:
+     * a sample loses about two thirds of its weight after {@code decay} has elapsed.
+     *
+     * @param delegate the {@link CommandLatencyCollector} to delegate to, must not be {@literal null}.
+     * @param decay the decay time constant, must be greater {@literal 0}.
+     * @param timeUnit unit for {@code decay}, must not be {@literal null}.
+     * @return the {@link MovingAverageCommandLatencyCollector}.
+     */
+    public static MovingAverageCommandLatencyCollector create(CommandLatencyCollector delegate, long decay, TimeUnit timeUnit) {
+        return create(delegate, decay, timeUnit, DEFAULT_ENABLED);
+    }
+
+    /**
+     * Create a new {@link MovingAverageCommandLatencyCollector}. A disabled collector does not record latencies and reports
+     * {@literal 0} for all nodes.
+     *
+     * @param delegate the {@link CommandLatencyCollector} to delegate to, must not be {@literal null}.
+     * @param decay the decay time constant, must be greater {@literal 0}.
+     * @param timeUnit unit for {@code decay}, must not be {@literal null}.
+     * @param enabled {@literal true} to record latencies.
+     * @return the {@link MovingAverageCommandLatencyCollector}.
+     */
+    public static MovingAverageCommandLatencyCollector create(CommandLatencyCollector delegate, long decay, TimeUnit timeUnit,
+            boolean enabled) {
+
+        LettuceAssert.notNull(delegate, "Delegate CommandLatencyCollector must not be null");
+        LettuceAssert.isTrue(decay > 0, "Decay must be greater 0");
+        LettuceAssert.notNull(timeUnit, "TimeUnit must not be null");
+
+        return new MovingAverageCommandLatencyCollector(delegate, timeUnit.toNanos(decay), enabled);
+    }
+
+    @Override
+    public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+            long firstResponseLatency, long completionLatency) {
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        delegate.recordCommandLatency(local, remote, commandType, firstResponseLatency, completionLatency);
+
+        MovingAverage average = averagesByAddress.get(remote);
+
+        if (average == null) {
+
+            if (!(remote instanceof InetSocketAddress)) {
+                return;
+            }
+
+            average = register((InetSocketAddress) remote);
+        }
+
+        average.record(completionLatency, System.nanoTime());
+    }
+
+    private MovingAverage register(InetSocketAddress address) {
+
+        HostAndPort key = HostAndPort.of(address.getHostString(), address.getPort());
+        MovingAverage average = averages.computeIfAbsent(key, k -> new MovingAverage());
+
+        // register the resolved address as well as nodes may be addressed by hostname or IP address.
+        if (address.getAddress() != null) {
+            averages.putIfAbsent(HostAndPort.of(address.getAddress().getHostAddress(), address.getPort()), average);
+        }
+
+        averagesByAddress.putIfAbsent(address, average);
+
+        return average;
+    }
+
+    /**
+     * Retrieve the moving average of the command completion latency for a node.
+     *
+     * @param host the host name or IP address of the node.
+     * @param port the port of the node.
+     * @return the average latency in {@link TimeUnit#NANOSECONDS} or {@literal 0} if no latency was recorded for the node.
+     */
+    public long getLatency(String host, int port) {
+
+        MovingAverage average = averages.get(HostAndPort.of(host, port));
+
+        if (average == null) {
+            return 0;
+        }
+
+        return average.get(System.nanoTime());
+    }
+
+    @Override
+    public void shutdown() {
+
+        stopped = true;
+        delegate.shutdown();
+    }
+
+    @Override
+    public Map<CommandLatencyId, CommandMetrics> retrieveMetrics() {
+        return delegate.retrieveMetrics();
+    }
+
+    /**
+     * Returns whether this collector is enabled and not shut down. Moving averages are maintained regardless of whether the
+     * delegate is enabled.
+     *
+     * @return {@literal true} if latencies are recorded.
+     */
+    @Override
+    public boolean isEnabled() {
+        return enabled && !stopped;
+    }
+
+    /**
+     * Exponentially weighted moving average with time-based weights. Updates replace an immutable {@link Sample} using
+     * compare-and-set.
+     */
+    class MovingAverage {
+
+        private final AtomicReference<Sample> sample = new AtomicReference<>();
+
+        void record(long value, long now) {
+
+            for (;;) {
+
+                Sample current = sample.get();
+                Sample updated;
+
+                if (current == null) {
+                    updated = new Sample(value, now);
+                } else {
+                    double weight = Math.exp(-(now - current.lastUpdate) / decayNanos);
+                    updated = new Sample(current.average * weight + value * (1 - weight), now);
+                }
+
+                if (sample.compareAndSet(current, updated)) {
+                    return;
+                }
+            }
+        }
+
+        long get(long now) {
+
+            Sample current = sample.get();
+
+            if (current == null) {
+                return 0;
+            }
+
+            return (long) (current.average * Math.exp(-(now - current.lastUpdate) / decayNanos));
+        }
+    }
+
+    /**
+     * Average along with the time of its last update.
+     */
+    static class Sample {
+
+        final double average;
+        final long lastUpdate;
+
+        Sample(double average, long lastUpdate) {
+            this.average = average;
+            this.lastUpdate = lastUpdate;
+        }
+    }
+}
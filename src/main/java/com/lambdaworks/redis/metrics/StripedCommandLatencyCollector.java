@@ -0,0 +1,362 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import java.net.SocketAddress;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.SingleWriterRecorder;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.ProtocolKeyword;
+
+import io.netty.channel.local.LocalAddress;
+import io.netty.util.concurrent.FastThreadLocal;
+
+/**
+ * {@link CommandLatencyCollector} that records latencies into per-thread striped HdrHistograms. Each recording thread
+ * (typically an event loop thread) writes into its own {@link SingleWriterRecorder} so the recording path is wait-free and
+ * does not contend with other threads. Stripes are merged only when {@link #retrieveMetrics() metrics are retrieved}.
+ * <p>
+ * Latency identifiers ({@link CommandLatencyId}) are interned once per local/remote address and {@link ProtocolKeyword}.
+ * Recording a latency for a known identifier does not allocate. If latencies are reset after retrieval, identifiers without
+ * latencies since the previous retrieval are evicted so the collector does not retain state for nodes that went away.
+ * </p>
+ * <p>
+ * Unlike {@link DefaultCommandLatencyCollector}, this collector does not correct latencies for JVM pauses and requires only
+ * HdrHistogram on the class path.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class StripedCommandLatencyCollector implements CommandLatencyCollector {
+
+    private static final long LOWEST_DISCERNIBLE_LATENCY = 1;
+    private static final long MAX_LATENCY = TimeUnit.MINUTES.toNanos(5);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final int COMMAND_TYPES = CommandType.values().length;
+
+    private final CommandLatencyCollectorOptions options;
+    private final Map<SocketAddress, Map<SocketAddress, AddressIndex>> addressIndexes = new ConcurrentHashMap<>();
+    private final AtomicInteger stripes = new AtomicInteger();
+    private final FastThreadLocal<Integer> stripe = new FastThreadLocal<Integer>() {
+        @Override
+        protected Integer initialValue() {
+            return stripes.getAndIncrement();
+        }
+    };
+
+    private volatile boolean stopped;
+
+    /**
+     * Create a new {@link StripedCommandLatencyCollector}.
+     *
+     * @param options the options, must not be {@literal null}.
+     */
+    public StripedCommandLatencyCollector(CommandLatencyCollectorOptions options) {
+
+        LettuceAssert.notNull(options, "CommandLatencyCollectorOptions must not be null");
+
+        this.options = options;
+    }
+
+    @Override
+    public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+            long firstResponseLatency, long completionLatency) {
+
+        if (!isEnabled()) {
+            return;
+        }
+
+        LatencyEntry entry = getEntry(options.localDistinction() ? local : LocalAddress.ANY, remote, commandType);
+
+        entry.getRecorder(stripe.get()).record(rangify(firstResponseLatency), rangify(completionLatency));
+    }
+
+    private static long rangify(long latency) {
+        return Math.max(0, Math.min(MAX_LATENCY, latency));
+    }
+
+    private LatencyEntry getEntry(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType) {
+
+        Map<SocketAddress, AddressIndex> remoteIndexes = addressIndexes.get(local);
+
+        if (remoteIndexes == null) {
+            remoteIndexes = addressIndexes.computeIfAbsent(local, key -> new ConcurrentHashMap<>());
+        }
+
+        AddressIndex addressIndex = remoteIndexes.get(remote);
+
+        if (addressIndex == null) {
+            addressIndex = remoteIndexes.computeIfAbsent(remote, key -> new AddressIndex(local, remote));
+        }
+
+        return addressIndex.getEntry(commandType);
+    }
+
+    @Override
+    public synchronized Map<CommandLatencyId, CommandMetrics> retrieveMetrics() {
+
+        Map<CommandLatencyId, CommandMetrics> result = new TreeMap<>();
+        boolean reset = options.resetLatenciesAfterEvent();
+
+        for (Map<SocketAddress, AddressIndex> remoteIndexes : addressIndexes.values()) {
+
+            for (AddressIndex addressIndex : remoteIndexes.values()) {
+
+                for (LatencyEntry entry : addressIndex.getEntries()) {
+
+                    Histogram firstResponse = createHistogram();
+                    Histogram completion = createHistogram();
+
+                    entry.drainInto(firstResponse, completion);
+
+                    if (reset) {
+
+                        // no latencies since the last retrieval
+                        if (firstResponse.getTotalCount() == 0 && completion.getTotalCount() == 0) {
+                            addressIndex.evict(entry);
+                            continue;
+                        }
+                    } else {
+
+                        entry.accumulate(firstResponse, completion);
+
+                        firstResponse = entry.firstResponse;
+                        completion = entry.completion;
+
+                        if (firstResponse.getTotalCount() == 0 && completion.getTotalCount() == 0) {
+                            continue;
+                        }
+                    }
+
+                    result.put(entry.id, DefaultCommandLatencyCollector.createMetrics(options, firstResponse, completion));
+                }
+
+                if (addressIndex.isEmpty()) {
+                    remoteIndexes.remove(addressIndex.remote, addressIndex);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static Histogram createHistogram() {
+        return new Histogram(LOWEST_DISCERNIBLE_LATENCY, MAX_LATENCY, SIGNIFICANT_DIGITS);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return options.isEnabled() && !stopped;
+    }
+
+    @Override
+    public void shutdown() {
+
+        stopped = true;
+        addressIndexes.clear();
+    }
+
+    /**
+     * Index of {@link LatencyEntry entries} for a local/remote address pair. {@link CommandType}s are indexed by their
+     * ordinal, other {@link ProtocolKeyword}s are looked up by the keyword.
+     */
+    class AddressIndex {
+
+        private final SocketAddress local;
+        private final SocketAddress remote;
+
+        private final AtomicReferenceArray<LatencyEntry> commandTypes = new AtomicReferenceArray<>(COMMAND_TYPES);
+        private final Map<ProtocolKeyword, LatencyEntry> keywords = new ConcurrentHashMap<>();
+
+        AddressIndex(SocketAddress local, SocketAddress remote) {
+            this.local = local;
+            this.remote = remote;
+        }
+
+        LatencyEntry getEntry(ProtocolKeyword commandType) {
+
+            if (commandType instanceof CommandType) {
+
+                int ordinal = ((CommandType) commandType).ordinal();
+                LatencyEntry entry = commandTypes.get(ordinal);
+
+                if (entry == null) {
+
+                    LatencyEntry created = new LatencyEntry(CommandLatencyId.create(local, remote, commandType));
+                    entry = commandTypes.compareAndSet(ordinal, null, created) ? created : commandTypes.get(ordinal);
+                }
+
+                return entry;
+            }
+
+            LatencyEntry entry = keywords.get(commandType);
+
+            if (entry == null) {
+                entry = keywords.computeIfAbsent(commandType,
+                        key -> new LatencyEntry(CommandLatencyId.create(local, remote, key)));
+            }
+
+            return entry;
+        }
+
+        List<LatencyEntry> getEntries() {
+
+            List<LatencyEntry> entries = new ArrayList<>(keywords.values());
+
+            for (int i = 0; i < COMMAND_TYPES; i++) {
+
+                LatencyEntry entry = commandTypes.get(i);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+
+            return entries;
+        }
+
+        /**
+         * Remove {@code entry}. Latencies recorded concurrently into the evicted entry are discarded.
+         */
+        void evict(LatencyEntry entry) {
+
+            ProtocolKeyword commandType = entry.id.commandType();
+
+            if (commandType instanceof CommandType) {
+                commandTypes.compareAndSet(((CommandType) commandType).ordinal(), entry, null);
+            } else {
+                keywords.remove(commandType, entry);
+            }
+        }
+
+        boolean isEmpty() {
+
+            if (!keywords.isEmpty()) {
+                return false;
+            }
+
+            for (int i = 0; i < COMMAND_TYPES; i++) {
+                if (commandTypes.get(i) != null) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Latencies of a {@link CommandLatencyId} with a {@link LatencyRecorder} per stripe. Each recorder is written by a single
+     * thread and read during retrieval.
+     */
+    static class LatencyEntry {
+
+        final CommandLatencyId id;
+
+        // accumulated latencies if latencies are not reset after retrieval, accessed only during retrieval.
+        Histogram firstResponse;
+        Histogram completion;
+
+        private volatile LatencyRecorder[] recorders = new LatencyRecorder[0];
+
+        LatencyEntry(CommandLatencyId id) {
+            this.id = id;
+        }
+
+        LatencyRecorder getRecorder(int stripe) {
+
+            LatencyRecorder[] recorders = this.recorders;
+
+            if (stripe < recorders.length && recorders[stripe] != null) {
+                return recorders[stripe];
+            }
+
+            return createRecorder(stripe);
+        }
+
+        private synchronized LatencyRecorder createRecorder(int stripe) {
+
+            LatencyRecorder[] recorders = Arrays.copyOf(this.recorders, Math.max(this.recorders.length, stripe + 1));
+
+            if (recorders[stripe] == null) {
+                recorders[stripe] = new LatencyRecorder();
+                this.recorders = recorders;
+            }
+
+            return recorders[stripe];
+        }
+
+        void accumulate(Histogram firstResponse, Histogram completion) {
+
+            if (this.firstResponse == null) {
+                this.firstResponse = createHistogram();
+                this.completion = createHistogram();
+            }
+
+            this.firstResponse.add(firstResponse);
+            this.completion.add(completion);
+        }
+
+        /**
+         * Add the latencies recorded since the last call to {@code firstResponseTarget} and {@code completionTarget}.
+         */
+        void drainInto(Histogram firstResponseTarget, Histogram completionTarget) {
+
+            for (LatencyRecorder recorder : recorders) {
+                if (recorder != null) {
+                    recorder.drainInto(firstResponseTarget, completionTarget);
+                }
+            }
+        }
+    }
+
+    static class LatencyRecorder {
+
+        final SingleWriterRecorder firstResponse = new SingleWriterRecorder(LOWEST_DISCERNIBLE_LATENCY, MAX_LATENCY,
+                SIGNIFICANT_DIGITS);
+        final SingleWriterRecorder completion = new SingleWriterRecorder(LOWEST_DISCERNIBLE_LATENCY, MAX_LATENCY,
+                SIGNIFICANT_DIGITS);
+
+        // interval histograms recycled across retrievals, accessed only during retrieval.
+        private Histogram firstResponseInterval;
+        private Histogram completionInterval;
+
+        void record(long firstResponseLatency, long completionLatency) {
+            firstResponse.recordValue(firstResponseLatency);
+            completion.recordValue(completionLatency);
+        }
+
+        /**
+         * Add the latencies recorded since the last call to {@code firstResponseTarget} and {@code completionTarget}.
+         */
+        void drainInto(Histogram firstResponseTarget, Histogram completionTarget) {
+
+            firstResponseInterval = firstResponse.getIntervalHistogram(firstResponseInterval);
+            completionInterval = completion.getIntervalHistogram(completionInterval);
+
+            firstResponseTarget.add(firstResponseInterval);
+            completionTarget.add(completionInterval);
+        }
+    }
+}
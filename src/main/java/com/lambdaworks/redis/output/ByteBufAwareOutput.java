@@ -0,0 +1,43 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.output;
+
+import java.nio.ByteBuffer;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Extension to {@link CommandOutput} that accepts bulk response elements as {@link ByteBuf}. Outputs implementing this
+ * interface receive a retained slice of the inbound connection buffer instead of a copy through
+ * {@link CommandOutput#set(ByteBuffer)}.
+ * <p>
+ * The output takes ownership of the slice and is required to {@link ByteBuf#release() release} it, also in case decoding
+ * fails. Slices that are not released prevent compaction of the inbound connection buffer.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ * @see com.lambdaworks.redis.codec.FromByteBufDecoder
+ */
+public interface ByteBufAwareOutput {
+
+    /**
+     * Set the command output to a sequence of bytes. The output must release the {@code bytes} buffer.
+     *
+     * @param bytes retained slice of the response element, must not be {@literal null}.
+     */
+    void set(ByteBuf bytes);
+}
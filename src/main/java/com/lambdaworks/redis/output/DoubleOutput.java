@@ -15,10 +15,9 @@
  */
 package com.lambdaworks.redis.output;
 
-import static java.lang.Double.parseDouble;
-
 import java.nio.ByteBuffer;
 
+import com.lambdaworks.redis.LettuceStrings;
 import com.lambdaworks.redis.codec.RedisCodec;
 
 /**
@@ -36,6 +35,6 @@ public class DoubleOutput<K, V> extends CommandOutput<K, V, Double> {
 
     @Override
     public void set(ByteBuffer bytes) {
-        output = (bytes == null) ? null : parseDouble(decodeAscii(bytes));
+        output = (bytes == null) ? null : LettuceStrings.toDouble(bytes);
     }
 }
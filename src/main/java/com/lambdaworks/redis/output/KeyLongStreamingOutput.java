@@ -0,0 +1,74 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.output;
+
+import java.nio.ByteBuffer;
+
+import com.lambdaworks.redis.LettuceStrings;
+import com.lambdaworks.redis.codec.RedisCodec;
+
+/**
+ * Streaming-Output of keys with integer values. Values are parsed from their ASCII representation without boxing. Returns
+ * the count of all Key-Value pairs. Values that cannot be parsed as integer are skipped and fail the command after all
+ * pairs were received.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class KeyLongStreamingOutput<K, V> extends CommandOutput<K, V, Long> {
+
+    private final KeyLongStreamingChannel<K> channel;
+    private K key;
+    private long count;
+
+    public KeyLongStreamingOutput(RedisCodec<K, V> codec, KeyLongStreamingChannel<K> channel) {
+        super(codec, null);
+        this.channel = channel;
+    }
+
+    @Override
+    public void set(ByteBuffer bytes) {
+
+        if (key == null) {
+            key = codec.decodeKey(bytes);
+            return;
+        }
+
+        K key = this.key;
+        this.key = null;
+
+        long value;
+        try {
+            value = LettuceStrings.toLong(bytes);
+        } catch (NumberFormatException e) {
+
+            if (!hasError()) {
+                setError("ERR value of field " + key + " is not an integer");
+            }
+            return;
+        }
+
+        channel.onKeyValue(key, value);
+        count++;
+    }
+
+    @Override
+    public Long get() {
+        return count;
+    }
+}
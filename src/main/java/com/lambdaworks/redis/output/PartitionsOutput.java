@@ -0,0 +1,53 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.output;
+
+import java.nio.ByteBuffer;
+
+import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.cluster.models.partitions.ClusterPartitionParser;
+import com.lambdaworks.redis.cluster.models.partitions.Partitions;
+import com.lambdaworks.redis.codec.RedisCodec;
+
+/**
+ * {@link Partitions} output parsing {@code CLUSTER NODES} and {@code CLUSTER SLAVES} replies directly from the response buffer
+ * without decoding the reply into a {@link String}. Replies that cannot be parsed complete the command with an error.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class PartitionsOutput<K, V> extends CommandOutput<K, V, Partitions> {
+
+    public PartitionsOutput(RedisCodec<K, V> codec) {
+        super(codec, null);
+    }
+
+    @Override
+    public void set(ByteBuffer bytes) {
+
+        if (bytes == null) {
+            return;
+        }
+
+        try {
+            output = ClusterPartitionParser.parse(bytes);
+        } catch (RedisException e) {
+            setError(e.getMessage());
+        }
+    }
+}
@@ -51,7 +51,7 @@ public class ScoredValueListOutput<K, V> extends CommandOutput<K, V, List<Scored
             return;
         }
 
-        double score = LettuceStrings.toDouble(decodeAscii(bytes));
+        double score = LettuceStrings.toDouble(bytes);
         subscriber.onNext(output, new ScoredValue<>(score, value));
         value = null;
     }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.output;
+
+import java.nio.ByteBuffer;
+
+import com.lambdaworks.redis.LettuceStrings;
+import com.lambdaworks.redis.ScoredValues;
+import com.lambdaworks.redis.codec.RedisCodec;
+
+/**
+ * {@link ScoredValues} output for value/score pairs. Scores are parsed into a {@code double[]} without boxing.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class ScoredValuesOutput<K, V> extends CommandOutput<K, V, ScoredValues<V>> {
+
+    private Object[] values;
+    private double[] scores;
+    private int index;
+    private V value;
+
+    public ScoredValuesOutput(RedisCodec<K, V> codec) {
+        super(codec, ScoredValues.empty());
+    }
+
+    @Override
+    public void set(ByteBuffer bytes) {
+
+        if (value == null) {
+            value = codec.decodeValue(bytes);
+            return;
+        }
+
+        scores[index] = LettuceStrings.toDouble(bytes);
+        values[index++] = value;
+        value = null;
+    }
+
+    @Override
+    public void multi(int count) {
+
+        if (values == null && count > 0) {
+            values = new Object[count / 2];
+            scores = new double[count / 2];
+            output = new ScoredValues<>(values, scores);
+        }
+    }
+}
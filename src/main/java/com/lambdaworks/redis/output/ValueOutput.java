@@ -17,10 +17,14 @@ package com.lambdaworks.redis.output;
 
 import java.nio.ByteBuffer;
 
+import com.lambdaworks.redis.codec.FromByteBufDecoder;
 import com.lambdaworks.redis.codec.RedisCodec;
 
+import io.netty.buffer.ByteBuf;
+
 /**
- * Value output.
+ * Value output. Bulk values are received as {@link ByteBuf} slice and decoded without an intermediate copy. Codecs implementing
+ * {@link FromByteBufDecoder} decode the slice directly. Subclasses receive bulk values through {@link #set(ByteBuffer)}.
  *
  * @param <K> Key type.
  * @param <V> Value type.
@@ -28,14 +32,33 @@ import com.lambdaworks.redis.codec.RedisCodec;
  * @author Will Glozer
  * @author Mark Paluch
  */
-public class ValueOutput<K, V> extends CommandOutput<K, V, V> {
+public class ValueOutput<K, V> extends CommandOutput<K, V, V> implements ByteBufAwareOutput {
+
+    private final FromByteBufDecoder<K, V> decoder;
 
+    @SuppressWarnings("unchecked")
     public ValueOutput(RedisCodec<K, V> codec) {
         super(codec, null);
+        this.decoder = getClass() == ValueOutput.class && codec instanceof FromByteBufDecoder ? (FromByteBufDecoder<K, V>) codec
+                : null;
     }
 
     @Override
     public void set(ByteBuffer bytes) {
         output = (bytes == null) ? null : codec.decodeValue(bytes);
     }
+
+    @Override
+    public void set(ByteBuf bytes) {
+
+        try {
+            if (decoder != null) {
+                output = decoder.decodeValue(bytes);
+            } else {
+                set(bytes.nioBuffer());
+            }
+        } finally {
+            bytes.release();
+        }
+    }
 }
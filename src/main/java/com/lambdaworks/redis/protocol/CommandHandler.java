@@ -20,8 +20,13 @@ import java.net.SocketAddress;
 import java.nio.channels.ClosedChannelException;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 import com.lambdaworks.redis.*;
 import com.lambdaworks.redis.ConnectionEvents.PingBeforeActivate;
@@ -37,6 +42,8 @@ import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.*;
 import io.netty.channel.local.LocalAddress;
 import io.netty.handler.codec.EncoderException;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import io.netty.util.internal.logging.InternalLogLevel;
@@ -64,6 +71,10 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     private static final AtomicIntegerFieldUpdater<CommandHandler> QUEUE_SIZE = AtomicIntegerFieldUpdater.newUpdater(
             CommandHandler.class, "queueSize");
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final AtomicIntegerFieldUpdater<CommandHandler> DRAIN_SCHEDULED = AtomicIntegerFieldUpdater.newUpdater(
+            CommandHandler.class, "drainScheduled");
+
     /**
      * When we encounter an unexpected IOException we look for these {@link Throwable#getMessage() messages} (because we have no
      * better way to distinguish) and log them at DEBUG rather than WARN, since they are generally caused by unclean client
@@ -81,6 +92,11 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     protected final Object stateLock = new Object();
     private final boolean latencyMetricsEnabled;
     private final boolean boundedQueue;
+    private final TimeoutOptions.TimeoutSource timeoutSource;
+    private final boolean lockFreeWrites;
+    private final boolean suspendReadingWithoutDemand;
+    private final Queue<RedisCommand<K, V, ?>> writeQueue;
+    private final Runnable drainWriteQueue = this::drainWriteQueue;
 
     protected final Deque<RedisCommand<K, V, ?>> stack = new ArrayDeque<>();
     protected final ByteBuf buffer = ByteBufAllocator.DEFAULT.directBuffer(8192 * 8);
@@ -102,13 +118,21 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     @SuppressWarnings("unused")
     private volatile int queueSize = 0;
 
+    // access via DRAIN_SCHEDULED
+    @SuppressWarnings("unused")
+    private volatile int drainScheduled = 0;
+
     private Thread exclusiveLockOwner;
     private RedisChannelHandler<K, V> redisChannelHandler;
     private volatile Throwable connectionError;
     private String logPrefix;
-    private boolean autoFlushCommands = true;
+    private volatile boolean autoFlushCommands = true;
     private PristineFallbackCommand fallbackCommand;
     private boolean pristine;
+    private final BackpressureSource backpressureSource = new BackpressureSource();
+
+    // true if this handler disabled auto-read because of missing demand
+    private volatile boolean readingSuspended;
 
     static {
 
@@ -144,6 +168,13 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         this.disconnectedBuffer = LettuceFactories.newConcurrentQueue(clientOptions.getRequestQueueSize());
         this.commandBuffer = LettuceFactories.newConcurrentQueue(clientOptions.getRequestQueueSize());
         boundedQueue = clientOptions.getRequestQueueSize() != Integer.MAX_VALUE;
+
+        TimeoutOptions timeoutOptions = clientOptions.getTimeoutOptions();
+        this.timeoutSource = timeoutOptions.isTimeoutCommands() ? timeoutOptions.getSource() : null;
+
+        this.lockFreeWrites = clientOptions.isLockFreeWrites();
+        this.writeQueue = lockFreeWrites ? new ConcurrentLinkedQueue<>() : null;
+        this.suspendReadingWithoutDemand = clientOptions.isSuspendReadingWithoutDemand();
     }
 
     protected Deque<RedisCommand<K, V, ?>> getStack() {
@@ -323,7 +354,8 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             afterDecode(ctx, command);
         }
 
-        if (buffer.refCnt() != 0) {
+        // retained slices (see ByteBufAwareOutput) share the buffer memory, compact only if no slices are in use
+        if (buffer.refCnt() == 1) {
             buffer.discardReadBytes();
         }
     }
@@ -450,7 +482,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                 withLatency.firstResponse(nanoTime());
             }
 
-            if (!rsm.decode(buffer, command, getCommandOutput(command))) {
+            if (!decode0(buffer, command)) {
                 return false;
             }
 
@@ -459,7 +491,65 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             return true;
         }
 
-        return rsm.decode(buffer, command, getCommandOutput(command));
+        return decode0(buffer, command);
+    }
+
+    private boolean decode0(ByteBuf buffer, RedisCommand<K, V, ?> command) {
+
+        if (!rsm.decode(buffer, command, getCommandOutput(command))) {
+
+            if (suspendReadingWithoutDemand) {
+                potentiallySuspendReading(command);
+            }
+
+            return false;
+        }
+
+        if (readingSuspended) {
+            potentiallyResumeReading();
+        }
+
+        return true;
+    }
+
+    private void potentiallySuspendReading(RedisCommand<K, V, ?> command) {
+
+        DemandAware.Sink sink = CommandWrapper.unwrap(command, DemandAware.Sink.class);
+        Channel channel = this.channel;
+
+        if (sink == null || channel == null) {
+            return;
+        }
+
+        sink.setSource(backpressureSource);
+
+        // stop reading until the sink requests more data, demand may be signalled concurrently
+        if (!sink.hasDemand() && channel.config().isAutoRead()) {
+
+            readingSuspended = true;
+            channel.config().setAutoRead(false);
+
+            if (sink.hasDemand()) {
+                potentiallyResumeReading();
+            }
+        }
+    }
+
+    /**
+     * Resume reading if reading was suspended by this handler. Auto-read disabled by other handlers remains disabled.
+     */
+    private void potentiallyResumeReading() {
+
+        Channel channel = this.channel;
+
+        if (readingSuspended) {
+
+            readingSuspended = false;
+
+            if (channel != null) {
+                channel.config().setAutoRead(true);
+            }
+        }
     }
 
     private void recordLatency(WithLatency withLatency, ProtocolKeyword commandType) {
@@ -490,23 +580,67 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
         LettuceAssert.notNull(command, "Command must not be null");
 
+        if (lockFreeWrites) {
+
+            Channel channel = this.channel;
+            if (autoFlushCommands && channel != null && isConnected()) {
+
+                validateQueueCapacity(1);
+                enqueue(channel, potentiallyWrapLatencyCommand(command));
+                potentiallyExpire(command);
+
+                return command;
+            }
+        }
+
         try {
             incrementWriters();
 
-            validateWrite();
+            validateQueueCapacity(1);
 
-            RedisCommand<K, V, T> commandToSend = potentiallyWrapLatencyCommand(command);
+            potentiallyExpire(command);
+
+            writeCommand(command);
+        } finally {
+            decrementWriters();
+            if (debugEnabled) {
+                logger.debug("{} write() done", logPrefix());
+            }
+        }
+
+        return command;
+    }
+
+    @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public Collection<RedisCommand<K, V, ?>> write(Collection<? extends RedisCommand<K, V, ?>> commands) {
+
+        LettuceAssert.notNull(commands, "Commands must not be null");
+
+        List<RedisCommand<K, V, ?>> commandsToSend = new ArrayList<>(commands.size());
+
+        try {
+            incrementWriters();
+
+            validateQueueCapacity(commands.size());
+
+            for (RedisCommand<K, V, ?> command : commands) {
+                potentiallyExpire(command);
+                commandsToSend.add(potentiallyWrapLatencyCommand((RedisCommand) command));
+            }
 
             if (autoFlushCommands) {
 
                 if (isConnected()) {
-                    writeToChannel(commandToSend);
+                    writeToChannel(commandsToSend);
                 } else {
-                    writeToDisconnectedBuffer(commandToSend);
+                    for (RedisCommand<K, V, ?> command : commandsToSend) {
+                        writeToDisconnectedBuffer((RedisCommand) command);
+                    }
                 }
 
             } else {
-                bufferCommand(commandToSend);
+                commandBuffer.addAll(commandsToSend);
             }
         } finally {
             decrementWriters();
@@ -515,10 +649,133 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
             }
         }
 
-        return command;
+        return commandsToSend;
+    }
+
+    /**
+     * Write a command using writer coordination. Does not schedule command expiry.
+     *
+     * @param command the command.
+     */
+    private void writeLocked(RedisCommand<K, V, ?> command) {
+
+        try {
+            incrementWriters();
+
+            validateQueueCapacity(1);
+
+            writeCommand(command);
+        } finally {
+            decrementWriters();
+        }
     }
 
-    private void validateWrite() {
+    private <T> void writeCommand(RedisCommand<K, V, T> command) {
+
+        RedisCommand<K, V, T> commandToSend = potentiallyWrapLatencyCommand(command);
+
+        if (autoFlushCommands) {
+
+            if (isConnected()) {
+                writeToChannel(commandToSend);
+            } else {
+                writeToDisconnectedBuffer(commandToSend);
+            }
+
+        } else {
+            bufferCommand(commandToSend);
+        }
+    }
+
+    /**
+     * Enqueue a command to the write queue that is drained by the event loop. Only one drain task is scheduled at a time so
+     * commands enqueued by multiple threads before the event loop picks up the drain task are written with a single flush.
+     * Enqueued commands are accounted in the queue size at enqueue time so the request queue size applies to commands that
+     * are not yet written.
+     *
+     * @param channel the current channel.
+     * @param command the command.
+     */
+    private void enqueue(Channel channel, RedisCommand<K, V, ?> command) {
+
+        if (debugEnabled) {
+            logger.debug("{} write() enqueue command {}", logPrefix(), command);
+        }
+
+        reserveQueueSize();
+        writeQueue.add(command);
+
+        if (DRAIN_SCHEDULED.get(this) == 0 && DRAIN_SCHEDULED.compareAndSet(this, 0, 1)) {
+
+            try {
+                channel.eventLoop().execute(drainWriteQueue);
+            } catch (RejectedExecutionException e) {
+                drainWriteQueue();
+            }
+        }
+    }
+
+    /**
+     * Drain the write queue. Writes all queued commands as batch if the channel is connected, otherwise commands are written
+     * using writer coordination to apply disconnected buffering.
+     */
+    private void drainWriteQueue() {
+
+        DRAIN_SCHEDULED.set(this, 0);
+
+        if (writeQueue.isEmpty()) {
+            return;
+        }
+
+        List<RedisCommand<K, V, ?>> commands = drainCommands(writeQueue);
+
+        if (debugEnabled) {
+            logger.debug("{} drainWriteQueue() writing {} commands", logPrefix(), commands.size());
+        }
+
+        Channel channel = this.channel;
+        if (channel != null && channel.eventLoop().inEventLoop() && isConnected()) {
+            writeReservedToChannel(commands);
+            return;
+        }
+
+        QUEUE_SIZE.addAndGet(this, -commands.size());
+
+        for (RedisCommand<K, V, ?> command : commands) {
+            try {
+                writeLocked(command);
+            } catch (Exception e) {
+                command.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Increment the queue size by one if the request queue size permits another command.
+     */
+    private void reserveQueueSize() {
+
+        if (!usesBoundedQueues()) {
+            QUEUE_SIZE.incrementAndGet(this);
+            return;
+        }
+
+        for (;;) {
+
+            int queueSize = QUEUE_SIZE.get(this);
+
+            if (queueSize + 1 > clientOptions.getRequestQueueSize()) {
+                throw new RedisException("Request queue size exceeded: " + clientOptions.getRequestQueueSize()
+                        + ". Commands are not accepted until the queue size drops.");
+            }
+
+            if (QUEUE_SIZE.compareAndSet(this, queueSize, queueSize + 1)) {
+                return;
+            }
+        }
+    }
+
+    private void validateQueueCapacity(int commands) {
 
         if (lifecycleState == LifecycleState.CLOSED) {
             throw new RedisException("Connection is closed");
@@ -528,17 +785,17 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
             boolean connected = isConnected();
 
-            if (QUEUE_SIZE.get(this) + 1 > clientOptions.getRequestQueueSize()) {
+            if (QUEUE_SIZE.get(this) + commands > clientOptions.getRequestQueueSize()) {
                 throw new RedisException("Request queue size exceeded: " + clientOptions.getRequestQueueSize()
                         + ". Commands are not accepted until the queue size drops.");
             }
 
-            if (!connected && disconnectedBuffer.size() + 1 > clientOptions.getRequestQueueSize()) {
+            if (!connected && disconnectedBuffer.size() + commands > clientOptions.getRequestQueueSize()) {
                 throw new RedisException("Request queue size exceeded: " + clientOptions.getRequestQueueSize()
                         + ". Commands are not accepted until the queue size drops.");
             }
 
-            if (connected && commandBuffer.size() + 1 > clientOptions.getRequestQueueSize()) {
+            if (connected && commandBuffer.size() + commands > clientOptions.getRequestQueueSize()) {
                 throw new RedisException("Command buffer size exceeded: " + clientOptions.getRequestQueueSize()
                         + ". Commands are not accepted until the queue size drops.");
             }
@@ -587,6 +844,15 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
     private void writeToChannel(Collection<? extends RedisCommand<K, V, ?>> commands) {
 
         QUEUE_SIZE.addAndGet(this, commands.size());
+        writeReservedToChannel(commands);
+    }
+
+    /**
+     * Write commands that are already accounted in the queue size.
+     *
+     * @param commands the commands.
+     */
+    private void writeReservedToChannel(Collection<? extends RedisCommand<K, V, ?>> commands) {
 
         if (reliability == Reliability.AT_MOST_ONCE) {
             // cancel on exceptions and remove from queue, because there is no housekeeping
@@ -925,6 +1191,36 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         return latencyMeteredCommand;
     }
 
+    /**
+     * Schedule command expiry on the {@link ClientResources#timer() timer} if command timeouts are enabled.
+     *
+     * @param command the command.
+     * @see TimeoutOptions
+     */
+    private void potentiallyExpire(RedisCommand<K, V, ?> command) {
+
+        if (timeoutSource == null) {
+            return;
+        }
+
+        long timeout = timeoutSource.getTimeout(command);
+
+        if (timeout <= 0) {
+            return;
+        }
+
+        CommandExpiry expiry = new CommandExpiry(command, timeout, timeoutSource.getTimeUnit());
+        expiry.handle = clientResources.timer().newTimeout(expiry, timeout, timeoutSource.getTimeUnit());
+
+        CompletionStage<?> stage = CommandWrapper.unwrap(command, CompletionStage.class);
+
+        if (stage != null) {
+            stage.whenComplete(expiry);
+        } else if (command instanceof CompleteableCommand) {
+            ((CompleteableCommand<?>) command).onComplete(result -> expiry.accept(result, null));
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
@@ -1062,6 +1358,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
                 rebuildQueue();
                 setState(LifecycleState.DEACTIVATED);
 
+                readingSuspended = false;
                 channel = null;
             } finally {
                 unlockWritersExclusive();
@@ -1088,6 +1385,13 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         drainCommands(stack, queuedCommands);
         drainCommands(disconnectedBuffer, queuedCommands);
 
+        if (writeQueue != null) {
+
+            int queued = queuedCommands.size();
+            drainCommands(writeQueue, queuedCommands);
+            QUEUE_SIZE.addAndGet(this, queued - queuedCommands.size());
+        }
+
         try {
             disconnectedBuffer.addAll(queuedCommands);
         } catch (RuntimeException e) {
@@ -1322,6 +1626,42 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         return System.nanoTime();
     }
 
+    /**
+     * {@link TimerTask} completing a command with {@link RedisCommandTimeoutException} if the command did not complete in
+     * time. Cancels its {@link Timeout} once the command is completed, either successfully, exceptionally or by
+     * cancellation.
+     */
+    static class CommandExpiry implements TimerTask, BiConsumer<Object, Throwable> {
+
+        private final RedisCommand<?, ?, ?> command;
+        private final long timeout;
+        private final TimeUnit timeUnit;
+        volatile Timeout handle;
+
+        CommandExpiry(RedisCommand<?, ?, ?> command, long timeout, TimeUnit timeUnit) {
+            this.command = command;
+            this.timeout = timeout;
+            this.timeUnit = timeUnit;
+        }
+
+        @Override
+        public void run(Timeout timeout) throws Exception {
+
+            if (!command.isDone()) {
+                command.completeExceptionally(ExceptionFactory.createTimeoutException(this.timeout, timeUnit));
+            }
+        }
+
+        @Override
+        public void accept(Object result, Throwable throwable) {
+
+            Timeout handle = this.handle;
+            if (handle != null) {
+                handle.cancel();
+            }
+        }
+    }
+
     private class ListenerSupport {
 
         final Collection<? extends RedisCommand<K, V, ?>> sentCommands;
@@ -1436,7 +1776,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         private void requeueCommands() {
             if (sentCommand != null) {
                 try {
-                    write(sentCommand);
+                    writeLocked(sentCommand);
                 } catch (Exception e) {
                     complete(e);
                 }
@@ -1446,7 +1786,7 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
 
                 for (RedisCommand<K, V, ?> command : sentCommands) {
                     try {
-                        write(command);
+                        writeLocked(command);
                     } catch (Exception e) {
                         complete(e);
                     }
@@ -1455,6 +1795,25 @@ public class CommandHandler<K, V> extends ChannelDuplexHandler implements RedisC
         }
     }
 
+    /**
+     * {@link DemandAware.Source} that resumes reading from the channel. Reading is resumed on the event loop so it cannot
+     * interleave with the decode loop that pauses reading.
+     */
+    class BackpressureSource implements DemandAware.Source {
+
+        @Override
+        public void requestMore() {
+
+            Channel channel = CommandHandler.this.channel;
+
+            if (channel == null || !isConnected() || !readingSuspended) {
+                return;
+            }
+
+            channel.eventLoop().execute(CommandHandler.this::potentiallyResumeReading);
+        }
+    }
+
     public enum LifecycleState {
         NOT_CONNECTED, REGISTERED, CONNECTED, ACTIVATING, ACTIVE, DISCONNECTED, DEACTIVATING, DEACTIVATED, CLOSED,
     }
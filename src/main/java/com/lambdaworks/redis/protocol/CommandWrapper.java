@@ -160,6 +160,36 @@ public class CommandWrapper<K, V, T> implements RedisCommand<K, V, T>, Completea
         return result;
     }
 
+    /**
+     * Returns an object that implements the given interface to allow access to wrapped commands. Returns the command itself
+     * if it implements {@code iface}, otherwise traverses the {@link DecoratedCommand} chain.
+     *
+     * @param wrapped the wrapped command.
+     * @param iface interface that the result must implement.
+     * @return the first command implementing {@code iface} or {@literal null} if no command implements {@code iface}.
+     * @since 4.5
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> R unwrap(RedisCommand<?, ?, ?> wrapped, Class<R> iface) {
+
+        RedisCommand<?, ?, ?> result = wrapped;
+
+        while (result != null) {
+
+            if (iface.isInstance(result)) {
+                return (R) result;
+            }
+
+            if (!(result instanceof DecoratedCommand<?, ?, ?>)) {
+                return null;
+            }
+
+            result = ((DecoratedCommand<?, ?, ?>) result).getDelegate();
+        }
+
+        return null;
+    }
+
     @Override
     public boolean equals(Object o) {
 
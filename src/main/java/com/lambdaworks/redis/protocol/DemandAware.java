@@ -0,0 +1,65 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.protocol;
+
+/**
+ * Interface for components that are able to signal demand to control the flow of received data. A {@link Sink} is typically
+ * a command whose response elements are consumed with backpressure. If
+ * {@link com.lambdaworks.redis.ClientOptions#isSuspendReadingWithoutDemand()} is enabled, {@link CommandHandler} stops reading
+ * from the channel while the {@link Sink} of the currently decoded command has no demand and resumes reading once the
+ * {@link Sink} requests more data from its {@link Source}.
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public interface DemandAware {
+
+    /**
+     * A demand-aware {@link Sink} that consumes decoded data.
+     */
+    interface Sink {
+
+        /**
+         * Returns {@literal true} if the {@link Sink} has demand or {@literal false} if the source should stop reading.
+         *
+         * @return {@literal true} if the {@link Sink} has demand.
+         */
+        boolean hasDemand();
+
+        /**
+         * Set the {@link Source} for the {@link Sink} to request more data once the {@link Sink} has demand again.
+         *
+         * @param source the source, must not be {@literal null}.
+         */
+        void setSource(Source source);
+
+        /**
+         * Remove the {@link Source} reference.
+         */
+        void removeSource();
+    }
+
+    /**
+     * A {@link Source} providing data to a {@link Sink}.
+     */
+    interface Source {
+
+        /**
+         * Signal demand to the {@link Source}. Can be called from any thread.
+         */
+        void requestMore();
+    }
+}
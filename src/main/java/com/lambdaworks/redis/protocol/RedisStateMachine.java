@@ -23,6 +23,7 @@ import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.output.ByteBufAwareOutput;
 import com.lambdaworks.redis.output.CommandOutput;
 
 import io.netty.buffer.ByteBuf;
@@ -82,6 +83,11 @@ public class RedisStateMachine<K, V> {
 
         Type type = null;
         int count = -1;
+
+        void reset() {
+            type = null;
+            count = -1;
+        }
     }
 
     private final State[] stack = new State[32];
@@ -150,7 +156,7 @@ public class RedisStateMachine<K, V> {
         }
 
         if (isEmpty(stack)) {
-            add(stack, new State());
+            push(stack);
         }
 
         if (output == null) {
@@ -223,10 +229,20 @@ public class RedisStateMachine<K, V> {
                     }
 
                     state.count--;
-                    addFirst(stack, new State());
+                    push(stack);
 
                     continue loop;
                 case BYTES:
+                    if (output instanceof ByteBufAwareOutput) {
+
+                        ByteBuf slice;
+                        if ((slice = readRetainedSlice(buffer, state.count)) == null) {
+                            break loop;
+                        }
+                        safeSet((ByteBufAwareOutput) output, slice, command);
+                        break;
+                    }
+
                     if ((bytes = readBytes(buffer, state.count)) == null) {
                         break loop;
                     }
@@ -339,23 +355,50 @@ public class RedisStateMachine<K, V> {
     }
 
     /**
-     * Remove the head element from the stack.
+     * Read a bulk element as retained slice of {@code buffer} without copying the element. The caller is responsible for
+     * releasing the slice.
+     *
+     * @param buffer the inbound buffer.
+     * @param count number of bytes including the trailing {@code CRLF}.
+     * @return the retained slice or {@literal null} if the buffer does not contain the whole element yet.
+     */
+    private ByteBuf readRetainedSlice(ByteBuf buffer, int count) {
+
+        ByteBuf slice = null;
+
+        if (buffer.readableBytes() >= count) {
+
+            slice = buffer.readSlice(count - 2).retain();
+            buffer.readerIndex(buffer.readerIndex() + 2);
+        }
+        return slice;
+    }
+
+    /**
+     * Remove the head element from the stack. The element remains allocated to be reused by {@link #push(State[])}.
      *
      * @param stack
      */
     private void remove(State[] stack) {
-        stack[stackElements - 1] = null;
         stackElements--;
     }
 
     /**
-     * Add the element to the stack to be the new head element.
+     * Push a new head element to the stack. Reuses a previously allocated element if available.
      *
      * @param stack
-     * @param state
      */
-    private void addFirst(State[] stack, State state) {
-        stack[stackElements++] = state;
+    private void push(State[] stack) {
+
+        State state = stack[stackElements];
+
+        if (state == null) {
+            stack[stackElements] = new State();
+        } else {
+            state.reset();
+        }
+
+        stackElements++;
     }
 
     /**
@@ -368,22 +411,6 @@ public class RedisStateMachine<K, V> {
         return stack[stackElements - 1];
     }
 
-    /**
-     * Add a state as tail element. This method shifts the whole stack if the stack is not empty.
-     *
-     * @param stack
-     * @param state
-     */
-    private void add(State[] stack, State state) {
-
-        if (stackElements != 0) {
-            System.arraycopy(stack, 0, stack, 1, stackElements);
-        }
-
-        stack[0] = state;
-        stackElements++;
-    }
-
     /**
      * @param stack
      * @return number of stack elements.
@@ -432,6 +459,22 @@ public class RedisStateMachine<K, V> {
         }
     }
 
+    /**
+     * Safely sets {@link ByteBufAwareOutput#set(ByteBuf)}. Completes a command exceptionally in case an exception occurs.
+     *
+     * @param output
+     * @param bytes
+     * @param command
+     */
+    protected void safeSet(ByteBufAwareOutput output, ByteBuf bytes, RedisCommand<K, V, ?> command) {
+
+        try {
+            output.set(bytes);
+        } catch (Exception e) {
+            command.completeExceptionally(e);
+        }
+    }
+
     /**
      * Safely sets {@link CommandOutput#multi(int)}. Completes a command exceptionally in case an exception occurs.
      *
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.protocol;
+
+import java.util.concurrent.TimeUnit;
+
+import com.lambdaworks.redis.FlushStrategy;
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.*;
+
+/**
+ * A netty {@link ChannelHandler} that consolidates flushes of encoded commands according to a consolidating
+ * {@link FlushStrategy}. Flushes are deferred until the event loop has processed pending writes or the configured window has
+ * elapsed. Flushes requested while reading responses are performed on {@link #channelReadComplete(ChannelHandlerContext)
+ * read completion}. Pending writes are flushed immediately once their size exceeds
+ * {@link FlushStrategy#getMaxPendingBytes()}.
+ * <p>
+ * This handler is placed between the transport and {@link CommandEncoder} so it accounts for encoded bytes. Handler instances
+ * are reused across reconnects and keep their state per {@link ChannelHandlerContext}.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ * @see FlushStrategy
+ */
+@ChannelHandler.Sharable
+public class WriteCoalescingHandler extends ChannelDuplexHandler {
+
+    private final long windowNanos;
+    private final int maxPendingBytes;
+
+    private volatile ContextState state;
+
+    public WriteCoalescingHandler(FlushStrategy flushStrategy) {
+
+        LettuceAssert.notNull(flushStrategy, "FlushStrategy must not be null");
+        LettuceAssert.isTrue(flushStrategy.isConsolidating(), "FlushStrategy must consolidate flushes");
+
+        this.windowNanos = flushStrategy.getWindowNanos();
+        this.maxPendingBytes = flushStrategy.getMaxPendingBytes();
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+        this.state = new ContextState(ctx);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        flushIfPending(ctx);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+
+        ContextState state = this.state;
+        if (state != null && state.ctx == ctx && msg instanceof ByteBuf) {
+            state.pendingBytes += ((ByteBuf) msg).readableBytes();
+        }
+
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(ChannelHandlerContext ctx) throws Exception {
+
+        ContextState state = this.state;
+        if (state == null || state.ctx != ctx) {
+            ctx.flush();
+            return;
+        }
+
+        state.requestFlush();
+    }
+
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+
+        ContextState state = this.state;
+        if (state != null && state.ctx == ctx) {
+            state.readInProgress = true;
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+
+        ContextState state = this.state;
+        if (state != null && state.ctx == ctx) {
+            state.readInProgress = false;
+            if (state.flushPending) {
+                state.flushNow();
+            }
+        }
+
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+
+        flushIfPending(ctx);
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+
+        flushIfPending(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+
+        flushIfPending(ctx);
+        ctx.close(promise);
+    }
+
+    private void flushIfPending(ChannelHandlerContext ctx) {
+
+        ContextState state = this.state;
+        if (state != null && state.ctx == ctx && state.flushPending) {
+            state.flushNow();
+        }
+    }
+
+    /**
+     * Flush state of a single channel. Accessed only from the channel's event loop.
+     */
+    class ContextState implements Runnable {
+
+        final ChannelHandlerContext ctx;
+
+        boolean readInProgress;
+        boolean flushPending;
+        boolean flushScheduled;
+        long pendingBytes;
+
+        ContextState(ChannelHandlerContext ctx) {
+            this.ctx = ctx;
+        }
+
+        void requestFlush() {
+
+            flushPending = true;
+
+            if (pendingBytes >= maxPendingBytes) {
+                flushNow();
+                return;
+            }
+
+            if (readInProgress || flushScheduled) {
+                return;
+            }
+
+            flushScheduled = true;
+
+            if (windowNanos > 0) {
+                ctx.channel().eventLoop().schedule(this, windowNanos, TimeUnit.NANOSECONDS);
+            } else {
+                ctx.channel().eventLoop().execute(this);
+            }
+        }
+
+        void flushNow() {
+
+            flushPending = false;
+            pendingBytes = 0;
+            ctx.flush();
+        }
+
+        @Override
+        public void run() {
+
+            flushScheduled = false;
+
+            if (flushPending) {
+                flushNow();
+            }
+        }
+    }
+}
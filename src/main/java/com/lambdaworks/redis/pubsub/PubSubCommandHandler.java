@@ -21,7 +21,6 @@ import java.util.Deque;
 
 import com.lambdaworks.redis.ClientOptions;
 import com.lambdaworks.redis.codec.RedisCodec;
-import com.lambdaworks.redis.codec.StringCodec;
 import com.lambdaworks.redis.output.CommandOutput;
 import com.lambdaworks.redis.output.ReplayOutput;
 import com.lambdaworks.redis.protocol.CommandHandler;
@@ -29,6 +28,7 @@ import com.lambdaworks.redis.protocol.RedisCommand;
 import com.lambdaworks.redis.resource.ClientResources;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 
@@ -51,6 +51,7 @@ public class PubSubCommandHandler<K, V> extends CommandHandler<K, V> {
 
     private ResponseHeaderReplayOutput<K, V> replay;
     private PubSubOutput<K, V, V> output;
+    private boolean recycle;
 
     /**
      * Initialize a new instance.
@@ -67,11 +68,47 @@ public class PubSubCommandHandler<K, V> extends CommandHandler<K, V> {
         this.output = new PubSubOutput<>(codec);
     }
 
+    ClientResources getClientResources() {
+        return clientResources;
+    }
+
+    /**
+     * Stop reading from the channel. Must be called from the I/O thread.
+     */
+    void suspendReading() {
+
+        Channel channel = this.channel;
+
+        if (channel != null && channel.config().isAutoRead()) {
+            channel.config().setAutoRead(false);
+        }
+    }
+
+    /**
+     * Resume reading from the channel. Reading is resumed on the event loop so it cannot interleave with the decode loop.
+     */
+    void resumeReading() {
+
+        Channel channel = this.channel;
+
+        if (channel == null) {
+            return;
+        }
+
+        channel.eventLoop().execute(() -> {
+            if (!channel.config().isAutoRead()) {
+                channel.config().setAutoRead(true);
+            }
+        });
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
 
         replay = null;
         queue.clear();
+        output.reset();
+        recycle = false;
 
         super.channelInactive(ctx);
     }
@@ -87,27 +124,46 @@ public class PubSubCommandHandler<K, V> extends CommandHandler<K, V> {
         ReplayOutput<K, V> replay;
         while ((replay = queue.poll()) != null) {
 
+            recycleOutput();
             replay.replay(output);
-            ctx.fireChannelRead(output);
-            output = new PubSubOutput<>(codec);
+            fireChannelRead(ctx);
         }
 
         while (super.getStack().isEmpty() && buffer.isReadable()) {
 
+            recycleOutput();
+
             if (!rsm.decode(buffer, output)) {
                 return;
             }
 
-            ctx.fireChannelRead(output);
-            output = new PubSubOutput<>(codec);
+            fireChannelRead(ctx);
         }
 
         buffer.discardReadBytes();
     }
 
+    /**
+     * Propagate the decoded {@link PubSubOutput}. The output is reset before the next element is decoded so consumers can
+     * inspect the output until the next message arrives but must not retain it.
+     */
+    private void fireChannelRead(ChannelHandlerContext ctx) {
+
+        recycle = true;
+        ctx.fireChannelRead(output);
+    }
+
+    private void recycleOutput() {
+
+        if (recycle) {
+            output.reset();
+            recycle = false;
+        }
+    }
+
     @Override
     protected boolean canDecode(ByteBuf buffer) {
-        return super.canDecode(buffer) && output.type() == null;
+        return super.canDecode(buffer) && (recycle || output.type() == null);
     }
 
     @Override
@@ -151,14 +207,14 @@ public class PubSubCommandHandler<K, V> extends CommandHandler<K, V> {
             return false;
         }
 
-        String firstElement = replay.firstElement;
+        PubSubOutput.Type firstElement = replay.firstElement;
         if (replay.multiCount != null && firstElement != null) {
 
-            if (replay.multiCount == 3 && firstElement.equalsIgnoreCase(PubSubOutput.Type.message.name())) {
+            if (replay.multiCount == 3 && firstElement == PubSubOutput.Type.message) {
                 return true;
             }
 
-            if (replay.multiCount == 4 && firstElement.equalsIgnoreCase(PubSubOutput.Type.pmessage.name())) {
+            if (replay.multiCount == 4 && firstElement == PubSubOutput.Type.pmessage) {
                 return true;
             }
         }
@@ -196,16 +252,16 @@ public class PubSubCommandHandler<K, V> extends CommandHandler<K, V> {
     static class ResponseHeaderReplayOutput<K, V> extends ReplayOutput<K, V> {
 
         Integer multiCount;
-        String firstElement;
+        PubSubOutput.Type firstElement;
+        private boolean firstElementInspected;
 
         @Override
         public void set(ByteBuffer bytes) {
 
-            if (firstElement == null && bytes != null && bytes.remaining() > 0) {
+            if (!firstElementInspected && bytes != null && bytes.remaining() > 0) {
 
-                bytes.mark();
-                firstElement = StringCodec.ASCII.decodeKey(bytes);
-                bytes.reset();
+                firstElementInspected = true;
+                firstElement = PubSubOutput.Type.find(bytes);
             }
 
             super.set(bytes);
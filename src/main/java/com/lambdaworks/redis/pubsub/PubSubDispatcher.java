@@ -0,0 +1,317 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.pubsub;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.lambdaworks.redis.PubSubOptions;
+import com.lambdaworks.redis.PubSubOptions.OverflowPolicy;
+
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Dispatches Pub/Sub messages to {@link RedisPubSubListener listeners} using an {@link EventExecutorGroup}. Each listener
+ * owns a fixed number of lanes. A lane is a bounded queue that is drained by a single task at a time, so messages assigned to
+ * the same lane are delivered in the order they were received. Messages are assigned to lanes by their channel (pattern for
+ * pattern messages and pattern subscriptions).
+ * <p>
+ * Lanes that exceed their capacity apply the configured {@link OverflowPolicy}. {@link OverflowPolicy#BACKPRESSURE} suspends
+ * reading from the connection until all overloaded lanes drained to half of their capacity.
+ * </p>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.5
+ */
+class PubSubDispatcher<K, V> {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(PubSubDispatcher.class);
+
+    /**
+     * Maximal number of messages a lane drains before yielding its executor.
+     */
+    private static final int DRAIN_BATCH_SIZE = 64;
+
+    private final Map<RedisPubSubListener<K, V>, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger overloadedLanes = new AtomicInteger();
+    private final AtomicLong droppedMessages = new AtomicLong();
+
+    private final EventExecutorGroup executors;
+    private final ReadControl readControl;
+    private final int lanes;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    PubSubDispatcher(PubSubOptions options, EventExecutorGroup executors, ReadControl readControl) {
+
+        this.executors = executors;
+        this.readControl = readControl;
+        this.lanes = options.getLanes();
+        this.capacity = options.getQueueCapacity();
+        this.overflowPolicy = options.getOverflowPolicy();
+    }
+
+    /**
+     * Dispatch {@code output} to all {@code listeners}.
+     *
+     * @param listeners the listeners.
+     * @param output the Pub/Sub message.
+     */
+    void dispatch(Collection<RedisPubSubListener<K, V>> listeners, PubSubOutput<K, V, V> output) {
+
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer key = output.rawPattern() != null ? output.rawPattern() : output.rawChannel();
+        int hash = key != null ? key.hashCode() : 0;
+
+        // the output is recycled after dispatch
+        PubSubOutput<K, V, V> copy = output.copy();
+
+        for (RedisPubSubListener<K, V> listener : listeners) {
+
+            Subscriber subscriber = subscribers.get(listener);
+            if (subscriber == null) {
+                subscriber = subscribers.computeIfAbsent(listener, Subscriber::new);
+            }
+
+            subscriber.lane(hash).offer(copy);
+        }
+    }
+
+    /**
+     * Stop dispatching to {@code listener}. Pending messages for the listener are discarded.
+     *
+     * @param listener the listener.
+     */
+    void remove(RedisPubSubListener<K, V> listener) {
+
+        Subscriber subscriber = subscribers.remove(listener);
+
+        if (subscriber != null) {
+            subscriber.cancelled = true;
+        }
+    }
+
+    /**
+     * @return number of messages that were discarded because of an overflow.
+     */
+    long getDroppedMessages() {
+        return droppedMessages.get();
+    }
+
+    /**
+     * Notify {@code listener} about {@code output}.
+     *
+     * @param listener the listener.
+     * @param output the Pub/Sub message.
+     */
+    static <K, V> void notify(RedisPubSubListener<K, V> listener, PubSubOutput<K, V, V> output) {
+
+        switch (output.type()) {
+            case message:
+                listener.message(output.channel(), output.get());
+                break;
+            case pmessage:
+                listener.message(output.pattern(), output.channel(), output.get());
+                break;
+            case psubscribe:
+                listener.psubscribed(output.pattern(), output.count());
+                break;
+            case punsubscribe:
+                listener.punsubscribed(output.pattern(), output.count());
+                break;
+            case subscribe:
+                listener.subscribed(output.channel(), output.count());
+                break;
+            case unsubscribe:
+                listener.unsubscribed(output.channel(), output.count());
+                break;
+            default:
+                throw new UnsupportedOperationException("Operation " + output.type() + " not supported");
+        }
+    }
+
+    /**
+     * Control over reading from the connection.
+     */
+    interface ReadControl {
+
+        /**
+         * Stop reading from the connection. Called from the I/O thread.
+         */
+        void suspendReading();
+
+        /**
+         * Resume reading from the connection. May be called from any thread.
+         */
+        void resumeReading();
+    }
+
+    /**
+     * Lanes of a single listener.
+     */
+    class Subscriber {
+
+        private final RedisPubSubListener<K, V> listener;
+        private final List<Lane> lanes;
+
+        volatile boolean cancelled;
+
+        Subscriber(RedisPubSubListener<K, V> listener) {
+
+            this.listener = listener;
+            this.lanes = new ArrayList<>(PubSubDispatcher.this.lanes);
+
+            for (int i = 0; i < PubSubDispatcher.this.lanes; i++) {
+                this.lanes.add(new Lane(this, executors.next()));
+            }
+        }
+
+        Lane lane(int hash) {
+            return lanes.get((hash & Integer.MAX_VALUE) % lanes.size());
+        }
+    }
+
+    /**
+     * Ordered, bounded queue drained by at most one task at a time. Capacity is reserved by a compare-and-set of the lane size
+     * before a message is enqueued so the capacity check and the enqueue cannot interleave with other producers or the drain
+     * task.
+     */
+    class Lane implements Runnable {
+
+        private final Subscriber subscriber;
+        private final Executor executor;
+        private final Queue<PubSubOutput<K, V, V>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean overloaded = new AtomicBoolean();
+
+        Lane(Subscriber subscriber, Executor executor) {
+            this.subscriber = subscriber;
+            this.executor = executor;
+        }
+
+        void offer(PubSubOutput<K, V, V> output) {
+
+            if (!reserve()) {
+                return;
+            }
+
+            queue.add(output);
+
+            if (scheduled.compareAndSet(false, true)) {
+                executor.execute(this);
+            }
+        }
+
+        /**
+         * Reserve a slot for a new message applying the {@link OverflowPolicy} if the lane is full.
+         *
+         * @return {@literal true} if the message is to be enqueued.
+         */
+        private boolean reserve() {
+
+            for (;;) {
+
+                int current = size.get();
+
+                if (current >= capacity) {
+
+                    switch (overflowPolicy) {
+                        case DROP_NEWEST:
+                            droppedMessages.incrementAndGet();
+                            return false;
+                        case DROP_OLDEST:
+                            if (queue.poll() != null) {
+                                size.decrementAndGet();
+                                droppedMessages.incrementAndGet();
+                            }
+                            continue;
+                        case BACKPRESSURE:
+                            if (overloaded.compareAndSet(false, true)) {
+                                overloadedLanes.incrementAndGet();
+                            }
+
+                            size.incrementAndGet();
+                            readControl.suspendReading();
+                            return true;
+                    }
+                }
+
+                if (size.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+
+            for (int i = 0; i < DRAIN_BATCH_SIZE; i++) {
+
+                PubSubOutput<K, V, V> output = queue.poll();
+
+                if (output == null) {
+
+                    scheduled.set(false);
+
+                    // a message might have been enqueued after polling
+                    if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+
+                    continue;
+                }
+
+                int remaining = size.decrementAndGet();
+
+                if (remaining <= capacity / 2 && overloaded.get() && overloaded.compareAndSet(true, false)
+                        && overloadedLanes.decrementAndGet() == 0) {
+                    readControl.resumeReading();
+                }
+
+                if (subscriber.cancelled) {
+                    continue;
+                }
+
+                try {
+                    PubSubDispatcher.notify(subscriber.listener, output);
+                } catch (RuntimeException e) {
+                    logger.warn("Unexpected exception in RedisPubSubListener " + subscriber.listener, e);
+                }
+            }
+
+            // yield to other tasks of the executor
+            executor.execute(this);
+        }
+    }
+}
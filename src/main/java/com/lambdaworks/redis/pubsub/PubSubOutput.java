@@ -16,27 +16,104 @@
 package com.lambdaworks.redis.pubsub;
 
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import com.lambdaworks.redis.codec.RedisCodec;
 import com.lambdaworks.redis.output.CommandOutput;
 
 /**
  * One element of the redis pub/sub stream. May be a message or notification of subscription details.
+ * <p>
+ * Channel, pattern and message are retained as bytes and decoded with the {@link RedisCodec} on first access. Instances are
+ * recycled by {@link PubSubCommandHandler}: an output that was propagated to the pipeline is only valid until the next
+ * message is decoded.
+ * </p>
  *
  * @param <K> Key type.
  * @param <V> Value type.
  * @param <T> Result type.
  * @author Will Glozer
+ * @author Mark Paluch
  */
 public class PubSubOutput<K, V, T> extends CommandOutput<K, V, T> {
 
     public enum Type {
-        message, pmessage, psubscribe, punsubscribe, subscribe, unsubscribe
+
+        message, pmessage, psubscribe, punsubscribe, subscribe, unsubscribe;
+
+        private final byte[] bytes = name().getBytes(StandardCharsets.US_ASCII);
+
+        /**
+         * Resolve the {@link Type} from its ASCII representation without decoding the bytes into a {@link String}. Consumes
+         * the {@code buffer}.
+         *
+         * @param buffer the type name.
+         * @return the {@link Type}.
+         * @throws IllegalArgumentException if {@code buffer} does not represent a {@link Type}.
+         */
+        static Type valueOf(ByteBuffer buffer) {
+
+            Type type = find(buffer);
+
+            if (type == null) {
+
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+
+                return Type.valueOf(new String(bytes, StandardCharsets.US_ASCII));
+            }
+
+            buffer.position(buffer.limit());
+            return type;
+        }
+
+        /**
+         * Find the {@link Type} represented by {@code buffer} without consuming the buffer.
+         *
+         * @param buffer the type name.
+         * @return the {@link Type} or {@literal null} if {@code buffer} does not represent a {@link Type}.
+         */
+        static Type find(ByteBuffer buffer) {
+
+            switch (buffer.remaining()) {
+                case 7:
+                    return matches(message, buffer);
+                case 8:
+                    return matches(pmessage, buffer);
+                case 9:
+                    return matches(subscribe, buffer);
+                case 10:
+                    return matches(psubscribe, buffer);
+                case 11:
+                    return matches(unsubscribe, buffer);
+                case 12:
+                    return matches(punsubscribe, buffer);
+                default:
+                    return null;
+            }
+        }
+
+        private static Type matches(Type candidate, ByteBuffer buffer) {
+
+            int position = buffer.position();
+
+            for (int i = 0; i < candidate.bytes.length; i++) {
+
+                // type names consist of letters only, the bit 0x20 selects lower case
+                if ((buffer.get(position + i) | 0x20) != candidate.bytes[i]) {
+                    return null;
+                }
+            }
+
+            return candidate;
+        }
     }
 
+    private final Element pattern = new Element();
+    private final Element channel = new Element();
+    private final Element message = new Element();
+
     private Type type;
-    private K channel;
-    private K pattern;
     private long count;
 
     public PubSubOutput(RedisCodec<K, V> codec) {
@@ -47,12 +124,14 @@ public class PubSubOutput<K, V, T> extends CommandOutput<K, V, T> {
         return type;
     }
 
+    @SuppressWarnings("unchecked")
     public K channel() {
-        return channel;
+        return (K) channel.decodeKey(codec);
     }
 
+    @SuppressWarnings("unchecked")
     public K pattern() {
-        return pattern;
+        return (K) pattern.decodeKey(codec);
     }
 
     public long count() {
@@ -60,7 +139,85 @@ public class PubSubOutput<K, V, T> extends CommandOutput<K, V, T> {
     }
 
     @Override
-    @SuppressWarnings({ "fallthrough", "unchecked" })
+    @SuppressWarnings("unchecked")
+    public T get() {
+
+        if (message.present && !message.decoded) {
+            output = (T) message.decodeValue(codec);
+        }
+
+        return output;
+    }
+
+    /**
+     * Returns the raw channel. The buffer is owned by this output and must not be retained.
+     *
+     * @return the channel bytes or {@literal null} if the element has no channel.
+     */
+    ByteBuffer rawChannel() {
+        return channel.raw();
+    }
+
+    /**
+     * Returns the raw pattern. The buffer is owned by this output and must not be retained.
+     *
+     * @return the pattern bytes or {@literal null} if the element has no pattern.
+     */
+    ByteBuffer rawPattern() {
+        return pattern.raw();
+    }
+
+    /**
+     * Returns the raw message. The buffer is owned by this output and must not be retained.
+     *
+     * @return the message bytes or {@literal null} if the element has no message.
+     */
+    ByteBuffer rawMessage() {
+        return message.raw();
+    }
+
+    /**
+     * @return {@literal true} if the output carries neither pattern, channel nor message.
+     */
+    boolean isEmpty() {
+        return !pattern.present && !channel.present && !message.present;
+    }
+
+    /**
+     * Reset this output so it can be reused to decode the next element. Retains allocated buffers.
+     */
+    void reset() {
+
+        type = null;
+        count = 0;
+        output = null;
+        error = null;
+        pattern.reset();
+        channel.reset();
+        message.reset();
+    }
+
+    /**
+     * Create a copy of this output that does not share state with this output. All elements are decoded.
+     *
+     * @return the copy.
+     */
+    PubSubOutput<K, V, T> copy() {
+
+        PubSubOutput<K, V, T> copy = new PubSubOutput<>(codec);
+
+        copy.type = type;
+        copy.count = count;
+        copy.error = error;
+        copy.output = get();
+        copy.message.decoded = true;
+        copy.pattern.copyDecoded(pattern, codec);
+        copy.channel.copyDecoded(channel, codec);
+
+        return copy;
+    }
+
+    @Override
     public void set(ByteBuffer bytes) {
 
         if (bytes == null) {
@@ -68,35 +225,36 @@ public class PubSubOutput<K, V, T> extends CommandOutput<K, V, T> {
         }
 
         if (type == null) {
-            type = Type.valueOf(decodeAscii(bytes));
+            type = Type.valueOf(bytes);
             return;
         }
 
         handleOutput(bytes);
     }
 
-    @SuppressWarnings("unchecked")
+    @SuppressWarnings("fallthrough")
     private void handleOutput(ByteBuffer bytes) {
+
         switch (type) {
             case pmessage:
-                if (pattern == null) {
-                    pattern = codec.decodeKey(bytes);
+                if (!pattern.present) {
+                    pattern.set(bytes);
                     break;
                 }
             case message:
-                if (channel == null) {
-                    channel = codec.decodeKey(bytes);
+                if (!channel.present) {
+                    channel.set(bytes);
                     break;
                 }
-                output = (T) codec.decodeValue(bytes);
+                message.set(bytes);
                 break;
             case psubscribe:
             case punsubscribe:
-                pattern = codec.decodeKey(bytes);
+                pattern.set(bytes);
                 break;
             case subscribe:
             case unsubscribe:
-                channel = codec.decodeKey(bytes);
+                channel.set(bytes);
                 break;
             default:
                 throw new UnsupportedOperationException("Operation " + type + " not supported");
@@ -107,4 +265,91 @@ public class PubSubOutput<K, V, T> extends CommandOutput<K, V, T> {
     public void set(long integer) {
         count = integer;
     }
+
+    /**
+     * Bulk string element retained as bytes. The buffer is reused across {@link #reset() resets} unless it grew beyond
+     * {@link #MAX_RETAINED_CAPACITY} to hold a large element.
+     */
+    static class Element {
+
+        /**
+         * Maximal buffer capacity that is retained across {@link #reset() resets}.
+         */
+        static final int MAX_RETAINED_CAPACITY = 4096;
+
+        private ByteBuffer buffer;
+        private int length;
+        private Object value;
+
+        boolean present;
+        boolean decoded;
+
+        void set(ByteBuffer bytes) {
+
+            length = bytes.remaining();
+
+            if (buffer == null || buffer.capacity() < length) {
+                buffer = ByteBuffer.allocate(Math.max(length, 32));
+            }
+
+            buffer.clear();
+            buffer.put(bytes);
+
+            present = true;
+            decoded = false;
+            value = null;
+        }
+
+        ByteBuffer raw() {
+
+            if (!present) {
+                return null;
+            }
+
+            buffer.limit(length).position(0);
+            return buffer;
+        }
+
+        Object decodeKey(RedisCodec<?, ?> codec) {
+
+            if (present && !decoded) {
+                value = codec.decodeKey(raw());
+                decoded = true;
+            }
+
+            return value;
+        }
+
+        Object decodeValue(RedisCodec<?, ?> codec) {
+
+            if (present && !decoded) {
+                value = codec.decodeValue(raw());
+                decoded = true;
+            }
+
+            return value;
+        }
+
+        void copyDecoded(Element source, RedisCodec<?, ?> codec) {
+
+            this.value = source.decodeKey(codec);
+            this.present = source.present;
+            this.decoded = true;
+        }
+
+        void reset() {
+
+            present = false;
+            decoded = false;
+            value = null;
+
+            if (buffer != null && buffer.capacity() > MAX_RETAINED_CAPACITY) {
+                buffer = null;
+            }
+        }
+
+        int capacity() {
+            return buffer != null ? buffer.capacity() : 0;
+        }
+    }
 }
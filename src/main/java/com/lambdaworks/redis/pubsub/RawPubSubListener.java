@@ -0,0 +1,44 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.pubsub;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Low-level listener for Pub/Sub messages that receives channel, pattern and message as bytes without decoding these through
+ * the {@link com.lambdaworks.redis.codec.RedisCodec}. Raw listeners are notified on the I/O thread regardless of the
+ * configured {@link com.lambdaworks.redis.PubSubOptions.DispatchMode}.
+ * <p>
+ * The buffers are owned by the connection and reused for the next message. They are valid only for the duration of the
+ * {@link #message(ByteBuffer, ByteBuffer, ByteBuffer)} call and must neither be retained nor modified. Copy the contents if
+ * required.
+ * </p>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+@FunctionalInterface
+public interface RawPubSubListener {
+
+    /**
+     * Message received from a channel or pattern subscription.
+     *
+     * @param pattern the pattern bytes, {@literal null} for messages received from a channel subscription.
+     * @param channel the channel bytes.
+     * @param message the message bytes.
+     */
+    void message(ByteBuffer pattern, ByteBuffer channel, ByteBuffer message);
+}
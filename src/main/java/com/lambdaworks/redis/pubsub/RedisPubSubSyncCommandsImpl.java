@@ -0,0 +1,75 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.pubsub;
+
+import com.lambdaworks.redis.RedisSyncCommandsImpl;
+import com.lambdaworks.redis.pubsub.api.sync.RedisPubSubCommands;
+
+/**
+ * Synchronous executed commands. Implementation of {@link RedisPubSubCommands} that invokes {@link RedisPubSubAsyncCommandsImpl}
+ * and awaits command completion.
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.5
+ * @generated by com.lambdaworks.apigenerator.CreateSyncApiImplementation
+ */
+@SuppressWarnings("deprecation")
+public class RedisPubSubSyncCommandsImpl<K, V> extends RedisSyncCommandsImpl<K, V> implements RedisPubSubCommands<K, V> {
+
+    private final RedisPubSubAsyncCommandsImpl<K, V> async;
+
+    public RedisPubSubSyncCommandsImpl(StatefulRedisPubSubConnection<K, V> connection, RedisPubSubAsyncCommandsImpl<K, V> async) {
+        super(connection, async);
+        this.async = async;
+    }
+
+    @Override
+    public void addListener(RedisPubSubListener<K, V> listener) {
+        async.addListener(listener);
+    }
+
+    @Override
+    public StatefulRedisPubSubConnection<K, V> getStatefulConnection() {
+        return async.getStatefulConnection();
+    }
+
+    @Override
+    public void psubscribe(K... patterns) {
+        await(async.psubscribe(patterns));
+    }
+
+    @Override
+    public void punsubscribe(K... patterns) {
+        await(async.punsubscribe(patterns));
+    }
+
+    @Override
+    public void removeListener(RedisPubSubListener<K, V> listener) {
+        async.removeListener(listener);
+    }
+
+    @Override
+    public void subscribe(K... channels) {
+        await(async.subscribe(channels));
+    }
+
+    @Override
+    public void unsubscribe(K... channels) {
+        await(async.unsubscribe(channels));
+    }
+}
@@ -71,4 +71,20 @@ public interface StatefulRedisPubSubConnection<K, V> extends StatefulRedisConnec
      * @param listener the listener, must not be {@literal null}.
      */
     void removeListener(RedisPubSubListener<K, V> listener);
+
+    /**
+     * Add a new {@link RawPubSubListener raw listener} that receives messages as bytes without decoding.
+     *
+     * @param listener the listener, must not be {@literal null}.
+     * @since 4.5
+     */
+    void addRawListener(RawPubSubListener listener);
+
+    /**
+     * Remove an existing {@link RawPubSubListener raw listener}.
+     *
+     * @param listener the listener, must not be {@literal null}.
+     * @since 4.5
+     */
+    void removeRawListener(RawPubSubListener listener);
 }
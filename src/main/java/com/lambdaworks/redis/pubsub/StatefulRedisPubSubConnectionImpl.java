@@ -49,9 +49,12 @@ public class StatefulRedisPubSubConnectionImpl<K, V> extends StatefulRedisConnec
     private static final Set<String> ALLOWED_COMMANDS_SUBSCRIBED;
 
     protected final List<RedisPubSubListener<K, V>> listeners;
+    protected final List<RawPubSubListener> rawListeners;
     protected final Set<K> channels;
     protected final Set<K> patterns;
 
+    private volatile PubSubDispatcher<K, V> dispatcher;
+
     static {
 
         ALLOWED_COMMANDS_SUBSCRIBED = new HashSet<>(5, 1);
@@ -76,6 +79,7 @@ public class StatefulRedisPubSubConnectionImpl<K, V> extends StatefulRedisConnec
         super(writer, codec, timeout, unit);
 
         listeners = new CopyOnWriteArrayList<>();
+        rawListeners = new CopyOnWriteArrayList<>();
         channels = new ConcurrentSet<>();
         patterns = new ConcurrentSet<>();
     }
@@ -97,7 +101,52 @@ public class StatefulRedisPubSubConnectionImpl<K, V> extends StatefulRedisConnec
      */
     @Override
     public void removeListener(RedisPubSubListener<K, V> listener) {
+
         listeners.remove(listener);
+
+        PubSubDispatcher<K, V> dispatcher = this.dispatcher;
+        if (dispatcher != null) {
+            dispatcher.remove(listener);
+        }
+    }
+
+    @Override
+    public void addRawListener(RawPubSubListener listener) {
+        rawListeners.add(listener);
+    }
+
+    @Override
+    public void removeRawListener(RawPubSubListener listener) {
+        rawListeners.remove(listener);
+    }
+
+    @Override
+    public void setOptions(ClientOptions clientOptions) {
+
+        super.setOptions(clientOptions);
+
+        PubSubOptions pubSubOptions = clientOptions.getPubSubOptions();
+
+        if (pubSubOptions.getDispatchMode() == PubSubOptions.DispatchMode.EXECUTOR
+                && getChannelWriter() instanceof PubSubCommandHandler) {
+
+            PubSubCommandHandler<K, V> handler = (PubSubCommandHandler<K, V>) getChannelWriter();
+            this.dispatcher = new PubSubDispatcher<>(pubSubOptions, handler.getClientResources().eventExecutorGroup(),
+                    new PubSubDispatcher.ReadControl() {
+
+                        @Override
+                        public void suspendReading() {
+                            handler.suspendReading();
+                        }
+
+                        @Override
+                        public void resumeReading() {
+                            handler.resumeReading();
+                        }
+                    });
+        } else {
+            this.dispatcher = null;
+        }
     }
 
     @Override
@@ -117,7 +166,7 @@ public class StatefulRedisPubSubConnectionImpl<K, V> extends StatefulRedisConnec
 
     @Override
     protected RedisPubSubCommands<K, V> newRedisSyncCommandsImpl() {
-        return syncHandler(async(), RedisConnection.class, RedisClusterConnection.class, RedisPubSubCommands.class);
+        return new RedisPubSubSyncCommandsImpl<>(this, (RedisPubSubAsyncCommandsImpl<K, V>) async);
     }
 
     @Override
@@ -136,11 +185,12 @@ public class StatefulRedisPubSubConnectionImpl<K, V> extends StatefulRedisConnec
         PubSubOutput<K, V, V> output = (PubSubOutput<K, V, V>) msg;
 
         // drop empty messages
-        if (output.type() == null || (output.pattern() == null && output.channel() == null && output.get() == null)) {
+        if (output.type() == null || output.isEmpty()) {
             return;
         }
 
         updateInternalState(output);
+        notifyRawListeners(output);
         notifyListeners(output);
     }
 
@@ -185,32 +235,30 @@ public class StatefulRedisPubSubConnectionImpl<K, V> extends StatefulRedisConnec
         return result;
     }
 
+    private void notifyRawListeners(PubSubOutput<K, V, V> output) {
+
+        if (rawListeners.isEmpty()
+                || (output.type() != PubSubOutput.Type.message && output.type() != PubSubOutput.Type.pmessage)) {
+            return;
+        }
+
+        for (RawPubSubListener listener : rawListeners) {
+            listener.message(output.rawPattern(), output.rawChannel(), output.rawMessage());
+        }
+    }
+
     protected void notifyListeners(PubSubOutput<K, V, V> output) {
 
+        PubSubDispatcher<K, V> dispatcher = this.dispatcher;
+
+        if (dispatcher != null) {
+            dispatcher.dispatch(listeners, output);
+            return;
+        }
+
         // update listeners
         for (RedisPubSubListener<K, V> listener : listeners) {
-            switch (output.type()) {
-                case message:
-                    listener.message(output.channel(), output.get());
-                    break;
-                case pmessage:
-                    listener.message(output.pattern(), output.channel(), output.get());
-                    break;
-                case psubscribe:
-                    listener.psubscribed(output.pattern(), output.count());
-                    break;
-                case punsubscribe:
-                    listener.punsubscribed(output.pattern(), output.count());
-                    break;
-                case subscribe:
-                    listener.subscribed(output.channel(), output.count());
-                    break;
-                case unsubscribe:
-                    listener.unsubscribed(output.channel(), output.count());
-                    break;
-                default:
-                    throw new UnsupportedOperationException("Operation " + output.type() + " not supported");
-            }
+            PubSubDispatcher.notify(listener, output);
         }
     }
 
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import com.lambdaworks.redis.api.StatefulConnection;
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.resource.ClientResources;
+
+/**
+ * Asynchronous connection pool support for {@link BoundedAsyncPool}. Connection pool creation requires a {@link Supplier}
+ * that creates Redis connections asynchronously. Other than {@link ConnectionPoolSupport}, connections are not wrapped:
+ * acquired connections must be returned to the pool with {@link BoundedAsyncPool#release(StatefulConnection)}.
+ * <p>
+ * The pool does not depend on commons-pool2. Borrowing and returning connections does not take locks and does not allocate
+ * connection proxies. Background tasks (warm-up, eviction, closing connections) are scheduled on
+ * {@link ClientResources#eventExecutorGroup()}.
+ * </p>
+ *
+ * <h2>Example usage</h2>
+ *
+ * <pre>
+ * // application initialization
+ * RedisClient client = RedisClient.create(RedisURI.create(host, port));
+ * ClientResources resources = client.getResources();
+ *
+ * BoundedAsyncPool&lt;StatefulRedisConnection&lt;String, String&gt;&gt; pool = AsyncConnectionPoolSupport.createBoundedObjectPool(
+ *         () -&gt; CompletableFuture.supplyAsync(client::connect, resources.eventExecutorGroup()),
+ *         BoundedPoolConfig.create(), resources);
+ *
+ * // executing work
+ * pool.acquire().thenCompose(connection -&gt; {
+ *     return connection.async().set("key", "value").whenComplete((s, throwable) -&gt; pool.release(connection));
+ * });
+ *
+ * // terminating
+ * pool.close();
+ * client.shutdown();
+ * </pre>
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public abstract class AsyncConnectionPoolSupport {
+
+    private AsyncConnectionPoolSupport() {
+    }
+
+    /**
+     * Creates a new {@link BoundedAsyncPool} using the {@link Supplier}. Connections are created on demand and warmed up
+     * according to {@link BoundedPoolConfig#getMinIdle()}.
+     *
+     * @param connectionSupplier must not be {@literal null}.
+     * @param config must not be {@literal null}.
+     * @param clientResources must not be {@literal null}.
+     * @param <T> connection type.
+     * @return the connection pool.
+     */
+    public static <T extends StatefulConnection<?, ?>> BoundedAsyncPool<T> createBoundedObjectPool(
+            Supplier<? extends CompletionStage<T>> connectionSupplier, BoundedPoolConfig config,
+            ClientResources clientResources) {
+
+        LettuceAssert.notNull(connectionSupplier, "Connection supplier must not be null");
+        LettuceAssert.notNull(config, "BoundedPoolConfig must not be null");
+        LettuceAssert.notNull(clientResources, "ClientResources must not be null");
+
+        return new BoundedAsyncPool<>(connectionSupplier, config, clientResources.eventExecutorGroup());
+    }
+}
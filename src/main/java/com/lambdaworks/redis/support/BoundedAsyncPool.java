@@ -0,0 +1,492 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support;
+
+import java.io.Closeable;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.lambdaworks.redis.api.StatefulConnection;
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Bounded, non-blocking pool of {@link StatefulConnection connections}. Connections are {@link #acquire() acquired}
+ * asynchronously and must be {@link #release(StatefulConnection) released} to the pool once they are no longer in use.
+ * Acquired connections are handed out as they are (without a proxy), {@link StatefulConnection#close() closing} an acquired
+ * connection closes the connection and removes it from the pool on release.
+ * <p>
+ * Idle connections are kept on a lock-free stack so the most recently used connection is reused first. {@link #acquire()}
+ * completes immediately with an idle connection, creates a new connection if the pool has not reached
+ * {@link BoundedPoolConfig#getMaxTotal() maxTotal} or waits until a connection is released. Idle connections are validated by
+ * checking whether they are {@link StatefulConnection#isOpen() open} (no round trip). Warm-up of
+ * {@link BoundedPoolConfig#getMinIdle() minIdle} connections, eviction and closing of connections are performed on the
+ * {@link com.lambdaworks.redis.resource.ClientResources#eventExecutorGroup() event executor group}.
+ * </p>
+ * <p>
+ * The pool tracks connections that are on loan. Releasing a connection that was not acquired from this pool or that was
+ * already released fails.
+ * </p>
+ *
+ * @param <T> connection type.
+ * @author Mark Paluch
+ * @since 4.5
+ * @see AsyncConnectionPoolSupport
+ */
+public class BoundedAsyncPool<T extends StatefulConnection<?, ?>> implements Closeable {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(BoundedAsyncPool.class);
+
+    private static final CompletableFuture<Void> COMPLETED = CompletableFuture.completedFuture(null);
+
+    private final Supplier<? extends CompletionStage<T>> connectionSupplier;
+    private final BoundedPoolConfig config;
+    private final EventExecutorGroup executor;
+    private final long idleTimeoutNanos;
+    private final long acquireTimeoutNanos;
+
+    private final Deque<Idle<T>> idle = new ConcurrentLinkedDeque<>();
+    private final Queue<CompletableFuture<T>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicInteger objectCount = new AtomicInteger();
+    private final AtomicInteger creating = new AtomicInteger();
+    private final Set<T> borrowed = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledFuture<?> evictionTask;
+    private volatile boolean closed;
+
+    BoundedAsyncPool(Supplier<? extends CompletionStage<T>> connectionSupplier, BoundedPoolConfig config,
+            EventExecutorGroup executor) {
+
+        LettuceAssert.notNull(connectionSupplier, "Connection supplier must not be null");
+        LettuceAssert.notNull(config, "BoundedPoolConfig must not be null");
+        LettuceAssert.notNull(executor, "EventExecutorGroup must not be null");
+
+        this.connectionSupplier = connectionSupplier;
+        this.config = config;
+        this.executor = executor;
+        this.idleTimeoutNanos = config.getIdleTimeoutUnit().toNanos(config.getIdleTimeout());
+        this.acquireTimeoutNanos = config.getAcquireTimeoutUnit().toNanos(config.getAcquireTimeout());
+
+        if (config.getMinIdle() > 0) {
+            executor.execute(this::replenish);
+        }
+
+        if (config.getEvictionInterval() > 0) {
+            this.evictionTask = executor.scheduleAtFixedRate(this::evict, config.getEvictionInterval(),
+                    config.getEvictionInterval(), config.getEvictionIntervalUnit());
+        } else {
+            this.evictionTask = null;
+        }
+    }
+
+    /**
+     * Acquire a connection. The returned future completes with an idle connection, a newly created connection or once a
+     * connection is released. Cancelling the future withdraws the request. The future completes exceptionally with
+     * {@link TimeoutException} if no connection becomes available within the
+     * {@link BoundedPoolConfig#getAcquireTimeout() acquire timeout}.
+     *
+     * @return future that completes with the acquired connection.
+     */
+    public CompletableFuture<T> acquire() {
+
+        if (closed) {
+            return failed(new IllegalStateException("Pool is closed"));
+        }
+
+        T object = pollIdle();
+        if (object != null) {
+            borrowed.add(object);
+            return CompletableFuture.completedFuture(object);
+        }
+
+        if (reserve()) {
+            return create();
+        }
+
+        CompletableFuture<T> waiter = new CompletableFuture<>();
+        pending.add(waiter);
+
+        if (acquireTimeoutNanos > 0) {
+            scheduleTimeout(waiter);
+        }
+
+        // a connection might have been released before the waiter was enqueued
+        drainPending();
+
+        return waiter;
+    }
+
+    /**
+     * Release a connection to the pool. The connection is handed to a pending {@link #acquire()} or retained as idle
+     * connection. Closed connections and connections that exceed {@link BoundedPoolConfig#getMaxIdle() maxIdle} are destroyed.
+     *
+     * @param object the connection to release, must not be {@literal null}.
+     * @return future that completes once the connection is released. The future completes exceptionally with
+     *         {@link IllegalStateException} if {@code object} is not on loan from this pool.
+     */
+    public CompletableFuture<Void> release(T object) {
+
+        LettuceAssert.notNull(object, "Connection must not be null");
+
+        if (!borrowed.remove(object)) {
+            return failed(new IllegalStateException("Connection " + object + " is not on loan from this pool"));
+        }
+
+        if (closed || !object.isOpen() || (config.isTestOnRelease() && !isHealthy(object))) {
+            destroy(object);
+            return COMPLETED;
+        }
+
+        CompletableFuture<T> waiter;
+        while ((waiter = pending.poll()) != null) {
+            if (handOut(waiter, object)) {
+                return COMPLETED;
+            }
+        }
+
+        if (idleCount.get() >= config.getMaxIdle()) {
+            destroy(object);
+            return COMPLETED;
+        }
+
+        pushIdle(object);
+
+        // a waiter might have been enqueued before the connection became idle
+        drainPending();
+
+        return COMPLETED;
+    }
+
+    /**
+     * Destroy all idle connections. Acquired connections remain valid.
+     */
+    public void clear() {
+
+        Idle<T> entry;
+        while ((entry = idle.pollFirst()) != null) {
+            idleCount.decrementAndGet();
+            destroy(entry.object);
+        }
+    }
+
+    /**
+     * Close the pool. Destroys idle connections, fails pending {@link #acquire()} requests and destroys acquired connections
+     * once they are released.
+     */
+    @Override
+    public void close() {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        if (evictionTask != null) {
+            evictionTask.cancel(false);
+        }
+
+        CompletableFuture<T> waiter;
+        while ((waiter = pending.poll()) != null) {
+            waiter.completeExceptionally(new IllegalStateException("Pool is closed"));
+        }
+
+        clear();
+    }
+
+    /**
+     * @return the pool configuration.
+     */
+    public BoundedPoolConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * @return number of idle connections.
+     */
+    public int getIdle() {
+        return idleCount.get();
+    }
+
+    /**
+     * @return number of connections (idle, acquired and in creation) that belong to this pool.
+     */
+    public int getObjectCount() {
+        return objectCount.get();
+    }
+
+    /**
+     * @return number of pending {@link #acquire()} requests.
+     */
+    public int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * Validate idle connections, destroy connections that exceeded the idle timeout and replenish idle connections.
+     */
+    void evict() {
+
+        if (closed) {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        // oldest entries first, removal by identity claims the entry against concurrent acquires
+        for (Iterator<Idle<T>> iterator = idle.descendingIterator(); iterator.hasNext();) {
+
+            Idle<T> entry = iterator.next();
+
+            boolean unhealthy = !isHealthy(entry.object);
+            boolean expired = idleTimeoutNanos > 0 && now - entry.since > idleTimeoutNanos
+                    && idleCount.get() > config.getMinIdle();
+
+            if ((unhealthy || expired) && idle.removeFirstOccurrence(entry)) {
+                idleCount.decrementAndGet();
+                destroy(entry.object);
+            }
+        }
+
+        replenish();
+    }
+
+    private void replenish() {
+
+        int missing = config.getMinIdle() - idleCount.get() - creating.get();
+
+        for (int i = 0; i < missing && !closed && reserve(); i++) {
+            create().whenComplete((object, throwable) -> {
+
+                if (throwable != null) {
+                    logger.warn("Cannot create connection", throwable);
+                } else {
+                    release(object);
+                }
+            });
+        }
+    }
+
+    private void drainPending() {
+
+        while (!pending.isEmpty()) {
+
+            T object = pollIdle();
+
+            if (object == null) {
+
+                if (!reserve()) {
+                    return;
+                }
+
+                CompletableFuture<T> waiter = pending.poll();
+                if (waiter == null) {
+                    objectCount.decrementAndGet();
+                    return;
+                }
+
+                create().whenComplete((created, throwable) -> {
+
+                    if (throwable != null) {
+                        waiter.completeExceptionally(throwable);
+                    } else if (!waiter.complete(created)) {
+                        release(created);
+                    }
+                });
+                continue;
+            }
+
+            CompletableFuture<T> waiter;
+            do {
+                waiter = pending.poll();
+            } while (waiter != null && !handOut(waiter, object));
+
+            if (waiter == null) {
+                pushIdle(object);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Complete {@code waiter} with {@code object} and mark the object as borrowed.
+     *
+     * @return {@literal true} if {@code waiter} was completed with {@code object}.
+     */
+    private boolean handOut(CompletableFuture<T> waiter, T object) {
+
+        borrowed.add(object);
+
+        if (waiter.complete(object)) {
+            return true;
+        }
+
+        borrowed.remove(object);
+        return false;
+    }
+
+    private void scheduleTimeout(CompletableFuture<T> waiter) {
+
+        ScheduledFuture<?> timeout = executor.schedule(() -> {
+
+            if (waiter.completeExceptionally(new TimeoutException("Cannot acquire a connection within "
+                    + config.getAcquireTimeout() + " " + config.getAcquireTimeoutUnit()))) {
+                pending.remove(waiter);
+            }
+        }, acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+
+        waiter.whenComplete((object, throwable) -> timeout.cancel(false));
+    }
+
+    private T pollIdle() {
+
+        Idle<T> entry;
+        while ((entry = idle.pollFirst()) != null) {
+
+            idleCount.decrementAndGet();
+
+            if (!config.isTestOnAcquire() || isHealthy(entry.object)) {
+                return entry.object;
+            }
+
+            destroy(entry.object);
+        }
+
+        return null;
+    }
+
+    private void pushIdle(T object) {
+
+        idleCount.incrementAndGet();
+        idle.offerFirst(new Idle<>(object, idleTimeoutNanos > 0 ? System.nanoTime() : 0));
+    }
+
+    private boolean reserve() {
+
+        for (;;) {
+
+            int count = objectCount.get();
+            if (count >= config.getMaxTotal()) {
+                return false;
+            }
+
+            if (objectCount.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Create a new connection. Requires a {@link #reserve() reservation}.
+     */
+    private CompletableFuture<T> create() {
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletionStage<T> stage;
+
+        creating.incrementAndGet();
+
+        try {
+            stage = connectionSupplier.get();
+        } catch (RuntimeException e) {
+            creating.decrementAndGet();
+            objectCount.decrementAndGet();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        stage.whenComplete((object, throwable) -> {
+
+            creating.decrementAndGet();
+
+            if (throwable != null) {
+                objectCount.decrementAndGet();
+                result.completeExceptionally(throwable);
+                drainPending();
+                return;
+            }
+
+            if (closed) {
+                destroy(object);
+                result.completeExceptionally(new IllegalStateException("Pool is closed"));
+                return;
+            }
+
+            borrowed.add(object);
+
+            if (!result.complete(object)) {
+                release(object);
+            }
+        });
+
+        return result;
+    }
+
+    private void destroy(T object) {
+
+        objectCount.decrementAndGet();
+
+        // closing awaits the channel close and must not run on an event loop
+        try {
+            executor.execute(() -> close(object));
+        } catch (RejectedExecutionException e) {
+            close(object);
+        }
+    }
+
+    private static void close(StatefulConnection<?, ?> object) {
+
+        try {
+            object.close();
+        } catch (RuntimeException e) {
+            logger.warn("Cannot close connection " + object, e);
+        }
+    }
+
+    private static boolean isHealthy(StatefulConnection<?, ?> object) {
+        return object.isOpen();
+    }
+
+    private static <T> CompletableFuture<T> failed(Exception e) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    /**
+     * Idle connection along with the time it became idle.
+     */
+    static class Idle<T> {
+
+        final T object;
+        final long since;
+
+        Idle(T object, long since) {
+            this.object = object;
+            this.since = since;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support;
+
+import java.util.concurrent.TimeUnit;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+/**
+ * Configuration for {@link BoundedAsyncPool}. The pool is bounded by {@link #getMaxTotal() the total number of objects} and
+ * retains up to {@link #getMaxIdle() maxIdle} idle objects. Idle objects are validated with a local health check (no round
+ * trip) on acquire and evicted in the background once they exceed the {@link #getIdleTimeout() idle timeout}.
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class BoundedPoolConfig {
+
+    public static final int DEFAULT_MAX_TOTAL = 8;
+    public static final int DEFAULT_MAX_IDLE = 8;
+    public static final int DEFAULT_MIN_IDLE = 0;
+    public static final boolean DEFAULT_TEST_ON_ACQUIRE = true;
+    public static final boolean DEFAULT_TEST_ON_RELEASE = false;
+    public static final long DEFAULT_EVICTION_INTERVAL = 30;
+    public static final TimeUnit DEFAULT_EVICTION_INTERVAL_UNIT = TimeUnit.SECONDS;
+    public static final long DEFAULT_IDLE_TIMEOUT = 30;
+    public static final TimeUnit DEFAULT_IDLE_TIMEOUT_UNIT = TimeUnit.MINUTES;
+    public static final long DEFAULT_ACQUIRE_TIMEOUT = 0;
+    public static final TimeUnit DEFAULT_ACQUIRE_TIMEOUT_UNIT = TimeUnit.SECONDS;
+
+    private final int maxTotal;
+    private final int maxIdle;
+    private final int minIdle;
+    private final boolean testOnAcquire;
+    private final boolean testOnRelease;
+    private final long evictionInterval;
+    private final TimeUnit evictionIntervalUnit;
+    private final long idleTimeout;
+    private final TimeUnit idleTimeoutUnit;
+    private final long acquireTimeout;
+    private final TimeUnit acquireTimeoutUnit;
+
+    protected BoundedPoolConfig(Builder builder) {
+
+        this.maxTotal = builder.maxTotal;
+        this.maxIdle = builder.maxIdle;
+        this.minIdle = builder.minIdle;
+        this.testOnAcquire = builder.testOnAcquire;
+        this.testOnRelease = builder.testOnRelease;
+        this.evictionInterval = builder.evictionInterval;
+        this.evictionIntervalUnit = builder.evictionIntervalUnit;
+        this.idleTimeout = builder.idleTimeout;
+        this.idleTimeoutUnit = builder.idleTimeoutUnit;
+        this.acquireTimeout = builder.acquireTimeout;
+        this.acquireTimeoutUnit = builder.acquireTimeoutUnit;
+    }
+
+    /**
+     * Returns a new {@link BoundedPoolConfig.Builder} to construct {@link BoundedPoolConfig}.
+     *
+     * @return a new {@link BoundedPoolConfig.Builder} to construct {@link BoundedPoolConfig}.
+     */
+    public static BoundedPoolConfig.Builder builder() {
+        return new BoundedPoolConfig.Builder();
+    }
+
+    /**
+     * Create a new instance of {@link BoundedPoolConfig} with default settings.
+     *
+     * @return a new instance of {@link BoundedPoolConfig} with default settings.
+     */
+    public static BoundedPoolConfig create() {
+        return builder().build();
+    }
+
+    /**
+     * Builder for {@link BoundedPoolConfig}.
+     */
+    public static class Builder {
+
+        private int maxTotal = DEFAULT_MAX_TOTAL;
+        private int maxIdle = DEFAULT_MAX_IDLE;
+        private int minIdle = DEFAULT_MIN_IDLE;
+        private boolean testOnAcquire = DEFAULT_TEST_ON_ACQUIRE;
+        private boolean testOnRelease = DEFAULT_TEST_ON_RELEASE;
+        private long evictionInterval = DEFAULT_EVICTION_INTERVAL;
+        private TimeUnit evictionIntervalUnit = DEFAULT_EVICTION_INTERVAL_UNIT;
+        private long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+        private TimeUnit idleTimeoutUnit = DEFAULT_IDLE_TIMEOUT_UNIT;
+        private long acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+        private TimeUnit acquireTimeoutUnit = DEFAULT_ACQUIRE_TIMEOUT_UNIT;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximal number of objects (idle and in use) the pool can hold. Defaults to {@literal 8}. See
+         * {@link #DEFAULT_MAX_TOTAL}.
+         *
+         * @param maxTotal maximal number of objects, must be greater {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder maxTotal(int maxTotal) {
+
+            LettuceAssert.isTrue(maxTotal > 0, "Max total must be greater 0");
+            this.maxTotal = maxTotal;
+            return this;
+        }
+
+        /**
+         * Sets the maximal number of idle objects. Objects that are released while the pool holds {@code maxIdle} idle objects
+         * are destroyed. Defaults to {@literal 8}. See {@link #DEFAULT_MAX_IDLE}.
+         *
+         * @param maxIdle maximal number of idle objects, must be greater or equal to {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder maxIdle(int maxIdle) {
+
+            LettuceAssert.isTrue(maxIdle >= 0, "Max idle must be greater or equal to 0");
+            this.maxIdle = maxIdle;
+            return this;
+        }
+
+        /**
+         * Sets the number of idle objects the pool creates on startup and retains during eviction. Defaults to {@literal 0}.
+         * See {@link #DEFAULT_MIN_IDLE}.
+         *
+         * @param minIdle minimal number of idle objects, must be greater or equal to {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder minIdle(int minIdle) {
+
+            LettuceAssert.isTrue(minIdle >= 0, "Min idle must be greater or equal to 0");
+            this.minIdle = minIdle;
+            return this;
+        }
+
+        /**
+         * Enables validation of idle objects before they are handed out. Validation checks whether the connection is open and
+         * does not involve a round trip. Defaults to {@literal true}. See {@link #DEFAULT_TEST_ON_ACQUIRE}.
+         *
+         * @param testOnAcquire {@literal true} to validate objects on acquire.
+         * @return {@code this}
+         */
+        public Builder testOnAcquire(boolean testOnAcquire) {
+
+            this.testOnAcquire = testOnAcquire;
+            return this;
+        }
+
+        /**
+         * Enables validation of objects when they are released. Defaults to {@literal false}. See
+         * {@link #DEFAULT_TEST_ON_RELEASE}.
+         *
+         * @param testOnRelease {@literal true} to validate objects on release.
+         * @return {@code this}
+         */
+        public Builder testOnRelease(boolean testOnRelease) {
+
+            this.testOnRelease = testOnRelease;
+            return this;
+        }
+
+        /**
+         * Sets the interval of the background task that validates and evicts idle objects and replenishes
+         * {@link #minIdle(int) minIdle} objects. The task runs on the {@link com.lambdaworks.redis.resource.ClientResources#eventExecutorGroup()
+         * event executor group}. Defaults to {@literal 30 SECONDS}. See {@link #DEFAULT_EVICTION_INTERVAL} and
+         * {@link #DEFAULT_EVICTION_INTERVAL_UNIT}.
+         *
+         * @param evictionInterval the interval, {@literal 0} disables the background task.
+         * @param evictionIntervalUnit unit for {@code evictionInterval}, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder evictionInterval(long evictionInterval, TimeUnit evictionIntervalUnit) {
+
+            LettuceAssert.isTrue(evictionInterval >= 0, "Eviction interval must be greater or equal to 0");
+            LettuceAssert.notNull(evictionIntervalUnit, "TimeUnit must not be null");
+
+            this.evictionInterval = evictionInterval;
+            this.evictionIntervalUnit = evictionIntervalUnit;
+            return this;
+        }
+
+        /**
+         * Sets the time an object may remain idle before it is eligible for eviction. Defaults to {@literal 30 MINUTES}. See
+         * {@link #DEFAULT_IDLE_TIMEOUT} and {@link #DEFAULT_IDLE_TIMEOUT_UNIT}.
+         *
+         * @param idleTimeout the idle timeout, {@literal 0} disables eviction of healthy objects.
+         * @param idleTimeoutUnit unit for {@code idleTimeout}, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder idleTimeout(long idleTimeout, TimeUnit idleTimeoutUnit) {
+
+            LettuceAssert.isTrue(idleTimeout >= 0, "Idle timeout must be greater or equal to 0");
+            LettuceAssert.notNull(idleTimeoutUnit, "TimeUnit must not be null");
+
+            this.idleTimeout = idleTimeout;
+            this.idleTimeoutUnit = idleTimeoutUnit;
+            return this;
+        }
+
+        /**
+         * Sets the maximal time an acquire waits for an object to become available if the pool is exhausted. Acquires that do
+         * not obtain an object in time complete exceptionally with {@link java.util.concurrent.TimeoutException}. Defaults to
+         * {@literal 0} (wait until an object is released). See {@link #DEFAULT_ACQUIRE_TIMEOUT} and
+         * {@link #DEFAULT_ACQUIRE_TIMEOUT_UNIT}.
+         *
+         * @param acquireTimeout the acquire timeout, {@literal 0} disables the timeout.
+         * @param acquireTimeoutUnit unit for {@code acquireTimeout}, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder acquireTimeout(long acquireTimeout, TimeUnit acquireTimeoutUnit) {
+
+            LettuceAssert.isTrue(acquireTimeout >= 0, "Acquire timeout must be greater or equal to 0");
+            LettuceAssert.notNull(acquireTimeoutUnit, "TimeUnit must not be null");
+
+            this.acquireTimeout = acquireTimeout;
+            this.acquireTimeoutUnit = acquireTimeoutUnit;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link BoundedPoolConfig}
+         *
+         * @return new instance of {@link BoundedPoolConfig}
+         */
+        public BoundedPoolConfig build() {
+
+            LettuceAssert.isTrue(minIdle <= maxTotal, "Min idle must be less or equal to max total");
+            return new BoundedPoolConfig(this);
+        }
+    }
+
+    /**
+     * @return maximal number of objects.
+     */
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    /**
+     * @return maximal number of idle objects.
+     */
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    /**
+     * @return minimal number of idle objects.
+     */
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    /**
+     * @return {@literal true} if objects are validated on acquire.
+     */
+    public boolean isTestOnAcquire() {
+        return testOnAcquire;
+    }
+
+    /**
+     * @return {@literal true} if objects are validated on release.
+     */
+    public boolean isTestOnRelease() {
+        return testOnRelease;
+    }
+
+    /**
+     * @return interval of the eviction task.
+     */
+    public long getEvictionInterval() {
+        return evictionInterval;
+    }
+
+    /**
+     * @return unit for {@link #getEvictionInterval()}.
+     */
+    public TimeUnit getEvictionIntervalUnit() {
+        return evictionIntervalUnit;
+    }
+
+    /**
+     * @return idle timeout.
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * @return unit for {@link #getIdleTimeout()}.
+     */
+    public TimeUnit getIdleTimeoutUnit() {
+        return idleTimeoutUnit;
+    }
+
+    /**
+     * @return acquire timeout.
+     */
+    public long getAcquireTimeout() {
+        return acquireTimeout;
+    }
+
+    /**
+     * @return unit for {@link #getAcquireTimeout()}.
+     */
+    public TimeUnit getAcquireTimeoutUnit() {
+        return acquireTimeoutUnit;
+    }
+}
@@ -0,0 +1,647 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support.caching;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.ToIntBiFunction;
+
+import com.google.common.cache.CacheBuilder;
+import com.lambdaworks.redis.*;
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.internal.LettuceAssert;
+import com.lambdaworks.redis.pubsub.RedisPubSubAdapter;
+import com.lambdaworks.redis.pubsub.StatefulRedisPubSubConnection;
+
+import io.netty.util.internal.logging.InternalLogger;
+import io.netty.util.internal.logging.InternalLoggerFactory;
+
+/**
+ * Bounded in-process cache in front of {@code GET}, {@code MGET}, {@code HGET} and {@code HGETALL}. Cached keys are
+ * invalidated through a dedicated Pub/Sub connection that listens to keyspace notifications ({@code __keyspace@<db>__:*}) of
+ * the database selected in {@link RedisURI}. Concurrent misses for the same key (or hash field) share a single in-flight
+ * command.
+ * <p>
+ * Keyspace notifications must be enabled on the server for keyspace events of all affected commands, e.g.
+ * {@code CONFIG SET notify-keyspace-events KA}. Keys must implement value-based {@link Object#equals(Object)} and
+ * {@link Object#hashCode()} (e.g. {@link String}). Reads bypass the cache while the Pub/Sub connection is disconnected; the
+ * cache is cleared on disconnect and once the subscription is reestablished. Note that {@code FLUSHDB} and {@code FLUSHALL}
+ * do not emit keyspace notifications, call {@link #invalidateAll()} after flushing.
+ * </p>
+ * <p>
+ * {@link NearCache} is thread-safe. Close it once it is no longer used to release its connections.
+ * </p>
+ *
+ * @param <K> Key type.
+ * @param <V> Value type.
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class NearCache<K, V> implements Closeable {
+
+    private static final InternalLogger logger = InternalLoggerFactory.getInstance(NearCache.class);
+
+    private static final Object NULL = new Object();
+
+    private final RedisClient client;
+    private final RedisCodec<K, V> codec;
+    private final StatefulRedisConnection<K, V> connection;
+    private final StatefulRedisPubSubConnection<byte[], byte[]> pubSubConnection;
+    private final ToIntBiFunction<Object, Object> weigher;
+    private final ConcurrentMap<K, Object> cache;
+    private final byte[] channelPrefix;
+    private final byte[] pattern;
+    private final Listener listener = new Listener();
+
+    private volatile boolean subscribed;
+
+    private NearCache(RedisClient client, RedisCodec<K, V> codec, StatefulRedisConnection<K, V> connection,
+            StatefulRedisPubSubConnection<byte[], byte[]> pubSubConnection, int database, NearCacheOptions options) {
+
+        this.client = client;
+        this.codec = codec;
+        this.connection = connection;
+        this.pubSubConnection = pubSubConnection;
+        this.weigher = options.getWeigher();
+        this.channelPrefix = ("__keyspace@" + database + "__:").getBytes(StandardCharsets.US_ASCII);
+        this.pattern = ("__keyspace@" + database + "__:*").getBytes(StandardCharsets.US_ASCII);
+
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder();
+
+        if (options.getMaximumWeight() > 0) {
+            builder = builder.maximumWeight(options.getMaximumWeight()).weigher(this::weigh);
+        } else {
+            builder = builder.maximumSize(options.getMaximumSize());
+        }
+
+        if (options.getExpireAfterWrite() > 0) {
+            builder.expireAfterWrite(options.getExpireAfterWrite(), options.getExpireAfterWriteUnit());
+        }
+
+        this.cache = builder.<K, Object> build().asMap();
+    }
+
+    /**
+     * Create a new {@link NearCache} using default {@link NearCacheOptions}. Opens a connection to run commands and a Pub/Sub
+     * connection to receive keyspace notifications.
+     *
+     * @param client the client, must not be {@literal null}.
+     * @param codec Use this codec to encode/decode keys and values, must not be {@literal null}.
+     * @param redisURI the Redis server to connect to, must not be {@literal null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link NearCache}.
+     */
+    public static <K, V> NearCache<K, V> create(RedisClient client, RedisCodec<K, V> codec, RedisURI redisURI) {
+        return create(client, codec, redisURI, NearCacheOptions.create());
+    }
+
+    /**
+     * Create a new {@link NearCache}. Opens a connection to run commands and a Pub/Sub connection to receive keyspace
+     * notifications.
+     *
+     * @param client the client, must not be {@literal null}.
+     * @param codec Use this codec to encode/decode keys and values, must not be {@literal null}.
+     * @param redisURI the Redis server to connect to, must not be {@literal null}.
+     * @param options the cache options, must not be {@literal null}.
+     * @param <K> Key type.
+     * @param <V> Value type.
+     * @return the {@link NearCache}.
+     */
+    public static <K, V> NearCache<K, V> create(RedisClient client, RedisCodec<K, V> codec, RedisURI redisURI,
+            NearCacheOptions options) {
+
+        LettuceAssert.notNull(client, "RedisClient must not be null");
+        LettuceAssert.notNull(codec, "RedisCodec must not be null");
+        LettuceAssert.notNull(redisURI, "RedisURI must not be null");
+        LettuceAssert.notNull(options, "NearCacheOptions must not be null");
+
+        StatefulRedisConnection<K, V> connection = client.connect(codec, redisURI);
+        StatefulRedisPubSubConnection<byte[], byte[]> pubSubConnection;
+
+        try {
+            pubSubConnection = client.connectPubSub(ByteArrayCodec.INSTANCE, redisURI);
+        } catch (RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+
+        NearCache<K, V> nearCache = new NearCache<>(client, codec, connection, pubSubConnection, redisURI.getDatabase(),
+                options);
+
+        try {
+            nearCache.subscribe();
+        } catch (RuntimeException e) {
+            nearCache.close();
+            throw e;
+        }
+
+        return nearCache;
+    }
+
+    private void subscribe() {
+
+        client.addListener(listener);
+        pubSubConnection.addListener(listener);
+        pubSubConnection.sync().psubscribe(pattern);
+        subscribed = true;
+    }
+
+    /**
+     * Get the value of a key.
+     *
+     * @param key the key, must not be {@literal null}.
+     * @return V bulk-string-reply the value of {@code key}, or {@literal null} when {@code key} does not exist.
+     */
+    public V get(K key) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+
+        while (subscribed) {
+
+            Object entry = cache.get(key);
+
+            if (entry instanceof CachedValue) {
+                return unwrap(((CachedValue) entry).value);
+            }
+
+            if (entry instanceof Pending) {
+                return unwrap(await((Pending) entry));
+            }
+
+            if (entry != null) {
+                // hash
+                break;
+            }
+
+            Pending pending = new Pending();
+            if (cache.putIfAbsent(key, pending) == null) {
+                load(key, pending);
+                return unwrap(await(pending));
+            }
+        }
+
+        return connection.sync().get(key);
+    }
+
+    /**
+     * Get the values of all the given keys.
+     *
+     * @param keys the keys, must not be {@literal null}.
+     * @return List&lt;V&gt; array-reply list of values at the specified keys.
+     */
+    public List<V> mget(K... keys) {
+
+        LettuceAssert.notNull(keys, "Keys must not be null");
+
+        if (!subscribed) {
+            return connection.sync().mget(keys);
+        }
+
+        Object[] values = new Object[keys.length];
+        List<K> loadKeys = new ArrayList<>();
+        List<Pending> loads = new ArrayList<>();
+
+        for (int i = 0; i < keys.length; i++) {
+
+            K key = keys[i];
+            LettuceAssert.notNull(key, "Key must not be null");
+
+            while (values[i] == null) {
+
+                Object entry = cache.get(key);
+
+                if (entry instanceof CachedValue) {
+                    values[i] = ((CachedValue) entry).value;
+                } else if (entry instanceof Pending) {
+                    values[i] = entry;
+                } else {
+
+                    Pending pending = new Pending();
+
+                    // hashes are fetched but not cached
+                    if (entry != null || cache.putIfAbsent(key, pending) == null) {
+                        loadKeys.add(key);
+                        loads.add(pending);
+                        values[i] = pending;
+                    }
+                }
+            }
+        }
+
+        if (!loadKeys.isEmpty()) {
+            load(loadKeys, loads);
+        }
+
+        List<V> result = new ArrayList<>(keys.length);
+        for (Object value : values) {
+            result.add(unwrap(value instanceof Pending ? await((Pending) value) : value));
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the value of a hash field.
+     *
+     * @param key the key, must not be {@literal null}.
+     * @param field the field type: key, must not be {@literal null}.
+     * @return V bulk-string-reply the value associated with {@code field}, or {@literal null} when {@code field} is not
+     *         present in the hash or {@code key} does not exist.
+     */
+    @SuppressWarnings("unchecked")
+    public V hget(K key, K field) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+        LettuceAssert.notNull(field, "Field must not be null");
+
+        while (subscribed) {
+
+            HashEntry hash = getHash(key);
+
+            if (hash == null) {
+                break;
+            }
+
+            Object all = hash.all;
+            if (all instanceof Map) {
+                return ((Map<K, V>) all).get(field);
+            }
+
+            Object value = hash.fields.get(field);
+
+            if (value instanceof Pending) {
+                return unwrap(await((Pending) value));
+            }
+
+            if (value != null) {
+                return unwrap(value);
+            }
+
+            Pending pending = new Pending();
+            if (hash.fields.putIfAbsent(field, pending) == null) {
+
+                connection.async().hget(key, field).whenComplete((result, throwable) -> {
+
+                    if (throwable != null) {
+                        hash.fields.remove(field, pending);
+                    } else {
+                        Object wrapped = wrap(result);
+                        synchronized (hash) {
+                            if (hash.fields.replace(field, pending, wrapped)) {
+                                hash.weight += weigh(field, wrapped);
+                            }
+                        }
+                        reweigh(key, hash);
+                    }
+
+                    complete(pending, result, throwable);
+                });
+
+                return unwrap(await(pending));
+            }
+        }
+
+        return connection.sync().hget(key, field);
+    }
+
+    /**
+     * Get all the fields and values in a hash.
+     *
+     * @param key the key, must not be {@literal null}.
+     * @return Map&lt;K,V&gt; array-reply list of fields and their values stored in the hash, or an empty map when {@code key}
+     *         does not exist. The map cannot be modified.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<K, V> hgetall(K key) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+
+        while (subscribed) {
+
+            HashEntry hash = getHash(key);
+
+            if (hash == null) {
+                break;
+            }
+
+            Object all = hash.all;
+
+            if (all instanceof Map) {
+                return (Map<K, V>) all;
+            }
+
+            if (all instanceof Pending) {
+                return (Map<K, V>) await((Pending) all);
+            }
+
+            Pending pending = new Pending();
+            boolean owner;
+            synchronized (hash) {
+                owner = hash.all == null;
+                if (owner) {
+                    hash.all = pending;
+                }
+            }
+
+            if (owner) {
+
+                connection.async().hgetall(key).whenComplete((result, throwable) -> {
+
+                    Map<K, V> map = result != null ? Collections.unmodifiableMap(result) : null;
+
+                    synchronized (hash) {
+                        if (hash.all == pending) {
+                            if (throwable != null) {
+                                hash.all = null;
+                            } else {
+                                hash.all = map;
+                                for (Map.Entry<K, V> entry : map.entrySet()) {
+                                    hash.weight += weigh(entry.getKey(), entry.getValue());
+                                }
+                            }
+                        }
+                    }
+
+                    if (throwable == null) {
+                        reweigh(key, hash);
+                    }
+
+                    complete(pending, map, throwable);
+                });
+
+                return (Map<K, V>) await(pending);
+            }
+        }
+
+        return Collections.unmodifiableMap(connection.sync().hgetall(key));
+    }
+
+    /**
+     * Remove {@code key} from the cache.
+     *
+     * @param key the key, must not be {@literal null}.
+     */
+    public void invalidate(K key) {
+
+        LettuceAssert.notNull(key, "Key must not be null");
+
+        cache.remove(key);
+    }
+
+    /**
+     * Remove all keys from the cache.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    /**
+     * @return the number of cached keys including keys that are currently loaded.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * @return the connection used to run commands.
+     */
+    public StatefulRedisConnection<K, V> getConnection() {
+        return connection;
+    }
+
+    /**
+     * Unsubscribe from keyspace notifications, clear the cache and close the connections.
+     */
+    @Override
+    public void close() {
+
+        subscribed = false;
+        client.removeListener(listener);
+        pubSubConnection.removeListener(listener);
+        cache.clear();
+
+        pubSubConnection.close();
+        connection.close();
+    }
+
+    private HashEntry getHash(K key) {
+
+        Object entry = cache.get(key);
+
+        if (entry == null) {
+
+            HashEntry hash = new HashEntry();
+            entry = cache.putIfAbsent(key, hash);
+
+            if (entry == null) {
+                return hash;
+            }
+        }
+
+        return entry instanceof HashEntry ? (HashEntry) entry : null;
+    }
+
+    private void load(K key, Pending pending) {
+
+        connection.async().get(key).whenComplete((result, throwable) -> {
+
+            if (throwable != null) {
+                cache.remove(key, pending);
+            } else {
+                cache.replace(key, pending, new CachedValue(wrap(result)));
+            }
+
+            complete(pending, result, throwable);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load(List<K> keys, List<Pending> pendings) {
+
+        connection.async().mget(keys.toArray((K[]) new Object[keys.size()])).whenComplete((result, throwable) -> {
+
+            for (int i = 0; i < keys.size(); i++) {
+
+                K key = keys.get(i);
+                Pending pending = pendings.get(i);
+                V value = throwable == null ? result.get(i) : null;
+
+                if (throwable != null) {
+                    cache.remove(key, pending);
+                } else {
+                    cache.replace(key, pending, new CachedValue(wrap(value)));
+                }
+
+                complete(pending, value, throwable);
+            }
+        });
+    }
+
+    /**
+     * Update the weight of {@code hash} if it is still cached.
+     */
+    private void reweigh(K key, HashEntry hash) {
+        cache.replace(key, hash, hash);
+    }
+
+    private static void complete(Pending pending, Object result, Throwable throwable) {
+
+        if (throwable != null) {
+            pending.completeExceptionally(throwable);
+        } else {
+            pending.complete(wrap(result));
+        }
+    }
+
+    private Object await(Pending pending) {
+
+        long timeout = connection.getTimeout();
+        TimeUnit unit = connection.getTimeoutUnit();
+
+        try {
+            return pending.get(timeout, unit);
+        } catch (TimeoutException e) {
+            throw ExceptionFactory.createTimeoutException(timeout, unit);
+        } catch (ExecutionException e) {
+
+            if (e.getCause() instanceof RedisCommandExecutionException) {
+                throw ExceptionFactory.createExecutionException(e.getCause().getMessage(), e.getCause());
+            }
+
+            throw new RedisException(e.getCause());
+        } catch (InterruptedException e) {
+
+            Thread.currentThread().interrupt();
+            throw new RedisCommandInterruptedException(e);
+        }
+    }
+
+    private int weigh(Object key, Object entry) {
+
+        if (entry instanceof Pending) {
+            return 0;
+        }
+
+        if (entry instanceof HashEntry) {
+            return ((HashEntry) entry).weight;
+        }
+
+        Object value = entry instanceof CachedValue ? ((CachedValue) entry).value : entry;
+
+        if (weigher == null || value == NULL || value == null) {
+            return 1;
+        }
+
+        return Math.max(0, weigher.applyAsInt(key, value));
+    }
+
+    private static Object wrap(Object value) {
+        return value == null ? NULL : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unwrap(Object value) {
+        return value == NULL ? null : (T) value;
+    }
+
+    private K decodeKey(byte[] channel) {
+
+        if (channel.length < channelPrefix.length) {
+            return null;
+        }
+
+        for (int i = 0; i < channelPrefix.length; i++) {
+            if (channel[i] != channelPrefix[i]) {
+                return null;
+            }
+        }
+
+        return codec.decodeKey(ByteBuffer.wrap(Arrays.copyOfRange(channel, channelPrefix.length, channel.length)));
+    }
+
+    /**
+     * Cached string value, {@link #NULL} represents a non-existent key.
+     */
+    static class CachedValue {
+
+        final Object value;
+
+        CachedValue(Object value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Cached hash. Holds either individual fields or all fields once {@code HGETALL} was loaded. Mutations are guarded by
+     * the entry itself.
+     */
+    static class HashEntry {
+
+        final ConcurrentMap<Object, Object> fields = new ConcurrentHashMap<>();
+        volatile Object all;
+        volatile int weight = 1;
+    }
+
+    /**
+     * In-flight command shared by all readers of the same key or hash field.
+     */
+    static class Pending extends CompletableFuture<Object> {
+    }
+
+    class Listener extends RedisPubSubAdapter<byte[], byte[]> implements RedisConnectionStateListener {
+
+        @Override
+        public void message(byte[] pattern, byte[] channel, byte[] message) {
+
+            K key = decodeKey(channel);
+
+            if (key != null) {
+                cache.remove(key);
+            }
+        }
+
+        @Override
+        public void psubscribed(byte[] pattern, long count) {
+
+            if (Arrays.equals(NearCache.this.pattern, pattern)) {
+                cache.clear();
+                subscribed = true;
+            }
+        }
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+
+            if (connection == pubSubConnection) {
+
+                logger.debug("Keyspace notification connection disconnected, bypassing near cache until resubscribed");
+
+                subscribed = false;
+                cache.clear();
+            }
+        }
+
+        @Override
+        public void onRedisExceptionCaught(RedisChannelHandler<?, ?> connection, Throwable cause) {
+        }
+    }
+}
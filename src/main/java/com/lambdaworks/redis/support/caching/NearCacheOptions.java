@@ -0,0 +1,184 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support.caching;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntBiFunction;
+
+import com.lambdaworks.redis.internal.LettuceAssert;
+
+/**
+ * Options to configure a {@link NearCache}. The cache is bounded either by {@link #getMaximumSize() the number of cached
+ * keys} or by {@link #getMaximumWeight() the total weight} of cached values.
+ *
+ * @author Mark Paluch
+ * @since 4.5
+ */
+public class NearCacheOptions {
+
+    public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+    public static final long DEFAULT_EXPIRE_AFTER_WRITE = 0;
+    public static final TimeUnit DEFAULT_EXPIRE_AFTER_WRITE_UNIT = TimeUnit.SECONDS;
+
+    private final long maximumSize;
+    private final long maximumWeight;
+    private final ToIntBiFunction<Object, Object> weigher;
+    private final long expireAfterWrite;
+    private final TimeUnit expireAfterWriteUnit;
+
+    protected NearCacheOptions(Builder builder) {
+
+        this.maximumSize = builder.maximumSize;
+        this.maximumWeight = builder.maximumWeight;
+        this.weigher = builder.weigher;
+        this.expireAfterWrite = builder.expireAfterWrite;
+        this.expireAfterWriteUnit = builder.expireAfterWriteUnit;
+    }
+
+    /**
+     * Returns a new {@link NearCacheOptions.Builder} to construct {@link NearCacheOptions}.
+     *
+     * @return a new {@link NearCacheOptions.Builder} to construct {@link NearCacheOptions}.
+     */
+    public static NearCacheOptions.Builder builder() {
+        return new NearCacheOptions.Builder();
+    }
+
+    /**
+     * Create a new {@link NearCacheOptions} using default settings.
+     *
+     * @return a new instance of default near cache options.
+     */
+    public static NearCacheOptions create() {
+        return builder().build();
+    }
+
+    /**
+     * Builder for {@link NearCacheOptions}.
+     */
+    public static class Builder {
+
+        private long maximumSize = DEFAULT_MAXIMUM_SIZE;
+        private long maximumWeight = -1;
+        private ToIntBiFunction<Object, Object> weigher;
+        private long expireAfterWrite = DEFAULT_EXPIRE_AFTER_WRITE;
+        private TimeUnit expireAfterWriteUnit = DEFAULT_EXPIRE_AFTER_WRITE_UNIT;
+
+        private Builder() {
+        }
+
+        /**
+         * Bound the cache by the number of cached keys. A hash counts as a single key regardless of the number of cached
+         * fields. Defaults to {@literal 10000}. See {@link #DEFAULT_MAXIMUM_SIZE}. Replaces a previously configured
+         * {@link #maximumWeight(long, ToIntBiFunction) maximum weight}.
+         *
+         * @param maximumSize the maximal number of cached keys, must be greater {@literal 0}.
+         * @return {@code this}
+         */
+        public Builder maximumSize(long maximumSize) {
+
+            LettuceAssert.isTrue(maximumSize > 0, "Maximum size must be greater 0");
+
+            this.maximumSize = maximumSize;
+            this.maximumWeight = -1;
+            this.weigher = null;
+            return this;
+        }
+
+        /**
+         * Bound the cache by the total weight of cached values. The {@code weigher} is called with the key and the value of
+         * string values and with the field and the value of hash fields. {@literal null} values are not passed to the
+         * {@code weigher} and weigh {@literal 1}. Replaces a previously configured {@link #maximumSize(long) maximum size}.
+         *
+         * @param maximumWeight the maximal total weight, must be greater {@literal 0}.
+         * @param weigher function to calculate the weight of a key/value pair, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder maximumWeight(long maximumWeight, ToIntBiFunction<Object, Object> weigher) {
+
+            LettuceAssert.isTrue(maximumWeight > 0, "Maximum weight must be greater 0");
+            LettuceAssert.notNull(weigher, "Weigher must not be null");
+
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            this.maximumSize = -1;
+            return this;
+        }
+
+        /**
+         * Expire cached values after a fixed duration as safety net for lost keyspace notifications. Disabled ({@literal 0})
+         * by default. See {@link #DEFAULT_EXPIRE_AFTER_WRITE}.
+         *
+         * @param expireAfterWrite the duration after which values expire, must be greater or equal {@literal 0}.
+         *        {@literal 0} disables expiry.
+         * @param expireAfterWriteUnit unit for {@code expireAfterWrite}, must not be {@literal null}.
+         * @return {@code this}
+         */
+        public Builder expireAfterWrite(long expireAfterWrite, TimeUnit expireAfterWriteUnit) {
+
+            LettuceAssert.isTrue(expireAfterWrite >= 0, "Expire after write must be greater or equal 0");
+            LettuceAssert.notNull(expireAfterWriteUnit, "TimeUnit must not be null");
+
+            this.expireAfterWrite = expireAfterWrite;
+            this.expireAfterWriteUnit = expireAfterWriteUnit;
+            return this;
+        }
+
+        /**
+         * Create a new instance of {@link NearCacheOptions}
+         *
+         * @return new instance of {@link NearCacheOptions}
+         */
+        public NearCacheOptions build() {
+            return new NearCacheOptions(this);
+        }
+    }
+
+    /**
+     * @return the maximal number of cached keys or {@literal -1} if the cache is bounded by weight.
+     */
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the maximal total weight or {@literal -1} if the cache is bounded by size.
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * @return the weigher or {@literal null} if the cache is bounded by size.
+     */
+    public ToIntBiFunction<Object, Object> getWeigher() {
+        return weigher;
+    }
+
+    /**
+     * @return the duration after which cached values expire, {@literal 0} if values do not expire.
+     */
+    public long getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    /**
+     * @return unit for {@link #getExpireAfterWrite()}.
+     */
+    public TimeUnit getExpireAfterWriteUnit() {
+        return expireAfterWriteUnit;
+    }
+}
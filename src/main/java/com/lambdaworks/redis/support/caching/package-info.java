@@ -0,0 +1,4 @@
+/**
+ * Client-side caching with invalidation through keyspace notifications.
+ */
+package com.lambdaworks.redis.support.caching;
@@ -0,0 +1,438 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.apigenerator;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.visitor.VoidVisitorAdapter;
+import com.lambdaworks.redis.LettuceFutures;
+import com.lambdaworks.redis.RedisAsyncCommandsImpl;
+import com.lambdaworks.redis.RedisFuture;
+import com.lambdaworks.redis.RedisSyncCommandsImpl;
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.api.sync.RedisCommands;
+import com.lambdaworks.redis.pubsub.RedisPubSubAsyncCommandsImpl;
+import com.lambdaworks.redis.pubsub.StatefulRedisPubSubConnection;
+import com.lambdaworks.redis.pubsub.api.sync.RedisPubSubCommands;
+
+/**
+ * Create synchronous API implementations based on the synchronous API interfaces. Generated classes invoke the asynchronous
+ * API directly and await command completion without a reflective {@link java.lang.reflect.Proxy}. Generated subclasses only
+ * implement methods that are not implemented by their superclass.
+ *
+ * @author Mark Paluch
+ */
+@RunWith(Parameterized.class)
+public class CreateSyncApiImplementation {
+
+    private static final String HEADER = "/*\n" //
+            + " * Copyright 2011-2018 the original author or authors.\n" //
+            + " *\n" //
+            + " * Licensed under the Apache License, Version 2.0 (the \"License\");\n" //
+            + " * you may not use this file except in compliance with the License.\n" //
+            + " * You may obtain a copy of the License at\n" //
+            + " *\n" //
+            + " *      http://www.apache.org/licenses/LICENSE-2.0\n" //
+            + " *\n" //
+            + " * Unless required by applicable law or agreed to in writing, software\n" //
+            + " * distributed under the License is distributed on an \"AS IS\" BASIS,\n" //
+            + " * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.\n" //
+            + " * See the License for the specific language governing permissions and\n" //
+            + " * limitations under the License.\n" //
+            + " */\n";
+
+    private static final Set<String> TX_CONTROL_METHODS = new HashSet<>(Arrays.asList("exec", "multi", "discard"));
+
+    private final Class<?> api;
+    private final Class<?> superclass;
+    private final Class<?> asyncApi;
+    private final Class<?> connection;
+    private final String targetPackage;
+    private final String targetName;
+
+    private final Map<String, String> imports = new TreeMap<>();
+
+    @Parameterized.Parameters(name = "Create {1}")
+    public static List<Object[]> arguments() {
+
+        List<Object[]> result = new ArrayList<>();
+
+        result.add(new Object[] { RedisCommands.class, "com.lambdaworks.redis.RedisSyncCommandsImpl", Object.class,
+                RedisAsyncCommandsImpl.class, StatefulRedisConnection.class });
+        result.add(new Object[] { RedisPubSubCommands.class, "com.lambdaworks.redis.pubsub.RedisPubSubSyncCommandsImpl",
+                RedisSyncCommandsImpl.class, RedisPubSubAsyncCommandsImpl.class, StatefulRedisPubSubConnection.class });
+
+        return result;
+    }
+
+    /**
+     * @param api the synchronous API interface to implement.
+     * @param target fully qualified name of the generated class.
+     * @param superclass superclass of the generated class.
+     * @param asyncApi the asynchronous API implementation to call.
+     * @param connection the connection type.
+     */
+    public CreateSyncApiImplementation(Class<?> api, String target, Class<?> superclass, Class<?> asyncApi,
+            Class<?> connection) {
+
+        this.api = api;
+        this.superclass = superclass;
+        this.asyncApi = asyncApi;
+        this.connection = connection;
+        this.targetPackage = target.substring(0, target.lastIndexOf('.'));
+        this.targetName = target.substring(target.lastIndexOf('.') + 1);
+    }
+
+    @Test
+    public void createImplementation() throws Exception {
+
+        List<Method> methods = collectMethods();
+        StringBuilder body = new StringBuilder();
+
+        for (Method method : methods) {
+            body.append("\n");
+            body.append(createMethod(method));
+        }
+
+        String api = typeName(this.api);
+        String asyncApi = typeName(this.asyncApi);
+        String connection = typeName(this.connection);
+        String superclass = this.superclass == Object.class ? null : typeName(this.superclass);
+        String lettuceFutures = superclass == null ? typeName(LettuceFutures.class) : null;
+        String redisFuture = superclass == null ? typeName(RedisFuture.class) : null;
+
+        StringBuilder source = new StringBuilder();
+        source.append(HEADER);
+        source.append("package ").append(targetPackage).append(";\n\n");
+
+        List<String> importNames = imports.values().stream().filter(importName -> {
+            String importPackage = importName.substring(0, importName.lastIndexOf('.'));
+            return !importPackage.equals("java.lang") && !importPackage.equals(targetPackage);
+        }).sorted().collect(Collectors.toList());
+
+        appendImports(source, importNames.stream().filter(importName -> importName.startsWith("java.")));
+        appendImports(source, importNames.stream().filter(importName -> !importName.startsWith("java.")));
+        source.append("/**\n");
+        source.append(" * Synchronous executed commands. Implementation of {@link ").append(api)
+                .append("} that invokes {@link ").append(asyncApi).append("}\n");
+        source.append(" * and awaits command completion.\n");
+        source.append(" *\n");
+        source.append(" * @param <K> Key type.\n");
+        source.append(" * @param <V> Value type.\n");
+        source.append(" * @author Mark Paluch\n");
+        source.append(" * @since 4.5\n");
+        source.append(" * @generated by ").append(getClass().getName()).append("\n");
+        source.append(" */\n");
+        source.append("@SuppressWarnings(\"deprecation\")\n");
+        source.append("public class ").append(targetName).append("<K, V> ");
+        if (superclass != null) {
+            source.append("extends ").append(superclass).append("<K, V> ");
+        }
+        source.append("implements ").append(api).append("<K, V> {\n\n");
+
+        if (superclass == null) {
+            source.append("    private final ").append(connection).append("<K, V> connection;\n");
+        }
+        source.append("    private final ").append(asyncApi).append("<K, V> async;\n\n");
+
+        source.append("    public ").append(targetName).append("(").append(connection).append("<K, V> connection, ")
+                .append(asyncApi).append("<K, V> async) {\n");
+        if (superclass != null) {
+            source.append("        super(connection, async);\n");
+        } else {
+            source.append("        this.connection = connection;\n");
+        }
+        source.append("        this.async = async;\n");
+        source.append("    }\n");
+
+        if (superclass == null) {
+
+            source.append("\n");
+            source.append("    /**\n");
+            source.append("     * Await completion of a command. Commands issued within a transaction complete with {@literal null}.\n");
+            source.append("     */\n");
+            source.append("    protected <T> T await(").append(redisFuture).append("<T> future) {\n");
+            source.append("\n");
+            source.append("        if (connection.isMulti()) {\n");
+            source.append("            return null;\n");
+            source.append("        }\n");
+            source.append("\n");
+            source.append("        return awaitOrCancel(future);\n");
+            source.append("    }\n");
+            source.append("\n");
+            source.append("    /**\n");
+            source.append("     * Await completion of a command regardless of the transaction state.\n");
+            source.append("     */\n");
+            source.append("    protected <T> T awaitOrCancel(").append(redisFuture).append("<T> future) {\n");
+            source.append("        return ").append(lettuceFutures)
+                    .append(".awaitOrCancel(future, connection.getTimeout(), connection.getTimeoutUnit());\n");
+            source.append("    }\n");
+        }
+
+        source.append(body);
+        source.append("}\n");
+
+        File target = new File(Constants.SOURCES, targetPackage.replace('.', '/') + "/" + targetName + ".java");
+        try (FileOutputStream fos = new FileOutputStream(target)) {
+            fos.write(source.toString().getBytes());
+        }
+    }
+
+    private static void appendImports(StringBuilder source, Stream<String> importNames) {
+
+        List<String> lines = importNames.map(importName -> "import " + importName + ";\n").collect(Collectors.toList());
+
+        if (!lines.isEmpty()) {
+            lines.forEach(source::append);
+            source.append("\n");
+        }
+    }
+
+    /**
+     * Collect abstract methods of the API that require an implementation. Methods that are declared by multiple interfaces are
+     * implemented once, using the declaration with the most specific return type.
+     */
+    private List<Method> collectMethods() {
+
+        Map<String, Method> methods = new TreeMap<>();
+
+        for (Method method : api.getMethods()) {
+
+            if (!Modifier.isAbstract(method.getModifiers())) {
+                continue;
+            }
+
+            String key = method.getName() + Arrays.toString(method.getParameterTypes());
+            Method existing = methods.get(key);
+
+            if (existing == null || existing.getReturnType().isAssignableFrom(method.getReturnType())) {
+                methods.put(key, method);
+            }
+        }
+
+        return methods.values().stream().filter(this::requiresImplementation).collect(Collectors.toList());
+    }
+
+    private boolean requiresImplementation(Method method) {
+
+        try {
+            Method implemented = superclass.getMethod(method.getName(), method.getParameterTypes());
+            return Modifier.isAbstract(implemented.getModifiers())
+                    || !method.getReturnType().isAssignableFrom(implemented.getReturnType());
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    private String createMethod(Method method) throws Exception {
+
+        Method target = asyncApi.getMethod(method.getName(), method.getParameterTypes());
+        List<String> parameterNames = getParameterNames(method);
+
+        StringBuilder builder = new StringBuilder();
+        builder.append("    @Override\n");
+        builder.append("    public ");
+
+        if (method.getTypeParameters().length > 0) {
+            builder.append(Arrays.stream(method.getTypeParameters()).map(this::typeParameter)
+                    .collect(Collectors.joining(", ", "<", "> ")));
+        }
+
+        builder.append(typeName(method.getGenericReturnType())).append(" ").append(method.getName()).append("(");
+
+        Type[] parameterTypes = method.getGenericParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+
+            if (i > 0) {
+                builder.append(", ");
+            }
+
+            String type = typeName(parameterTypes[i]);
+            if (method.isVarArgs() && i == parameterTypes.length - 1) {
+                type = type.substring(0, type.length() - 2) + "...";
+            }
+
+            builder.append(type).append(" ").append(parameterNames.get(i));
+        }
+
+        builder.append(") {\n");
+
+        String invocation = "async." + method.getName() + "(" + String.join(", ", parameterNames) + ")";
+
+        if (RedisFuture.class.isAssignableFrom(target.getReturnType())) {
+            invocation = (TX_CONTROL_METHODS.contains(method.getName()) ? "awaitOrCancel(" : "await(") + invocation + ")";
+        }
+
+        builder.append("        ");
+        if (method.getReturnType() != void.class) {
+            builder.append("return ");
+        }
+
+        builder.append(invocation).append(";\n");
+        builder.append("    }\n");
+
+        return builder.toString();
+    }
+
+    private String typeParameter(TypeVariable<?> typeVariable) {
+
+        Type[] bounds = typeVariable.getBounds();
+
+        if (bounds.length == 1 && bounds[0] == Object.class) {
+            return typeVariable.getName();
+        }
+
+        return typeVariable.getName() + " extends "
+                + Arrays.stream(bounds).map(this::typeName).collect(Collectors.joining(" & "));
+    }
+
+    private String typeName(Type type) {
+
+        if (type instanceof Class) {
+
+            Class<?> cls = (Class<?>) type;
+
+            if (cls.isArray()) {
+                return typeName(cls.getComponentType()) + "[]";
+            }
+
+            if (cls.isPrimitive()) {
+                return cls.getName();
+            }
+
+            if (cls.getEnclosingClass() != null) {
+                return typeName(cls.getEnclosingClass()) + "." + cls.getSimpleName();
+            }
+
+            String existing = imports.putIfAbsent(cls.getSimpleName(), cls.getName());
+            if (existing != null && !existing.equals(cls.getName())) {
+                return cls.getName();
+            }
+
+            return cls.getSimpleName();
+        }
+
+        if (type instanceof ParameterizedType) {
+
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            return typeName(parameterizedType.getRawType())
+                    + Arrays.stream(parameterizedType.getActualTypeArguments()).map(this::typeName)
+                            .collect(Collectors.joining(", ", "<", ">"));
+        }
+
+        if (type instanceof GenericArrayType) {
+            return typeName(((GenericArrayType) type).getGenericComponentType()) + "[]";
+        }
+
+        if (type instanceof WildcardType) {
+
+            WildcardType wildcardType = (WildcardType) type;
+
+            if (wildcardType.getLowerBounds().length > 0) {
+                return "? super " + typeName(wildcardType.getLowerBounds()[0]);
+            }
+
+            if (wildcardType.getUpperBounds()[0] != Object.class) {
+                return "? extends " + typeName(wildcardType.getUpperBounds()[0]);
+            }
+
+            return "?";
+        }
+
+        if (type instanceof TypeVariable) {
+            return ((TypeVariable<?>) type).getName();
+        }
+
+        throw new IllegalArgumentException("Unsupported type " + type);
+    }
+
+    /**
+     * Look up parameter names from the source of the declaring interface.
+     */
+    private static List<String> getParameterNames(Method method) throws Exception {
+
+        File source = new File(Constants.SOURCES, method.getDeclaringClass().getName().replace('.', '/') + ".java");
+        CompilationUnit compilationUnit = JavaParser.parse(source);
+        List<List<String>> candidates = new ArrayList<>();
+
+        new VoidVisitorAdapter<Object>() {
+
+            @Override
+            public void visit(MethodDeclaration declaration, Object arg) {
+
+                if (!declaration.getName().equals(method.getName())
+                        || declaration.getParameters().size() != method.getParameterCount()) {
+                    return;
+                }
+
+                for (int i = 0; i < method.getParameterCount(); i++) {
+
+                    Parameter parameter = declaration.getParameters().get(i);
+                    String type = erasure(parameter.getType().toString()) + (parameter.isVarArgs() ? "[]" : "");
+
+                    if (!type.equals(erasure(method, method.getParameterTypes()[i]))) {
+                        return;
+                    }
+                }
+
+                candidates.add(declaration.getParameters().stream().map(p -> p.getId().getName())
+                        .collect(Collectors.toList()));
+            }
+        }.visit(compilationUnit, null);
+
+        if (candidates.size() != 1) {
+            throw new IllegalStateException("Cannot determine parameter names of " + method);
+        }
+
+        return candidates.get(0);
+    }
+
+    private static String erasure(String type) {
+
+        String erased = type.replaceAll("<.*>", "");
+        String arrays = "";
+
+        while (erased.endsWith("[]")) {
+            erased = erased.substring(0, erased.length() - 2);
+            arrays += "[]";
+        }
+
+        erased = erased.substring(erased.lastIndexOf('.') + 1);
+
+        if (erased.length() == 1 && Character.isUpperCase(erased.charAt(0))) {
+            erased = "Object";
+        }
+
+        return erased + arrays;
+    }
+
+    private static String erasure(Method method, Class<?> type) {
+        return type.isArray() ? erasure(method, type.getComponentType()) + "[]" : type.getSimpleName();
+    }
+}
@@ -68,6 +68,10 @@ public class ClientOptionsTest extends AbstractRedisClientTest {
         assertThat(sut.isPingBeforeActivateConnection()).isEqualTo(false);
         assertThat(sut.isSuspendReconnectOnProtocolFailure()).isEqualTo(false);
         assertThat(sut.getDisconnectedBehavior()).isEqualTo(ClientOptions.DisconnectedBehavior.DEFAULT);
+        assertThat(sut.getTimeoutOptions().isTimeoutCommands()).isEqualTo(false);
+        assertThat(sut.isCoalesceReads()).isEqualTo(false);
+        assertThat(sut.isSuspendReadingWithoutDemand()).isEqualTo(false);
+        assertThat(sut.getPubSubOptions().getDispatchMode()).isEqualTo(PubSubOptions.DispatchMode.IO_THREAD);
     }
 
     @Test
@@ -87,6 +91,56 @@ public class ClientOptionsTest extends AbstractRedisClientTest {
         connection.close();
     }
 
+    @Test
+    public void coalesceReads() throws Exception {
+
+        client.setOptions(ClientOptions.builder().coalesceReads(true).build());
+
+        StatefulRedisConnection<String, String> connection = client.connect();
+        RedisAsyncCommands<String, String> async = connection.async();
+
+        connection.sync().set(key, value);
+        connection.sync().configResetstat();
+
+        connection.setAutoFlushCommands(false);
+
+        RedisFuture<String> first = async.get(key);
+        RedisFuture<String> second = async.get(key);
+        async.set(key, "other");
+        RedisFuture<String> third = async.get(key);
+
+        connection.flushCommands();
+        connection.setAutoFlushCommands(true);
+
+        assertThat(first.get()).isEqualTo(value);
+        assertThat(second.get()).isEqualTo(value);
+        assertThat(third.get()).isEqualTo("other");
+
+        assertThat(connection.sync().info("commandstats")).contains("cmdstat_get:calls=2");
+
+        connection.close();
+    }
+
+    @Test
+    public void timeoutExpiresCommands() throws Exception {
+
+        client.setOptions(ClientOptions.builder()
+                .timeoutOptions(TimeoutOptions.builder().fixedTimeout(100, TimeUnit.MILLISECONDS)
+                        .timeout(CommandType.BLPOP, 0, TimeUnit.SECONDS).build())
+                .build());
+
+        StatefulRedisConnection<String, String> connection = client.connect();
+        RedisAsyncCommands<String, String> async = connection.async();
+
+        RedisFuture<KeyValue<String, String>> blpop = async.blpop(1, "unknown");
+        RedisFuture<String> ping = async.ping();
+
+        assertThatThrownBy(() -> ping.get(1, TimeUnit.SECONDS)).hasRootCauseInstanceOf(RedisCommandTimeoutException.class);
+        assertThat(blpop.get(2, TimeUnit.SECONDS)).isNull();
+
+        connection.close();
+    }
+
     @Test
     public void requestQueueSize() {
 
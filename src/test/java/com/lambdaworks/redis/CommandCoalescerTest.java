@@ -0,0 +1,75 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.codec.StringCodec;
+
+/**
+ * @author Mark Paluch
+ */
+public class CommandCoalescerTest {
+
+    private final RedisCommandBuilder<String, String> builder = new RedisCommandBuilder<>(StringCodec.UTF8);
+
+    @Test
+    public void shouldCoalesceReadCommands() {
+
+        assertThat(CommandCoalescer.isCoalescable(builder.get("key"))).isTrue();
+        assertThat(CommandCoalescer.isCoalescable(builder.hgetall("key"))).isTrue();
+        assertThat(CommandCoalescer.isCoalescable(builder.zrangeWithScores("key", 0, -1))).isTrue();
+    }
+
+    @Test
+    public void shouldNotCoalesceWriteCommands() {
+
+        assertThat(CommandCoalescer.isCoalescable(builder.set("key", "value"))).isFalse();
+        assertThat(CommandCoalescer.isCoalescable(builder.incr("key"))).isFalse();
+        assertThat(CommandCoalescer.isCoalescable(builder.multi())).isFalse();
+    }
+
+    @Test
+    public void shouldNotCoalesceNonDeterministicCommands() {
+
+        assertThat(CommandCoalescer.isCoalescable(builder.randomkey())).isFalse();
+        assertThat(CommandCoalescer.isCoalescable(builder.srandmember("key"))).isFalse();
+        assertThat(CommandCoalescer.isCoalescable(builder.time())).isFalse();
+        assertThat(CommandCoalescer.isCoalescable(builder.scan())).isFalse();
+    }
+
+    @Test
+    public void shouldNotCoalesceStreamingCommands() {
+
+        assertThat(CommandCoalescer.isCoalescable(builder.lrange(value -> {
+        }, "key", 0, -1))).isFalse();
+    }
+
+    @Test
+    public void keyShouldConsiderTypeOutputAndArguments() {
+
+        CommandCoalescer.Key key = new CommandCoalescer.Key(builder.get("key"));
+
+        assertThat(new CommandCoalescer.Key(builder.get("key"))).isEqualTo(key);
+        assertThat(new CommandCoalescer.Key(builder.get("key")).hashCode()).isEqualTo(key.hashCode());
+        assertThat(new CommandCoalescer.Key(builder.get("other"))).isNotEqualTo(key);
+        assertThat(new CommandCoalescer.Key(builder.strlen("key"))).isNotEqualTo(key);
+        assertThat(new CommandCoalescer.Key(builder.lrange("key", 0, -1)))
+                .isNotEqualTo(new CommandCoalescer.Key(builder.lrange("key", 0, 1)));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * @author Mark Paluch
+ */
+public class LettuceStringsTest {
+
+    @Test
+    public void toDoubleFromBytes() {
+
+        String[] numbers = { "0", "-0", "1", "-1", "4.567", "0.1", "-123.456", "1e+100", "1.5E-7", "0.10000000000000001",
+                "123456789012345", "1234567890123456789", "3.3333333333333335", ".5", "5." };
+
+        for (String number : numbers) {
+
+            ByteBuffer buffer = buffer(number);
+
+            assertThat(LettuceStrings.toDouble(buffer)).describedAs(number).isEqualTo(Double.parseDouble(number));
+            assertThat(buffer.hasRemaining()).isFalse();
+        }
+    }
+
+    @Test
+    public void toDoubleFromBytesShouldParseInfinity() {
+
+        assertThat(LettuceStrings.toDouble(buffer("inf"))).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(LettuceStrings.toDouble(buffer("+inf"))).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(LettuceStrings.toDouble(buffer("-inf"))).isEqualTo(Double.NEGATIVE_INFINITY);
+    }
+
+    @Test
+    public void toLongFromBytes() {
+
+        long[] numbers = { 0, 1, -1, 42, Long.MAX_VALUE, Long.MIN_VALUE };
+
+        for (long number : numbers) {
+
+            ByteBuffer buffer = buffer(Long.toString(number));
+
+            assertThat(LettuceStrings.toLong(buffer)).isEqualTo(number);
+            assertThat(buffer.hasRemaining()).isFalse();
+        }
+    }
+
+    @Test
+    public void toLongFromBytesShouldRejectInvalidNumbers() {
+
+        String[] numbers = { "", "-", "1.0", "abc", "9223372036854775808", "-9223372036854775809" };
+
+        for (String number : numbers) {
+            try {
+                LettuceStrings.toLong(buffer(number));
+                throw new AssertionError("Expected NumberFormatException for " + number);
+            } catch (NumberFormatException e) {
+                // expected
+            }
+        }
+    }
+
+    private static ByteBuffer buffer(String value) {
+        return ByteBuffer.wrap(value.getBytes());
+    }
+}
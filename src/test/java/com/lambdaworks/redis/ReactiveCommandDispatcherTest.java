@@ -0,0 +1,109 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import rx.observers.TestSubscriber;
+
+import com.lambdaworks.redis.ReactiveCommandDispatcher.BackpressureEmitter;
+
+/**
+ * @author Mark Paluch
+ */
+public class ReactiveCommandDispatcherTest {
+
+    private final TestSubscriber<String> subscriber = TestSubscriber.create(0);
+    private final BackpressureEmitter<String> emitter = new BackpressureEmitter<>(subscriber);
+    private final AtomicInteger requestMore = new AtomicInteger();
+
+    {
+        subscriber.setProducer(emitter);
+        emitter.setSource(requestMore::incrementAndGet);
+    }
+
+    @Test
+    public void shouldBufferElementsWithoutDemand() {
+
+        emitter.onNext("a");
+        emitter.onNext(null);
+        emitter.onNext("c");
+
+        assertThat(emitter.hasDemand()).isFalse();
+        subscriber.assertNoValues();
+
+        subscriber.requestMore(2);
+
+        subscriber.assertValues("a", null);
+        assertThat(emitter.hasDemand()).isFalse();
+        assertThat(requestMore).hasValue(0);
+
+        subscriber.requestMore(2);
+
+        subscriber.assertValues("a", null, "c");
+        assertThat(emitter.hasDemand()).isTrue();
+        assertThat(requestMore).hasValue(1);
+    }
+
+    @Test
+    public void shouldEmitDirectlyWithDemand() {
+
+        subscriber.requestMore(1);
+        emitter.onNext("a");
+
+        subscriber.assertValues("a");
+        assertThat(emitter.hasDemand()).isFalse();
+    }
+
+    @Test
+    public void shouldCompleteAfterBufferedElements() {
+
+        emitter.onNext("a");
+        emitter.onCompleted();
+
+        subscriber.assertNoTerminalEvent();
+
+        subscriber.requestMore(1);
+
+        subscriber.assertValues("a");
+        subscriber.assertCompleted();
+    }
+
+    @Test
+    public void shouldSignalErrorImmediately() {
+
+        emitter.onNext("a");
+        emitter.onError(new IllegalStateException());
+
+        subscriber.assertNoValues();
+        subscriber.assertError(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldResumeAfterUnsubscribe() {
+
+        emitter.onNext("a");
+        subscriber.unsubscribe();
+        emitter.cancel();
+
+        assertThat(emitter.hasDemand()).isTrue();
+        assertThat(requestMore).hasValue(1);
+    }
+}
@@ -18,6 +18,8 @@ package com.lambdaworks.redis;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assume.assumeTrue;
 
+import java.util.concurrent.TimeUnit;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -63,6 +65,33 @@ public class ReactiveStreamingOutputTest extends AbstractRedisClientTest {
         assertThat(subscriber.getOnNextEvents()).containsAll(KeysAndValues.KEYS);
     }
 
+    @Test
+    public void valueListCommandShouldEmitElementsOnDemand() {
+
+        String[] values = new String[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = "value-" + i;
+        }
+        redis.rpush(key, values);
+
+        TestSubscriber<String> subscriber = TestSubscriber.create(0);
+        reactive.lrange(key, 0, -1).subscribe(subscriber);
+
+        subscriber.requestMore(10);
+        subscriber.awaitValueCount(10, 5, TimeUnit.SECONDS);
+        subscriber.assertValueCount(10);
+        subscriber.assertNoTerminalEvent();
+
+        subscriber.requestMore(Long.MAX_VALUE);
+        subscriber.awaitTerminalEvent();
+
+        assertThat(subscriber.getOnNextEvents()).hasSize(values.length);
+
+        // connection resumed reading
+        assertThat(redis.ping()).isEqualTo("PONG");
+        assertThat(reactive.llen(key).toBlocking().single()).isEqualTo(values.length);
+    }
+
     @Test
     public void valueListCommandShouldReturnAllElements() {
 
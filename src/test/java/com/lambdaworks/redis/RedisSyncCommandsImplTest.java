@@ -0,0 +1,137 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lambdaworks.redis.api.sync.RedisCommands;
+import com.lambdaworks.redis.codec.StringCodec;
+import com.lambdaworks.redis.protocol.RedisCommand;
+import com.lambdaworks.redis.pubsub.RedisPubSubSyncCommandsImpl;
+import com.lambdaworks.redis.pubsub.StatefulRedisPubSubConnectionImpl;
+
+/**
+ * @author Mark Paluch
+ */
+public class RedisSyncCommandsImplTest {
+
+    private CompletingChannelWriter writer = new CompletingChannelWriter();
+    private StatefulRedisConnectionImpl<String, String> connection;
+
+    @Before
+    public void before() {
+        connection = new StatefulRedisConnectionImpl<>(writer, StringCodec.UTF8, 1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void syncApiShouldNotUseProxies() {
+
+        assertThat(connection.sync()).isInstanceOf(RedisSyncCommandsImpl.class);
+        assertThat(Proxy.isProxyClass(connection.sync().getClass())).isFalse();
+        assertThat(connection.sync().getStatefulConnection()).isSameAs(connection);
+    }
+
+    @Test
+    public void pubSubSyncApiShouldNotUseProxies() {
+
+        StatefulRedisPubSubConnectionImpl<String, String> pubSubConnection = new StatefulRedisPubSubConnectionImpl<>(writer,
+                StringCodec.UTF8, 1, TimeUnit.SECONDS);
+
+        assertThat(pubSubConnection.sync()).isInstanceOf(RedisPubSubSyncCommandsImpl.class);
+        assertThat(pubSubConnection.sync().getStatefulConnection()).isSameAs(pubSubConnection);
+    }
+
+    @Test
+    public void shouldAwaitCommandCompletion() {
+
+        RedisCommands<String, String> sync = connection.sync();
+
+        assertThat(sync.set("key", "value")).isEqualTo("OK");
+        assertThat(writer.written).hasSize(1);
+    }
+
+    @Test
+    public void commandsWithinTransactionShouldReturnNull() {
+
+        RedisCommands<String, String> sync = connection.sync();
+
+        assertThat(sync.multi()).isEqualTo("OK");
+        assertThat(sync.set("key", "value")).isNull();
+        assertThat(sync.discard()).isEqualTo("OK");
+
+        assertThat(sync.set("key", "value")).isEqualTo("OK");
+    }
+
+    @Test(expected = RedisCommandTimeoutException.class)
+    public void shouldTimeOut() {
+
+        writer.complete = false;
+        connection.setTimeout(10, TimeUnit.MILLISECONDS);
+
+        connection.sync().set("key", "value");
+    }
+
+    /**
+     * {@link RedisChannelWriter} that completes status commands with {@literal OK}.
+     */
+    static class CompletingChannelWriter implements RedisChannelWriter<String, String> {
+
+        final List<RedisCommand<String, String, ?>> written = new ArrayList<>();
+        boolean complete = true;
+
+        @Override
+        public <T, C extends RedisCommand<String, String, T>> C write(C command) {
+
+            written.add(command);
+
+            if (complete) {
+                command.getOutput().set(ByteBuffer.wrap("OK".getBytes()));
+                command.complete();
+            }
+
+            return command;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public void setRedisChannelHandler(RedisChannelHandler<String, String> redisChannelHandler) {
+        }
+
+        @Override
+        public void setAutoFlushCommands(boolean autoFlush) {
+        }
+
+        @Override
+        public void flushCommands() {
+        }
+    }
+}
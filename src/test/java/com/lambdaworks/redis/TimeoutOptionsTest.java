@@ -0,0 +1,79 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.codec.StringCodec;
+import com.lambdaworks.redis.output.StatusOutput;
+import com.lambdaworks.redis.protocol.Command;
+import com.lambdaworks.redis.protocol.CommandType;
+
+/**
+ * @author Mark Paluch
+ */
+public class TimeoutOptionsTest {
+
+    @Test
+    public void defaultsShouldNotTimeoutCommands() {
+
+        TimeoutOptions sut = TimeoutOptions.create();
+
+        assertThat(sut.isTimeoutCommands()).isFalse();
+        assertThat(sut.getSource()).isNull();
+    }
+
+    @Test
+    public void fixedTimeoutShouldApplyToAllCommands() {
+
+        TimeoutOptions sut = TimeoutOptions.enabled(5, TimeUnit.SECONDS);
+
+        assertThat(sut.isTimeoutCommands()).isTrue();
+        assertThat(timeoutOf(sut, CommandType.GET)).isEqualTo(TimeUnit.SECONDS.toMillis(5));
+        assertThat(timeoutOf(sut, CommandType.BLPOP)).isEqualTo(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Test
+    public void commandTypeTimeoutShouldOverrideFixedTimeout() {
+
+        TimeoutOptions sut = TimeoutOptions.builder().fixedTimeout(1, TimeUnit.SECONDS)
+                .timeout(CommandType.BLPOP, 1, TimeUnit.MINUTES).build();
+
+        assertThat(timeoutOf(sut, CommandType.GET)).isEqualTo(TimeUnit.SECONDS.toMillis(1));
+        assertThat(timeoutOf(sut, CommandType.BLPOP)).isEqualTo(TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    public void enabledWithoutTimeoutShouldUseDefaultTimeout() {
+
+        TimeoutOptions sut = TimeoutOptions.builder().timeoutCommands(true).build();
+
+        assertThat(timeoutOf(sut, CommandType.GET)).isEqualTo(
+                TimeoutOptions.DEFAULT_TIMEOUT_UNIT.toMillis(TimeoutOptions.DEFAULT_TIMEOUT));
+    }
+
+    private static long timeoutOf(TimeoutOptions options, CommandType type) {
+
+        TimeoutOptions.TimeoutSource source = options.getSource();
+        Command<String, String, String> command = new Command<>(type, new StatusOutput<>(StringCodec.UTF8));
+
+        return source.getTimeUnit().toMillis(source.getTimeout(command));
+    }
+}
@@ -39,6 +39,13 @@ import com.lambdaworks.redis.cluster.api.sync.RedisAdvancedClusterCommands;
 import com.lambdaworks.redis.cluster.api.sync.RedisClusterCommands;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.codec.StringCodec;
+import com.lambdaworks.redis.output.StatusOutput;
+import com.lambdaworks.redis.output.ValueOutput;
+import com.lambdaworks.redis.protocol.Command;
+import com.lambdaworks.redis.protocol.CommandArgs;
+import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.RedisCommand;
 
 /**
  * @author Mark Paluch
@@ -224,6 +231,33 @@ public class AdvancedClusterClientTest extends AbstractClusterTest {
         assertThat(result).isEqualTo(expectation);
     }
 
+    @Test
+    public void dispatchBatchCrossSlot() throws Exception {
+
+        List<String> keys = new ArrayList<>();
+        List<RedisCommand<String, String, ?>> batch = new ArrayList<>();
+
+        for (char c = 'a'; c < 'z'; c++) {
+
+            String key = new String(new char[] { c, c, c });
+            keys.add(key);
+
+            batch.add(new Command<>(CommandType.SET, new StatusOutput<>(StringCodec.UTF8), new CommandArgs<>(
+                    StringCodec.UTF8).addKey(key).addValue("value-" + key)));
+            batch.add(new Command<>(CommandType.GET, new ValueOutput<>(StringCodec.UTF8), new CommandArgs<>(StringCodec.UTF8)
+                    .addKey(key)));
+        }
+
+        List<Object> result = commands.dispatch(batch).get();
+
+        assertThat(result).hasSize(batch.size());
+
+        for (int i = 0; i < keys.size(); i++) {
+            assertThat(result.get(i * 2)).isEqualTo("OK");
+            assertThat(result.get(i * 2 + 1)).isEqualTo("value-" + keys.get(i));
+        }
+    }
+
     @Test
     public void delRegular() throws Exception {
 
@@ -581,6 +615,43 @@ public class AdvancedClusterClientTest extends AbstractClusterTest {
 
     }
 
+    @Test
+    public void parallelClusterScan() throws Exception {
+
+        RedisAdvancedClusterCommands<String, String> sync = commands.getStatefulConnection().sync();
+        sync.mset(KeysAndValues.MAP);
+
+        Set<String> allKeys = new HashSet<>();
+
+        KeyScanCursor<String> scanCursor = commands.parallelScan(ScanCursor.INITIAL, null, 2).get();
+        allKeys.addAll(scanCursor.getKeys());
+
+        while (!scanCursor.isFinished()) {
+
+            // resume using the textual cursor
+            scanCursor = commands.parallelScan(ScanCursor.of(scanCursor.getCursor()), ScanArgs.Builder.limit(100), 2).get();
+            allKeys.addAll(scanCursor.getKeys());
+        }
+
+        assertThat(allKeys).containsAll(KeysAndValues.KEYS);
+    }
+
+    @Test
+    public void parallelClusterScanStreaming() throws Exception {
+
+        RedisAdvancedClusterCommands<String, String> sync = commands.getStatefulConnection().sync();
+        sync.mset(KeysAndValues.MAP);
+
+        ListStreamingAdapter<String> adapter = new ListStreamingAdapter<>();
+
+        StreamScanCursor scanCursor = null;
+        do {
+            scanCursor = commands.parallelScan(adapter, scanCursor == null ? ScanCursor.INITIAL : scanCursor, null, 3).get();
+        } while (!scanCursor.isFinished());
+
+        assertThat(adapter.getList()).containsAll(KeysAndValues.KEYS);
+    }
+
     @Test
     public void clusterScanStreaming() throws Exception {
 
@@ -368,6 +368,18 @@ public class AdvancedClusterReactiveTest extends AbstractClusterTest {
 
     }
 
+    @Test
+    public void parallelClusterScan() throws Exception {
+
+        RedisAdvancedClusterCommands<String, String> sync = commands.getStatefulConnection().sync();
+        sync.mset(KeysAndValues.MAP);
+
+        List<String> keys = commands.parallelScan(ScanCursor.INITIAL, ScanArgs.Builder.limit(100), 2).toList().toBlocking()
+                .single();
+
+        assertThat(keys).containsAll(KeysAndValues.KEYS);
+    }
+
     @Test
     public void clusterScanStreaming() throws Exception {
 
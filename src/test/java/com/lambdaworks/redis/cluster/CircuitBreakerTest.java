@@ -0,0 +1,131 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.RedisCommandTimeoutException;
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+import com.lambdaworks.redis.output.StatusOutput;
+import com.lambdaworks.redis.protocol.AsyncCommand;
+import com.lambdaworks.redis.protocol.Command;
+import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.RedisCommand;
+
+/**
+ * @author Mark Paluch
+ */
+public class CircuitBreakerTest {
+
+    @Test
+    public void shouldOpenAfterFailureRateExceeded() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(CircuitBreakerOptions.builder().enabled(true)
+                .minimumNumberOfCommands(4).failureRateThreshold(0.5).build());
+
+        circuitBreaker.admit(command()).complete();
+        circuitBreaker.admit(command()).complete();
+        circuitBreaker.admit(command()).completeExceptionally(new RedisCommandTimeoutException());
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        circuitBreaker.admit(command()).completeExceptionally(new RedisCommandTimeoutException());
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.admit(command())).isNull();
+        assertThat(circuitBreaker.getInFlight()).isZero();
+    }
+
+    @Test
+    public void shouldShedLoad() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(CircuitBreakerOptions.builder().enabled(true)
+                .maxInFlightCommands(2).build());
+
+        RedisCommand<String, String, String> first = circuitBreaker.admit(command());
+        RedisCommand<String, String, String> second = circuitBreaker.admit(command());
+
+        assertThat(circuitBreaker.admit(command())).isNull();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        first.complete();
+
+        assertThat(circuitBreaker.admit(command())).isNotNull();
+        assertThat(second).isNotNull();
+    }
+
+    @Test
+    public void shouldCloseAfterSuccessfulProbe() {
+
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+
+        RedisCommand<String, String, String> probe = circuitBreaker.admit(command());
+
+        assertThat(probe).isNotNull();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.admit(command())).isNull();
+
+        probe.complete();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.isIdle()).isTrue();
+    }
+
+    @Test
+    public void shouldReopenAfterFailedProbe() {
+
+        CircuitBreaker circuitBreaker = openCircuitBreaker();
+
+        circuitBreaker.admit(command()).completeExceptionally(new RedisCommandTimeoutException());
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    public void shouldReportOutcomeOnce() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(CircuitBreakerOptions.builder().enabled(true)
+                .minimumNumberOfCommands(1).build());
+
+        RedisCommand<String, String, String> command = circuitBreaker.admit(command());
+
+        command.complete();
+        command.completeExceptionally(new RedisCommandTimeoutException());
+        command.cancel();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.getInFlight()).isZero();
+    }
+
+    private static CircuitBreaker openCircuitBreaker() {
+
+        CircuitBreaker circuitBreaker = new CircuitBreaker(CircuitBreakerOptions.builder().enabled(true)
+                .minimumNumberOfCommands(1).openDuration(0, TimeUnit.MILLISECONDS).build());
+
+        circuitBreaker.admit(command()).completeExceptionally(new RedisCommandTimeoutException());
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        return circuitBreaker;
+    }
+
+    private static RedisCommand<String, String, String> command() {
+        return new AsyncCommand<>(new Command<>(CommandType.GET, new StatusOutput<>(new Utf8StringCodec())));
+    }
+}
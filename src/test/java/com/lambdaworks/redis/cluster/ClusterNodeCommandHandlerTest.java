@@ -111,7 +111,7 @@ public class ClusterNodeCommandHandlerTest {
 
         when(clientOptions.isAutoReconnect()).thenReturn(true);
         queue.add(command);
-        when(clusterChannelWriter.write(any())).thenThrow(new RedisException("meh"));
+        when(clusterChannelWriter.write(any(RedisCommand.class))).thenThrow(new RedisException("meh"));
 
         sut.close();
 
@@ -165,7 +165,7 @@ public class ClusterNodeCommandHandlerTest {
         when(clientOptions.getDisconnectedBehavior()).thenReturn(ClientOptions.DisconnectedBehavior.ACCEPT_COMMANDS);
         sut = new ClusterNodeCommandHandler(clientOptions, clientResources, clusterChannelWriter);
         sut.write(command);
-        when(clusterChannelWriter.write(any())).thenThrow(new RedisException(""));
+        when(clusterChannelWriter.write(any(RedisCommand.class))).thenThrow(new RedisException(""));
 
         sut.close();
 
@@ -19,6 +19,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.junit.Assert.assertThat;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +31,8 @@ import com.lambdaworks.redis.RedisURI;
 import com.lambdaworks.redis.cluster.models.partitions.ClusterPartitionParser;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.codec.StringCodec;
+import com.lambdaworks.redis.output.PartitionsOutput;
 import com.lambdaworks.redis.internal.LettuceLists;
 
 public class ClusterPartitionParserTest {
@@ -80,6 +84,36 @@ public class ClusterPartitionParserTest {
         assertThat(result.toString()).contains(Partitions.class.getSimpleName());
     }
 
+    @Test
+    public void shouldParseNodesFromDirectBuffer() throws Exception {
+
+        byte[] bytes = nodesWithBusPort.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length + 2);
+        buffer.put((byte) '$').put((byte) '\n').put(bytes).flip().position(2);
+
+        Partitions result = ClusterPartitionParser.parse(buffer);
+
+        assertThat(result.getPartitions()).hasSize(4);
+        assertThat(buffer.position()).isEqualTo(2);
+
+        RedisClusterNode p4 = result.getPartitions().get(3);
+
+        assertThat(p4.getNodeId()).isEqualTo("5f4a2236d00008fba7ac0dd24b95762b446767bd");
+        assertThat(p4.getUri().getPort()).isEqualTo(7382);
+        assertThat(p4.getSlaveOf()).isEqualTo("3d005a179da7d8dc1adae6409d47b39c369e992b");
+        assertThat(result.getPartitionBySlot(12000).getNodeId()).isEqualTo("3d005a179da7d8dc1adae6409d47b39c369e992b");
+    }
+
+    @Test
+    public void shouldParseNodesUsingPartitionsOutput() throws Exception {
+
+        PartitionsOutput<String, String> output = new PartitionsOutput<>(StringCodec.UTF8);
+        output.set(ByteBuffer.wrap(nodes.getBytes(StandardCharsets.US_ASCII)));
+
+        assertThat(output.get().getPartitions()).hasSize(4);
+        assertThat(output.get().getPartitionBySlot(8000).getNodeId()).isEqualTo("3d005a179da7d8dc1adae6409d47b39c369e992b");
+    }
+
     @Test
     public void shouldParseNodesWithBusPort() throws Exception {
 
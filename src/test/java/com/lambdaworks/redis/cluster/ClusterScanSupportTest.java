@@ -0,0 +1,130 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.KeyScanCursor;
+import com.lambdaworks.redis.ScanCursor;
+import com.lambdaworks.redis.StreamScanCursor;
+
+/**
+ * @author Mark Paluch
+ */
+public class ClusterScanSupportTest {
+
+    @Test
+    public void shouldSelectFirstNodes() {
+
+        Map<String, String> nodeCursors = nodeCursors("a", "0", "b", "0", "c", "0");
+
+        assertThat(ClusterScanSupport.selectNodes(nodeCursors, 2)).containsExactly("a", "b");
+        assertThat(ClusterScanSupport.selectNodes(nodeCursors, 5)).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    public void shouldMergeKeyScanCursors() {
+
+        Map<String, String> nodeCursors = nodeCursors("a", "0", "b", "0", "c", "0");
+        Map<String, KeyScanCursor<String>> results = new LinkedHashMap<>();
+        results.put("a", keyScanCursor("0", true, "k1", "k2"));
+        results.put("b", keyScanCursor("17", false, "k3"));
+
+        KeyScanCursor<String> merged = ClusterScanSupport.<String> parallelKeyScanCursorMerger().merge(nodeCursors, results);
+
+        assertThat(merged.getKeys()).containsExactly("k1", "k2", "k3");
+        assertThat(merged.isFinished()).isFalse();
+        assertThat(merged.getCursor()).isEqualTo("b:17,c:0");
+        assertThat(((ClusterScanSupport.ParallelClusterScanCursor) merged).getNodeCursors()).containsKeys("b", "c");
+
+        // source state remains unchanged
+        assertThat(nodeCursors).hasSize(3);
+    }
+
+    @Test
+    public void shouldMergeStreamScanCursors() {
+
+        Map<String, String> nodeCursors = nodeCursors("a", "5", "b", "6");
+        Map<String, StreamScanCursor> results = new LinkedHashMap<>();
+        results.put("a", streamScanCursor(2));
+        results.put("b", streamScanCursor(3));
+
+        StreamScanCursor merged = ClusterScanSupport.parallelStreamScanCursorMerger().merge(nodeCursors, results);
+
+        assertThat(merged.getCount()).isEqualTo(5);
+        assertThat(merged.isFinished()).isTrue();
+        assertThat(merged.getCursor()).isEqualTo("0");
+    }
+
+    @Test
+    public void shouldDecodeCursor() {
+
+        Map<String, String> nodeCursors = ClusterScanSupport.decodeNodeCursors("b:17,c:0");
+
+        assertThat(nodeCursors).containsEntry("b", "17").containsEntry("c", "0");
+        assertThat(nodeCursors.keySet()).containsExactly("b", "c");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNodeCursor() {
+        ClusterScanSupport.getNodeCursors(null, ScanCursor.of("17"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMalformedCursor() {
+        ClusterScanSupport.decodeNodeCursors("b:17,c:");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectFinishedCursor() {
+
+        ScanCursor cursor = new ScanCursor("0", true);
+        ClusterScanSupport.getNodeCursors(null, cursor);
+    }
+
+    private static Map<String, String> nodeCursors(String... nodeIdAndCursor) {
+
+        Map<String, String> nodeCursors = new LinkedHashMap<>();
+        for (int i = 0; i < nodeIdAndCursor.length; i += 2) {
+            nodeCursors.put(nodeIdAndCursor[i], nodeIdAndCursor[i + 1]);
+        }
+        return nodeCursors;
+    }
+
+    private static KeyScanCursor<String> keyScanCursor(String cursor, boolean finished, String... keys) {
+
+        KeyScanCursor<String> result = new KeyScanCursor<>();
+        result.setCursor(cursor);
+        result.setFinished(finished);
+        result.getKeys().addAll(Arrays.asList(keys));
+        return result;
+    }
+
+    private static StreamScanCursor streamScanCursor(long count) {
+
+        StreamScanCursor result = new StreamScanCursor();
+        result.setCursor("0");
+        result.setFinished(true);
+        result.setCount(count);
+        return result;
+    }
+}
@@ -38,6 +38,7 @@ public class ClusterTopologyRefreshOptionsTest {
                 .adaptiveRefreshTriggersTimeout(15, TimeUnit.MILLISECONDS)//
                 .closeStaleConnections(false)//
                 .refreshTriggersReconnectAttempts(2)//
+                .refreshSampleSize(3)//
                 .build();
 
         assertThat(options.getRefreshPeriod()).isEqualTo(10);
@@ -49,6 +50,8 @@ public class ClusterTopologyRefreshOptionsTest {
         assertThat(options.getAdaptiveRefreshTimeoutUnit()).isEqualTo(TimeUnit.MILLISECONDS);
         assertThat(options.getAdaptiveRefreshTriggers()).containsOnly(RefreshTrigger.MOVED_REDIRECT);
         assertThat(options.getRefreshTriggersReconnectAttempts()).isEqualTo(2);
+        assertThat(options.getRefreshSampleSize()).isEqualTo(3);
+        assertThat(options.isSampledRefresh()).isTrue();
     }
 
     @Test
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.codec.StringCodec;
+
+/**
+ * @author Mark Paluch
+ */
+public class PartitionedKeysTest {
+
+    @Test
+    public void shouldPartitionKeysBySlot() {
+
+        List<String> keys = Arrays.asList("a", "b", "{a}1", "c", "{b}2", "a");
+
+        PartitionedKeys<String> partitioned = PartitionedKeys.of(StringCodec.UTF8, keys);
+
+        assertThat(partitioned.size()).isEqualTo(6);
+        assertThat(partitioned.partitions()).isEqualTo(3);
+
+        assertThat(partitioned.getSlot(0)).isEqualTo(SlotHash.getSlot("a"));
+        assertThat(partitioned.getKeys(0)).containsExactly("a", "{a}1", "a");
+        assertThat(partitioned.getKeys(1)).containsExactly("b", "{b}2");
+        assertThat(partitioned.getKeys(2)).containsExactly("c");
+    }
+
+    @Test
+    public void shouldRestoreKeyOrder() {
+
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            keys.add("key-" + i);
+        }
+
+        PartitionedKeys<String> partitioned = PartitionedKeys.of(StringCodec.UTF8, keys);
+
+        for (int i = 0; i < keys.size(); i++) {
+
+            String key = partitioned.getKeys(partitioned.getPartition(i)).get(partitioned.getPosition(i));
+
+            assertThat(key).isEqualTo(keys.get(i));
+            assertThat(partitioned.getSlot(partitioned.getPartition(i))).isEqualTo(SlotHash.getSlot(key));
+        }
+    }
+
+    @Test
+    public void shouldPartitionEmptyKeys() {
+
+        PartitionedKeys<String> partitioned = PartitionedKeys.of(StringCodec.UTF8, new ArrayList<>());
+
+        assertThat(partitioned.size()).isEqualTo(0);
+        assertThat(partitioned.partitions()).isEqualTo(0);
+    }
+}
@@ -28,6 +28,7 @@ import java.net.SocketAddress;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -115,6 +116,27 @@ public class PooledClusterConnectionProviderTest {
         verifyNoMoreInteractions(connection);
     }
 
+    @Test
+    public void shouldRouteToEstablishedConnection() {
+
+        StatefulRedisConnectionImpl<String, String> connection = new StatefulRedisConnectionImpl<>(writerMock, CODEC, 60,
+                TimeUnit.SECONDS);
+
+        when(clientMock.connectToNodeAsync(eq(CODEC), eq("localhost:1"), any(), any())).thenReturn(
+                Futures.createConnectionFuture(socketAddressMock, CompletableFuture.completedFuture(connection)));
+
+        assertThat(sut.getChannelWriter(Intent.WRITE, 1)).isNull();
+
+        sut.getConnection(Intent.WRITE, 1);
+
+        assertThat(sut.getChannelWriter(Intent.WRITE, 1)).isSameAs(writerMock);
+        assertThat(sut.getChannelWriter(Intent.WRITE, 8192)).isNull();
+
+        sut.setPartitions(partitions);
+
+        assertThat(sut.getChannelWriter(Intent.WRITE, 1)).isNull();
+    }
+
     @Test
     public void shouldObtainConnectionReadFromSlave() {
 
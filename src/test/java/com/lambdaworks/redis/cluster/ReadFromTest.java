@@ -17,17 +17,25 @@ package com.lambdaworks.redis.cluster;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.net.InetSocketAddress;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import com.lambdaworks.redis.ReadFrom;
+import com.lambdaworks.redis.RedisURI;
 import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
+import com.lambdaworks.redis.metrics.DefaultCommandLatencyCollector;
+import com.lambdaworks.redis.metrics.MovingAverageCommandLatencyCollector;
 import com.lambdaworks.redis.models.role.RedisNodeDescription;
+import com.lambdaworks.redis.protocol.CommandType;
+
+import io.netty.channel.local.LocalAddress;
 
 /**
  * @author Mark Paluch
@@ -82,6 +90,30 @@ public class ReadFromTest {
         assertThat(result).hasSize(3).containsExactly(nearest, master, slave);
     }
 
+    @Test
+    public void lowestLatency() {
+
+        MovingAverageCommandLatencyCollector latencies = MovingAverageCommandLatencyCollector.create(
+                DefaultCommandLatencyCollector.disabled(), 1, TimeUnit.HOURS);
+
+        nearest.setUri(RedisURI.create("127.0.0.1", 1));
+        slave.setUri(RedisURI.create("127.0.0.1", 2));
+        master.setUri(RedisURI.create("127.0.0.1", 3));
+
+        latencies.recordCommandLatency(LocalAddress.ANY, new InetSocketAddress("127.0.0.1", 1), CommandType.GET, 1000,
+                TimeUnit.MILLISECONDS.toNanos(100));
+        latencies.recordCommandLatency(LocalAddress.ANY, new InetSocketAddress("127.0.0.1", 2), CommandType.GET, 1000,
+                TimeUnit.MILLISECONDS.toNanos(1));
+
+        ReadFrom readFrom = ReadFrom.lowestLatency(latencies);
+
+        assertThat(readFrom.isCacheable()).isFalse();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(readFrom.select(getNodes())).containsExactly(slave, nearest);
+        }
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void valueOfNull() {
         ReadFrom.valueOf(null);
@@ -18,6 +18,7 @@ package com.lambdaworks.redis.cluster.models.partitions;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -44,6 +45,44 @@ public class RedisClusterNodeTest {
         assertThat(copy.getAliases()).contains(RedisURI.create("foo", 6379));
     }
 
+    @Test
+    public void shouldReturnSlotsInAscendingOrder() {
+
+        RedisClusterNode node = new RedisClusterNode();
+        node.setSlots(Arrays.asList(3, 1, 2, SlotHash.SLOT_COUNT - 1));
+
+        assertThat(node.getSlots()).containsExactly(1, 2, 3, SlotHash.SLOT_COUNT - 1);
+        assertThat(node.getSlots().get(3)).isEqualTo(SlotHash.SLOT_COUNT - 1);
+
+        List<Integer> slots = node.getSlots();
+        slots.remove(0);
+
+        assertThat(node.getSlots()).containsExactly(1, 2, 3, SlotHash.SLOT_COUNT - 1);
+
+        node.setSlots(slots);
+
+        assertThat(node.getSlots()).containsExactly(2, 3, SlotHash.SLOT_COUNT - 1);
+    }
+
+    @Test
+    public void shouldCompareSlots() {
+
+        RedisClusterNode node = new RedisClusterNode();
+        RedisClusterNode other = new RedisClusterNode();
+
+        assertThat(node.hasSameSlotsAs(other)).isTrue();
+
+        node.setSlots(Arrays.asList(1, 2));
+        other.setSlots(Arrays.asList(2, 1));
+
+        assertThat(node.hasSameSlotsAs(other)).isTrue();
+
+        other.setSlots(Arrays.asList());
+
+        assertThat(node.hasSameSlotsAs(other)).isFalse();
+        assertThat(other.hasSameSlotsAs(new RedisClusterNode())).isTrue();
+    }
+
     @Test
     public void testEquality() {
 
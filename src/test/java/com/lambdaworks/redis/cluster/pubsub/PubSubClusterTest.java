@@ -17,6 +17,7 @@ package com.lambdaworks.redis.cluster.pubsub;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
@@ -29,6 +30,7 @@ import org.junit.Test;
 import com.lambdaworks.redis.RedisURI;
 import com.lambdaworks.redis.api.rx.Success;
 import com.lambdaworks.redis.cluster.AbstractClusterTest;
+import com.lambdaworks.redis.cluster.SlotHash;
 import com.lambdaworks.redis.cluster.models.partitions.RedisClusterNode;
 import com.lambdaworks.redis.cluster.pubsub.api.async.NodeSelectionPubSubAsyncCommands;
 import com.lambdaworks.redis.cluster.pubsub.api.async.PubSubAsyncNodeSelection;
@@ -162,6 +164,47 @@ public class PubSubClusterTest extends AbstractClusterTest {
         assertThat(connectionListener.getMessages().poll()).isNull();
     }
 
+    @Test
+    public void testShardedSubscription() throws Exception {
+
+        pubSubConnection.setShardedSubscriptions(true);
+
+        pubSubConnection.sync().subscribe("channel", "other-channel");
+        pubSubConnection.sync().psubscribe("chann*");
+
+        assertThat(connectionListener.getChannels().take()).isIn("channel", "other-channel");
+        assertThat(connectionListener.getChannels().take()).isIn("channel", "other-channel");
+        assertThat(connectionListener.getPatterns().take()).isEqualTo("chann*");
+
+        pubSubConnection2.sync().publish("channel", "message");
+        pubSubConnection2.sync().publish("other-channel", "other-message");
+
+        List<String> messages = Arrays.asList(connectionListener.getMessages().take(), connectionListener.getMessages()
+                .take(), connectionListener.getMessages().take());
+
+        assertThat(messages).containsOnly("message", "other-message").hasSize(3);
+        assertThat(connectionListener.getMessages().poll()).isNull();
+
+        int slot = SlotHash.getSlot("channel".getBytes());
+        RedisClusterNode node = pubSubConnection.getPartitions().getPartitionBySlot(slot);
+        assertThat(pubSubConnection.getConnection(node.getNodeId()).sync().pubsubNumsub("channel")).containsEntry("channel",
+                1L);
+    }
+
+    @Test
+    public void testShardedUnsubscribe() throws Exception {
+
+        pubSubConnection.setShardedSubscriptions(true);
+
+        pubSubConnection.async().subscribe("channel", "other-channel").get();
+        pubSubConnection.reactive().unsubscribe().toBlocking().lastOrDefault(null);
+
+        pubSubConnection2.sync().publish("channel", "message");
+        pubSubConnection2.sync().publish("other-channel", "message");
+
+        assertThat(connectionListener.getMessages().poll()).isNull();
+    }
+
     @Test
     public void testClusterListener() throws Exception {
 
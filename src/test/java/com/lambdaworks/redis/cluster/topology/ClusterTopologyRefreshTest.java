@@ -303,6 +303,27 @@ public class ClusterTopologyRefreshTest {
         verifyNoMoreInteractions(nodeConnectionFactory);
     }
 
+    @Test
+    public void shouldUseDedicatedConnectionsForSampledRefresh() throws Exception {
+
+        List<RedisURI> sample = Arrays.asList(RedisURI.create("127.0.0.1", 7380), RedisURI.create("127.0.0.1", 7381));
+
+        when(nodeConnectionFactory.connectToNodeAsync(any(RedisCodec.class), eq(new InetSocketAddress("127.0.0.1", 7380))))
+                .thenReturn(completedFuture((StatefulRedisConnection) connection1));
+        when(nodeConnectionFactory.connectToNodeAsync(any(RedisCodec.class), eq(new InetSocketAddress("127.0.0.1", 7381))))
+                .thenReturn(completedFuture((StatefulRedisConnection) connection2));
+
+        Map<RedisURI, Partitions> views = sut.loadSampledViews(sample);
+
+        assertThat(views).hasSize(2);
+
+        verify(nodeConnectionFactory).connectToNodeAsync(any(RedisCodec.class), eq(new InetSocketAddress("127.0.0.1", 7380)));
+        verify(nodeConnectionFactory).connectToNodeAsync(any(RedisCodec.class), eq(new InetSocketAddress("127.0.0.1", 7381)));
+        verifyNoMoreInteractions(nodeConnectionFactory);
+        verify(connection1).close();
+        verify(connection2).close();
+    }
+
     @Test
     public void shouldNotFailOnDuplicateSeedNodes() throws Exception {
 
@@ -404,7 +425,7 @@ public class ClusterTopologyRefreshTest {
         connections.addConnection(redisURI, connection);
 
         Requests requests = connections.requestTopology();
-        TimedAsyncCommand<String, String, String> command = requests.getRequest(redisURI);
+        TimedAsyncCommand<String, String, Partitions> command = requests.getRequest(redisURI);
 
         command.getOutput().set(ByteBuffer.wrap(nodes.getBytes()));
         command.complete();
@@ -420,7 +441,7 @@ public class ClusterTopologyRefreshTest {
         Connections connections = new Connections();
         connections.addConnection(redisURI, connection);
 
-        Requests requests = connections.requestTopology();
+        Requests requests = connections.requestClients();
         TimedAsyncCommand<String, String, String> command = requests.getRequest(redisURI);
 
         command.getOutput().set(ByteBuffer.wrap(response.getBytes()));
@@ -18,12 +18,15 @@ package com.lambdaworks.redis.cluster.topology;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
 import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.cluster.models.partitions.Partitions;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
+import com.lambdaworks.redis.output.PartitionsOutput;
 import com.lambdaworks.redis.output.StatusOutput;
 import com.lambdaworks.redis.protocol.Command;
 import com.lambdaworks.redis.protocol.CommandType;
@@ -40,7 +43,7 @@ public class RequestsTest {
 
         Requests clusterNodesRequests = new Requests();
         String clusterNodesOutput = "1 127.0.0.1:7380 master,myself - 0 1401258245007 2 disconnected 8000-11999\n";
-        clusterNodesRequests.addRequest(redisURI, getCommand(clusterNodesOutput));
+        clusterNodesRequests.addRequest(redisURI, getClusterNodesCommand(clusterNodesOutput));
 
         Requests clientListRequests = new Requests();
         String clientListOutput = "id=2 addr=127.0.0.1:58919 fd=6 name= age=3 idle=0 flags=N db=0 sub=0 psub=0 multi=-1 qbuf=0 qbuf-free=32768 obl=0 oll=0 omem=0 events=r cmd=client\n";
@@ -51,7 +54,7 @@ public class RequestsTest {
         assertThat(nodeTopologyView.isAvailable()).isTrue();
         assertThat(nodeTopologyView.getConnectedClients()).isEqualTo(1);
         assertThat(nodeTopologyView.getPartitions()).hasSize(1);
-        assertThat(nodeTopologyView.getClusterNodes()).isEqualTo(clusterNodesOutput);
+        assertThat(nodeTopologyView.getOwnPartition().getNodeId()).isEqualTo("1");
         assertThat(nodeTopologyView.getClientList()).isEqualTo(clientListOutput);
     }
 
@@ -62,7 +65,7 @@ public class RequestsTest {
 
         Requests clusterNodesRequests = new Requests();
         String clusterNodesOutput = "1 127.0.0.1:7380 master,myself - 0 1401258245007 2 disconnected 8000-11999\n";
-        clusterNodesRequests.addRequest(redisURI, getCommand(clusterNodesOutput));
+        clusterNodesRequests.addRequest(redisURI, getClusterNodesCommand(clusterNodesOutput));
 
         Requests clientListRequests = new Requests();
 
@@ -71,7 +74,6 @@ public class RequestsTest {
         assertThat(nodeTopologyView.isAvailable()).isFalse();
         assertThat(nodeTopologyView.getConnectedClients()).isEqualTo(0);
         assertThat(nodeTopologyView.getPartitions()).isEmpty();
-        assertThat(nodeTopologyView.getClusterNodes()).isNull();
     }
 
     @Test
@@ -103,6 +105,28 @@ public class RequestsTest {
 
     }
 
+    @Test(expected = ExecutionException.class)
+    public void shouldFailTopologyViewForMalformedClusterNodes() throws Exception {
+
+        RedisURI redisURI = RedisURI.create("localhost", 6379);
+
+        Requests clusterNodesRequests = new Requests();
+        clusterNodesRequests.addRequest(redisURI, getClusterNodesCommand("1 127.0.0.1 master,myself\n"));
+
+        NodeTopologyView.from(redisURI, clusterNodesRequests, null);
+    }
+
+    private TimedAsyncCommand<String, String, Partitions> getClusterNodesCommand(String response) {
+
+        Command<String, String, Partitions> command = new Command<>(CommandType.CLUSTER, new PartitionsOutput<>(
+                new Utf8StringCodec()));
+        TimedAsyncCommand<String, String, Partitions> timedAsyncCommand = new TimedAsyncCommand<>(command);
+
+        command.getOutput().set(ByteBuffer.wrap(response.getBytes()));
+        timedAsyncCommand.complete();
+        return timedAsyncCommand;
+    }
+
     private TimedAsyncCommand getCommand(String response) {
         Command<String, String, String> command = new Command<>(CommandType.TYPE,
                 new StatusOutput<>(new Utf8StringCodec()));
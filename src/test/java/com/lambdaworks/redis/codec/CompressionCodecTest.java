@@ -19,9 +19,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Random;
 
 import org.junit.Test;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * @author Mark Paluch
  */
@@ -74,6 +79,152 @@ public class CompressionCodecTest {
         sut.decodeValue(ByteBuffer.wrap(keyGzipBytes));
     }
 
+    @Test
+    public void snappyValueTest() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(), Compressor.snappy(), 16);
+        String json = json(200);
+
+        ByteBuffer byteBuffer = sut.encodeValue(json);
+        assertThat(byteBuffer.get(0)).isEqualTo((byte) 0xFF);
+        assertThat(byteBuffer.get(1)).isEqualTo((byte) Compressor.SNAPPY);
+        assertThat(byteBuffer.remaining()).isLessThan(json.length() / 2);
+
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(json);
+    }
+
+    @Test
+    public void deflateCompressorValueTest() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(), Compressor.deflate(), 16);
+        String json = json(200);
+
+        ByteBuffer byteBuffer = sut.encodeValue(json);
+        assertThat(byteBuffer.get(1)).isEqualTo((byte) Compressor.DEFLATE);
+
+        // any built-in compressor is readable
+        RedisCodec<String, String> snappy = CompressionCodec.valueCompressor(new Utf8StringCodec(), Compressor.snappy());
+        assertThat(snappy.decodeValue(byteBuffer)).isEqualTo(json);
+    }
+
+    @Test
+    public void deflateCompressorsShouldBeSharedPerLevel() throws Exception {
+
+        assertThat(Compressor.deflate()).isSameAs(Compressor.deflate());
+        assertThat(Compressor.deflate(9)).isSameAs(Compressor.deflate(9)).isNotSameAs(Compressor.deflate());
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(), Compressor.deflate(9), 16);
+        String json = json(200);
+
+        assertThat(sut.decodeValue(sut.encodeValue(json))).isEqualTo(json);
+    }
+
+    @Test
+    public void shouldEncodeToByteBuf() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(StringCodec.UTF8, Compressor.snappy(), 16);
+        String json = json(200);
+
+        ByteBuf target = Unpooled.directBuffer();
+        ((ToByteBufEncoder<String, String>) sut).encodeValue(json, target);
+
+        assertThat(((FromByteBufDecoder<String, String>) sut).decodeValue(target)).isEqualTo(json);
+        target.release();
+    }
+
+    @Test
+    public void shouldStoreValuesBelowThresholdUncompressed() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(), Compressor.snappy());
+
+        ByteBuffer byteBuffer = sut.encodeValue(value);
+        assertThat(toString(byteBuffer.duplicate())).isEqualTo(value);
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(value);
+    }
+
+    @Test
+    public void shouldStoreIncompressibleValuesUncompressed() throws Exception {
+
+        RedisCodec<byte[], byte[]> sut = CompressionCodec.valueCompressor(new ByteArrayCodec(), Compressor.snappy(), 0);
+
+        byte[] random = new byte[2048];
+        new Random(1).nextBytes(random);
+        random[0] = 1;
+
+        ByteBuffer byteBuffer = sut.encodeValue(random);
+        assertThat(byteBuffer.remaining()).isEqualTo(random.length);
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(random);
+    }
+
+    @Test
+    public void shouldEscapeUncompressedValuesStartingWithMarker() throws Exception {
+
+        RedisCodec<byte[], byte[]> sut = CompressionCodec.valueCompressor(new ByteArrayCodec(), Compressor.snappy());
+        byte[] bytes = { (byte) 0xFF, 1, 2 };
+
+        ByteBuffer byteBuffer = sut.encodeValue(bytes);
+        assertThat(byteBuffer.remaining()).isEqualTo(5);
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(bytes);
+    }
+
+    @Test
+    public void shouldReadUncompressedValues() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(), Compressor.snappy(), 0);
+        String json = json(200);
+
+        assertThat(sut.decodeValue(ByteBuffer.wrap(json.getBytes("UTF-8")))).isEqualTo(json);
+    }
+
+    @Test
+    public void shouldUseCustomCompressor() throws Exception {
+
+        Compressor reverse = new Compressor() {
+            @Override
+            public int getId() {
+                return 42;
+            }
+
+            @Override
+            public void compress(ByteBuf source, ByteBuf target) {
+                target.writeBytes(source, source.readableBytes() / 2);
+            }
+
+            @Override
+            public void decompress(ByteBuf source, ByteBuf target, int uncompressedLength) {
+                target.writeBytes(source).writeBytes(source.resetReaderIndex());
+            }
+        };
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(), reverse, 0);
+
+        String value = String.join("", Collections.nCopies(100, "abcd"));
+
+        ByteBuffer byteBuffer = sut.encodeValue(value);
+        assertThat(byteBuffer.get(1)).isEqualTo((byte) 42);
+        assertThat(sut.decodeValue(byteBuffer)).isEqualTo(value);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unknownCompressorOnDecode() throws Exception {
+
+        RedisCodec<String, String> sut = CompressionCodec.valueCompressor(new Utf8StringCodec(), Compressor.snappy());
+
+        sut.decodeValue(ByteBuffer.wrap(new byte[] { (byte) 0xFF, 99, 0, 0, 0, 1, 0 }));
+    }
+
+    private static String json(int entries) {
+
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < entries; i++) {
+            if (i != 0) {
+                builder.append(',');
+            }
+            builder.append("{\"id\":").append(i).append(",\"name\":\"user-").append(i).append("\",\"active\":true}");
+        }
+        return builder.append(']').toString();
+    }
+
     private String toString(ByteBuffer buffer) throws IOException {
         byte[] bytes = toBytes(buffer);
         return new String(bytes, "UTF-8");
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Mark Paluch
+ */
+public class Utf8StringCodecTest {
+
+    String teststring = "hello üäü~∑†®†ª€∂‚¶¢ Wørld";
+    Utf8StringCodec codec = new Utf8StringCodec();
+
+    @Test
+    public void decodeHeapAndDirectBuffers() {
+
+        byte[] bytes = teststring.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+
+        ByteBuffer heap = ByteBuffer.wrap(bytes);
+
+        assertThat(codec.decodeValue(heap)).isEqualTo(teststring);
+        assertThat(heap.hasRemaining()).isFalse();
+        assertThat(codec.decodeKey(direct)).isEqualTo(teststring);
+        assertThat(direct.hasRemaining()).isFalse();
+        assertThat(codec.decodeValue(ByteBuffer.allocate(0))).isEmpty();
+    }
+
+    @Test
+    public void decodeHugeDirectBuffer() {
+
+        char[] huge = new char[20000];
+        Arrays.fill(huge, 'ü');
+        byte[] bytes = new String(huge).getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+
+        assertThat(codec.decodeValue(direct)).isEqualTo(new String(huge));
+    }
+
+    @Test
+    public void decodeByteBuf() {
+
+        ByteBuf buffer = Unpooled.directBuffer().writeBytes("xx".getBytes())
+                .writeBytes(teststring.getBytes(StandardCharsets.UTF_8));
+        buffer.skipBytes(2);
+
+        assertThat(codec.decodeValue(buffer)).isEqualTo(teststring);
+        assertThat(codec.decodeKey(Unpooled.wrappedBuffer(teststring.getBytes(StandardCharsets.UTF_8))))
+                .isEqualTo(teststring);
+
+        buffer.release();
+    }
+
+    @Test
+    public void encode() {
+
+        ByteBuf buffer = Unpooled.buffer();
+        codec.encodeKey(teststring, buffer);
+        codec.encodeValue(null, buffer);
+
+        assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo(teststring);
+        assertThat(codec.encodeValue(teststring)).isEqualTo(ByteBuffer.wrap(teststring.getBytes(StandardCharsets.UTF_8)));
+        assertThat(codec.encodeKey(null).remaining()).isZero();
+    }
+
+    @Test
+    public void subclassShouldUseByteBufferMethods() {
+
+        Utf8StringCodec upperCase = new Utf8StringCodec() {
+            @Override
+            public String decodeValue(ByteBuffer bytes) {
+                return super.decodeValue(bytes).toUpperCase();
+            }
+        };
+
+        assertThat(upperCase.decodeValue(Unpooled.wrappedBuffer("value".getBytes()))).isEqualTo("VALUE");
+    }
+
+    @Test
+    public void decodeConcurrently() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        byte[] bytes = teststring.getBytes(StandardCharsets.UTF_8);
+
+        try {
+
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+
+                    ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+                    direct.put(bytes).flip();
+
+                    for (int j = 0; j < 10000; j++) {
+                        direct.rewind();
+                        if (!teststring.equals(codec.decodeValue(direct))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get(10, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -92,6 +92,28 @@ public class HashCommandTest extends AbstractRedisClientTest {
         assertThat(map.get("two")).isEqualTo("2");
     }
 
+    @Test
+    public void hgetallAsLong() {
+
+        Map<String, Long> map = new LinkedHashMap<>();
+
+        redis.hset(key, "one", "1");
+        redis.hset(key, "minus", "-2");
+        Long count = redis.hgetallAsLong(map::put, key);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(map).containsEntry("one", 1L).containsEntry("minus", -2L);
+    }
+
+    @Test(expected = RedisCommandExecutionException.class)
+    public void hgetallAsLongNotAnInteger() {
+
+        redis.hset(key, "one", "1");
+        redis.hset(key, "text", "foo");
+        redis.hgetallAsLong((field, value) -> {
+        }, key);
+    }
+
     @Test
     public void hincrby() {
         assertThat(redis.hincrby(key, "one", 1)).isEqualTo(1);
@@ -197,6 +197,17 @@ public class SortedSetCommandTest extends AbstractRedisClientTest {
         assertThat(redis.zrangeWithScores(key, 0, -1)).isEqualTo(svlist(sv(1.0, "a"), sv(2.0, "b"), sv(3.0, "c")));
     }
 
+    @Test
+    public void zrangeWithScoresAsArrays() {
+        setup();
+
+        ScoredValues<String> values = redis.zrangeWithScoresAsArrays(key, 0, -1);
+
+        assertThat(values.getValues()).containsExactly("a", "b", "c");
+        assertThat(values.getScores()).containsExactly(1.0, 2.0, 3.0);
+        assertThat(redis.zrangeWithScoresAsArrays("missing", 0, -1).isEmpty()).isTrue();
+    }
+
     @Test
     @SuppressWarnings({ "unchecked" })
     public void zrangeWithScoresStreaming() {
@@ -378,6 +389,15 @@ public class SortedSetCommandTest extends AbstractRedisClientTest {
         assertThat(redis.zrevrangeWithScores(key, 0, -1)).isEqualTo(svlist(sv(3.0, "c"), sv(2.0, "b"), sv(1.0, "a")));
     }
 
+    @Test
+    public void zrevrangeWithScoresAsArrays() {
+        setup();
+
+        ScoredValues<String> values = redis.zrevrangeWithScoresAsArrays(key, 0, -1);
+
+        assertThat(values.toList()).isEqualTo(svlist(sv(3.0, "c"), sv(2.0, "b"), sv(1.0, "a")));
+    }
+
     @Test
     public void zrevrangeStreaming() {
         setup();
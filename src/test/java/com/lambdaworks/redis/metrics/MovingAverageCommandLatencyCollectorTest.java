@@ -0,0 +1,112 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.protocol.CommandType;
+
+import io.netty.channel.local.LocalAddress;
+
+/**
+ * @author Mark Paluch
+ */
+public class MovingAverageCommandLatencyCollectorTest {
+
+    private final MovingAverageCommandLatencyCollector sut = MovingAverageCommandLatencyCollector.create(
+            DefaultCommandLatencyCollector.disabled(), 1, TimeUnit.HOURS);
+
+    @Test
+    public void shouldReportZeroForUnknownNode() {
+        assertThat(sut.getLatency("127.0.0.1", 6379)).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldTrackLatencyPerNode() {
+
+        sut.recordCommandLatency(LocalAddress.ANY, new InetSocketAddress("127.0.0.1", 6379), CommandType.GET, 10, 1000);
+        sut.recordCommandLatency(LocalAddress.ANY, new InetSocketAddress("127.0.0.1", 6380), CommandType.GET, 10, 5000);
+
+        assertThat(sut.getLatency("127.0.0.1", 6379)).isBetween(990L, 1000L);
+        assertThat(sut.getLatency("127.0.0.1", 6380)).isBetween(4990L, 5000L);
+    }
+
+    @Test
+    public void shouldDecayIdleNodes() throws Exception {
+
+        MovingAverageCommandLatencyCollector sut = MovingAverageCommandLatencyCollector.create(
+                DefaultCommandLatencyCollector.disabled(), 10, TimeUnit.MILLISECONDS);
+
+        sut.recordCommandLatency(LocalAddress.ANY, new InetSocketAddress("127.0.0.1", 6379), CommandType.GET, 10,
+                TimeUnit.SECONDS.toNanos(1));
+
+        Thread.sleep(200);
+
+        assertThat(sut.getLatency("127.0.0.1", 6379)).isLessThan(TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void shouldBeEnabled() {
+        assertThat(sut.isEnabled()).isTrue();
+    }
+
+    @Test
+    public void shouldNotRecordIfDisabled() {
+
+        MovingAverageCommandLatencyCollector sut = MovingAverageCommandLatencyCollector.create(
+                DefaultCommandLatencyCollector.disabled(), 1, TimeUnit.HOURS, false);
+
+        sut.recordCommandLatency(LocalAddress.ANY, new InetSocketAddress("127.0.0.1", 6379), CommandType.GET, 10, 1000);
+
+        assertThat(sut.isEnabled()).isFalse();
+        assertThat(sut.getLatency("127.0.0.1", 6379)).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldBeDisabledAfterShutdown() {
+
+        sut.shutdown();
+
+        assertThat(sut.isEnabled()).isFalse();
+    }
+
+    @Test
+    public void shouldAverageConcurrentRecords() throws Exception {
+
+        InetSocketAddress remote = new InetSocketAddress("127.0.0.1", 6379);
+        Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    sut.recordCommandLatency(LocalAddress.ANY, remote, CommandType.GET, 10, 1000);
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(sut.getLatency("127.0.0.1", 6379)).isBetween(990L, 1000L);
+    }
+}
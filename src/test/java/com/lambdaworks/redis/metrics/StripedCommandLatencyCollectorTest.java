@@ -0,0 +1,157 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lambdaworks.redis.protocol.CommandKeyword;
+import com.lambdaworks.redis.protocol.CommandType;
+import com.lambdaworks.redis.protocol.ProtocolKeyword;
+
+import io.netty.channel.local.LocalAddress;
+
+/**
+ * @author Mark Paluch
+ */
+public class StripedCommandLatencyCollectorTest {
+
+    private static final InetSocketAddress REMOTE = new InetSocketAddress("127.0.0.1", 6379);
+
+    @Test
+    public void shouldMergeStripes() throws Exception {
+
+        StripedCommandLatencyCollector sut = new StripedCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+
+        Thread thread = new Thread(() -> record(sut, CommandType.GET, 100));
+        thread.start();
+        record(sut, CommandType.GET, 50);
+        record(sut, CommandType.SET, 10);
+        thread.join();
+
+        Map<CommandLatencyId, CommandMetrics> metrics = sut.retrieveMetrics();
+
+        assertThat(metrics).hasSize(2);
+        assertThat(metrics.get(CommandLatencyId.create(LocalAddress.ANY, REMOTE, CommandType.GET)).getCount())
+                .isEqualTo(150);
+        assertThat(metrics.get(CommandLatencyId.create(LocalAddress.ANY, REMOTE, CommandType.SET)).getCount())
+                .isEqualTo(10);
+    }
+
+    @Test
+    public void shouldRecordProtocolKeywords() {
+
+        StripedCommandLatencyCollector sut = new StripedCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+
+        record(sut, CommandKeyword.ADDR, 3);
+
+        Map<CommandLatencyId, CommandMetrics> metrics = sut.retrieveMetrics();
+
+        assertThat(metrics.get(CommandLatencyId.create(LocalAddress.ANY, REMOTE, CommandKeyword.ADDR)).getCount())
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void shouldResetLatenciesAfterRetrieval() {
+
+        StripedCommandLatencyCollector sut = new StripedCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+
+        record(sut, CommandType.GET, 10);
+
+        assertThat(sut.retrieveMetrics()).hasSize(1);
+        assertThat(sut.retrieveMetrics()).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldEvictIdleLatencyIdsAfterRetrieval() {
+
+        StripedCommandLatencyCollector sut = new StripedCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+        Map<SocketAddress, Map<SocketAddress, ?>> addressIndexes = (Map<SocketAddress, Map<SocketAddress, ?>>) ReflectionTestUtils.getField(sut, "addressIndexes");
+
+        record(sut, CommandType.GET, 10);
+        sut.retrieveMetrics();
+
+        assertThat(addressIndexes.get(LocalAddress.ANY)).containsKey(REMOTE);
+
+        sut.retrieveMetrics();
+
+        assertThat(addressIndexes.get(LocalAddress.ANY)).isEmpty();
+
+        record(sut, CommandType.GET, 5);
+
+        assertThat(sut.retrieveMetrics().get(CommandLatencyId.create(LocalAddress.ANY, REMOTE, CommandType.GET)).getCount())
+                .isEqualTo(5);
+    }
+
+    @Test
+    public void shouldRecordSubMicrosecondLatencies() {
+
+        StripedCommandLatencyCollector sut = new StripedCommandLatencyCollector(DefaultCommandLatencyCollectorOptions
+                .builder().targetUnit(TimeUnit.NANOSECONDS).build());
+
+        sut.recordCommandLatency(LocalAddress.ANY, REMOTE, CommandType.GET, 200, 400);
+
+        CommandMetrics metrics = sut.retrieveMetrics().get(CommandLatencyId.create(LocalAddress.ANY, REMOTE, CommandType.GET));
+
+        assertThat(metrics.getFirstResponse().getMax()).isBetween(199L, 201L);
+        assertThat(metrics.getCompletion().getMax()).isBetween(398L, 402L);
+    }
+
+    @Test
+    public void shouldAccumulateLatencies() {
+
+        StripedCommandLatencyCollector sut = new StripedCommandLatencyCollector(DefaultCommandLatencyCollectorOptions
+                .builder().resetLatenciesAfterEvent(false).build());
+
+        record(sut, CommandType.GET, 10);
+        sut.retrieveMetrics();
+        record(sut, CommandType.GET, 5);
+
+        CommandMetrics metrics = sut.retrieveMetrics().get(CommandLatencyId.create(LocalAddress.ANY, REMOTE, CommandType.GET));
+
+        assertThat(metrics.getCount()).isEqualTo(15);
+        assertThat(metrics.getTimeUnit()).isEqualTo(TimeUnit.MICROSECONDS);
+    }
+
+    @Test
+    public void shouldNotRecordAfterShutdown() {
+
+        StripedCommandLatencyCollector sut = new StripedCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+
+        sut.shutdown();
+        record(sut, CommandType.GET, 10);
+
+        assertThat(sut.isEnabled()).isFalse();
+        assertThat(sut.retrieveMetrics()).isEmpty();
+    }
+
+    private static void record(CommandLatencyCollector collector, ProtocolKeyword keyword,
+            int count) {
+
+        for (int i = 0; i < count; i++) {
+            collector.recordCommandLatency(LocalAddress.ANY, REMOTE, keyword, TimeUnit.MICROSECONDS.toNanos(10),
+                    TimeUnit.MICROSECONDS.toNanos(20));
+        }
+    }
+}
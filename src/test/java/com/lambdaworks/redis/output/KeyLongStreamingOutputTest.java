@@ -0,0 +1,63 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.output;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+
+/**
+ * @author Mark Paluch
+ */
+public class KeyLongStreamingOutputTest {
+
+    private Map<String, Long> map = new LinkedHashMap<>();
+    private KeyLongStreamingOutput<String, String> sut = new KeyLongStreamingOutput<>(new Utf8StringCodec(), map::put);
+
+    @Test
+    public void commandOutputCorrectlyDecoded() {
+
+        sut.multi(4);
+        sut.set(ByteBuffer.wrap("one".getBytes()));
+        sut.set(ByteBuffer.wrap("1".getBytes()));
+        sut.set(ByteBuffer.wrap("min".getBytes()));
+        sut.set(ByteBuffer.wrap(Long.toString(Long.MIN_VALUE).getBytes()));
+
+        assertThat(sut.get()).isEqualTo(2);
+        assertThat(sut.hasError()).isFalse();
+        assertThat(map).containsEntry("one", 1L).containsEntry("min", Long.MIN_VALUE);
+    }
+
+    @Test
+    public void nonIntegerValueShouldSetError() {
+
+        sut.multi(4);
+        sut.set(ByteBuffer.wrap("text".getBytes()));
+        sut.set(ByteBuffer.wrap("foo".getBytes()));
+        sut.set(ByteBuffer.wrap("one".getBytes()));
+        sut.set(ByteBuffer.wrap("1".getBytes()));
+
+        assertThat(sut.get()).isEqualTo(1);
+        assertThat(sut.hasError()).isTrue();
+        assertThat(map).containsOnlyKeys("one");
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lambdaworks.TestClientResources;
+import com.lambdaworks.redis.ClientOptions;
+import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.TestEventLoopGroupProvider;
+import com.lambdaworks.redis.TimeoutOptions;
+import com.lambdaworks.redis.codec.StringCodec;
+import com.lambdaworks.redis.output.StatusOutput;
+import com.lambdaworks.redis.output.ValueListOutput;
+import com.lambdaworks.redis.resource.ClientResources;
+import com.lambdaworks.redis.resource.DefaultClientResources;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
+
+/**
+ * Tests for {@link CommandHandler} running within an {@link EmbeddedChannel}.
+ *
+ * @author Mark Paluch
+ */
+public class CommandHandlerEmbeddedChannelTest {
+
+    private CommandHandler<String, String> sut;
+    private EmbeddedChannel channel;
+    private DefaultClientResources clientResources;
+
+    @After
+    public void tearDown() {
+
+        if (channel != null) {
+            channel.finishAndReleaseAll();
+        }
+
+        if (clientResources != null) {
+            clientResources.shutdown(0, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    public void shouldWriteCommandsUpToRequestQueueSize() {
+
+        int requestQueueSize = 5;
+        PendingWrites pendingWrites = new PendingWrites();
+        connect(ClientOptions.builder().requestQueueSize(requestQueueSize).build(), pendingWrites);
+
+        List<AsyncCommand<String, String, String>> commands = new ArrayList<>();
+
+        for (int i = 0; i < requestQueueSize; i++) {
+            commands.add(sut.write(newCommand()));
+        }
+
+        assertThat(pendingWrites.messages).hasSize(requestQueueSize);
+        assertThat(commands).allMatch(command -> !command.isDone());
+    }
+
+    @Test
+    public void lockFreeWritesShouldApplyRequestQueueSizeToEnqueuedCommands() {
+
+        PendingWrites pendingWrites = new PendingWrites();
+        connect(ClientOptions.builder().lockFreeWrites(true).requestQueueSize(2).build(), pendingWrites);
+
+        sut.write(newCommand());
+        sut.write(newCommand());
+
+        try {
+            sut.write(newCommand());
+            fail("Missing RedisException");
+        } catch (RedisException e) {
+            assertThat(e).hasMessageContaining("Request queue size exceeded");
+        }
+
+        channel.runPendingTasks();
+
+        assertThat(pendingWrites.messages).hasSize(1);
+        assertThat((Collection<?>) pendingWrites.messages.get(0)).hasSize(2);
+    }
+
+    @Test
+    public void lockFreeWritesShouldRecordLatency() {
+
+        PendingWrites pendingWrites = new PendingWrites();
+        connect(ClientOptions.builder().lockFreeWrites(true).build(), pendingWrites);
+
+        sut.write(newCommand());
+        sut.write(newCommand());
+        channel.runPendingTasks();
+
+        assertThat(pendingWrites.messages).hasSize(1);
+        assertThat((Collection<?>) pendingWrites.messages.get(0)).hasSize(2).allMatch(WithLatency.class::isInstance);
+    }
+
+    @Test
+    public void batchWritesShouldReturnWrittenCommands() {
+
+        PendingWrites pendingWrites = new PendingWrites();
+        connect(ClientOptions.create(), pendingWrites);
+
+        Collection<RedisCommand<String, String, ?>> written = sut.write(Arrays.asList(newCommand(), newCommand()));
+
+        assertThat(written).hasSize(2).allMatch(WithLatency.class::isInstance);
+    }
+
+    @Test
+    public void lockFreeWritesShouldBufferEnqueuedCommandsOnDisconnect() {
+
+        connect(ClientOptions.builder().lockFreeWrites(true).build());
+
+        AsyncCommand<String, String, String> first = sut.write(newCommand());
+        AsyncCommand<String, String, String> second = sut.write(newCommand());
+
+        channel.pipeline().fireChannelInactive();
+
+        assertThat(sut.disconnectedBuffer).hasSize(2);
+
+        channel.runPendingTasks();
+
+        assertThat(sut.disconnectedBuffer).hasSize(2);
+        assertThat(CommandWrapper.unwrap(sut.disconnectedBuffer.poll())).isSameAs(first.getDelegate());
+        assertThat(CommandWrapper.unwrap(sut.disconnectedBuffer.poll())).isSameAs(second.getDelegate());
+    }
+
+    @Test
+    public void shouldNotRestoreAutoReadDisabledByOthers() {
+
+        connect(ClientOptions.create());
+
+        AsyncCommand<String, String, String> command = sut.write(newCommand());
+        channel.config().setAutoRead(false);
+
+        channel.writeInbound(Unpooled.copiedBuffer("+OK\r\n", StandardCharsets.US_ASCII));
+
+        assertThat(command.isDone()).isTrue();
+        assertThat(channel.config().isAutoRead()).isFalse();
+    }
+
+    @Test
+    public void shouldNotSuspendReadingWithoutDemandByDefault() {
+
+        connect(ClientOptions.create());
+
+        SinkCommand command = sut.write(new SinkCommand());
+        channel.writeInbound(Unpooled.copiedBuffer("*2\r\n$1\r\na\r\n", StandardCharsets.US_ASCII));
+
+        assertThat(command.isDone()).isFalse();
+        assertThat(channel.config().isAutoRead()).isTrue();
+    }
+
+    @Test
+    public void shouldSuspendReadingWithoutDemand() {
+
+        connect(ClientOptions.builder().suspendReadingWithoutDemand(true).build());
+
+        SinkCommand command = sut.write(new SinkCommand());
+        channel.writeInbound(Unpooled.copiedBuffer("*2\r\n$1\r\na\r\n", StandardCharsets.US_ASCII));
+
+        assertThat(channel.config().isAutoRead()).isFalse();
+
+        command.demand = true;
+        command.source.requestMore();
+        channel.runPendingTasks();
+
+        assertThat(channel.config().isAutoRead()).isTrue();
+
+        channel.writeInbound(Unpooled.copiedBuffer("$1\r\nb\r\n", StandardCharsets.US_ASCII));
+
+        assertThat(command.isDone()).isTrue();
+        assertThat(channel.config().isAutoRead()).isTrue();
+    }
+
+    @Test
+    public void shouldCancelExpiryOnSuccessfulCompletion() {
+
+        RecordingTimer timer = new RecordingTimer();
+        connectWithTimer(timer);
+
+        AsyncCommand<String, String, String> command = sut.write(newCommand());
+        assertThat(timer.timeouts).hasSize(1);
+        assertThat(timer.timeouts.get(0).isCancelled()).isFalse();
+
+        channel.writeInbound(Unpooled.copiedBuffer("+OK\r\n", StandardCharsets.US_ASCII));
+
+        assertThat(command.isDone()).isTrue();
+        assertThat(timer.timeouts.get(0).isCancelled()).isTrue();
+    }
+
+    @Test
+    public void shouldCancelExpiryOnExceptionalCompletion() {
+
+        RecordingTimer timer = new RecordingTimer();
+        connectWithTimer(timer);
+
+        AsyncCommand<String, String, String> command = sut.write(newCommand());
+        command.completeExceptionally(new IllegalStateException());
+
+        assertThat(command.isCompletedExceptionally()).isTrue();
+        assertThat(timer.timeouts).hasSize(1);
+        assertThat(timer.timeouts.get(0).isCancelled()).isTrue();
+    }
+
+    @Test
+    public void shouldCancelExpiryOnCancellation() {
+
+        RecordingTimer timer = new RecordingTimer();
+        connectWithTimer(timer);
+
+        AsyncCommand<String, String, String> command = sut.write(newCommand());
+        command.cancel();
+
+        assertThat(timer.timeouts).hasSize(1);
+        assertThat(timer.timeouts.get(0).isCancelled()).isTrue();
+    }
+
+    private void connectWithTimer(Timer timer) {
+
+        clientResources = DefaultClientResources.builder().eventLoopGroupProvider(new TestEventLoopGroupProvider())
+                .timer(timer).build();
+
+        connect(ClientOptions.builder().timeoutOptions(TimeoutOptions.enabled(1, TimeUnit.MINUTES)).build(),
+                clientResources);
+    }
+
+    private void connect(ClientOptions clientOptions, ChannelHandler... handlers) {
+        connect(clientOptions, TestClientResources.get(), handlers);
+    }
+
+    private void connect(ClientOptions clientOptions, ClientResources clientResources, ChannelHandler... handlers) {
+
+        sut = new CommandHandler<>(clientOptions, clientResources);
+
+        List<ChannelHandler> pipeline = new ArrayList<>(Arrays.asList(handlers));
+        pipeline.add(sut);
+
+        channel = new EmbeddedChannel(pipeline.toArray(new ChannelHandler[pipeline.size()]));
+    }
+
+    private static AsyncCommand<String, String, String> newCommand() {
+        return new AsyncCommand<>(new Command<>(CommandType.SET, new StatusOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).addKey("key").addValue("value")));
+    }
+
+    /**
+     * Streaming command whose sink has no demand unless {@link #demand} is set.
+     */
+    static class SinkCommand extends AsyncCommand<String, String, List<String>> implements DemandAware.Sink {
+
+        volatile boolean demand;
+        volatile DemandAware.Source source;
+
+        SinkCommand() {
+            super(new Command<>(CommandType.LRANGE, new ValueListOutput<>(StringCodec.UTF8),
+                    new CommandArgs<>(StringCodec.UTF8).addKey("key")));
+        }
+
+        @Override
+        public boolean hasDemand() {
+            return demand;
+        }
+
+        @Override
+        public void setSource(DemandAware.Source source) {
+            this.source = source;
+        }
+
+        @Override
+        public void removeSource() {
+            this.source = null;
+        }
+    }
+
+    /**
+     * {@link Timer} retaining scheduled {@link Timeout timeouts}.
+     */
+    static class RecordingTimer implements Timer {
+
+        final List<Timeout> timeouts = new ArrayList<>();
+        final Timer delegate = new HashedWheelTimer();
+
+        @Override
+        public Timeout newTimeout(TimerTask task, long delay, TimeUnit unit) {
+
+            Timeout timeout = delegate.newTimeout(task, delay, unit);
+            timeouts.add(timeout);
+            return timeout;
+        }
+
+        @Override
+        public Set<Timeout> stop() {
+            return delegate.stop();
+        }
+    }
+
+    /**
+     * Retains written messages without completing their write promises.
+     */
+    static class PendingWrites extends ChannelOutboundHandlerAdapter {
+
+        final List<Object> messages = new ArrayList<>();
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            messages.add(msg);
+        }
+    }
+}
@@ -319,6 +319,28 @@ public class CommandHandlerTest {
         assertThat(CommandWrapper.unwrap(disconnectedBuffer.element())).isEqualTo(command);
     }
 
+    @Test
+    public void testWriteLockFree() throws Exception {
+
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(eventLoop).execute(any(Runnable.class));
+        when(eventLoop.inEventLoop()).thenReturn(true);
+
+        sut = new CommandHandler<>(ClientOptions.builder().lockFreeWrites(true).build(), clientResources);
+        sut.setRedisChannelHandler(channelHandler);
+        stack = (Queue) ReflectionTestUtils.getField(sut, "stack");
+
+        sut.channelRegistered(context);
+        sut.channelActive(context);
+
+        sut.write(command);
+
+        verify(eventLoop).execute(any(Runnable.class));
+        assertThat(stack).hasSize(1);
+    }
+
     @Test(expected = RedisException.class)
     public void testWriteChannelDisconnectedWithoutReconnect() throws Exception {
 
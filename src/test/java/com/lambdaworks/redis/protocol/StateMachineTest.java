@@ -18,6 +18,7 @@ package com.lambdaworks.redis.protocol;
 import static com.lambdaworks.redis.protocol.RedisStateMachine.State;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.List;
@@ -33,7 +34,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.lambdaworks.redis.RedisException;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
 import com.lambdaworks.redis.codec.RedisCodec;
+import com.lambdaworks.redis.codec.StringCodec;
 import com.lambdaworks.redis.codec.Utf8StringCodec;
 import com.lambdaworks.redis.output.*;
 
@@ -108,6 +111,54 @@ public class StateMachineTest {
         assertThat(output.get()).isEqualTo("foo");
     }
 
+    @Test
+    public void bulkAsSlice() throws Exception {
+
+        CommandOutput<byte[], byte[], byte[]> output = new ValueOutput<>(ByteArrayCodec.INSTANCE);
+        RedisStateMachine<byte[], byte[]> rsm = new RedisStateMachine<>();
+        ByteBuf buffer = buffer("$3\r\nfoo\r\n");
+
+        assertThat(rsm.decode(buffer, output)).isTrue();
+        assertThat(output.get()).isEqualTo("foo".getBytes());
+        assertThat(buffer.refCnt()).isEqualTo(1);
+        assertThat(buffer.isReadable()).isFalse();
+    }
+
+    @Test
+    public void bulkAsSliceShouldCallSetOfSubclass() throws Exception {
+
+        CommandOutput<byte[], byte[], byte[]> output = new ValueOutput<byte[], byte[]>(ByteArrayCodec.INSTANCE) {
+
+            @Override
+            public void set(ByteBuffer bytes) {
+                super.set(bytes);
+                this.output = "bar".getBytes();
+            }
+        };
+        RedisStateMachine<byte[], byte[]> rsm = new RedisStateMachine<>();
+        ByteBuf buffer = buffer("$3\r\nfoo\r\n");
+
+        assertThat(rsm.decode(buffer, output)).isTrue();
+        assertThat(output.get()).isEqualTo("bar".getBytes());
+        assertThat(buffer.refCnt()).isEqualTo(1);
+    }
+
+    @Test
+    public void partialBulkAsSlice() throws Exception {
+
+        CommandOutput<String, String, String> output = new ValueOutput<>(StringCodec.UTF8);
+        ByteBuf buffer = buffer("$6\r\nfoo");
+
+        assertThat(rsm.decode(buffer, output)).isFalse();
+        assertThat(buffer.refCnt()).isEqualTo(1);
+
+        buffer.writeBytes("bar\r\n".getBytes());
+
+        assertThat(rsm.decode(buffer, output)).isTrue();
+        assertThat(output.get()).isEqualTo("foobar");
+        assertThat(buffer.refCnt()).isEqualTo(1);
+    }
+
     @Test
     public void multi() throws Exception {
         CommandOutput<String, String, List<String>> output = new ValueListOutput<>(codec);
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.protocol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lambdaworks.redis.FlushStrategy;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * @author Mark Paluch
+ */
+public class WriteCoalescingHandlerTest {
+
+    private final FlushCounter flushCounter = new FlushCounter();
+    private EmbeddedChannel channel;
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldConsolidateFlushesInEventLoop() {
+
+        channel = new EmbeddedChannel(flushCounter, new WriteCoalescingHandler(FlushStrategy.consolidateInEventLoop()));
+
+        channel.pipeline().writeAndFlush(Unpooled.wrappedBuffer(new byte[] { 1 }));
+        channel.pipeline().writeAndFlush(Unpooled.wrappedBuffer(new byte[] { 2 }));
+        channel.pipeline().writeAndFlush(Unpooled.wrappedBuffer(new byte[] { 3 }));
+
+        assertThat(flushCounter.flushes).isEqualTo(0);
+
+        channel.runPendingTasks();
+
+        assertThat(flushCounter.flushes).isEqualTo(1);
+        assertThat(flushCounter.writes).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldFlushWhenExceedingMaxPendingBytes() {
+
+        channel = new EmbeddedChannel(flushCounter,
+                new WriteCoalescingHandler(FlushStrategy.consolidate(1, TimeUnit.HOURS, 2)));
+
+        channel.pipeline().writeAndFlush(Unpooled.wrappedBuffer(new byte[] { 1 }));
+
+        assertThat(flushCounter.flushes).isEqualTo(0);
+
+        channel.pipeline().writeAndFlush(Unpooled.wrappedBuffer(new byte[] { 2 }));
+
+        assertThat(flushCounter.flushes).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFlushOnReadComplete() {
+
+        channel = new EmbeddedChannel(flushCounter, new WriteCoalescingHandler(FlushStrategy.consolidate(1, TimeUnit.HOURS,
+                FlushStrategy.DEFAULT_MAX_PENDING_BYTES)));
+
+        channel.pipeline().fireChannelRead(Unpooled.EMPTY_BUFFER);
+        channel.pipeline().writeAndFlush(Unpooled.wrappedBuffer(new byte[] { 1 }));
+
+        assertThat(flushCounter.flushes).isEqualTo(0);
+
+        channel.pipeline().fireChannelReadComplete();
+
+        assertThat(flushCounter.flushes).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFlushPendingWritesOnClose() {
+
+        channel = new EmbeddedChannel(flushCounter, new WriteCoalescingHandler(FlushStrategy.consolidate(1, TimeUnit.HOURS,
+                FlushStrategy.DEFAULT_MAX_PENDING_BYTES)));
+
+        channel.pipeline().writeAndFlush(Unpooled.wrappedBuffer(new byte[] { 1 }));
+        channel.close();
+
+        assertThat(flushCounter.flushes).isEqualTo(1);
+    }
+
+    /**
+     * Terminal handler counting writes and flushes. Writes do not reach {@link EmbeddedChannel} as it runs pending tasks on
+     * each write.
+     */
+    static class FlushCounter extends ChannelOutboundHandlerAdapter {
+
+        int writes;
+        int flushes;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            writes++;
+            ReferenceCountUtil.release(msg);
+            promise.trySuccess();
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.pubsub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lambdaworks.TestClientResources;
+import com.lambdaworks.redis.ClientOptions;
+import com.lambdaworks.redis.codec.StringCodec;
+import com.lambdaworks.redis.output.StatusOutput;
+import com.lambdaworks.redis.protocol.AsyncCommand;
+import com.lambdaworks.redis.protocol.Command;
+import com.lambdaworks.redis.protocol.CommandType;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Tests for {@link PubSubCommandHandler} running within an {@link EmbeddedChannel}.
+ *
+ * @author Mark Paluch
+ */
+public class PubSubCommandHandlerEmbeddedChannelTest {
+
+    private PubSubCommandHandler<String, String> sut;
+    private EmbeddedChannel channel;
+
+    @Before
+    public void before() {
+
+        sut = new PubSubCommandHandler<>(ClientOptions.create(), TestClientResources.get(), StringCodec.UTF8);
+        channel = new EmbeddedChannel(sut);
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void shouldCompleteCommandWhileReadingIsSuspended() {
+
+        sut.suspendReading();
+
+        AsyncCommand<String, String, String> command = sut.write(new AsyncCommand<>(new Command<>(CommandType.PING,
+                new StatusOutput<>(StringCodec.UTF8))));
+
+        channel.writeInbound(Unpooled.copiedBuffer("*3\r\n$7\r\nmessage\r\n$7\r\nchannel\r\n$5\r\nhello\r\n+PONG\r\n",
+                StandardCharsets.US_ASCII));
+
+        assertThat(command.isDone()).isTrue();
+        assertThat(command.getNow(null)).isEqualTo("PONG");
+        assertThat(channel.config().isAutoRead()).isFalse();
+
+        sut.resumeReading();
+        channel.runPendingTasks();
+
+        assertThat(channel.config().isAutoRead()).isTrue();
+    }
+}
@@ -21,6 +21,7 @@ import static org.assertj.core.api.Fail.fail;
 import static org.hamcrest.CoreMatchers.hasItem;
 import static org.junit.Assert.assertThat;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -115,6 +116,52 @@ public class PubSubCommandTest extends AbstractRedisClientTest implements RedisP
         assertThat(messages.take()).isEqualTo(message);
     }
 
+    @Test(timeout = 2000)
+    public void messageDispatchedOnExecutor() throws Exception {
+
+        client.setOptions(ClientOptions.builder()
+                .pubSubOptions(PubSubOptions.builder().dispatchMode(PubSubOptions.DispatchMode.EXECUTOR).build()).build());
+
+        RedisPubSubAsyncCommands<String, String> connection = client.connectPubSub().async();
+        BlockingQueue<String> threads = LettuceFactories.newBlockingQueue();
+
+        connection.addListener(new RedisPubSubAdapter<String, String>() {
+
+            @Override
+            public void message(String channel, String message) {
+                threads.add(Thread.currentThread().getName());
+                PubSubCommandTest.this.message(channel, message);
+            }
+        });
+
+        connection.subscribe(channel).get();
+
+        redis.publish(channel, message);
+        assertThat(messages.take()).isEqualTo(message);
+        assertThat(threads.take()).startsWith("lettuce-eventExecutorLoop");
+
+        connection.close();
+        client.setOptions(ClientOptions.create());
+    }
+
+    @Test(timeout = 2000)
+    public void rawMessage() throws Exception {
+
+        StatefulRedisPubSubConnection<String, String> connection = client.connectPubSub();
+        BlockingQueue<String> rawMessages = LettuceFactories.newBlockingQueue();
+
+        connection.addRawListener((pattern, channel, message) -> {
+            rawMessages.add(StandardCharsets.UTF_8.decode(channel) + ":" + StandardCharsets.UTF_8.decode(message));
+        });
+
+        connection.sync().subscribe(channel);
+
+        redis.publish(channel, message);
+        assertThat(rawMessages.take()).isEqualTo(channel + ":" + message);
+
+        connection.close();
+    }
+
     @Test(timeout = 2000)
     public void pipelinedMessage() throws Exception {
         pubsub.subscribe(channel);
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.pubsub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lambdaworks.Wait;
+import com.lambdaworks.redis.PubSubOptions;
+import com.lambdaworks.redis.PubSubOptions.OverflowPolicy;
+import com.lambdaworks.redis.codec.StringCodec;
+
+import io.netty.util.concurrent.DefaultEventExecutorGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
+
+/**
+ * @author Mark Paluch
+ */
+public class PubSubDispatcherTest {
+
+    private final EventExecutorGroup executors = new DefaultEventExecutorGroup(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger suspended = new AtomicInteger();
+    private final AtomicInteger resumed = new AtomicInteger();
+
+    private final PubSubDispatcher.ReadControl readControl = new PubSubDispatcher.ReadControl() {
+
+        @Override
+        public void suspendReading() {
+            suspended.incrementAndGet();
+        }
+
+        @Override
+        public void resumeReading() {
+            resumed.incrementAndGet();
+        }
+    };
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executors.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void shouldDispatchInOrderOffTheCallingThread() {
+
+        PubSubDispatcher<String, String> dispatcher = createDispatcher(OverflowPolicy.BACKPRESSURE, 1024);
+        CollectingListener listener = new CollectingListener();
+
+        for (int i = 0; i < 100; i++) {
+            dispatcher.dispatch(Collections.singletonList(listener), message("channel", "" + i));
+        }
+
+        Wait.untilEquals(100, listener.messages::size).waitOrTimeout();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(listener.messages.get(i)).isEqualTo("" + i);
+        }
+
+        assertThat(listener.threads).doesNotContain(Thread.currentThread());
+    }
+
+    @Test
+    public void dropNewestShouldDiscardNewMessages() {
+
+        PubSubDispatcher<String, String> dispatcher = createDispatcher(OverflowPolicy.DROP_NEWEST, 2);
+        CollectingListener listener = new CollectingListener();
+
+        blockExecutor();
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(Collections.singletonList(listener), message("channel", "" + i));
+        }
+        release.countDown();
+
+        Wait.untilEquals(2, listener.messages::size).waitOrTimeout();
+
+        assertThat(listener.messages).containsExactly("0", "1");
+        assertThat(dispatcher.getDroppedMessages()).isEqualTo(3);
+    }
+
+    @Test
+    public void concurrentProducersShouldNotExceedCapacity() throws Exception {
+
+        PubSubDispatcher<String, String> dispatcher = createDispatcher(OverflowPolicy.DROP_NEWEST, 10);
+        CollectingListener listener = new CollectingListener();
+
+        blockExecutor();
+
+        Thread[] producers = new Thread[4];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    dispatcher.dispatch(Collections.singletonList(listener), message("channel", "message"));
+                }
+            });
+            producers[i].start();
+        }
+
+        for (Thread producer : producers) {
+            producer.join();
+        }
+
+        release.countDown();
+
+        Wait.untilEquals(10, listener.messages::size).waitOrTimeout();
+        executors.submit(() -> {
+        }).get();
+
+        assertThat(listener.messages).hasSize(10);
+        assertThat(dispatcher.getDroppedMessages()).isEqualTo(390);
+    }
+
+    @Test
+    public void dropOldestShouldDiscardPendingMessages() {
+
+        PubSubDispatcher<String, String> dispatcher = createDispatcher(OverflowPolicy.DROP_OLDEST, 2);
+        CollectingListener listener = new CollectingListener();
+
+        blockExecutor();
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(Collections.singletonList(listener), message("channel", "" + i));
+        }
+        release.countDown();
+
+        Wait.untilEquals(2, listener.messages::size).waitOrTimeout();
+
+        assertThat(listener.messages).containsExactly("3", "4");
+        assertThat(dispatcher.getDroppedMessages()).isEqualTo(3);
+    }
+
+    @Test
+    public void backpressureShouldSuspendAndResumeReading() {
+
+        PubSubDispatcher<String, String> dispatcher = createDispatcher(OverflowPolicy.BACKPRESSURE, 2);
+        CollectingListener listener = new CollectingListener();
+
+        blockExecutor();
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(Collections.singletonList(listener), message("channel", "" + i));
+        }
+
+        assertThat(suspended.get()).isEqualTo(3);
+        assertThat(resumed.get()).isEqualTo(0);
+
+        release.countDown();
+
+        Wait.untilEquals(5, listener.messages::size).waitOrTimeout();
+
+        assertThat(listener.messages).containsExactly("0", "1", "2", "3", "4");
+        assertThat(resumed.get()).isEqualTo(1);
+        assertThat(dispatcher.getDroppedMessages()).isEqualTo(0);
+    }
+
+    @Test
+    public void removedListenerShouldNotReceivePendingMessages() throws Exception {
+
+        PubSubDispatcher<String, String> dispatcher = createDispatcher(OverflowPolicy.BACKPRESSURE, 1024);
+        CollectingListener listener = new CollectingListener();
+        CollectingListener other = new CollectingListener();
+
+        blockExecutor();
+        dispatcher.dispatch(listOf(listener, other), message("channel", "message"));
+        dispatcher.remove(listener);
+        release.countDown();
+
+        Wait.untilEquals(1, other.messages::size).waitOrTimeout();
+        executors.submit(() -> {
+        }).get();
+
+        assertThat(listener.messages).isEmpty();
+    }
+
+    private PubSubDispatcher<String, String> createDispatcher(OverflowPolicy overflowPolicy, int capacity) {
+
+        PubSubOptions options = PubSubOptions.builder().dispatchMode(PubSubOptions.DispatchMode.EXECUTOR).lanes(1)
+                .queueCapacity(capacity).overflowPolicy(overflowPolicy).build();
+
+        return new PubSubDispatcher<>(options, executors, readControl);
+    }
+
+    private void blockExecutor() {
+        executors.submit(() -> {
+            release.await();
+            return null;
+        });
+    }
+
+    private static PubSubOutput<String, String, String> message(String channel, String message) {
+
+        PubSubOutput<String, String, String> output = new PubSubOutput<>(StringCodec.UTF8);
+        output.set(ByteBuffer.wrap("message".getBytes(StandardCharsets.US_ASCII)));
+        output.set(ByteBuffer.wrap(channel.getBytes(StandardCharsets.UTF_8)));
+        output.set(ByteBuffer.wrap(message.getBytes(StandardCharsets.UTF_8)));
+        return output;
+    }
+
+    @SafeVarargs
+    private static List<RedisPubSubListener<String, String>> listOf(RedisPubSubListener<String, String>... listeners) {
+        return Arrays.asList(listeners);
+    }
+
+    static class CollectingListener extends RedisPubSubAdapter<String, String> {
+
+        final List<String> messages = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void message(String channel, String message) {
+            messages.add(message);
+            threads.add(Thread.currentThread());
+        }
+    }
+}
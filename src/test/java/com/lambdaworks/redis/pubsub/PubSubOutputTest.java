@@ -0,0 +1,150 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.pubsub;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.lambdaworks.redis.codec.StringCodec;
+
+/**
+ * @author Mark Paluch
+ */
+public class PubSubOutputTest {
+
+    private final PubSubOutput<String, String, String> sut = new PubSubOutput<>(StringCodec.UTF8);
+
+    @Test
+    public void shouldResolveTypeFromBytes() {
+
+        for (PubSubOutput.Type type : PubSubOutput.Type.values()) {
+            assertThat(PubSubOutput.Type.valueOf(buffer(type.name()))).isEqualTo(type);
+            assertThat(PubSubOutput.Type.find(buffer(type.name().toUpperCase()))).isEqualTo(type);
+        }
+
+        assertThat(PubSubOutput.Type.find(buffer("massage"))).isNull();
+        assertThat(PubSubOutput.Type.find(buffer("OK"))).isNull();
+        assertThatThrownBy(() -> PubSubOutput.Type.valueOf(buffer("unknown"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldDecodeMessage() {
+
+        sut.set(buffer("pmessage"));
+        sut.set(buffer("ch*"));
+        sut.set(buffer("channel"));
+        sut.set(buffer("hello"));
+
+        assertThat(sut.type()).isEqualTo(PubSubOutput.Type.pmessage);
+        assertThat(sut.pattern()).isEqualTo("ch*");
+        assertThat(sut.channel()).isEqualTo("channel");
+        assertThat(sut.get()).isEqualTo("hello");
+        assertThat(sut.isEmpty()).isFalse();
+    }
+
+    @Test
+    public void shouldProvideRawElements() {
+
+        sut.set(buffer("message"));
+        sut.set(buffer("channel"));
+        sut.set(buffer("hello"));
+
+        assertThat(sut.rawPattern()).isNull();
+        assertThat(string(sut.rawChannel())).isEqualTo("channel");
+        assertThat(string(sut.rawMessage())).isEqualTo("hello");
+
+        // raw access is repeatable
+        assertThat(string(sut.rawMessage())).isEqualTo("hello");
+        assertThat(sut.get()).isEqualTo("hello");
+    }
+
+    @Test
+    public void resetShouldRecycleOutput() {
+
+        sut.set(buffer("message"));
+        sut.set(buffer("channel"));
+        sut.set(buffer("a longer message than before"));
+
+        sut.reset();
+
+        assertThat(sut.type()).isNull();
+        assertThat(sut.isEmpty()).isTrue();
+        assertThat(sut.channel()).isNull();
+        assertThat(sut.get()).isNull();
+
+        sut.set(buffer("subscribe"));
+        sut.set(buffer("other"));
+        sut.set(1);
+
+        assertThat(sut.type()).isEqualTo(PubSubOutput.Type.subscribe);
+        assertThat(sut.channel()).isEqualTo("other");
+        assertThat(sut.count()).isEqualTo(1);
+        assertThat(sut.get()).isNull();
+    }
+
+    @Test
+    public void resetShouldReleaseLargeElementBuffers() {
+
+        PubSubOutput.Element element = new PubSubOutput.Element();
+
+        element.set(buffer("small"));
+        element.reset();
+
+        assertThat(element.capacity()).isGreaterThan(0);
+
+        element.set(ByteBuffer.allocate(PubSubOutput.Element.MAX_RETAINED_CAPACITY + 1));
+        element.reset();
+
+        assertThat(element.capacity()).isEqualTo(0);
+        assertThat(element.raw()).isNull();
+
+        element.set(buffer("hello"));
+
+        assertThat(string(element.raw())).isEqualTo("hello");
+    }
+
+    @Test
+    public void copyShouldNotShareState() {
+
+        sut.set(buffer("message"));
+        sut.set(buffer("channel"));
+        sut.set(buffer("hello"));
+
+        PubSubOutput<String, String, String> copy = sut.copy();
+        sut.reset();
+
+        assertThat(copy.type()).isEqualTo(PubSubOutput.Type.message);
+        assertThat(copy.channel()).isEqualTo("channel");
+        assertThat(copy.pattern()).isNull();
+        assertThat(copy.get()).isEqualTo("hello");
+    }
+
+    private static ByteBuffer buffer(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String string(ByteBuffer buffer) {
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
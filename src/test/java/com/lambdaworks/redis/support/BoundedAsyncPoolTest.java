@@ -0,0 +1,319 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lambdaworks.TestClientResources;
+import com.lambdaworks.Wait;
+import com.lambdaworks.redis.ClientOptions;
+import com.lambdaworks.redis.api.StatefulConnection;
+import com.lambdaworks.redis.protocol.RedisCommand;
+
+/**
+ * @author Mark Paluch
+ */
+public class BoundedAsyncPoolTest {
+
+    private final AtomicInteger creations = new AtomicInteger();
+    private BoundedAsyncPool<TestConnection> pool;
+
+    @After
+    public void tearDown() {
+
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void shouldCreateObjectOnAcquire() {
+
+        pool = createPool(BoundedPoolConfig.create());
+
+        TestConnection connection = pool.acquire().join();
+
+        assertThat(connection).isNotNull();
+        assertThat(creations).hasValue(1);
+        assertThat(pool.getObjectCount()).isEqualTo(1);
+        assertThat(pool.getIdle()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldReuseReleasedObject() {
+
+        pool = createPool(BoundedPoolConfig.create());
+
+        TestConnection first = pool.acquire().join();
+        pool.release(first).join();
+
+        assertThat(pool.getIdle()).isEqualTo(1);
+        assertThat(pool.acquire().join()).isSameAs(first);
+        assertThat(creations).hasValue(1);
+    }
+
+    @Test
+    public void shouldReuseMostRecentlyReleasedObject() {
+
+        pool = createPool(BoundedPoolConfig.create());
+
+        TestConnection first = pool.acquire().join();
+        TestConnection second = pool.acquire().join();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertThat(pool.acquire().join()).isSameAs(second);
+    }
+
+    @Test
+    public void shouldWaitForReleaseWhenExhausted() {
+
+        pool = createPool(BoundedPoolConfig.builder().maxTotal(1).build());
+
+        TestConnection connection = pool.acquire().join();
+        CompletableFuture<TestConnection> pending = pool.acquire();
+
+        assertThat(pending).isNotDone();
+        assertThat(pool.getPending()).isEqualTo(1);
+
+        pool.release(connection);
+
+        assertThat(pending).isCompletedWithValue(connection);
+        assertThat(pool.getPending()).isEqualTo(0);
+        assertThat(creations).hasValue(1);
+    }
+
+    @Test
+    public void shouldSkipCancelledWaiters() {
+
+        pool = createPool(BoundedPoolConfig.builder().maxTotal(1).build());
+
+        TestConnection connection = pool.acquire().join();
+        CompletableFuture<TestConnection> cancelled = pool.acquire();
+        CompletableFuture<TestConnection> pending = pool.acquire();
+
+        cancelled.cancel(false);
+        pool.release(connection);
+
+        assertThat(pending).isCompletedWithValue(connection);
+    }
+
+    @Test
+    public void shouldDestroyClosedObjects() {
+
+        pool = createPool(BoundedPoolConfig.create());
+
+        TestConnection first = pool.acquire().join();
+        pool.release(first);
+
+        first.open = false;
+
+        TestConnection second = pool.acquire().join();
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(creations).hasValue(2);
+        assertThat(pool.getObjectCount()).isEqualTo(1);
+        Wait.untilTrue(() -> first.closed).waitOrTimeout();
+    }
+
+    @Test
+    public void shouldDestroyObjectsExceedingMaxIdle() {
+
+        pool = createPool(BoundedPoolConfig.builder().maxIdle(1).build());
+
+        TestConnection first = pool.acquire().join();
+        TestConnection second = pool.acquire().join();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertThat(pool.getIdle()).isEqualTo(1);
+        assertThat(pool.getObjectCount()).isEqualTo(1);
+        Wait.untilTrue(() -> second.closed).waitOrTimeout();
+    }
+
+    @Test
+    public void shouldWarmUpMinIdle() {
+
+        pool = createPool(BoundedPoolConfig.builder().minIdle(2).build());
+
+        Wait.untilEquals(2, pool::getIdle).waitOrTimeout();
+        assertThat(creations).hasValue(2);
+    }
+
+    @Test
+    public void shouldEvictExpiredObjects() throws Exception {
+
+        pool = createPool(BoundedPoolConfig.builder().minIdle(1).idleTimeout(1, TimeUnit.NANOSECONDS).build());
+
+        TestConnection first = pool.acquire().join();
+        TestConnection second = pool.acquire().join();
+        pool.release(first);
+        pool.release(second);
+
+        Thread.sleep(1);
+        pool.evict();
+
+        assertThat(pool.getIdle()).isEqualTo(1);
+        assertThat(pool.acquire().join()).isSameAs(second);
+    }
+
+    @Test
+    public void shouldFailPendingAcquiresOnClose() {
+
+        pool = createPool(BoundedPoolConfig.builder().maxTotal(1).build());
+
+        TestConnection connection = pool.acquire().join();
+        CompletableFuture<TestConnection> pending = pool.acquire();
+
+        pool.close();
+
+        assertThat(pending).isCompletedExceptionally();
+        assertThat(pool.acquire()).isCompletedExceptionally();
+
+        pool.release(connection);
+        Wait.untilTrue(() -> connection.closed).waitOrTimeout();
+    }
+
+    @Test
+    public void shouldFailDoubleRelease() {
+
+        pool = createPool(BoundedPoolConfig.create());
+
+        TestConnection connection = pool.acquire().join();
+        pool.release(connection).join();
+
+        assertThat(pool.release(connection)).isCompletedExceptionally();
+        assertThat(pool.getIdle()).isEqualTo(1);
+        assertThat(pool.getObjectCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFailReleaseOfForeignObject() {
+
+        pool = createPool(BoundedPoolConfig.create());
+
+        TestConnection foreign = new TestConnection();
+
+        assertThat(pool.release(foreign)).isCompletedExceptionally();
+        assertThat(pool.getIdle()).isEqualTo(0);
+        assertThat(pool.getObjectCount()).isEqualTo(0);
+        assertThat(foreign.closed).isFalse();
+    }
+
+    @Test
+    public void shouldAcceptReleaseOfObjectHandedToWaiter() {
+
+        pool = createPool(BoundedPoolConfig.builder().maxTotal(1).build());
+
+        TestConnection connection = pool.acquire().join();
+        CompletableFuture<TestConnection> pending = pool.acquire();
+
+        pool.release(connection).join();
+
+        assertThat(pending).isCompletedWithValue(connection);
+        assertThat(pool.release(connection)).isNotCompletedExceptionally();
+        assertThat(pool.getIdle()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldTimeOutPendingAcquire() {
+
+        pool = createPool(BoundedPoolConfig.builder().maxTotal(1).acquireTimeout(10, TimeUnit.MILLISECONDS).build());
+
+        TestConnection connection = pool.acquire().join();
+        CompletableFuture<TestConnection> pending = pool.acquire();
+
+        Wait.untilTrue(pending::isDone).waitOrTimeout();
+
+        assertThat(pending).isCompletedExceptionally();
+        assertThat(pool.getPending()).isEqualTo(0);
+
+        pool.release(connection).join();
+
+        assertThat(pool.getIdle()).isEqualTo(1);
+    }
+
+    private BoundedAsyncPool<TestConnection> createPool(BoundedPoolConfig config) {
+
+        return AsyncConnectionPoolSupport.createBoundedObjectPool(() -> {
+
+            creations.incrementAndGet();
+            return CompletableFuture.completedFuture(new TestConnection());
+        }, config, TestClientResources.get());
+    }
+
+    static class TestConnection implements StatefulConnection<String, String> {
+
+        volatile boolean open = true;
+        volatile boolean closed;
+
+        @Override
+        public void setTimeout(long timeout, TimeUnit unit) {
+        }
+
+        @Override
+        public TimeUnit getTimeoutUnit() {
+            return TimeUnit.SECONDS;
+        }
+
+        @Override
+        public long getTimeout() {
+            return 0;
+        }
+
+        @Override
+        public <T, C extends RedisCommand<String, String, T>> C dispatch(C command) {
+            return command;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+            closed = true;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public ClientOptions getOptions() {
+            return ClientOptions.create();
+        }
+
+        @Override
+        public void reset() {
+        }
+
+        @Override
+        public void setAutoFlushCommands(boolean autoFlush) {
+        }
+
+        @Override
+        public void flushCommands() {
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support.caching;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lambdaworks.Wait;
+import com.lambdaworks.redis.AbstractRedisClientTest;
+import com.lambdaworks.redis.RedisURI;
+import com.lambdaworks.redis.codec.Utf8StringCodec;
+
+/**
+ * @author Mark Paluch
+ */
+public class NearCacheTest extends AbstractRedisClientTest {
+
+    private NearCache<String, String> nearCache;
+
+    @Before
+    public void before() throws Exception {
+
+        redis.configSet("notify-keyspace-events", "KA");
+        nearCache = NearCache.create(client, new Utf8StringCodec(), RedisURI.create(host, port));
+    }
+
+    @After
+    public void after() throws Exception {
+
+        nearCache.close();
+        redis.configSet("notify-keyspace-events", "");
+    }
+
+    @Test
+    public void getShouldCacheValue() {
+
+        redis.set(key, value);
+
+        assertThat(nearCache.get(key)).isEqualTo(value);
+        assertThat(nearCache.size()).isEqualTo(1);
+        assertThat(nearCache.get(key)).isEqualTo(value);
+    }
+
+    @Test
+    public void getShouldCacheAbsentKey() {
+
+        assertThat(nearCache.get(key)).isNull();
+        assertThat(nearCache.size()).isEqualTo(1);
+        assertThat(nearCache.get(key)).isNull();
+    }
+
+    @Test
+    public void writeShouldInvalidateValue() {
+
+        redis.set(key, value);
+        assertThat(nearCache.get(key)).isEqualTo(value);
+
+        redis.set(key, "changed");
+
+        Wait.untilEquals("changed", () -> nearCache.get(key)).waitOrTimeout();
+    }
+
+    @Test
+    public void mgetShouldCombineCachedAndLoadedValues() {
+
+        redis.set("one", "1");
+        redis.set("two", "2");
+
+        assertThat(nearCache.get("one")).isEqualTo("1");
+        assertThat(nearCache.mget("one", "two", "three")).containsExactly("1", "2", null);
+        assertThat(nearCache.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void hgetShouldCacheField() {
+
+        redis.hset(key, "field", value);
+
+        assertThat(nearCache.hget(key, "field")).isEqualTo(value);
+        assertThat(nearCache.hget(key, "other")).isNull();
+
+        redis.hset(key, "field", "changed");
+
+        Wait.untilEquals("changed", () -> nearCache.hget(key, "field")).waitOrTimeout();
+    }
+
+    @Test
+    public void hgetallShouldCacheHash() {
+
+        redis.hset(key, "one", "1");
+        redis.hset(key, "two", "2");
+
+        Map<String, String> map = nearCache.hgetall(key);
+
+        assertThat(map).containsEntry("one", "1").containsEntry("two", "2");
+        assertThat(nearCache.hget(key, "two")).isEqualTo("2");
+
+        redis.hdel(key, "two");
+
+        Wait.untilTrue(() -> !nearCache.hgetall(key).containsKey("two")).waitOrTimeout();
+    }
+
+    @Test
+    public void weightBoundedCacheShouldEvict() {
+
+        nearCache.close();
+        nearCache = NearCache.create(client, new Utf8StringCodec(), RedisURI.create(host, port),
+                NearCacheOptions.builder().maximumWeight(10, (k, v) -> ((String) v).length()).build());
+
+        redis.set("one", "12345");
+        redis.set("two", "12345");
+        redis.set("three", "12345");
+
+        nearCache.get("one");
+        nearCache.get("two");
+        nearCache.get("three");
+
+        assertThat(nearCache.size()).isLessThan(3);
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.api.sync.RedisCommands;
+import com.lambdaworks.redis.cluster.api.sync.RedisClusterCommands;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.protocol.RedisCommand;
+
+/**
+ * Benchmark for the synchronous API overhead comparing the generated sync API implementation with the proxy-based
+ * implementation. Commands are completed immediately without I/O.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class SyncApiBenchmark {
+
+    private final static byte[] KEY = "benchmark".getBytes();
+
+    private StatefulRedisConnectionImpl<byte[], byte[]> connection;
+    private RedisCommands<byte[], byte[]> generated;
+    private RedisCommands<byte[], byte[]> proxy;
+
+    @Setup
+    public void setup() {
+
+        connection = new StatefulRedisConnectionImpl<>(new CompletingChannelWriter(), ByteArrayCodec.INSTANCE, 1,
+                TimeUnit.MINUTES);
+        generated = connection.sync();
+        proxy = connection.syncHandler(connection.async(), RedisCommands.class, RedisClusterCommands.class);
+    }
+
+    @Benchmark
+    public Object generatedGet() {
+        return generated.get(KEY);
+    }
+
+    @Benchmark
+    public Object proxyGet() {
+        return proxy.get(KEY);
+    }
+
+    @Benchmark
+    public Object generatedSet() {
+        return generated.set(KEY, KEY);
+    }
+
+    @Benchmark
+    public Object proxySet() {
+        return proxy.set(KEY, KEY);
+    }
+
+    static class CompletingChannelWriter extends EmptyRedisChannelWriter {
+
+        @Override
+        public RedisCommand write(RedisCommand command) {
+            command.complete();
+            return command;
+        }
+    }
+}
@@ -52,6 +52,7 @@ public class ClusterDistributionChannelWriterBenchmark {
             new CommandArgs<>(ByteArrayCodec.INSTANCE));
 
     private ClusterDistributionChannelWriter writer;
+    private ClusterDistributionChannelWriter routedWriter;
 
     @Setup
     @SuppressWarnings({ "unchecked", "rawrypes" })
@@ -80,6 +81,17 @@ public class ClusterDistributionChannelWriterBenchmark {
         });
 
         writer.setPartitions(partitions);
+
+        routedWriter = new ClusterDistributionChannelWriter(CLIENT_OPTIONS, EMPTY_WRITER, ClusterEventListener.NO_OP);
+        routedWriter.setClusterConnectionProvider(new PooledClusterConnectionProvider(new EmptyRedisClusterClient(RedisURI
+                .create("localhost", 7379)), EMPTY_WRITER, ByteArrayCodec.INSTANCE) {
+            @Override
+            public RedisChannelWriter getChannelWriter(Intent intent, int slot) {
+                return EMPTY_WRITER;
+            }
+        });
+
+        routedWriter.setPartitions(partitions);
     }
 
     @Benchmark
@@ -87,6 +99,11 @@ public class ClusterDistributionChannelWriterBenchmark {
         writer.write(KEYED_COMMAND);
     }
 
+    @Benchmark
+    public void writeKeyedCommandRouted() {
+        routedWriter.write(KEYED_COMMAND);
+    }
+
     @Benchmark
     public void writePlainCommand() {
         writer.write(PLAIN_COMMAND);
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.cluster.models.partitions;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark for {@link ClusterPartitionParser}. Run with the GC profiler ({@code -prof gc}) to compare allocation rates.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class ClusterPartitionParserBenchmark {
+
+    @Param({ "50", "500", "1000" })
+    int nodes;
+
+    String clusterNodes;
+    ByteBuffer heapBuffer;
+    ByteBuffer directBuffer;
+
+    @Setup
+    public void setup() {
+
+        clusterNodes = RedisClusterNodeBenchmark.createClusterNodes(nodes / 2, nodes / 2);
+
+        byte[] bytes = clusterNodes.getBytes(StandardCharsets.US_ASCII);
+        heapBuffer = ByteBuffer.wrap(bytes);
+        directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+    }
+
+    @Benchmark
+    public Partitions parseString() {
+        return ClusterPartitionParser.parse(clusterNodes);
+    }
+
+    @Benchmark
+    public Partitions parseHeapBuffer() {
+        return ClusterPartitionParser.parse(heapBuffer);
+    }
+
+    @Benchmark
+    public Partitions parseDirectBuffer() {
+        return ClusterPartitionParser.parse(directBuffer);
+    }
+}
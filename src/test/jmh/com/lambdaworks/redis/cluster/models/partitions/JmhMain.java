@@ -18,6 +18,7 @@ package com.lambdaworks.redis.cluster.models.partitions;
 import java.util.concurrent.TimeUnit;
 
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
@@ -43,6 +44,15 @@ public class JmhMain {
                 .build()).run();
     }
 
+    private static void runClusterPartitionParserBenchmark() throws RunnerException {
+
+        new Runner(prepareOptions().mode(Mode.AverageTime) //
+                .timeUnit(TimeUnit.MICROSECONDS) //
+                .addProfiler(GCProfiler.class) //
+                .include(".*ClusterPartitionParserBenchmark.*") //
+                .build()).run();
+    }
+
     private static ChainedOptionsBuilder prepareOptions() {
         return new OptionsBuilder()//
                 .forks(1) //
@@ -38,6 +38,42 @@ public class RedisClusterNodeBenchmark {
     final static RedisClusterNode NODE = new RedisClusterNode(null, null, true, null, 0, 0, 0, ALL_SLOTS,
             Collections.emptySet());
 
+    final static String CLUSTER_NODES_200 = createClusterNodes(100, 100);
+    final static Partitions PARTITIONS_200 = ClusterPartitionParser.parse(CLUSTER_NODES_200);
+
+    /**
+     * Create {@code CLUSTER NODES} output for {@code masters} masters that evenly share all slots, each with
+     * {@code slavesPerMaster} slaves.
+     */
+    static String createClusterNodes(int masters, int slaves) {
+
+        StringBuilder builder = new StringBuilder();
+        int slotsPerMaster = SlotHash.SLOT_COUNT / masters;
+
+        for (int i = 0; i < masters; i++) {
+
+            String nodeId = String.format("%040d", i);
+            int from = i * slotsPerMaster;
+            int to = i == masters - 1 ? SlotHash.SLOT_COUNT - 1 : from + slotsPerMaster - 1;
+
+            builder.append(nodeId).append(" 10.0.").append(i / 256).append('.').append(i % 256)
+                    .append(":7379@17379 master - 0 1454482721690 ").append(i).append(" connected ").append(from)
+                    .append('-').append(to).append('\n');
+        }
+
+        for (int i = 0; i < slaves; i++) {
+
+            String nodeId = String.format("%040d", masters + i);
+            String slaveOf = String.format("%040d", i % masters);
+
+            builder.append(nodeId).append(" 10.1.").append(i / 256).append('.').append(i % 256)
+                    .append(":7379@17379 slave ").append(slaveOf).append(" 0 1454482721690 ").append(i % masters)
+                    .append(" connected\n");
+        }
+
+        return builder.toString();
+    }
+
     @Benchmark
     public RedisClusterNode createClusterNodeAllSlots() {
         return new RedisClusterNode(null, null, true, null, 0, 0, 0, ALL_SLOTS, Collections.emptySet());
@@ -48,6 +84,18 @@ public class RedisClusterNodeBenchmark {
         return new RedisClusterNode(null, null, true, null, 0, 0, 0, LOWER_SLOTS, Collections.emptySet());
     }
 
+    @Benchmark
+    public Partitions parseAndCache200Nodes() {
+        return ClusterPartitionParser.parse(CLUSTER_NODES_200);
+    }
+
+    @Benchmark
+    public Partitions updateCache200Nodes() {
+
+        PARTITIONS_200.updateCache();
+        return PARTITIONS_200;
+    }
+
     @Benchmark
     public void querySlotStatusPresent() {
         NODE.hasSlot(1234);
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.codec;
+
+import java.nio.ByteBuffer;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Benchmark for value compression of a 20KB JSON document using {@link CompressionCodec.CompressionType stream-based} and
+ * {@link Compressor block} compression.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Thread)
+public class CompressionCodecBenchmark {
+
+    private final RedisCodec<String, String> gzip = CompressionCodec.valueCompressor(StringCodec.UTF8,
+            CompressionCodec.CompressionType.GZIP);
+    private final RedisCodec<String, String> deflate = CompressionCodec.valueCompressor(StringCodec.UTF8,
+            Compressor.deflate());
+    private final RedisCodec<String, String> snappy = CompressionCodec.valueCompressor(StringCodec.UTF8, Compressor.snappy());
+
+    private String json;
+    private ByteBuffer gzipped;
+    private ByteBuffer deflated;
+    private ByteBuffer snappyCompressed;
+    private ByteBuf target;
+
+    @Setup
+    public void setup() {
+
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; builder.length() < 20 * 1024; i++) {
+            builder.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"user-").append(i)
+                    .append("\",\"email\":\"user-").append(i).append("@example.com\",\"active\":").append(i % 2 == 0)
+                    .append('}');
+        }
+        json = builder.append(']').toString();
+
+        gzipped = gzip.encodeValue(json);
+        deflated = deflate.encodeValue(json);
+        snappyCompressed = snappy.encodeValue(json);
+        target = PooledByteBufAllocator.DEFAULT.directBuffer(32 * 1024);
+    }
+
+    @TearDown
+    public void tearDown() {
+        target.release();
+    }
+
+    @Benchmark
+    public ByteBuffer compressGzip() {
+        return gzip.encodeValue(json);
+    }
+
+    @Benchmark
+    public ByteBuf compressDeflate() {
+
+        target.clear();
+        ((ToByteBufEncoder<String, String>) deflate).encodeValue(json, target);
+        return target;
+    }
+
+    @Benchmark
+    public ByteBuf compressSnappy() {
+
+        target.clear();
+        ((ToByteBufEncoder<String, String>) snappy).encodeValue(json, target);
+        return target;
+    }
+
+    @Benchmark
+    public String decompressGzip() {
+        return gzip.decodeValue(gzipped.duplicate());
+    }
+
+    @Benchmark
+    public String decompressDeflate() {
+        return deflate.decodeValue(deflated.duplicate());
+    }
+
+    @Benchmark
+    public String decompressSnappy() {
+        return snappy.decodeValue(snappyCompressed.duplicate());
+    }
+}
@@ -35,13 +35,34 @@ public class JmhMain {
     public static void main(String... args) throws IOException, RunnerException {
 
         runCommandBenchmark();
+        runSharedCodecThroughputBenchmark();
     }
 
+    /**
+     * Runs the single-threaded codec benchmarks. Multi-threaded benchmarks are run by
+     * {@link #runSharedCodecThroughputBenchmark()}.
+     */
     private static void runCommandBenchmark() throws RunnerException {
 
         new Runner(prepareOptions().mode(Mode.AverageTime) //
                 .timeUnit(TimeUnit.NANOSECONDS) //
                 .include(".*CodecBenchmark.*") //
+                .exclude(".*Shared.*") //
+                .build()).run();
+    }
+
+    /**
+     * Runs the multi-threaded decode benchmarks. Thread count is defined by the benchmark methods.
+     */
+    private static void runSharedCodecThroughputBenchmark() throws RunnerException {
+
+        new Runner(new OptionsBuilder() //
+                .forks(1) //
+                .warmupIterations(5) //
+                .measurementIterations(5) //
+                .mode(Mode.Throughput) //
+                .timeUnit(TimeUnit.MICROSECONDS) //
+                .include(".*Utf8StringCodecBenchmark.*Shared.*") //
                 .build()).run();
     }
 
@@ -17,14 +17,14 @@ package com.lambdaworks.redis.codec;
 
 import java.nio.ByteBuffer;
 
-import org.openjdk.jmh.annotations.Benchmark;
-import org.openjdk.jmh.annotations.Scope;
-import org.openjdk.jmh.annotations.Setup;
-import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.*;
 import org.openjdk.jmh.infra.Blackhole;
 
 import com.lambdaworks.redis.protocol.LettuceCharsets;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
 /**
  * @author Mark Paluch
  */
@@ -35,12 +35,47 @@ public class Utf8StringCodecBenchmark {
         input.blackhole.consume(input.codec.encodeKey(input.teststring));
     }
 
+    @Benchmark
+    public void encodeToBuf(Input input) {
+        input.target.clear();
+        input.codec.encodeKey(input.teststring, input.target);
+    }
+
     @Benchmark
     public void decodeUnpooled(Input input) {
         input.input.rewind();
         input.blackhole.consume(input.codec.decodeKey(input.input));
     }
 
+    @Benchmark
+    public void decodeDirect(Input input) {
+        input.directInput.rewind();
+        input.blackhole.consume(input.codec.decodeKey(input.directInput));
+    }
+
+    /**
+     * Decode throughput of a codec instance shared across threads, as used by default by connections on different event
+     * loops.
+     */
+    @Benchmark
+    @Threads(4)
+    public void decodeShared4Threads(Shared shared, Input input) {
+        input.input.rewind();
+        input.blackhole.consume(shared.codec.decodeKey(input.input));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void decodeDirectShared4Threads(Shared shared, Input input) {
+        input.directInput.rewind();
+        input.blackhole.consume(shared.codec.decodeKey(input.directInput));
+    }
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        Utf8StringCodec codec = new Utf8StringCodec();
+    }
+
     @State(Scope.Thread)
     public static class Input {
 
@@ -49,11 +84,18 @@ public class Utf8StringCodecBenchmark {
 
         String teststring = "hello üäü~∑†®†ª€∂‚¶¢ Wørld";
         ByteBuffer input = ByteBuffer.wrap(teststring.getBytes(LettuceCharsets.UTF8));
+        ByteBuffer directInput = ByteBuffer.allocateDirect(input.remaining());
+        ByteBuf target = Unpooled.directBuffer(128);
 
         @Setup
         public void setup(Blackhole bh) {
             blackhole = bh;
-            input.flip();
+            directInput.put(input.duplicate()).flip();
+        }
+
+        @TearDown
+        public void tearDown() {
+            target.release();
         }
     }
 }
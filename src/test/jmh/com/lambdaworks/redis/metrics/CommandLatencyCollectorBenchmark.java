@@ -0,0 +1,66 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.metrics;
+
+import java.net.InetSocketAddress;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.protocol.CommandType;
+
+import io.netty.channel.local.LocalAddress;
+
+/**
+ * Benchmark for the command latency recording path. Run with multiple threads to measure contention.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class CommandLatencyCollectorBenchmark {
+
+    private static final InetSocketAddress REMOTE = new InetSocketAddress("127.0.0.1", 6379);
+
+    @Param({ "default", "striped" })
+    String collector;
+
+    private CommandLatencyCollector sut;
+
+    @Setup
+    public void setup() {
+
+        if (collector.equals("striped")) {
+            sut = new StripedCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+        } else {
+            sut = new DefaultCommandLatencyCollector(DefaultCommandLatencyCollectorOptions.create());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        sut.shutdown();
+    }
+
+    @Benchmark
+    public void recordCommandLatency() {
+        sut.recordCommandLatency(LocalAddress.ANY, REMOTE, CommandType.GET, 10_000, 20_000);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordCommandLatency4Threads() {
+        sut.recordCommandLatency(LocalAddress.ANY, REMOTE, CommandType.GET, 10_000, 20_000);
+    }
+}
@@ -24,10 +24,16 @@ import java.util.stream.IntStream;
 import org.openjdk.jmh.annotations.*;
 
 import com.lambdaworks.redis.ClientOptions;
+import com.lambdaworks.redis.FlushStrategy;
 import com.lambdaworks.redis.codec.ByteArrayCodec;
 import com.lambdaworks.redis.output.ValueOutput;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
 
 /**
  * Benchmark for {@link CommandHandler}.
@@ -37,6 +43,7 @@ import io.netty.buffer.ByteBuf;
  * <li>user command writes</li>
  * <li>netty (in-eventloop) writes</li>
  * <li>netty (in-eventloop) reads</li>
+ * <li>flushes per command with auto-flush and the configured {@link FlushStrategy}</li>
  * </ul>
  *
  * @author Mark Paluch
@@ -161,4 +168,96 @@ public class CommandHandlerBenchmark {
         // cleanup
         response.readerIndex(index);
     }
+
+    @Benchmark
+    public void measureAutoFlushWriteBatch10(FlushState flushState, FlushCounters counters) {
+        doFlushBenchmark(flushState, counters, commands10);
+    }
+
+    @Benchmark
+    public void measureAutoFlushWriteBatch100(FlushState flushState, FlushCounters counters) {
+        doFlushBenchmark(flushState, counters, commands100);
+    }
+
+    private void doFlushBenchmark(FlushState flushState, FlushCounters counters, List<Command> commandStack) {
+
+        EmbeddedChannel channel = flushState.channel;
+        long flushesBefore = flushState.flushCounter.flushes;
+
+        for (Command command : commandStack) {
+            channel.pipeline().writeAndFlush(command);
+        }
+
+        channel.runPendingTasks();
+
+        counters.commands += commandStack.size();
+        counters.flushes += flushState.flushCounter.flushes - flushesBefore;
+    }
+
+    /**
+     * Channel with {@link CommandEncoder} and, depending on the {@link FlushStrategy}, {@link WriteCoalescingHandler}.
+     */
+    @State(Scope.Thread)
+    public static class FlushState {
+
+        @Param({ "immediate", "consolidate" })
+        String flushStrategy;
+
+        EmbeddedChannel channel;
+        FlushCounter flushCounter;
+
+        @Setup
+        public void setup() {
+
+            flushCounter = new FlushCounter();
+            channel = new EmbeddedChannel(flushCounter);
+
+            if (flushStrategy.equals("consolidate")) {
+                channel.pipeline().addLast(new WriteCoalescingHandler(FlushStrategy.consolidateInEventLoop()));
+            }
+
+            channel.pipeline().addLast(new CommandEncoder());
+        }
+
+        @TearDown
+        public void tearDown() {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    /**
+     * Counters reported as secondary results. {@code flushes / commands} is the number of flushes per command.
+     */
+    @AuxCounters
+    @State(Scope.Thread)
+    public static class FlushCounters {
+
+        public long commands;
+        public long flushes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            commands = 0;
+            flushes = 0;
+        }
+    }
+
+    /**
+     * Terminal handler counting flushes. Writes do not reach {@link EmbeddedChannel} as it runs pending tasks on each write.
+     */
+    static class FlushCounter extends ChannelOutboundHandlerAdapter {
+
+        long flushes;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+            ReferenceCountUtil.release(msg);
+            promise.trySuccess();
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) throws Exception {
+            flushes++;
+        }
+    }
 }
@@ -37,6 +37,7 @@ public class JmhMain {
         // runCommandBenchmark();
         runCommandHandlerBenchmark();
         // runRedisStateMachineBenchmark();
+        // runRedisStateMachineBulkBenchmark();
         // runCommandEncoderBenchmark();
 
         // or all
@@ -80,6 +81,12 @@ public class JmhMain {
         // Runner(prepareOptions().mode(Mode.Throughput).timeUnit(TimeUnit.SECONDS).include(".*CommandHandlerBenchmark.*").build()).run();
     }
 
+    private static void runRedisStateMachineBulkBenchmark() throws RunnerException {
+
+        new Runner(prepareOptions().mode(Mode.AverageTime).timeUnit(TimeUnit.NANOSECONDS)
+                .include(".*RedisStateMachineBulkBenchmark.*").build()).run();
+    }
+
     private static ChainedOptionsBuilder prepareOptions() {
         return new OptionsBuilder().forks(1).warmupIterations(5).threads(1).measurementIterations(5)
                 .timeout(TimeValue.seconds(2));
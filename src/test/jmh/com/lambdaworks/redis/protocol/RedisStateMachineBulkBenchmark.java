@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.protocol;
+
+import java.nio.ByteBuffer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.output.CommandOutput;
+import com.lambdaworks.redis.output.ValueOutput;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Benchmark for {@link RedisStateMachine} decoding bulk replies through the copying
+ * {@link CommandOutput#set(ByteBuffer)} path and the slice-based {@link com.lambdaworks.redis.output.ByteBufAwareOutput}
+ * path.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class RedisStateMachineBulkBenchmark {
+
+    private final static ByteArrayCodec CODEC = ByteArrayCodec.INSTANCE;
+
+    @Param({ "1024", "65536", "1048576" })
+    private int valueSize;
+
+    private final RedisStateMachine<byte[], byte[]> stateMachine = new RedisStateMachine<>();
+    private ByteBuf masterBuffer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        byte[] header = ("$" + valueSize + "\r\n").getBytes();
+
+        masterBuffer = PooledByteBufAllocator.DEFAULT.ioBuffer(header.length + valueSize + 2);
+        masterBuffer.writeBytes(header);
+        masterBuffer.writeZero(valueSize);
+        masterBuffer.writeBytes("\r\n".getBytes());
+    }
+
+    @TearDown
+    public void tearDown() {
+        masterBuffer.release();
+        stateMachine.close();
+    }
+
+    @Benchmark
+    public void measureCopyingDecode(Blackhole blackhole) {
+
+        CopyingValueOutput output = new CopyingValueOutput();
+        stateMachine.decode(masterBuffer, output);
+        masterBuffer.readerIndex(0);
+
+        blackhole.consume(output.get());
+    }
+
+    @Benchmark
+    public void measureSliceDecode(Blackhole blackhole) {
+
+        ValueOutput<byte[], byte[]> output = new ValueOutput<>(CODEC);
+        stateMachine.decode(masterBuffer, output);
+        masterBuffer.readerIndex(0);
+
+        blackhole.consume(output.get());
+    }
+
+    static class CopyingValueOutput extends CommandOutput<byte[], byte[], byte[]> {
+
+        CopyingValueOutput() {
+            super(CODEC, null);
+        }
+
+        @Override
+        public void set(ByteBuffer bytes) {
+            output = bytes == null ? null : codec.decodeValue(bytes);
+        }
+    }
+}
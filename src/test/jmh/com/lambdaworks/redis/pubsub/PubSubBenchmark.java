@@ -0,0 +1,154 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.pubsub;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.ClientOptions;
+import com.lambdaworks.redis.codec.ByteArrayCodec;
+import com.lambdaworks.redis.resource.ClientResources;
+import com.lambdaworks.redis.resource.DefaultClientResources;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Benchmark for the Pub/Sub message path from {@link PubSubCommandHandler} to listeners. Run with the GC profiler
+ * ({@code -prof gc}) to report allocations per message ({@code gc.alloc.rate.norm}).
+ * <p/>
+ * Test cases:
+ * <ul>
+ * <li>channel messages dispatched to a {@link RedisPubSubListener}</li>
+ * <li>pattern messages dispatched to a {@link RedisPubSubListener}</li>
+ * <li>channel messages dispatched to a {@link RawPubSubListener}</li>
+ * </ul>
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class PubSubBenchmark {
+
+    private static final ByteArrayCodec CODEC = new ByteArrayCodec();
+
+    private ClientResources clientResources;
+
+    private Endpoint listener;
+    private Endpoint raw;
+
+    private ByteBuf message;
+    private ByteBuf pmessage;
+
+    // sink to prevent dead code elimination of the listener bodies
+    private long consumed;
+
+    @Setup
+    public void setup() {
+
+        clientResources = DefaultClientResources.create();
+
+        listener = new Endpoint(clientResources);
+        listener.connection.addListener(new RedisPubSubAdapter<byte[], byte[]>() {
+
+            @Override
+            public void message(byte[] channel, byte[] message) {
+                consumed += channel.length + message.length;
+            }
+
+            @Override
+            public void message(byte[] pattern, byte[] channel, byte[] message) {
+                consumed += pattern.length + channel.length + message.length;
+            }
+        });
+
+        raw = new Endpoint(clientResources);
+        raw.connection.addRawListener((pattern, channel, message) -> consumed += channel.remaining() + message.remaining());
+
+        message = createByteBuf("*3\r\n$7\r\nmessage\r\n$7\r\nchannel\r\n$11\r\nhello world\r\n");
+        pmessage = createByteBuf("*4\r\n$8\r\npmessage\r\n$3\r\nch*\r\n$7\r\nchannel\r\n$11\r\nhello world\r\n");
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        listener.channel.finishAndReleaseAll();
+        raw.channel.finishAndReleaseAll();
+        message.release();
+        pmessage.release();
+        clientResources.shutdown(0, 0, TimeUnit.SECONDS);
+    }
+
+    private static ByteBuf createByteBuf(String str) {
+
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.directBuffer();
+        buf.writeBytes(str.getBytes());
+        return buf;
+    }
+
+    @Benchmark
+    public long measureMessage() throws Exception {
+        listener.read(message);
+        return consumed;
+    }
+
+    @Benchmark
+    public long measurePatternMessage() throws Exception {
+        listener.read(pmessage);
+        return consumed;
+    }
+
+    @Benchmark
+    public long measureRawMessage() throws Exception {
+        raw.read(message);
+        return consumed;
+    }
+
+    /**
+     * {@link PubSubCommandHandler} and {@link StatefulRedisPubSubConnectionImpl} registered with an {@link EmbeddedChannel}.
+     */
+    static class Endpoint {
+
+        final PubSubCommandHandler<byte[], byte[]> handler;
+        final StatefulRedisPubSubConnectionImpl<byte[], byte[]> connection;
+        final EmbeddedChannel channel;
+        final ChannelHandlerContext context;
+
+        Endpoint(ClientResources clientResources) {
+
+            ClientOptions clientOptions = ClientOptions.create();
+
+            handler = new PubSubCommandHandler<>(clientOptions, clientResources, CODEC);
+            connection = new StatefulRedisPubSubConnectionImpl<>(handler, CODEC, 60, TimeUnit.SECONDS);
+            connection.setOptions(clientOptions);
+            channel = new EmbeddedChannel(handler, connection);
+            context = channel.pipeline().context(handler);
+        }
+
+        void read(ByteBuf response) throws Exception {
+
+            int index = response.readerIndex();
+            response.retain();
+
+            handler.channelRead(context, response);
+
+            // cleanup
+            response.readerIndex(index);
+        }
+    }
+}
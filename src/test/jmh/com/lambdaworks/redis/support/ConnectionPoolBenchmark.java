@@ -0,0 +1,94 @@
+/*
+ * Copyright 2011-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lambdaworks.redis.support;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.pool2.impl.GenericObjectPool;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.openjdk.jmh.annotations.*;
+
+import com.lambdaworks.redis.EmptyRedisChannelWriter;
+import com.lambdaworks.redis.EmptyStatefulRedisConnection;
+import com.lambdaworks.redis.api.StatefulRedisConnection;
+import com.lambdaworks.redis.resource.ClientResources;
+import com.lambdaworks.redis.resource.DefaultClientResources;
+
+/**
+ * Benchmark for borrowing a connection from a pool and returning it to the pool.
+ *
+ * @author Mark Paluch
+ */
+@State(Scope.Benchmark)
+public class ConnectionPoolBenchmark {
+
+    private ClientResources clientResources;
+    private GenericObjectPool<StatefulRedisConnection<String, String>> genericPool;
+    private GenericObjectPool<StatefulRedisConnection<String, String>> wrappingGenericPool;
+    private BoundedAsyncPool<StatefulRedisConnection<String, String>> asyncPool;
+
+    @Setup
+    public void setup() {
+
+        clientResources = DefaultClientResources.create();
+
+        GenericObjectPoolConfig config = new GenericObjectPoolConfig();
+        genericPool = ConnectionPoolSupport.createGenericObjectPool(PooledConnection::new, config, false);
+        wrappingGenericPool = ConnectionPoolSupport.createGenericObjectPool(PooledConnection::new, config, true);
+
+        asyncPool = AsyncConnectionPoolSupport.createBoundedObjectPool(
+                () -> CompletableFuture.completedFuture(new PooledConnection()),
+                BoundedPoolConfig.builder().evictionInterval(0, TimeUnit.SECONDS).build(), clientResources);
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        genericPool.close();
+        wrappingGenericPool.close();
+        asyncPool.close();
+        clientResources.shutdown(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void genericObjectPool() throws Exception {
+        genericPool.returnObject(genericPool.borrowObject());
+    }
+
+    @Benchmark
+    public void genericObjectPoolWrapped() throws Exception {
+        wrappingGenericPool.borrowObject().close();
+    }
+
+    @Benchmark
+    public void boundedAsyncPool() {
+        asyncPool.release(asyncPool.acquire().join());
+    }
+
+    @SuppressWarnings("unchecked")
+    static class PooledConnection extends EmptyStatefulRedisConnection implements StatefulRedisConnection {
+
+        PooledConnection() {
+            super(EmptyRedisChannelWriter.INSTANCE);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+    }
+}